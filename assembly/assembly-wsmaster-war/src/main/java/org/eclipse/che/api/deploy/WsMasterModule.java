@@ -47,7 +47,7 @@ public class WsMasterModule extends AbstractModule {
                 .to(org.eclipse.che.security.oauth.OAuthAuthenticatorTokenProvider.class);
         bind(org.eclipse.che.security.oauth.OAuthAuthenticationService.class);
 
-        bind(org.eclipse.che.api.core.notification.WSocketEventBusServer.class);
+        bind(org.eclipse.che.api.core.notification.WSocketEventBusServer.class).asEagerSingleton();
         // additional ports for development of extensions
         Multibinder<org.eclipse.che.api.core.model.machine.ServerConf> machineServers = Multibinder.newSetBinder(binder(),
                                                                                    org.eclipse.che.api.core.model.machine.ServerConf.class,
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Collects events which go to the same destination, e.g. websocket channel or connection, and sends them together.
+ *
+ * <p>The first event after a quiet period is sent immediately, events which come later are collected and sent as one
+ * batch once per window, so a burst of events produces at most one message per window and destination. Batch is sent
+ * earlier if it reaches max size. Batches of one destination are sent under lock, so they come in order of events.
+ */
+class EventBatcher<K> {
+    private static final Logger LOG = LoggerFactory.getLogger(EventBatcher.class);
+
+    /** Sends batch of events to destination. */
+    interface Sender<K> {
+        void send(K destination, List<Object> events) throws Exception;
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final long                     windowMs;
+    private final int                      maxBatchSize;
+    private final Sender<K>                sender;
+    private final ConcurrentMap<K, Batch>  batches;
+    private final AtomicLong               sentEvents;
+    private final AtomicLong               sentBatches;
+
+    /**
+     * @param scheduler
+     *         scheduler of delayed sending
+     * @param windowMs
+     *         min interval between two batches of the same destination, {@code 0} sends every event immediately
+     * @param maxBatchSize
+     *         max number of events in one batch
+     * @param sender
+     *         sends batches
+     */
+    EventBatcher(ScheduledExecutorService scheduler, long windowMs, int maxBatchSize, Sender<K> sender) {
+        this.scheduler = scheduler;
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.sender = sender;
+        batches = new ConcurrentHashMap<>();
+        sentEvents = new AtomicLong();
+        sentBatches = new AtomicLong();
+    }
+
+    void add(K destination, Object event) {
+        batches.computeIfAbsent(destination, Batch::new).add(event);
+    }
+
+    /** Sends all collected events. */
+    void flush() {
+        batches.values().forEach(Batch::flush);
+    }
+
+    /** Returns number of events which are sent. */
+    long getSentEvents() {
+        return sentEvents.get();
+    }
+
+    /** Returns number of batches which are sent, every batch is sent as one message. */
+    long getSentBatches() {
+        return sentBatches.get();
+    }
+
+    private class Batch {
+        final K            destination;
+        final List<Object> events;
+
+        long               lastFlushTime;
+        ScheduledFuture<?> scheduledFlush;
+
+        Batch(K destination) {
+            this.destination = destination;
+            events = new ArrayList<>();
+        }
+
+        synchronized void add(Object event) {
+            events.add(event);
+            if (events.size() >= maxBatchSize) {
+                flush();
+            } else if (scheduledFlush == null) {
+                final long delay = lastFlushTime + windowMs - System.currentTimeMillis();
+                if (delay > 0) {
+                    try {
+                        scheduledFlush = scheduler.schedule(this::flush, delay, MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        flush();
+                    }
+                } else {
+                    flush();
+                }
+            }
+        }
+
+        synchronized void flush() {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            lastFlushTime = System.currentTimeMillis();
+            if (events.isEmpty()) {
+                return;
+            }
+            final List<Object> batch = new ArrayList<>(events);
+            events.clear();
+            try {
+                sender.send(destination, batch);
+                sentEvents.addAndGet(batch.size());
+                sentBatches.incrementAndGet();
+            } catch (Exception e) {
+                LOG.error(String.format("Unable send %d events to %s", batch.size(), destination), e);
+            }
+        }
+    }
+}
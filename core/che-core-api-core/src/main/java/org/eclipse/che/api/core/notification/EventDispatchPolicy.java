@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.Objects;
+
+/**
+ * Defines how {@link EventService} delivers events to a subscriber. Usage example:
+ * <pre>
+ *     // events are delivered one by one in order of publishing, publisher waits while 1000 events are pending
+ *     bus.subscribe(subscriber, EventDispatchPolicy.ordered(1000, EventDispatchPolicy.Overflow.BLOCK));
+ * </pre>
+ *
+ * @see EventService#subscribe(EventSubscriber, EventDispatchPolicy)
+ */
+public final class EventDispatchPolicy {
+    /** Thread which calls subscriber. */
+    public enum Mode {
+        /** Subscriber is called by the thread which publishes event, this is default mode. */
+        SAME_THREAD,
+        /** Subscriber is called by threads of the shared pool, events may be processed concurrently and out of order. */
+        SHARED_POOL,
+        /** Subscriber is called by threads of the shared pool, one event at a time in order of publishing. */
+        ORDERED
+    }
+
+    /** What happens when publisher adds event to the queue of subscriber which is full. */
+    public enum Overflow {
+        /** Event which is being published is not delivered. */
+        DROP_NEWEST,
+        /** The oldest pending event is removed from the queue to make room for the new one. */
+        DROP_OLDEST,
+        /**
+         * Publisher waits until the subscriber takes an event from the queue. If the event is published by asynchronous
+         * subscriber, waiting on pool thread may block the pool, so the event is delivered on this thread when it doesn't
+         * break ordering of events, otherwise publisher waits limited time and then the event is dropped.
+         */
+        BLOCK
+    }
+
+    private static final EventDispatchPolicy SAME_THREAD = new EventDispatchPolicy(Mode.SAME_THREAD, 0, Overflow.BLOCK);
+
+    /** Subscriber is called by the thread which publishes event. */
+    public static EventDispatchPolicy sameThread() {
+        return SAME_THREAD;
+    }
+
+    /**
+     * Subscriber is called asynchronously by threads of the shared pool and may process several events concurrently.
+     *
+     * @param queueCapacity
+     *         max number of events which wait for delivery to subscriber
+     * @param overflow
+     *         what to do when {@code queueCapacity} events are pending
+     */
+    public static EventDispatchPolicy sharedPool(int queueCapacity, Overflow overflow) {
+        return new EventDispatchPolicy(Mode.SHARED_POOL, queueCapacity, overflow);
+    }
+
+    /**
+     * Subscriber is called asynchronously by threads of the shared pool, one event at a time in order of publishing.
+     *
+     * @param queueCapacity
+     *         max number of events which wait for delivery to subscriber
+     * @param overflow
+     *         what to do when {@code queueCapacity} events are pending
+     */
+    public static EventDispatchPolicy ordered(int queueCapacity, Overflow overflow) {
+        return new EventDispatchPolicy(Mode.ORDERED, queueCapacity, overflow);
+    }
+
+    private final Mode     mode;
+    private final int      queueCapacity;
+    private final Overflow overflow;
+
+    private EventDispatchPolicy(Mode mode, int queueCapacity, Overflow overflow) {
+        if (mode != Mode.SAME_THREAD && queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.mode = mode;
+        this.queueCapacity = queueCapacity;
+        this.overflow = Objects.requireNonNull(overflow, "Null overflow policy.");
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /** Max number of events which wait for delivery, {@code 0} for {@link Mode#SAME_THREAD}. */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof EventDispatchPolicy)) {
+            return false;
+        }
+        final EventDispatchPolicy other = (EventDispatchPolicy)obj;
+        return mode == other.mode && queueCapacity == other.queueCapacity && overflow == other.overflow;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, queueCapacity, overflow);
+    }
+
+    @Override
+    public String toString() {
+        return "EventDispatchPolicy{" +
+               "mode=" + mode +
+               ", queueCapacity=" + queueCapacity +
+               ", overflow=" + overflow +
+               '}';
+    }
+}
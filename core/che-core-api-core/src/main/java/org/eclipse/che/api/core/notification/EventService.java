@@ -13,10 +13,16 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -24,9 +30,18 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,23 +55,48 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * By default subscribers are called by the thread which publishes event. Subscriber which is slow or which must not
+ * delay publisher may be subscribed with asynchronous {@link EventDispatchPolicy}, such subscriber has own bounded
+ * queue of events which is processed by the thread pool of this service, see {@link #ASYNC_THREADS_PROPERTY}.
  *
  * @author andrew00x
  */
 @Singleton
 public class EventService {
+    public static final String ASYNC_THREADS_PROPERTY = "event.service.async_threads";
+
     private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
     private static final int CACHE_NUM  = 1 << 2;
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    /** Max number of events which are delivered to one subscriber before the pool thread is given to others. */
+    private static final int DISPATCH_BATCH_SIZE = 64;
+
+    /**
+     * Max time which pool thread waits for room in full queue of {@link EventDispatchPolicy.Mode#ORDERED ordered} subscriber
+     * with {@link EventDispatchPolicy.Overflow#BLOCK} policy, waiting longer may block all threads of the pool.
+     */
+    private static final long POOL_BLOCK_TIMEOUT_MS = 1000;
+
+    /** Asynchronous dispatcher which is delivering events on the current thread. */
+    private static final ThreadLocal<SubscriberDispatcher> DISPATCHING = new ThreadLocal<>();
+
+    @Inject(optional = true)
+    @Named(ASYNC_THREADS_PROPERTY)
+    private int asyncThreads = 4;
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                 typeCache;
+    private final ConcurrentMap<Class<?>, Set<SubscriberDispatcher>>      subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, SubscriberDispatcher> dispatchers;
+
+    private volatile ExecutorService executor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        dispatchers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -90,22 +130,17 @@ public class EventService {
      * @param event
      *         event
      */
-    @SuppressWarnings("unchecked")
     public void publish(Object event) {
         if (event == null) {
             throw new IllegalArgumentException("Null event.");
         }
         final Class<?> eventClass = event.getClass();
         for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-            final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
+            final Set<SubscriberDispatcher> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-                for (EventSubscriber eventSubscriber : eventSubscribers) {
-                    try {
-                        LOG.debug("Publish event {} for {}", event, eventSubscriber);
-                        eventSubscriber.onEvent(event);
-                    } catch (RuntimeException e) {
-                        LOG.error(e.getMessage(), e);
-                    }
+                for (SubscriberDispatcher eventSubscriber : eventSubscribers) {
+                    LOG.debug("Publish event {} for {}", event, eventSubscriber.subscriber);
+                    eventSubscriber.dispatch(event);
                 }
             }
         }
@@ -119,8 +154,23 @@ public class EventService {
      *         event subscriber
      */
     public void subscribe(EventSubscriber<?> subscriber) {
+        subscribe(subscriber, EventDispatchPolicy.sameThread());
+    }
+
+    /**
+     * Subscribe event listener which receives events according to the given dispatch policy. The event to subscribe to
+     * is inferred by checking the generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param policy
+     *         defines thread which calls subscriber
+     * @throws IllegalArgumentException
+     *         if subscriber is already subscribed with different dispatch policy
+     */
+    public void subscribe(EventSubscriber<?> subscriber, EventDispatchPolicy policy) {
         final Class<?> eventType = getEventType(subscriber);
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, policy);
     }
 
     /**
@@ -131,19 +181,50 @@ public class EventService {
      * @param eventType The event to subscribe to.
      */
     public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
-        doSubscribe(subscriber, eventType);
+        doSubscribe(subscriber, eventType, EventDispatchPolicy.sameThread());
+    }
+
+    /**
+     * Subscribe to an event. The given subscriber will be called according to the given dispatch policy whenever an
+     * instance of the specified event is published.
+     *
+     * @param subscriber The subscriber to call when an event is published.
+     * @param eventType The event to subscribe to.
+     * @param policy Defines thread which calls subscriber.
+     * @throws IllegalArgumentException if subscriber is already subscribed with different dispatch policy
+     */
+    public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType, EventDispatchPolicy policy) {
+        doSubscribe(subscriber, eventType, policy);
     }
 
-    private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-        Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries == null) {
-            Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
-            entries = subscribersByEventType.putIfAbsent(eventType, newEntries);
-            if (entries == null) {
-                entries = newEntries;
+    /**
+     * Get statistics of delivery of events to the given asynchronous subscriber. Statistics of subscribers which are
+     * called by publishing thread is not collected to keep publishing cheap.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @return statistics of subscriber or {@code null} if subscriber isn't subscribed or it is called by publishing
+     * thread
+     */
+    public EventSubscriberMetrics getMetrics(EventSubscriber<?> subscriber) {
+        final SubscriberDispatcher dispatcher = dispatchers.get(subscriber);
+        return dispatcher == null ? null : dispatcher.metrics;
+    }
+
+    private synchronized void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType, EventDispatchPolicy policy) {
+        SubscriberDispatcher dispatcher = dispatchers.get(subscriber);
+        if (dispatcher == null) {
+            if (policy.getMode() != EventDispatchPolicy.Mode.SAME_THREAD && executor == null) {
+                executor = Executors.newFixedThreadPool(asyncThreads, new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                                .setDaemon(true)
+                                                                                                .build());
             }
+            dispatcher = new SubscriberDispatcher(subscriber, policy);
+            dispatchers.put(subscriber, dispatcher);
+        } else if (!dispatcher.policy.equals(policy)) {
+            throw new IllegalArgumentException(String.format("%s is already subscribed with %s", subscriber, dispatcher.policy));
         }
-        entries.add(subscriber);
+        subscribersByEventType.computeIfAbsent(eventType, type -> new CopyOnWriteArraySet<>()).add(dispatcher);
     }
 
     /**
@@ -152,15 +233,36 @@ public class EventService {
      * @param subscriber
      *         event subscriber
      */
-    public void unsubscribe(EventSubscriber<?> subscriber) {
+    public synchronized void unsubscribe(EventSubscriber<?> subscriber) {
         final Class<?> eventType = getEventType(subscriber);
-        final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
-        if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+        final SubscriberDispatcher dispatcher = dispatchers.get(subscriber);
+        final Set<SubscriberDispatcher> entries = subscribersByEventType.get(eventType);
+        if (dispatcher != null && entries != null && !entries.isEmpty()) {
+            boolean changed = entries.remove(dispatcher);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
+                if (subscribersByEventType.values().stream().noneMatch(other -> other.contains(dispatcher))) {
+                    dispatchers.remove(subscriber);
+                    dispatcher.close();
+                }
+            }
+        }
+    }
+
+    /** Stops thread pool of asynchronous subscribers, waits a bit while pending events are delivered. */
+    @PreDestroy
+    synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
             }
         }
     }
@@ -190,4 +292,158 @@ public class EventService {
         }
         return eventType;
     }
+
+    /** Delivers events to one subscriber according to its dispatch policy. */
+    private class SubscriberDispatcher {
+        final EventSubscriber         subscriber;
+        final EventDispatchPolicy     policy;
+        final EventSubscriberMetrics  metrics;
+        final BlockingQueue<Runnable> queue;
+        final int                     maxRunningDrains;
+        final AtomicInteger           runningDrains;
+
+        volatile boolean closed;
+
+        SubscriberDispatcher(EventSubscriber subscriber, EventDispatchPolicy policy) {
+            this.subscriber = subscriber;
+            this.policy = policy;
+            switch (policy.getMode()) {
+                case SAME_THREAD:
+                    queue = null;
+                    maxRunningDrains = 0;
+                    break;
+                case ORDERED:
+                    queue = new LinkedBlockingQueue<>(policy.getQueueCapacity());
+                    maxRunningDrains = 1;
+                    break;
+                default:
+                    queue = new LinkedBlockingQueue<>(policy.getQueueCapacity());
+                    maxRunningDrains = asyncThreads;
+            }
+            metrics = queue == null ? null : new EventSubscriberMetrics(queue);
+            runningDrains = new AtomicInteger();
+        }
+
+        void dispatch(Object event) {
+            if (queue == null) {
+                if (!closed) {
+                    invoke(event);
+                }
+                return;
+            }
+            final long publishedNanos = System.nanoTime();
+            if (enqueue(ThreadLocalPropagateContext.wrap(() -> deliver(event, publishedNanos)))) {
+                metrics.enqueued();
+                scheduleDrain();
+            } else if (policy.getOverflow() == EventDispatchPolicy.Overflow.BLOCK && canDeliverOnPoolThread()) {
+                // pool thread can't wait for room in the queue, subscriber is called on it instead
+                deliver(event, publishedNanos);
+            } else {
+                metrics.dropped();
+                if (policy.getOverflow() == EventDispatchPolicy.Overflow.BLOCK) {
+                    LOG.warn("Queue of {} is full, drop event {} published by event service thread", subscriber, event);
+                } else {
+                    LOG.debug("Queue of {} is full, drop event {}", subscriber, event);
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            if (queue != null) {
+                queue.clear();
+            }
+        }
+
+        private boolean enqueue(Runnable delivery) {
+            switch (policy.getOverflow()) {
+                case DROP_NEWEST:
+                    return queue.offer(delivery);
+                case DROP_OLDEST:
+                    while (!queue.offer(delivery)) {
+                        if (queue.poll() != null) {
+                            metrics.dropped();
+                        }
+                    }
+                    return true;
+                default:
+                    if (queue.offer(delivery)) {
+                        return true;
+                    }
+                    try {
+                        if (DISPATCHING.get() == null) {
+                            queue.put(delivery);
+                            return true;
+                        }
+                        // waiting on pool thread may block the only thread which is able to free the queue
+                        return !canDeliverOnPoolThread() && queue.offer(delivery, POOL_BLOCK_TIMEOUT_MS, MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+            }
+        }
+
+        /**
+         * Tests whether event which is published by pool thread may be delivered on it without breaking the policy: this
+         * thread is the one which delivers events of this subscriber, or subscriber doesn't require ordering.
+         */
+        private boolean canDeliverOnPoolThread() {
+            final SubscriberDispatcher dispatching = DISPATCHING.get();
+            return dispatching != null && (dispatching == this || policy.getMode() == EventDispatchPolicy.Mode.SHARED_POOL);
+        }
+
+        private void scheduleDrain() {
+            for (; ; ) {
+                final int running = runningDrains.get();
+                if (running >= maxRunningDrains || queue.isEmpty()) {
+                    return;
+                }
+                if (runningDrains.compareAndSet(running, running + 1)) {
+                    try {
+                        executor.execute(this::drain);
+                    } catch (RejectedExecutionException e) {
+                        runningDrains.decrementAndGet();
+                        LOG.debug("Event service is stopped, events of {} are not delivered", subscriber);
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void drain() {
+            DISPATCHING.set(this);
+            try {
+                Runnable delivery;
+                for (int i = 0; i < DISPATCH_BATCH_SIZE && (delivery = queue.poll()) != null; i++) {
+                    delivery.run();
+                }
+            } finally {
+                DISPATCHING.remove();
+                runningDrains.decrementAndGet();
+            }
+            // events which are added while this drain was finishing are not handled by anyone else
+            scheduleDrain();
+        }
+
+        private void deliver(Object event, long publishedNanos) {
+            if (closed) {
+                return;
+            }
+            final boolean failed = !invoke(event);
+            metrics.delivered(System.nanoTime() - publishedNanos, failed);
+        }
+
+        /** Calls subscriber, returns {@code false} if subscriber fails. */
+        @SuppressWarnings("unchecked")
+        private boolean invoke(Object event) {
+            try {
+                subscriber.onEvent(event);
+                return true;
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+                return false;
+            }
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runtime statistics of delivery of events to one {@link EventSubscriber}.
+ * <p>
+ * Latency of event is time between publishing of event and return from {@link EventSubscriber#onEvent(Object)}, for
+ * asynchronous subscribers it includes time while event waits in the queue.
+ *
+ * @see EventService#getMetrics(EventSubscriber)
+ */
+public class EventSubscriberMetrics {
+    private final Queue<?>      queue;
+    private final AtomicLong    deliveredCount  = new AtomicLong();
+    private final AtomicLong    failedCount     = new AtomicLong();
+    private final AtomicLong    droppedCount    = new AtomicLong();
+    private final AtomicInteger maxQueueDepth   = new AtomicInteger();
+    private final AtomicLong    latencySumNanos = new AtomicLong();
+    private final AtomicLong    maxLatencyNanos = new AtomicLong();
+
+    EventSubscriberMetrics(Queue<?> queue) {
+        this.queue = queue;
+    }
+
+    /** Number of events which are passed to subscriber, including events which subscriber failed to process. */
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    /** Number of events for which subscriber threw an exception. */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** Number of events which are not delivered because queue of subscriber was full. */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** Number of events which currently wait for delivery, always {@code 0} for synchronous subscriber. */
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /** Max number of events which waited for delivery at the same time. */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getAverageLatencyMicros() {
+        final long count = deliveredCount.get();
+        return count == 0 ? 0 : NANOSECONDS.toMicros(latencySumNanos.get() / count);
+    }
+
+    public long getMaxLatencyMicros() {
+        return NANOSECONDS.toMicros(maxLatencyNanos.get());
+    }
+
+    void enqueued() {
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    void dropped() {
+        droppedCount.incrementAndGet();
+    }
+
+    void delivered(long latencyNanos, boolean failed) {
+        if (failed) {
+            failedCount.incrementAndGet();
+        }
+        latencySumNanos.addAndGet(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        deliveredCount.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return "EventSubscriberMetrics{" +
+               "deliveredCount=" + getDeliveredCount() +
+               ", failedCount=" + getFailedCount() +
+               ", droppedCount=" + getDroppedCount() +
+               ", queueDepth=" + getQueueDepth() +
+               ", maxQueueDepth=" + getMaxQueueDepth() +
+               ", averageLatencyMicros=" + getAverageLatencyMicros() +
+               ", maxLatencyMicros=" + getMaxLatencyMicros() +
+               '}';
+    }
+}
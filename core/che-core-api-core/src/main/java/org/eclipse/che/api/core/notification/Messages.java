@@ -11,6 +11,9 @@
 package org.eclipse.che.api.core.notification;
 
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.shared.DTO;
 import org.everrest.core.impl.provider.json.JsonGenerator;
 import org.everrest.core.impl.provider.json.JsonParser;
 import org.everrest.core.impl.provider.json.JsonValue;
@@ -22,20 +25,51 @@ import org.everrest.websockets.message.InputMessage;
 import org.everrest.websockets.message.RestInputMessage;
 import org.everrest.websockets.message.RestOutputMessage;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
+ * Body of message contains either single event, or JSON array of events which are sent together. Large batches are
+ * compressed with gzip and sent as {@code {"$gzip":"<base64 of gzipped JSON array>"}}.
+ *
+ * <p>DTO events are written as {@code {"$dto":"<DTO interface>","$value":<DTO>}} where DTO is in compact form, see {@link
+ * DtoFactory#toCompactJson(Object)}, other events are written as JSON objects with their class in {@code "$type"} property.
+ *
  * @author andrew00x
  */
 class Messages {
-    static RestInputMessage clientMessage(Object event) throws Exception {
+    private static final String GZIP_PROPERTY  = "$gzip";
+    private static final String DTO_PROPERTY   = "$dto";
+    private static final String VALUE_PROPERTY = "$value";
+
+    /**
+     * Creates message which contains all the given events.
+     *
+     * @param compressThreshold
+     *         min size of body in UTF-8 bytes which is compressed, {@code 0} disables compression
+     */
+    static RestInputMessage clientMessage(List<?> events, int compressThreshold) throws Exception {
         RestInputMessage message = new RestInputMessage();
-        message.setBody(toJson(event));
+        message.setBody(toJson(events, compressThreshold));
         message.setMethod(HttpMethod.POST);
         message.setHeaders(new org.everrest.websockets.message.Pair[]{
                 new org.everrest.websockets.message.Pair("Content-type", MediaType.APPLICATION_JSON)});
@@ -48,25 +82,89 @@ class Messages {
         return RestInputMessage.newSubscribeChannelMessage(NameGenerator.generate(null, 8), channel);
     }
 
-    static ChannelBroadcastMessage broadcastMessage(String channel, Object event) throws Exception {
+    /**
+     * Creates message which contains all the given events.
+     *
+     * @param compressThreshold
+     *         min size of body in UTF-8 bytes which is compressed, {@code 0} disables compression
+     */
+    static ChannelBroadcastMessage broadcastMessage(String channel, List<?> events, int compressThreshold) throws Exception {
         final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
-        message.setBody(toJson(event));
+        message.setBody(toJson(events, compressThreshold));
         message.setChannel(channel);
         return message;
     }
 
-    static Object restoreEventFromBroadcastMessage(RestOutputMessage message) throws Exception {
+    static List<Object> restoreEventsFromBroadcastMessage(RestOutputMessage message) throws Exception {
         return fromJson(message.getBody());
     }
 
-    static Object restoreEventFromClientMessage(String message) throws Exception {
+    static List<Object> restoreEventsFromClientMessage(String message) throws Exception {
         if (message != null) {
             return fromJson(message);
         }
-        return null;
+        return Collections.emptyList();
+    }
+
+    private static String toJson(List<?> events, int compressThreshold) throws Exception {
+        final String json;
+        if (events.size() == 1) {
+            json = toJson(events.get(0));
+        } else {
+            final StringBuilder array = new StringBuilder().append('[');
+            for (Object event : events) {
+                if (array.length() > 1) {
+                    array.append(',');
+                }
+                array.append(toJson(event));
+            }
+            json = array.append(']').toString();
+        }
+        if (compressThreshold <= 0 || isShorterThan(json, compressThreshold)) {
+            return json;
+        }
+        final byte[] utf8 = json.getBytes(UTF_8);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(utf8.length / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(utf8);
+        }
+        return "{\"" + GZIP_PROPERTY + "\":\"" + Base64.getEncoder().encodeToString(bytes.toByteArray()) + "\"}";
+    }
+
+    /** Checks whether size of string in UTF-8 is less than {@code limit} bytes without encoding the string. */
+    static boolean isShorterThan(String str, int limit) {
+        final int length = str.length();
+        if (length >= limit) {
+            // each char takes at least one byte
+            return false;
+        }
+        if (length < limit / 3) {
+            // each char takes at most three bytes, surrogate pair takes four bytes
+            return true;
+        }
+        int bytes = 0;
+        for (int i = 0; i < length && bytes < limit; i++) {
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes < limit;
     }
 
     private static String toJson(Object event) throws Exception {
+        final Class<?> dtoInterface = event instanceof JsonSerializable ? getDtoInterface(event.getClass()) : null;
+        if (dtoInterface != null) {
+            return "{\"" + DTO_PROPERTY + "\":\"" + dtoInterface.getName() + "\",\"" + VALUE_PROPERTY + "\":"
+                   + DtoFactory.getInstance().toCompactJson(event) + '}';
+        }
         final String type = event.getClass().getName();
         final JsonValue json = JsonGenerator.createJsonObject(event);
         json.addElement("$type", new StringValue(type));
@@ -75,13 +173,57 @@ class Messages {
         return w.toString();
     }
 
-    private static Object fromJson(String json) throws Exception {
+    private static List<Object> fromJson(String json) throws Exception {
         if (json == null || json.isEmpty()) {
-            return null;
+            return Collections.emptyList();
         }
+        return fromJson(new StringReader(json));
+    }
+
+    private static List<Object> fromJson(Reader json) throws Exception {
         final JsonParser parser = new JsonParser();
-        parser.parse(new StringReader(json));
+        parser.parse(json);
         final JsonValue node = parser.getJsonObject();
+        if (node.isArray()) {
+            final List<Object> events = new ArrayList<>();
+            for (Iterator<JsonValue> it = node.getElements(); it.hasNext(); ) {
+                final Object event = fromJsonNode(it.next());
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+        final JsonValue gzipNode = node.getElement(GZIP_PROPERTY);
+        if (gzipNode != null) {
+            return fromJson(gunzip(gzipNode.getStringValue()));
+        }
+        final Object event = fromJsonNode(node);
+        return event == null ? Collections.emptyList() : Collections.singletonList(event);
+    }
+
+    private static Reader gunzip(String base64) throws IOException {
+        final byte[] compressed = Base64.getDecoder().decode(base64);
+        return new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(compressed)), UTF_8);
+    }
+
+    private static Class<?> getDtoInterface(Class<?> dtoImpl) {
+        for (Class<?> implemented : dtoImpl.getInterfaces()) {
+            if (implemented.isAnnotationPresent(DTO.class)) {
+                return implemented;
+            }
+        }
+        return null;
+    }
+
+    private static Object fromJsonNode(JsonValue node) throws Exception {
+        final JsonValue dtoNode = node.getElement(DTO_PROPERTY);
+        final JsonValue valueNode = node.getElement(VALUE_PROPERTY);
+        if (dtoNode != null && valueNode != null) {
+            final Writer w = new StringWriter();
+            valueNode.writeTo(new JsonWriter(w));
+            return DtoFactory.getInstance().createDtoFromCompactJson(w.toString(), Class.forName(dtoNode.getStringValue()));
+        }
         final JsonValue typeNode = node.getElement("$type");
         final String type;
         if (typeNode == null || (type = typeNode.getStringValue()) == null) {
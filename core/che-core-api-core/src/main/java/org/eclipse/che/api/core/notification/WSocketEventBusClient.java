@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,11 +45,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Receives event over websocket and publish them to the local EventsService.
  *
+ * <p>Local events which are propagated to the same server are sent in batches, see {@link EventBatcher}.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -56,6 +60,15 @@ public final class WSocketEventBusClient {
     private static final Logger LOG = LoggerFactory.getLogger(WSocketEventBusClient.class);
 
     private static final long WS_CONNECTION_TIMEOUT = 2;
+    private static final int  MAX_BATCH_SIZE        = 500;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("notification.client.batch_window_ms")
+    private long batchWindowMs = 50;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("notification.client.compress_threshold_bytes")
+    private int compressThreshold = 8192;
 
     private final EventService                         eventService;
     private final Pair<String, String>[]               eventSubscriptions;
@@ -64,7 +77,9 @@ public final class WSocketEventBusClient {
     private final ConcurrentMap<URI, Future<WSClient>> connections;
     private final AtomicBoolean                        start;
 
-    private ExecutorService executor;
+    private ExecutorService          executor;
+    private ScheduledExecutorService scheduler;
+    private EventBatcher<URI>        batcher;
 
     @Inject
     public WSocketEventBusClient(EventService eventService,
@@ -83,6 +98,10 @@ public final class WSocketEventBusClient {
     void start() {
         if (start.compareAndSet(false, true)) {
             if (policy != null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("WSocketEventBusClient-Batch-%d")
+                                                                                                 .setDaemon(true)
+                                                                                                 .build());
+                batcher = new EventBatcher<>(scheduler, batchWindowMs, MAX_BATCH_SIZE, this::send);
                 eventService.subscribe(new EventSubscriber<Object>() {
                     @Override
                     public void onEvent(Object event) {
@@ -118,11 +137,11 @@ public final class WSocketEventBusClient {
     }
 
     protected void propagate(Object event) {
-        connections.values().stream().filter(future -> future.isDone()).forEach(future -> {
+        connections.entrySet().stream().filter(entry -> entry.getValue().isDone()).forEach(entry -> {
             try {
-                final WSClient client = future.get();
+                final WSClient client = entry.getValue().get();
                 if (policy != null && policy.shouldPropagated(client.getServerUri(), event)) {
-                    client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    batcher.add(entry.getKey(), event);
                 }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
@@ -130,10 +149,25 @@ public final class WSocketEventBusClient {
         });
     }
 
+    protected void send(URI wsUri, List<Object> events) throws Exception {
+        final Future<WSClient> future = connections.get(wsUri);
+        if (future == null || !future.isDone()) {
+            LOG.warn("Connection to {} is lost, {} events are not sent", wsUri, events.size());
+            return;
+        }
+        future.get().send(messageConverter.toString(Messages.clientMessage(events, compressThreshold)));
+    }
+
     @PreDestroy
     void stop() {
-        if (start.compareAndSet(true, false) && executor != null) {
-            executor.shutdownNow();
+        if (start.compareAndSet(true, false)) {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                batcher.flush();
+            }
         }
     }
 
@@ -205,8 +239,7 @@ public final class WSocketEventBusClient {
                         if ("x-everrest-websocket-channel".equals(header.getName())) {
                             final String channel = header.getValue();
                             if (channel != null && channels.contains(channel)) {
-                                final Object event = Messages.restoreEventFromBroadcastMessage(message);
-                                if (event != null) {
+                                for (Object event : Messages.restoreEventsFromBroadcastMessage(message)) {
                                     eventService.publish(event);
                                 }
                             }
@@ -10,21 +10,38 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.everrest.websockets.WSConnection;
 import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.WSConnectionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.eclipse.che.commons.annotation.Nullable;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.MediaType;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Publishes events which come from clients to the local EventService and propagates local events to clients.
+ *
+ * <p>Events of the same channel are sent in batches, see {@link EventBatcher}. Events of channel which has no
+ * subscribed connections are not serialized at all. Connections are tracked since this service starts, so it must be
+ * started before clients connect.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -32,9 +49,24 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class WSocketEventBusServer {
     private static final Logger LOG = LoggerFactory.getLogger(WSocketEventBusServer.class);
 
+    private static final int MAX_BATCH_SIZE = 500;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("notification.server.batch_window_ms")
+    private long batchWindowMs = 50;
+
+    @com.google.inject.Inject(optional = true)
+    @Named("notification.server.compress_threshold_bytes")
+    private int compressThreshold = 8192;
+
     private final EventService                 eventService;
     private final ServerEventPropagationPolicy policy;
     private final AtomicBoolean                start;
+    private final Set<WSConnection>            connections;
+    private final WSConnectionListener         connectionListener;
+
+    private ScheduledExecutorService scheduler;
+    private EventBatcher<String>     batcher;
 
     @Inject
     public WSocketEventBusServer(EventService eventService, @Nullable ServerEventPropagationPolicy policy) {
@@ -42,14 +74,25 @@ public final class WSocketEventBusServer {
         this.policy = policy;
 
         start = new AtomicBoolean(false);
+        connections = ConcurrentHashMap.newKeySet();
+        connectionListener = new WSConnectionListener() {
+            @Override
+            public void onOpen(WSConnection connection) {
+                connections.add(connection);
+            }
+
+            @Override
+            public void onClose(WSConnection connection) {
+                connections.remove(connection);
+            }
+        };
     }
 
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     public void event(String message) {
         try {
-            final Object event = Messages.restoreEventFromClientMessage(message);
-            if (event != null) {
+            for (Object event : Messages.restoreEventsFromClientMessage(message)) {
                 eventService.publish(event);
             }
         } catch (Exception e) {
@@ -61,26 +104,56 @@ public final class WSocketEventBusServer {
     void start() {
         if (start.compareAndSet(false, true)) {
             if (policy != null) {
+                WSConnectionContext.registerConnectionListener(connectionListener);
+                scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("WSocketEventBusServer-%d")
+                                                                                                 .setDaemon(true)
+                                                                                                 .build());
+                batcher = new EventBatcher<>(scheduler, batchWindowMs, MAX_BATCH_SIZE, this::send);
                 eventService.subscribe(new EventSubscriber<Object>() {
                     @Override
                     public void onEvent(Object event) {
                         propagate(event);
                     }
-                });
+                }, EventDispatchPolicy.ordered(1000, EventDispatchPolicy.Overflow.BLOCK));
             }
         }
     }
 
+    @PreDestroy
+    void stop() {
+        if (start.compareAndSet(true, false) && policy != null) {
+            WSConnectionContext.removeConnectionListener(connectionListener);
+            scheduler.shutdownNow();
+            batcher.flush();
+        }
+    }
+
     protected void propagate(Object event) {
         if (policy.shouldPropagated(event)) {
             try {
-                WSConnectionContext.sendMessage(Messages.broadcastMessage(resolveChannelName(event), event));
+                final String channel = resolveChannelName(event);
+                if (hasSubscribers(channel)) {
+                    batcher.add(channel, event);
+                }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
         }
     }
 
+    protected void send(String channel, List<Object> events) throws Exception {
+        WSConnectionContext.sendMessage(Messages.broadcastMessage(channel, events, compressThreshold));
+    }
+
+    private boolean hasSubscribers(String channel) {
+        for (WSConnection connection : connections) {
+            if (connection.getChannels().contains(channel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected String resolveChannelName(Object event) {
         final EventOrigin eventOrigin = event.getClass().getAnnotation(EventOrigin.class);
         if (eventOrigin == null) {
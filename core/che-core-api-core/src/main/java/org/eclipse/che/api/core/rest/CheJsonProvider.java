@@ -14,6 +14,7 @@ import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.shared.DTO;
+import org.everrest.core.ApplicationContext;
 import org.everrest.core.impl.provider.JsonEntityProvider;
 
 import javax.inject.Inject;
@@ -28,6 +29,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -37,6 +39,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -53,6 +56,13 @@ import java.util.Set;
 @Produces({MediaType.APPLICATION_JSON})
 @Consumes({MediaType.APPLICATION_JSON})
 public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    /**
+     * Media type of DTOs written in compact form, see {@link DtoFactory#toCompactJson(Object, Writer)}. Client which includes this
+     * type in "Accept" header gets DTOs in compact form even if resource method produces "application/json".
+     */
+    public static final String    COMPACT_JSON      = "application/x-che-compact+json";
+    public static final MediaType COMPACT_JSON_TYPE = MediaType.valueOf(COMPACT_JSON);
+
     private Set<Class> ignoredClasses;
     private final JsonEntityProvider delegate = new JsonEntityProvider<>();
 
@@ -79,9 +89,18 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
                         MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
-        if (t instanceof JsonSerializable) {
-            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+        if (t instanceof JsonSerializable || isListOfDtos(t)) {
+            final boolean compact = isCompactJsonAcceptable();
+            if (compact) {
+                httpHeaders.putSingle(HttpHeaders.CONTENT_TYPE, COMPACT_JSON_TYPE);
+            }
+            // DTOs are written directly to the stream without building JSON tree or string
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, Charset.forName("UTF-8")))) {
+                if (compact) {
+                    DtoFactory.getInstance().toCompactJson(t, w);
+                } else {
+                    DtoFactory.getInstance().toJson(t, w);
+                }
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -114,6 +133,33 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    private static boolean isListOfDtos(Object entity) {
+        if (!(entity instanceof Collection)) {
+            return false;
+        }
+        for (Object element : (Collection<?>)entity) {
+            if (!(element instanceof JsonSerializable)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Checks whether client of the current request explicitly accepts {@link #COMPACT_JSON} content. */
+    private static boolean isCompactJsonAcceptable() {
+        final ApplicationContext context = ApplicationContext.getCurrent();
+        if (context == null || context.getContainerRequest() == null) {
+            return false;
+        }
+        for (MediaType mediaType : context.getContainerRequest().getAcceptableMediaTypes()) {
+            if (COMPACT_JSON_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+                && COMPACT_JSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
@@ -35,13 +35,16 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -72,6 +75,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private Object                body;
     private List<Pair<String, ?>> queryParams;
     private String                authorizationHeaderValue;
+    private boolean               compactJson;
 
     DefaultHttpJsonRequest(String url) {
         this.url = requireNonNull(url, "Required non-null url");
@@ -124,6 +128,12 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return this;
     }
 
+    @Override
+    public HttpJsonRequest useCompactJson() {
+        compactJson = true;
+        return this;
+    }
+
     @Override
     public HttpJsonRequest setTimeout(int timeout) {
         this.timeout = timeout;
@@ -159,7 +169,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
      * Makes this request using {@link HttpURLConnection}.
      *
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
-     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
+     * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value, compact JSON is accepted as well if {@link
+     * #useCompactJson()} was called.
      * <br>Encodes query parameters in "UTF-8".
      *
      * @param timeout
@@ -176,7 +187,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
      *         value of authorization header, may be null
      * @return response to this request
      * @throws IOException
-     *         when connection content type is not "application/json"
+     *         when connection content type is neither "application/json" nor compact JSON
      * @throws ServerException
      *         when response code is 500 or it is different from 400, 401, 403, 404, 409
      * @throws ForbiddenException
@@ -217,12 +228,14 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             url = ub.build().toString();
         }
         final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
+        boolean responseRead = false;
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
-            conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            conn.addRequestProperty(HttpHeaders.ACCEPT, compactJson ? CheJsonProvider.COMPACT_JSON + ", " + MediaType.APPLICATION_JSON
+                                                                    : MediaType.APPLICATION_JSON);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
@@ -237,8 +250,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                     conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
                 }
 
-                try (OutputStream output = conn.getOutputStream()) {
-                    output.write(DtoFactory.getInstance().toJson(body).getBytes());
+                // body is written directly to the connection without building JSON string
+                try (Writer output = new BufferedWriter(new OutputStreamWriter(conn.getOutputStream(), StandardCharsets.UTF_8))) {
+                    DtoFactory.getInstance().toJson(body, output);
                 }
             }
 
@@ -252,9 +266,11 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 try (Reader reader = new InputStreamReader(in)) {
                     str = CharStreams.toString(reader);
                 }
+                responseRead = true;
                 final String contentType = conn.getContentType();
-                if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
-                    final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
+                if (contentType != null && isJson(contentType)) {
+                    // compact reader reads DTOs in regular form as well
+                    final ServiceError serviceError = DtoFactory.getInstance().createDtoFromCompactJson(str, ServiceError.class);
                     if (serviceError.getMessage() != null) {
                         if (responseCode == Response.Status.FORBIDDEN.getStatusCode()) {
                             throw new ForbiddenException(serviceError);
@@ -277,18 +293,40 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                                                     UriBuilder.fromUri(url).replaceQuery("token").build(), method, responseCode, str));
             }
             final String contentType = conn.getContentType();
-            if (contentType != null && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
+            if (contentType != null && !isJson(contentType)) {
                 throw new IOException(conn.getResponseMessage());
             }
 
+            final String response;
             try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+                response = CharStreams.toString(reader);
             }
+            responseRead = true;
+            return new DefaultHttpJsonResponse(response,
+                                               responseCode,
+                                               contentType != null && contentType.startsWith(CheJsonProvider.COMPACT_JSON));
         } finally {
-            conn.disconnect();
+            releaseConnection(conn, responseRead);
         }
     }
 
+    /**
+     * Called when request is completed or failed. Disconnects, so connection isn't reused by other requests.
+     *
+     * @param conn
+     *         connection of the request
+     * @param responseRead
+     *         true if response was read to the end and its stream is closed, so connection may be reused
+     */
+    void releaseConnection(HttpURLConnection conn, boolean responseRead) {
+        conn.disconnect();
+    }
+
+    /** Checks whether content type is either regular or compact JSON. */
+    private static boolean isJson(String contentType) {
+        return contentType.startsWith(MediaType.APPLICATION_JSON) || contentType.startsWith(CheJsonProvider.COMPACT_JSON);
+    }
+
     private String getAuthenticationToken() {
         final Subject subject = EnvironmentContext.getCurrent().getSubject();
         if (subject != null) {
@@ -305,6 +343,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                ", method='" + method + '\'' +
                ", body=" + body +
                ", queryParams=" + queryParams +
+               ", compactJson=" + compactJson +
                '}';
     }
 }
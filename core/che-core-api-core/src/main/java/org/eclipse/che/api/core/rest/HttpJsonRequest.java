@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines simple set of methods for requesting json objects.
@@ -141,6 +142,14 @@ public interface HttpJsonRequest {
      */
     HttpJsonRequest setTimeout(int timeoutMs);
 
+    /**
+     * Asks server to send DTOs in compact form, see {@link CheJsonProvider#COMPACT_JSON}. Server which doesn't support it responds
+     * with regular JSON, {@link HttpJsonResponse#asDto(Class)} and {@link HttpJsonResponse#asList(Class)} read both forms.
+     *
+     * @return this request instance
+     */
+    HttpJsonRequest useCompactJson();
+
     /**
      * Returns HTTP URL built from source URL
      * and query parameters added to this request.
@@ -177,6 +186,25 @@ public interface HttpJsonRequest {
                                       ConflictException,
                                       BadRequestException;
 
+    /**
+     * Makes this request asynchronously, see {@link #request()}. Returned future is completed exceptionally with the same
+     * exceptions {@link #request()} throws. Request must not be modified until the future is completed.
+     *
+     * <p>Default implementation makes request in the calling thread, {@link PooledHttpJsonRequestFactory} provides requests
+     * which are executed by its thread pool.
+     *
+     * @return future response of this request
+     */
+    default CompletableFuture<HttpJsonResponse> requestAsync() {
+        final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+        try {
+            future.complete(request());
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Uses {@link HttpMethod#GET} as a request method.
      *
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Request created by {@link PooledHttpJsonRequestFactory}. Leaves connection alive after the response is read and limits
+ * number of concurrent requests to one host.
+ */
+class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+    private final PooledHttpJsonRequestFactory factory;
+
+    PooledHttpJsonRequest(String url, PooledHttpJsonRequestFactory factory) {
+        super(url);
+        this.factory = factory;
+    }
+
+    PooledHttpJsonRequest(Link link, PooledHttpJsonRequestFactory factory) {
+        super(link);
+        this.factory = factory;
+    }
+
+    @Override
+    public CompletableFuture<HttpJsonResponse> requestAsync() {
+        return factory.execute(this::request);
+    }
+
+    @Override
+    DefaultHttpJsonResponse doRequest(int timeout,
+                                      String url,
+                                      String method,
+                                      Object body,
+                                      List<Pair<String, ?>> parameters,
+                                      String authorizationHeaderValue) throws IOException,
+                                                                              ServerException,
+                                                                              ForbiddenException,
+                                                                              NotFoundException,
+                                                                              UnauthorizedException,
+                                                                              ConflictException,
+                                                                              BadRequestException {
+        final String host = factory.acquire(url);
+        try {
+            return super.doRequest(timeout, url, method, body, parameters, authorizationHeaderValue);
+        } finally {
+            factory.release(host);
+        }
+    }
+
+    @Override
+    void releaseConnection(HttpURLConnection conn, boolean responseRead) {
+        // response read to the end returns connection to JDK keep-alive cache, otherwise connection is in unknown state
+        if (!responseRead) {
+            conn.disconnect();
+        }
+    }
+}
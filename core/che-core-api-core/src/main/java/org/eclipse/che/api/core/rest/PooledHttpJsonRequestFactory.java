@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates {@link HttpJsonRequest} instances which reuse HTTP connections and may be executed asynchronously.
+ *
+ * <p>Unlike {@link DefaultHttpJsonRequestFactory} requests don't disconnect after the response is read, so JDK keeps
+ * connection alive and reuses it for the next request to the same host. JDK keeps at most "http.maxConnections" (5 by
+ * default) idle connections per host, that is why number of concurrent requests to one host is limited as well, see
+ * {@link #MAX_REQUESTS_PER_HOST_PROPERTY}. Requests which exceed the limit wait for the running ones.
+ *
+ * <p>{@link HttpJsonRequest#requestAsync()} executes requests with thread pool of this factory, environment context
+ * of the calling thread is propagated to the pool thread.
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+    public static final String THREADS_PROPERTY               = "http.client.threads";
+    public static final String MAX_REQUESTS_PER_HOST_PROPERTY = "http.client.max_requests_per_host";
+
+    @Inject(optional = true)
+    @Named(THREADS_PROPERTY)
+    private int threads = 10;
+
+    @Inject(optional = true)
+    @Named(MAX_REQUESTS_PER_HOST_PROPERTY)
+    private int maxRequestsPerHost = 5;
+
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    public PooledHttpJsonRequestFactory() {
+    }
+
+    PooledHttpJsonRequestFactory(int threads, int maxRequestsPerHost) {
+        this.threads = threads;
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    @Override
+    public HttpJsonRequest fromUrl(@NotNull String url) {
+        return new PooledHttpJsonRequest(url, this);
+    }
+
+    @Override
+    public HttpJsonRequest fromLink(@NotNull Link link) {
+        return new PooledHttpJsonRequest(link, this);
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Executes the given request with thread pool of this factory. */
+    <T> CompletableFuture<T> execute(Callable<T> request) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        getExecutor().execute(ThreadLocalPropagateContext.wrap(() -> {
+            try {
+                future.complete(request.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Acquires permit for request to the host of the given url, waits if the maximum number of requests to this host is
+     * already running. Permit must be released with {@link #release(String)}.
+     *
+     * @return host which permit must be released
+     */
+    String acquire(String url) throws IOException {
+        final String host = new URL(url).getAuthority();
+        try {
+            getHostPermits(host).acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for connection to " + host, e);
+        }
+        return host;
+    }
+
+    void release(String host) {
+        getHostPermits(host).release();
+    }
+
+    private Semaphore getHostPermits(String host) {
+        Semaphore permits = hostPermits.get(host);
+        if (permits == null) {
+            final Semaphore newPermits = new Semaphore(maxRequestsPerHost);
+            permits = hostPermits.putIfAbsent(host, newPermits);
+            if (permits == null) {
+                permits = newPermits;
+            }
+        }
+        return permits;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("HttpJsonRequest-%d")
+                                                                                        .setDaemon(true)
+                                                                                        .build());
+        }
+        return executor;
+    }
+}
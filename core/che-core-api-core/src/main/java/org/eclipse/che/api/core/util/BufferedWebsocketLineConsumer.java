@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Line consumer that sends lines to specified websocket channel in batches.
+ *
+ * <p>The first line after a quiet period is sent immediately, lines which come later are buffered and sent all together
+ * once per flush interval, so a chatty process produces at most one batch of messages per interval. Each message
+ * contains up to {@code maxMessageLines} lines separated with '\n'. If more than {@code maxBufferedLines} lines come
+ * within one interval the oldest ones are dropped and replaced with a line which tells how many lines are skipped, full
+ * output should be read from logs. A line which ends with '\r' is replaced by the next line on the client side, so such
+ * line is not sent at all if it is followed by another line in the same batch.
+ *
+ * <p>Consumer keeps counters of written, sent and dropped lines, snapshot of them is available with {@link #getMetrics()}
+ * and may be used for monitoring throughput of channel also after consumer is closed.
+ */
+public class BufferedWebsocketLineConsumer implements LineConsumer {
+    private static final Logger LOG = getLogger(BufferedWebsocketLineConsumer.class);
+
+    private final String                   channel;
+    private final ScheduledExecutorService scheduler;
+    private final long                     flushIntervalMs;
+    private final int                      maxMessageLines;
+    private final int                      maxBufferedLines;
+    private final Deque<String>            lines;
+    private final AtomicLong               writtenLines;
+    private final AtomicLong               sentLines;
+    private final AtomicLong               droppedLines;
+    private final AtomicLong               sentMessages;
+
+    private int                skippedLines;
+    private long               lastFlushTime;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean            closed;
+
+    /**
+     * @param channel
+     *         websocket channel
+     * @param scheduler
+     *         scheduler of delayed sending, may be shared between many consumers
+     * @param flushIntervalMs
+     *         min interval between two batches of messages
+     * @param maxMessageLines
+     *         max number of lines in one message
+     * @param maxBufferedLines
+     *         max number of lines which are kept between two batches
+     */
+    public BufferedWebsocketLineConsumer(String channel,
+                                         ScheduledExecutorService scheduler,
+                                         long flushIntervalMs,
+                                         int maxMessageLines,
+                                         int maxBufferedLines) {
+        this.channel = channel;
+        this.scheduler = scheduler;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxMessageLines = maxMessageLines;
+        this.maxBufferedLines = maxBufferedLines;
+        lines = new ArrayDeque<>();
+        writtenLines = new AtomicLong();
+        sentLines = new AtomicLong();
+        droppedLines = new AtomicLong();
+        sentMessages = new AtomicLong();
+    }
+
+    @Override
+    public synchronized void writeLine(String line) {
+        if (closed) {
+            return;
+        }
+        writtenLines.incrementAndGet();
+        lines.add(line == null ? "" : line);
+        if (lines.size() > maxBufferedLines) {
+            lines.removeFirst();
+            skippedLines++;
+            droppedLines.incrementAndGet();
+        }
+        if (scheduledFlush == null) {
+            final long delay = lastFlushTime + flushIntervalMs - System.currentTimeMillis();
+            if (delay > 0) {
+                scheduledFlush = scheduler.schedule(this::flush, delay, MILLISECONDS);
+            } else {
+                flush();
+            }
+        }
+    }
+
+    /** Sends all buffered lines. Messages are sent under lock to keep them in order. */
+    public synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        lastFlushTime = System.currentTimeMillis();
+        for (String message : drain()) {
+            sendMessage(message);
+            sentMessages.incrementAndGet();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flush();
+        LOG.debug("{}", getMetrics());
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /** Returns number of lines written to this consumer. */
+    public long getWrittenLines() {
+        return writtenLines.get();
+    }
+
+    /** Returns number of lines sent to websocket channel, lines which are replaced on the client side are not counted. */
+    public long getSentLines() {
+        return sentLines.get();
+    }
+
+    /** Returns number of lines which are dropped because they come faster than they may be sent. */
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    /** Returns number of websocket messages sent to channel. */
+    public long getSentMessages() {
+        return sentMessages.get();
+    }
+
+    /** Returns snapshot of counters of this consumer. */
+    public synchronized Metrics getMetrics() {
+        return new Metrics(channel, getWrittenLines(), getSentLines(), getDroppedLines(), getSentMessages(), closed);
+    }
+
+    /** Sends message to websocket channel. */
+    protected void sendMessage(String body) {
+        final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+        bm.setChannel(channel);
+        bm.setBody(body);
+        try {
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error("A problem occurred while sending websocket message", e);
+        }
+    }
+
+    /** Joins buffered lines into messages, must be called under lock. */
+    private List<String> drain() {
+        final List<String> messages = new ArrayList<>();
+        final StringBuilder message = new StringBuilder();
+        int messageLines = 0;
+        if (skippedLines > 0) {
+            message.append(String.format("[%d lines skipped, see logs of process for full output]", skippedLines));
+            messageLines++;
+            skippedLines = 0;
+        }
+        for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+            final String line = it.next();
+            if (line.endsWith("\r")) {
+                if (it.hasNext()) {
+                    // client replaces this line with the next one
+                    continue;
+                }
+                // client replaces the whole message which ends with '\r', so this line goes separately
+                if (messageLines > 0) {
+                    messages.add(message.toString());
+                    message.setLength(0);
+                    messageLines = 0;
+                }
+            } else if (messageLines == maxMessageLines) {
+                messages.add(message.toString());
+                message.setLength(0);
+                messageLines = 0;
+            }
+            if (messageLines > 0) {
+                message.append('\n');
+            }
+            message.append(line);
+            messageLines++;
+            sentLines.incrementAndGet();
+        }
+        if (messageLines > 0) {
+            messages.add(message.toString());
+        }
+        lines.clear();
+        return messages;
+    }
+
+    /** Throughput counters of websocket channel at the moment when snapshot is taken. */
+    public static class Metrics {
+        private final String  channel;
+        private final long    writtenLines;
+        private final long    sentLines;
+        private final long    droppedLines;
+        private final long    sentMessages;
+        private final boolean closed;
+
+        Metrics(String channel, long writtenLines, long sentLines, long droppedLines, long sentMessages, boolean closed) {
+            this.channel = channel;
+            this.writtenLines = writtenLines;
+            this.sentLines = sentLines;
+            this.droppedLines = droppedLines;
+            this.sentMessages = sentMessages;
+            this.closed = closed;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public long getWrittenLines() {
+            return writtenLines;
+        }
+
+        public long getSentLines() {
+            return sentLines;
+        }
+
+        public long getDroppedLines() {
+            return droppedLines;
+        }
+
+        public long getSentMessages() {
+            return sentMessages;
+        }
+
+        /** Returns {@code true} if consumer is closed and counters are not changed anymore. */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                   "channel='" + channel + '\'' +
+                   ", writtenLines=" + writtenLines +
+                   ", sentLines=" + sentLines +
+                   ", droppedLines=" + droppedLines +
+                   ", sentMessages=" + sentMessages +
+                   ", closed=" + closed +
+                   '}';
+        }
+    }
+}
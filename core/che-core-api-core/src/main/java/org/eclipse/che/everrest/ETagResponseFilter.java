@@ -23,6 +23,7 @@ import org.everrest.core.ResponseFilter;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -37,7 +38,8 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
 /**
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
- * It is applying on GET method and JSON content type only.
+ * It is applying on GET method and JSON content type only. If resource method has already set ETag header, e.g. built from
+ * version of resource with {@link EntityTags}, then this tag is used as is and entity is not serialized for hashing.
  *
  * @author Florent Benoit
  */
@@ -80,6 +82,18 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // resource has already tagged the entity with its version, see EntityTags, no need to hash the entity
+        Object providedTag = containerResponse.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (providedTag != null) {
+            EntityTag entityTag = providedTag instanceof EntityTag ? (EntityTag)providedTag
+                                                                   : EntityTag.valueOf(providedTag.toString());
+            Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+            if (builder != null) {
+                containerResponse.setResponse(builder.tag(entityTag).build());
+            }
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.everrest.core.ApplicationContext;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Helpers for resources which compute entity tag from cheap version stamps, e.g. modification date, length or status, instead
+ * of letting {@link ETagResponseFilter} to serialize and hash the response entity. Typical usage in resource method:
+ * <pre>
+ *     final EntityTag tag = EntityTags.versionTag(item.getModified(), item.getLength());
+ *     final Response notModified = EntityTags.notModified(tag);
+ *     if (notModified != null) {
+ *         return notModified;
+ *     }
+ *     return Response.ok(asDto(item)).tag(tag).build();
+ * </pre>
+ * Entity tags created by this class are weak, since two versions of resource may have the same stamps if resource is modified
+ * twice in short period of time.
+ */
+public final class EntityTags {
+
+    /**
+     * Creates weak entity tag from version stamps of resource. Stamps must include everything that affects representation of
+     * resource.
+     */
+    public static EntityTag versionTag(Object... stamps) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Object stamp : stamps) {
+            hasher.putString(String.valueOf(stamp), UTF_8).putByte((byte)0);
+        }
+        return new EntityTag(hasher.hash().toString(), true);
+    }
+
+    /**
+     * Evaluates preconditions of current request against entity tag, so that resource method may skip building of entity.
+     *
+     * @return response with status 304 (Not Modified) if client has up to date entity, or {@code null} if entity must be sent
+     */
+    public static Response notModified(EntityTag entityTag) {
+        final Request request = ApplicationContext.getCurrent().getRequest();
+        final Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+        return builder == null ? null : builder.tag(entityTag).build();
+    }
+
+    private EntityTags() {
+    }
+}
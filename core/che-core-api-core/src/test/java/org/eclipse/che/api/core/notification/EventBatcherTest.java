@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+
+public class EventBatcherTest {
+    private ScheduledExecutorService scheduler;
+    private List<String>             sent;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        sent = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void sendsFirstEventImmediatelyAndNextOnesTogether() throws Exception {
+        final EventBatcher<String> batcher = new EventBatcher<>(scheduler, 200, 100, this::send);
+
+        batcher.add("a", "1");
+        assertEquals(sent, singletonList("a:[1]"));
+
+        batcher.add("a", "2");
+        batcher.add("b", "1");
+        batcher.add("a", "3");
+        assertEquals(sent, asList("a:[1]", "b:[1]"));
+
+        waitForBatches(batcher, 3);
+        assertEquals(sent, asList("a:[1]", "b:[1]", "a:[2, 3]"));
+        assertEquals(batcher.getSentEvents(), 4);
+    }
+
+    @Test
+    public void sendsBatchWhenItReachesMaxSize() {
+        final EventBatcher<String> batcher = new EventBatcher<>(scheduler, 60_000, 2, this::send);
+
+        batcher.add("a", "1");
+        batcher.add("a", "2");
+        batcher.add("a", "3");
+        batcher.add("a", "4");
+        assertEquals(sent, asList("a:[1]", "a:[2, 3]"));
+
+        batcher.flush();
+        assertEquals(sent, asList("a:[1]", "a:[2, 3]", "a:[4]"));
+    }
+
+    @Test
+    public void sendsEveryEventImmediatelyWithoutWindow() {
+        final EventBatcher<String> batcher = new EventBatcher<>(scheduler, 0, 100, this::send);
+
+        batcher.add("a", "1");
+        batcher.add("a", "2");
+
+        assertEquals(sent, asList("a:[1]", "a:[2]"));
+        assertEquals(batcher.getSentBatches(), 2);
+    }
+
+    private void send(String destination, List<Object> events) {
+        sent.add(destination + ':' + events);
+    }
+
+    private void waitForBatches(EventBatcher<?> batcher, int batches) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (batcher.getSentBatches() < batches && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
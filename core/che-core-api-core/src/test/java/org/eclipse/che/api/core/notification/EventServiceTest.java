@@ -11,12 +11,21 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.BLOCK;
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.DROP_NEWEST;
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.DROP_OLDEST;
 
 /**
  * @author andrew00x
@@ -29,6 +38,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +171,170 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testOrderedSubscriberDoesNotBlockPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch delivered = new CountDownLatch(3);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add(event);
+                threads.add(Thread.currentThread().getName());
+                delivered.countDown();
+            }
+        }, EventDispatchPolicy.ordered(10, BLOCK));
+
+        bus.publish("1");
+        bus.publish("2");
+        bus.publish("3");
+        Assert.assertTrue(events.isEmpty());
+
+        release.countDown();
+        Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, asList("1", "2", "3"));
+        Assert.assertTrue(threads.get(0).startsWith("EventService-"));
+    }
+
+    @Test
+    public void testOverflowOfSubscriberQueue() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        final List<String> newest = Collections.synchronizedList(new ArrayList<>());
+        final List<String> oldest = Collections.synchronizedList(new ArrayList<>());
+        final BlockedListener dropNewest = new BlockedListener(started, release, newest);
+        final BlockedListener dropOldest = new BlockedListener(started, release, oldest);
+        bus.subscribe(dropNewest, EventDispatchPolicy.ordered(2, DROP_NEWEST));
+        bus.subscribe(dropOldest, EventDispatchPolicy.ordered(2, DROP_OLDEST));
+
+        bus.publish("1");
+        // first event is taken from the queue and blocks both subscribers
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        bus.publish("2");
+        bus.publish("3");
+        bus.publish("4");
+        Assert.assertEquals(bus.getMetrics(dropNewest).getQueueDepth(), 2);
+        release.countDown();
+
+        waitForQueue(dropNewest, 4);
+        waitForQueue(dropOldest, 4);
+        Assert.assertEquals(newest, asList("1", "2", "3"));
+        Assert.assertEquals(oldest, asList("1", "3", "4"));
+        Assert.assertEquals(bus.getMetrics(dropNewest).getDroppedCount(), 1);
+        Assert.assertEquals(bus.getMetrics(dropOldest).getDroppedCount(), 1);
+        Assert.assertEquals(bus.getMetrics(dropOldest).getMaxQueueDepth(), 2);
+    }
+
+    @Test
+    public void testBlockingOverflowHoldsPublisher() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final BlockedListener listener = new BlockedListener(started, release, events);
+        bus.subscribe(listener, EventDispatchPolicy.ordered(1, BLOCK));
+        bus.publish("1");
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        bus.publish("2");
+
+        final CountDownLatch published = new CountDownLatch(1);
+        new Thread(() -> {
+            bus.publish("3");
+            published.countDown();
+        }).start();
+        Assert.assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        Assert.assertTrue(published.await(5, TimeUnit.SECONDS));
+        waitForQueue(listener, 3);
+        Assert.assertEquals(events, asList("1", "2", "3"));
+        Assert.assertEquals(bus.getMetrics(listener).getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testBlockingOverflowDeliversEventPublishedBySubscriberItself() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final EventSubscriber<String> subscriber = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                if ("1".equals(event)) {
+                    // the second event fills the queue, the third one can't wait for room on the thread which drains it
+                    bus.publish("2");
+                    bus.publish("3");
+                }
+            }
+        };
+        bus.subscribe(subscriber, EventDispatchPolicy.ordered(1, BLOCK));
+
+        bus.publish("1");
+
+        waitForQueue(subscriber, 3);
+        Assert.assertEquals(events, asList("1", "3", "2"));
+        Assert.assertEquals(bus.getMetrics(subscriber).getDroppedCount(), 0);
+    }
+
+    @Test
+    public void testSameThreadSubscriberHasNoMetrics() {
+        final List<String> events = new ArrayList<>();
+        final EventSubscriber<String> subscriber = new EventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                events.add(event);
+                if ("fail".equals(event)) {
+                    throw new IllegalStateException(event);
+                }
+            }
+        };
+        bus.subscribe(subscriber);
+        bus.publish("fail");
+        bus.publish("hello");
+
+        Assert.assertEquals(events, asList("fail", "hello"));
+        Assert.assertNull(bus.getMetrics(subscriber));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSubscribeWithDifferentDispatchPolicy() {
+        final Listener listener = new Listener();
+        bus.subscribe(listener);
+        bus.subscribe(listener, EventDispatchPolicy.ordered(10, BLOCK));
+    }
+
+    private void waitForQueue(EventSubscriber<?> subscriber, int published) throws InterruptedException {
+        final EventSubscriberMetrics metrics = bus.getMetrics(subscriber);
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (metrics.getDeliveredCount() + metrics.getDroppedCount() < published && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    static class BlockedListener implements EventSubscriber<String> {
+        final CountDownLatch started;
+        final CountDownLatch release;
+        final List<String>   events;
+
+        BlockedListener(CountDownLatch started, CountDownLatch release, List<String> events) {
+            this.started = started;
+            this.release = release;
+            this.events = events;
+        }
+
+        @Override
+        public void onEvent(String event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
 }
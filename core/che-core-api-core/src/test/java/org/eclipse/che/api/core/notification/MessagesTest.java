@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.everrest.websockets.message.RestInputMessage;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class MessagesTest {
+    @Test
+    public void restoresSingleEvent() throws Exception {
+        final RestInputMessage message = Messages.clientMessage(singletonList(new Event("a")), 0);
+
+        assertTrue(message.getBody().startsWith("{"));
+        assertEquals(Messages.restoreEventsFromClientMessage(message.getBody()), singletonList(new Event("a")));
+    }
+
+    @Test
+    public void restoresBatchOfEvents() throws Exception {
+        final List<Event> events = asList(new Event("a"), new Event("b"));
+        final RestInputMessage message = Messages.clientMessage(events, 0);
+
+        assertTrue(message.getBody().startsWith("["));
+        assertEquals(Messages.restoreEventsFromClientMessage(message.getBody()), events);
+    }
+
+    @Test
+    public void compressesLargeBatch() throws Exception {
+        final List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            events.add(new Event("event " + i));
+        }
+        final String uncompressed = Messages.clientMessage(events, 0).getBody();
+        final String compressed = Messages.broadcastMessage("channel", events, 1024).getBody();
+
+        assertTrue(compressed.startsWith("{\"$gzip\":"));
+        assertTrue(compressed.length() < uncompressed.length() / 4);
+        assertEquals(Messages.restoreEventsFromClientMessage(compressed), events);
+    }
+
+    @Test
+    public void comparesCompressThresholdWithSizeOfBodyInBytes() throws Exception {
+        final StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 400; i++) {
+            data.append('\u0436');
+        }
+        final List<Event> events = asList(new Event(data.toString()), new Event(data.toString()));
+        final String uncompressed = Messages.clientMessage(events, 0).getBody();
+        assertTrue(uncompressed.length() < 1024);
+
+        final String compressed = Messages.clientMessage(events, 1024).getBody();
+
+        assertTrue(compressed.startsWith("{\"$gzip\":"));
+        assertEquals(Messages.restoreEventsFromClientMessage(compressed), events);
+    }
+
+    @Test
+    public void computesSizeOfStringInUtf8() throws Exception {
+        assertTrue(Messages.isShorterThan("abc", 4));
+        assertFalse(Messages.isShorterThan("abcd", 4));
+        assertTrue(Messages.isShorterThan("\u0436\u0436", 5));
+        assertFalse(Messages.isShorterThan("\u0436\u0436", 4));
+        assertTrue(Messages.isShorterThan("\u20ac\u20ac", 7));
+        assertFalse(Messages.isShorterThan("\u20ac\u20ac", 6));
+        assertTrue(Messages.isShorterThan("a\ud83d\ude00", 6));
+        assertFalse(Messages.isShorterThan("a\ud83d\ude00", 5));
+    }
+
+    @Test
+    public void writesDtoEventsInCompactForm() throws Exception {
+        final ServiceError dto = DtoFactory.newDto(ServiceError.class).withMessage("error");
+        final List<Object> events = asList(dto, new Event("a"));
+        final String body = Messages.clientMessage(events, 0).getBody();
+
+        assertTrue(body.startsWith("[{\"$dto\":\"" + ServiceError.class.getName() + "\""));
+        final List<Object> restored = Messages.restoreEventsFromClientMessage(body);
+        assertEquals(restored.size(), 2);
+        assertEquals(((ServiceError)restored.get(0)).getMessage(), "error");
+        assertEquals(restored.get(1), new Event("a"));
+    }
+
+    public static class Event {
+        private String data;
+
+        public Event() {
+        }
+
+        Event(String data) {
+            this.data = data;
+        }
+
+        public String getData() {
+            return data;
+        }
+
+        public void setData(String data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Event && data.equals(((Event)obj).data);
+        }
+
+        @Override
+        public int hashCode() {
+            return data.hashCode();
+        }
+    }
+}
@@ -74,6 +74,16 @@ public class DefaultHttpJsonResponseTest {
         assertEquals(response.asList(Link.class), singletonList(testLink));
     }
     
+    @Test
+    public void shouldReadDtosInRegularFormFromCompactJsonResponse() throws Exception {
+        final Link testLink = createLink("POST", "http://localhost:8080", "rel");
+        final String responseBody = DtoFactory.getInstance().toCompactJson(singletonList(testLink));
+        final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(responseBody, 200, true);
+
+        assertEquals(response.asList(Link.class), singletonList(testLink));
+        assertEquals(new DefaultHttpJsonResponse(DtoFactory.getInstance().toJson(testLink), 200, true).asDto(Link.class), testLink);
+    }
+
     @Test(expectedExceptions = NullPointerException.class)
     public void shouldThrowNullPointerExceptionWhenClazzIsNull() throws Exception {
         new DefaultHttpJsonResponse("{}", 200).as(null, null);
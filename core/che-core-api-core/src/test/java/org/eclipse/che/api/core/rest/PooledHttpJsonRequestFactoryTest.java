@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests of {@link PooledHttpJsonRequestFactory}.
+ */
+public class PooledHttpJsonRequestFactoryTest {
+    private static final Subject TEST_SUBJECT = new SubjectImpl("name", "id", "token", false);
+
+    private PooledHttpJsonRequestFactory factory;
+
+    @BeforeMethod
+    public void setUp() {
+        factory = new PooledHttpJsonRequestFactory(2, 1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        factory.stop();
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldExecuteRequestAsynchronouslyInEnvironmentContextOfCaller() throws Exception {
+        final EnvironmentContext context = new EnvironmentContext();
+        context.setSubject(TEST_SUBJECT);
+        EnvironmentContext.setCurrent(context);
+        final PooledHttpJsonRequest request = spy(new PooledHttpJsonRequest("http://localhost:8080/api", factory));
+        doAnswer(invocation -> new DefaultHttpJsonResponse(EnvironmentContext.getCurrent().getSubject().getToken() + " in " +
+                                                           Thread.currentThread().getName(), 200))
+                .when(request).doRequest(anyInt(), anyString(), anyString(), anyObject(), any(), anyString());
+
+        final HttpJsonResponse response = request.setMethod("GET").requestAsync().get(5, TimeUnit.SECONDS);
+
+        assertTrue(response.asString().startsWith("token in HttpJsonRequest-"), response.asString());
+    }
+
+    @Test
+    public void shouldCompleteFutureExceptionallyWhenRequestFails() throws Exception {
+        final PooledHttpJsonRequest request = spy(new PooledHttpJsonRequest("http://localhost:8080/api", factory));
+        doThrow(new NotFoundException("not found")).when(request)
+                                                   .doRequest(anyInt(), anyString(), anyString(), anyObject(), any(), anyString());
+
+        try {
+            request.setMethod("GET").requestAsync().get(5, TimeUnit.SECONDS);
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NotFoundException);
+        }
+    }
+
+    @Test
+    public void shouldLimitNumberOfConcurrentRequestsToOneHost() throws Exception {
+        final String host = factory.acquire("http://localhost:8080/api/workspace");
+
+        final CompletableFuture<String> sameHost = factory.execute(() -> factory.acquire("http://localhost:8080/api/ssh"));
+        final String otherHost = factory.execute(() -> factory.acquire("http://localhost:9090/api")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(otherHost, "localhost:9090");
+        try {
+            sameHost.get(200, TimeUnit.MILLISECONDS);
+            fail("Request to the same host must wait");
+        } catch (TimeoutException ignored) {
+        }
+        factory.release(host);
+        assertEquals(sameHost.get(5, TimeUnit.SECONDS), "localhost:8080");
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class BufferedWebsocketLineConsumerTest {
+    private ScheduledExecutorService      scheduler;
+    private List<String>                  messages;
+    private BufferedWebsocketLineConsumer consumer;
+
+    @BeforeMethod
+    public void setUp() {
+        scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        messages = new ArrayList<>();
+        consumer = new BufferedWebsocketLineConsumer("channel", scheduler, 60000, 3, 5) {
+            @Override
+            protected void sendMessage(String body) {
+                messages.add(body);
+            }
+        };
+    }
+
+    @Test
+    public void sendsFirstLineImmediatelyAndBuffersNextLines() {
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+        consumer.writeLine("third");
+
+        assertEquals(messages, singletonList("first"));
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+
+        flush.getValue().run();
+
+        assertEquals(messages, asList("first", "second\nthird"));
+        assertEquals(consumer.getSentMessages(), 2);
+        assertEquals(consumer.getSentLines(), 3);
+    }
+
+    @Test
+    public void splitsBatchIntoMessagesWithLimitedNumberOfLines() {
+        consumer.writeLine("0");
+        for (int i = 1; i <= 4; i++) {
+            consumer.writeLine(Integer.toString(i));
+        }
+        consumer.flush();
+
+        assertEquals(messages, asList("0", "1\n2\n3", "4"));
+    }
+
+    @Test
+    public void dropsOldestLinesWhenTooManyLinesAreBuffered() {
+        consumer.writeLine("0");
+        for (int i = 1; i <= 7; i++) {
+            consumer.writeLine(Integer.toString(i));
+        }
+        consumer.close();
+
+        assertEquals(messages.size(), 3);
+        assertTrue(messages.get(1).startsWith("[2 lines skipped"));
+        assertTrue(messages.get(1).endsWith("\n3\n4"));
+        assertEquals(messages.get(2), "5\n6\n7");
+        assertEquals(consumer.getWrittenLines(), 8);
+        assertEquals(consumer.getDroppedLines(), 2);
+    }
+
+    @Test
+    public void skipsLinesWhichAreReplacedOnClientSide() {
+        consumer.writeLine("start");
+        consumer.writeLine("10%\r");
+        consumer.writeLine("50%\r");
+        consumer.writeLine("done");
+        consumer.writeLine("90%\r");
+        consumer.flush();
+
+        assertEquals(messages, asList("start", "done", "90%\r"));
+    }
+
+    @Test
+    public void sendsBufferedLinesOnCloseAndIgnoresLinesAfterClose() {
+        consumer.writeLine("first");
+        consumer.writeLine("second");
+        consumer.close();
+        consumer.writeLine("third");
+
+        assertEquals(messages, asList("first", "second"));
+    }
+
+    @Test
+    public void returnsSnapshotOfMetricsWhichIsAvailableAfterClose() {
+        consumer.writeLine("0");
+        for (int i = 1; i <= 7; i++) {
+            consumer.writeLine(Integer.toString(i));
+        }
+
+        final BufferedWebsocketLineConsumer.Metrics beforeClose = consumer.getMetrics();
+        consumer.close();
+        final BufferedWebsocketLineConsumer.Metrics afterClose = consumer.getMetrics();
+
+        assertEquals(beforeClose.getChannel(), "channel");
+        assertEquals(beforeClose.getWrittenLines(), 8);
+        assertEquals(beforeClose.getSentLines(), 1);
+        assertEquals(beforeClose.getDroppedLines(), 2);
+        assertEquals(beforeClose.getSentMessages(), 1);
+        assertFalse(beforeClose.isClosed());
+        assertEquals(afterClose.getWrittenLines(), 8);
+        assertEquals(afterClose.getSentLines(), 6);
+        assertEquals(afterClose.getDroppedLines(), 2);
+        assertEquals(afterClose.getSentMessages(), 3);
+        assertTrue(afterClose.isClosed());
+    }
+}
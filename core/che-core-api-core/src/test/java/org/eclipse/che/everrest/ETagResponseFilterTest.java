@@ -84,6 +84,19 @@ public class ETagResponseFilterTest {
         }
 
 
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public Response getVersioned() {
+            final EntityTag entityTag = EntityTags.versionTag("versioned", 1L);
+            final Response notModified = EntityTags.notModified(entityTag);
+            if (notModified != null) {
+                return notModified;
+            }
+            versionedEntityBuilt = true;
+            return Response.ok(Arrays.asList("a", "b", "c")).tag(entityTag).build();
+        }
+
         @GET
         @Path("/modify")
         @Produces(APPLICATION_JSON)
@@ -96,6 +109,11 @@ public class ETagResponseFilterTest {
 
     }
 
+    /**
+     * Set when entity of versioned resource is built
+     */
+    private static boolean versionedEntityBuilt;
+
     /**
      * Resource Launcher
      */
@@ -124,6 +142,7 @@ public class ETagResponseFilterTest {
                                                                   new RequestHandlerImpl(new RequestDispatcher(resources), providers),
                                                                   null);
         resourceLauncher = new ResourceLauncher(processor);
+        versionedEntityBuilt = false;
     }
 
 
@@ -222,4 +241,37 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if ETag provided by resource is used instead of hash of entity
+     */
+    @Test
+    public void useVersionTagProvidedByResource() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), Arrays.asList("a", "b", "c"));
+        // Check etag
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), EntityTags.versionTag("versioned", 1L));
+    }
+
+    /**
+     * Check if resource doesn't build entity when version sent with header is not changed
+     */
+    @Test
+    public void versionedResourceTestWithEtag() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(EntityTags.versionTag("versioned", 1L).toString()));
+
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        // check null body
+        Assert.assertNull(response.getEntity());
+        Assert.assertFalse(versionedEntityBuilt);
+    }
+
 }
@@ -70,8 +70,13 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamingSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamingDeserializer(methods, builder);
+        Method[] indexedGetters = getIndexedGetters(methods);
+        emitCompactSerializer(indexedGetters, builder);
+        emitCompactDeserializer(indexedGetters, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -301,8 +306,17 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // Writer is configured the same way as gson.toJson(JsonElement) configures it, nulls are skipped
+        builder.append("      java.io.StringWriter out = new java.io.StringWriter();\n");
+        builder.append("      JsonWriter writer = new JsonWriter(out);\n");
+        builder.append("      writer.setLenient(true);\n");
+        builder.append("      writer.setSerializeNulls(false);\n");
+        builder.append("      try {\n");
+        builder.append("        toJson(writer);\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new com.google.gson.JsonIOException(e);\n");
+        builder.append("      }\n");
+        builder.append("      return out.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +465,130 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /** Generates a method that writes DTO to a JsonWriter without building intermediate JsonElement tree. */
+    private void emitStreamingSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(JsonWriter writer) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            // compact DTOs are rare and small, they still go through JsonArray
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("\n");
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamingSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()),
+                                            false, "      ");
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the variable with the given name to the JsonWriter. Output is the same as output of
+     * {@link #emitSerializerImpl(List, int, StringBuilder, String, String, String)} written by gson.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java type that will be the input for serialization
+     * @param compact
+     *         whether nested DTOs are written in compact form
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamingSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, boolean compact,
+                                             String i) {
+        Type type = expandedTypes.get(depth);
+        String value = depth == 0 ? "this." + inVar : inVar;
+        String childInVar = inVar + "_";
+        String entryVar = "entry" + depth;
+        Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            String ci = i;
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  writer.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                ci = i + "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(ci).append("writer.beginArray();\n");
+                builder.append(ci).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(value)
+                       .append(") {\n");
+                emitStreamingSerializerImpl(expandedTypes, depth + 1, builder, childInVar, compact, ci + "  ");
+                builder.append(ci).append("}\n");
+                builder.append(ci).append("writer.endArray();\n");
+            } else {
+                builder.append(ci).append("writer.beginObject();\n");
+                builder.append(ci).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(ci).append("  writer.name(").append(entryVar).append(".getKey());\n");
+                builder.append(ci).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                       .append(".getValue();\n");
+                emitStreamingSerializerImpl(expandedTypes, depth + 1, builder, childInVar, compact, ci + "  ");
+                builder.append(ci).append("}\n");
+                builder.append(ci).append("writer.endObject();\n");
+            }
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            emitStreamingNullCheck(value, value + ".name()", builder, i);
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass) || getEnclosingTemplate().getDtoImplementation(rawClass) != null) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ((JsonSerializable)").append(value).append(compact ? ").toCompactJson(writer);\n"
+                                                                                           : ").toJson(writer);\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == float.class) {
+            // float must be printed as float, not as double
+            builder.append(i).append("writer.value(Float.valueOf(").append(value).append("));\n");
+        } else if (rawClass.equals(String.class)
+                   || rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == short.class
+                   || rawClass == byte.class
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            // null Strings and Numbers are written as null by JsonWriter itself
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            emitStreamingNullCheck(value, value + ".booleanValue()", builder, i);
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", writer);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                               getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                               " is not allowed to use in DTO interface.");
+        }
+    }
+
+    private static void emitStreamingNullCheck(String value, String valueExpression, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(value).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  writer.value(").append(valueExpression).append(");\n");
+        builder.append(i).append("}\n");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -605,6 +743,225 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
     
+    /** Generates a static factory method that creates a new instance reading it directly from a JsonReader. */
+    private void emitStreamingDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" fromJsonReader(JsonReader reader) throws java.io.IOException {\n");
+        builder.append("      if (reader.peek() == JsonToken.NULL) {\n");
+        builder.append("        reader.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n");
+        if (isCompactJson()) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitStreamingDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, false, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("\n      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Returns getters ordered corresponding to {@link SerializationIndex} annotation, gaps in index sequence are filled with
+     * {@code null}s. Returns {@code null} if DTO can't be written in compact form on demand: it is always compact (see {@link
+     * org.eclipse.che.dto.shared.CompactJsonDto}) or some of its getters are not annotated with {@link SerializationIndex}.
+     */
+    private Method[] getIndexedGetters(List<Method> getters) {
+        if (isCompactJson() || getters.isEmpty()) {
+            return null;
+        }
+        Map<Integer, Method> methodsMap = new HashMap<>();
+        int maxIndex = 0;
+        for (Method getter : getters) {
+            SerializationIndex serializationIndex = getter.getAnnotation(SerializationIndex.class);
+            if (serializationIndex == null) {
+                return null;
+            }
+            int index = serializationIndex.value();
+            Preconditions.checkState(index > 0, "Serialization index must be positive for %s in %s",
+                                     getter.getName(), getDtoInterface().getSimpleName());
+            Preconditions.checkState(!methodsMap.containsKey(index), "Duplicate serialization index for %s in %s",
+                                     getter.getName(), getDtoInterface().getSimpleName());
+            maxIndex = Math.max(index, maxIndex);
+            methodsMap.put(index, getter);
+        }
+        Method[] result = new Method[maxIndex];
+        for (int index = 0; index < maxIndex; index++) {
+            result[index] = methodsMap.get(index + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Generates a method that writes DTO as JSON array of values ordered by {@link SerializationIndex}, without field names. DTOs
+     * which don't have indexes write themselves in regular form.
+     */
+    private void emitCompactSerializer(Method[] indexedGetters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void toCompactJson(JsonWriter writer) throws java.io.IOException {\n");
+        if (indexedGetters == null) {
+            builder.append("      toJson(writer);\n");
+        } else {
+            builder.append("      writer.beginArray();\n");
+            for (Method getter : indexedGetters) {
+                builder.append("\n");
+                if (getter == null) {
+                    builder.append("      writer.nullValue();\n");
+                } else {
+                    emitStreamingSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder,
+                                                getJavaFieldName(getter.getName()), true, "      ");
+                }
+            }
+            builder.append("      writer.endArray();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Generates a static factory method that reads DTO written with {@code toCompactJson(JsonWriter)}. DTO in regular form is
+     * accepted as well, values which indexes are unknown are skipped.
+     */
+    private void emitCompactDeserializer(Method[] indexedGetters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName())
+               .append(" fromCompactJsonReader(JsonReader reader) throws java.io.IOException {\n");
+        if (indexedGetters == null) {
+            builder.append("      return fromJsonReader(reader);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (reader.peek() != JsonToken.BEGIN_ARRAY) {\n");
+        builder.append("        return fromJsonReader(reader);\n");
+        builder.append("      }\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginArray();\n");
+        builder.append("      for (int index = 0; reader.hasNext(); index++) {\n");
+        builder.append("        switch (index) {\n");
+        for (int index = 0; index < indexedGetters.length; index++) {
+            final Method getter = indexedGetters[index];
+            if (getter == null) {
+                continue;
+            }
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(index).append(": {\n");
+            emitStreamingDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, true, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endArray();\n");
+        builder.append("\n      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to read the value of the given type from the JsonReader. Conversions are the same as in
+     * {@link #emitDeserializerImpl(List, int, StringBuilder, String, String, String)}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output for deserialization
+     * @param compact
+     *         whether nested DTOs are expected in compact form
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamingDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar,
+                                               boolean compact, String i) {
+        final String dtoReadMethod = compact ? ".fromCompactJsonReader(reader);\n" : ".fromJsonReader(reader);\n";
+        Type type = expandedTypes.get(depth);
+        String childOutVar = outVar + "_";
+        Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            String keyVar = outVar + "Key";
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append(isList(rawClass) ? "  reader.beginArray();\n" : "  reader.beginObject();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            if (isMap(rawClass)) {
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            }
+            emitStreamingDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, compact, i + "    ");
+            if (isList(rawClass)) {
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endArray();\n");
+            } else {
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  reader.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(dtoReadMethod);
+        } else if (rawClass == boolean.class) {
+            builder.append(i).append("boolean ").append(outVar)
+                   .append(" = reader.peek() == JsonToken.STRING ? Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean();\n");
+        } else if (rawClass == int.class || rawClass == long.class || rawClass == double.class) {
+            String primitiveName = rawClass.getSimpleName();
+            String primitiveNameCap = primitiveName.substring(0, 1).toUpperCase() + primitiveName.substring(1);
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = reader.next").append(primitiveNameCap)
+                   .append("();\n");
+        } else if (rawClass == short.class || rawClass == byte.class) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = (").append(rawClass.getSimpleName())
+                   .append(")reader.nextInt();\n");
+        } else if (rawClass == float.class) {
+            builder.append(i).append("float ").append(outVar).append(" = (float)reader.nextDouble();\n");
+        } else if (rawClass.equals(String.class)) {
+            // same as gson does for String, booleans and numbers are read as strings
+            builder.append(i).append("String ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (reader.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  reader.nextNull();\n");
+            builder.append(i).append("} else if (reader.peek() == JsonToken.BOOLEAN) {\n");
+            builder.append(i).append("  ").append(outVar).append(" = Boolean.toString(reader.nextBoolean());\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = reader.nextString();\n");
+            builder.append(i).append("}\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(dtoReadMethod);
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     /**
      * Append the expression that clones the given JsonElement variable into a new value. If the copyJons run-time
      * parameter is set to false, then the expression won't perform a clone but instead will reuse the variable by
@@ -10,26 +10,26 @@
  *******************************************************************************/
 package org.eclipse.che.dto.server;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
-import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -43,24 +43,6 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author andrew00x
  */
 public final class DtoFactory {
-    private static final Gson gson = new GsonBuilder().serializeNulls().create();
-
-    private static final LoadingCache<Type, ParameterizedType> listTypeCache = CacheBuilder.newBuilder().concurrencyLevel(16).build(
-            new CacheLoader<Type, ParameterizedType>() {
-                @Override
-                public ParameterizedType load(Type type) {
-                    return new ParameterizedTypeImpl(List.class, type);
-                }
-            });
-
-    private static final LoadingCache<Type, ParameterizedType> mapTypeCache = CacheBuilder.newBuilder().concurrencyLevel(16).build(
-            new CacheLoader<Type, ParameterizedType>() {
-                @Override
-                public ParameterizedType load(Type type) {
-                    return new ParameterizedTypeImpl(Map.class, String.class, type);
-                }
-            });
-
     private static final DtoFactory INSTANCE = new DtoFactory();
 
     public static DtoFactory getInstance() {
@@ -143,6 +125,92 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Writes JSON representation of DTO or of list of DTOs to the specified writer. Unlike {@link #toJson(Object)} it doesn't keep
+     * the whole JSON in memory. JSON is written with many small writes, so writer should be buffered. Writer isn't closed after
+     * writing.
+     *
+     * @param dto
+     *         instance of {@link JsonSerializable} or {@link Iterable} of {@link JsonSerializable} elements
+     * @param writer
+     *         writer for JSON data
+     * @throws IllegalArgumentException
+     *         if {@code dto} is not {@link JsonSerializable} or if list contains not {@link JsonSerializable} element
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer writer) throws IOException {
+        writeJson(dto, writer, false);
+    }
+
+    /**
+     * Serializes DTO or list of DTOs in compact form, see {@link #toCompactJson(Object, Writer)}.
+     *
+     * @throws IllegalArgumentException
+     *         if {@code dto} is not {@link JsonSerializable} or if list contains not {@link JsonSerializable} element
+     */
+    public <T> String toCompactJson(T dto) {
+        final StringWriter writer = new StringWriter();
+        try {
+            writeJson(dto, writer, true);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes compact representation of DTO or of list of DTOs to the specified writer. DTOs which getters are annotated with {@link
+     * org.eclipse.che.dto.shared.SerializationIndex} are written as JSON arrays of values ordered by index, without field names,
+     * other DTOs are written in regular form. Such JSON may be read only with {@link #createDtoFromCompactJson(Reader, Class)} or
+     * {@link #createListDtoFromCompactJson(Reader, Class)}. Writer isn't closed after writing.
+     *
+     * @param dto
+     *         instance of {@link JsonSerializable} or {@link Iterable} of {@link JsonSerializable} elements
+     * @param writer
+     *         writer for JSON data
+     * @throws IllegalArgumentException
+     *         if {@code dto} is not {@link JsonSerializable} or if list contains not {@link JsonSerializable} element
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toCompactJson(T dto, Writer writer) throws IOException {
+        writeJson(dto, writer, true);
+    }
+
+    private static void writeJson(Object dto, Writer writer, boolean compact) throws IOException {
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        // the same as generated DTOs do for toJson()
+        jsonWriter.setLenient(true);
+        jsonWriter.setSerializeNulls(false);
+        if (dto instanceof JsonSerializable) {
+            writeJson((JsonSerializable)dto, jsonWriter, compact);
+        } else if (dto instanceof Iterable) {
+            jsonWriter.beginArray();
+            for (Object element : (Iterable<?>)dto) {
+                if (element == null) {
+                    jsonWriter.nullValue();
+                } else if (element instanceof JsonSerializable) {
+                    writeJson((JsonSerializable)element, jsonWriter, compact);
+                } else {
+                    throw new IllegalArgumentException("JsonSerializable instance required. ");
+                }
+            }
+            jsonWriter.endArray();
+        } else {
+            throw new IllegalArgumentException("JsonSerializable instance required. ");
+        }
+        jsonWriter.flush();
+    }
+
+    private static void writeJson(JsonSerializable dto, JsonWriter writer, boolean compact) throws IOException {
+        if (compact) {
+            dto.toCompactJson(writer);
+        } else {
+            dto.toJson(writer);
+        }
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -176,7 +244,14 @@ public final class DtoFactory {
      *         if can't provide any implementation for specified interface
      */
     public <T> T createDtoFromJson(String json, Class<T> dtoInterface) {
-        return getDtoProvider(dtoInterface).fromJson(json);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return createDtoFromJson(new StringReader(json), dtoInterface);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
     }
 
     /**
@@ -193,14 +268,8 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
-        }
-        return dtoProvider.fromJson(sb.toString());
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        return readJson(json, reader -> reader.peek() == JsonToken.END_DOCUMENT ? null : dtoProvider.fromJson(reader));
     }
 
     /**
@@ -220,6 +289,46 @@ public final class DtoFactory {
         return createDtoFromJson(new InputStreamReader(json), dtoInterface);
     }
 
+    /**
+     * Creates new instance of class which implements specified DTO interface from JSON string written with {@link
+     * #toCompactJson(Object)}. DTO in regular JSON form is accepted as well.
+     *
+     * @param json
+     *         JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     */
+    public <T> T createDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return createDtoFromCompactJson(new StringReader(json), dtoInterface);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Creates new instance of class which implements specified DTO interface from JSON written with {@link #toCompactJson(Object,
+     * Writer)}. DTO in regular JSON form is accepted as well.
+     *
+     * @param json
+     *         JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> T createDtoFromCompactJson(Reader json, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        return readJson(json, reader -> reader.peek() == JsonToken.END_DOCUMENT ? null : dtoProvider.fromCompactJson(reader));
+    }
+
     //
 
     /**
@@ -234,13 +343,11 @@ public final class DtoFactory {
      *         if can't provide any implementation for specified interface
      */
     public <T> JsonArray<T> createListDtoFromJson(String json, Class<T> dtoInterface) {
-        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
+        try {
+            return createListDtoFromJson(new StringReader(json), dtoInterface);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
         }
-        return new JsonArrayImpl<>(result);
     }
 
 
@@ -257,21 +364,15 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
-        try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+        return readJson(json, reader -> {
+            final List<T> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
-        }
-        return new JsonArrayImpl<>(result);
+            reader.endArray();
+            return new JsonArrayImpl<>(result);
+        });
     }
 
     /**
@@ -291,6 +392,53 @@ public final class DtoFactory {
         return createListDtoFromJson(new InputStreamReader(json), dtoInterface);
     }
 
+    /**
+     * Parses the JSON string written with {@link #toCompactJson(Object)} into list of objects of the specified type. DTOs in regular
+     * JSON form are accepted as well.
+     *
+     * @param json
+     *         JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     */
+    public <T> JsonArray<T> createListDtoFromCompactJson(String json, Class<T> dtoInterface) {
+        try {
+            return createListDtoFromCompactJson(new StringReader(json), dtoInterface);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Parses the JSON data written with {@link #toCompactJson(Object, Writer)} from the specified reader into list of objects of the
+     * specified type. DTOs in regular JSON form are accepted as well.
+     *
+     * @param json
+     *         JSON data
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> JsonArray<T> createListDtoFromCompactJson(Reader json, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        return readJson(json, reader -> {
+            final List<T> result = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromCompactJson(reader));
+            }
+            reader.endArray();
+            return new JsonArrayImpl<>(result);
+        });
+    }
+
     //
 
     /**
@@ -305,13 +453,11 @@ public final class DtoFactory {
      *         if can't provide any implementation for specified interface
      */
     public <T> JsonStringMap<T> createMapDtoFromJson(String json, Class<T> dtoInterface) {
-        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
+        try {
+            return createMapDtoFromJson(new StringReader(json), dtoInterface);
+        } catch (IOException e) {
+            throw new JsonSyntaxException(e);
         }
-        return new JsonStringMapImpl<>(result);
     }
 
 
@@ -328,24 +474,40 @@ public final class DtoFactory {
      * @throws IOException
      *         if an i/o error occurs
      */
-    @SuppressWarnings("unchecked")
     public <T> JsonStringMap<T> createMapDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final Map<String, JsonElement> map;
+        return readJson(json, reader -> {
+            final Map<String, T> result = new LinkedHashMap<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                result.put(reader.nextName(), dtoProvider.fromJson(reader));
+            }
+            reader.endObject();
+            return new JsonStringMapImpl<>(result);
+        });
+    }
+
+    /**
+     * Reads JSON document from the specified reader with the given function. The whole document must be consumed by the function.
+     * Syntax errors are reported with {@link JsonSyntaxException}, as gson does, while other i/o errors are rethrown as is.
+     */
+    private static <R> R readJson(Reader json, JsonReadFunction<R> function) throws IOException {
+        final JsonReader reader = new JsonReader(json);
+        // gson parses JSON in lenient mode
+        reader.setLenient(true);
         try {
-            map = gson.fromJson(json, mapTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            final R result = function.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
             }
-            throw e;
+            return result;
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
-        final Map<String, T> result = new LinkedHashMap<>(map.size());
-        for (Map.Entry<String, JsonElement> e : map.entrySet()) {
-            result.put(e.getKey(), dtoProvider.fromJson(e.getValue()));
-        }
-        return new JsonStringMapImpl<>(result);
+    }
+
+    private interface JsonReadFunction<R> {
+        R read(JsonReader reader) throws IOException;
     }
 
     /**
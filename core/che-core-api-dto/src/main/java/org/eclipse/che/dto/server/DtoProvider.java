@@ -11,6 +11,9 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 
 /**
  * Provides implementation of DTO interface.
@@ -24,6 +27,11 @@ public interface DtoProvider<DTO> {
 
     DTO fromJson(JsonElement json);
 
+    DTO fromJson(JsonReader reader) throws IOException;
+
+    /** Reads DTO written in compact form, see {@link JsonSerializable#toCompactJson(com.google.gson.stream.JsonWriter)}. */
+    DTO fromCompactJson(JsonReader reader) throws IOException;
+
     DTO newInstance();
 
     DTO clone(DTO origin);
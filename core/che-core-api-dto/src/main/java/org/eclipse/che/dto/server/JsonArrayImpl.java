@@ -14,6 +14,7 @@ import org.eclipse.che.dto.shared.JsonArray;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -154,6 +155,11 @@ public class JsonArrayImpl<T> implements JsonArray<T> {
         return gson.toJson(this);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) {
+        gson.toJson(this, getClass(), writer);
+    }
+
     @Override
     public JsonElement toJsonElement() {
         return gson.toJsonTree(this);
@@ -13,9 +13,11 @@
 // limitations under the License.
 package org.eclipse.che.dto.server;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 
 /** An entity that may serialize itself to JSON. */
 public interface JsonSerializable extends Serializable {
@@ -23,6 +25,17 @@ public interface JsonSerializable extends Serializable {
     /** Serializes DTO to JSON format. */
     String toJson();
 
+    /** Writes DTO in JSON format directly to the given writer, without building JSON object or string first. */
+    void toJson(JsonWriter writer) throws IOException;
+
+    /**
+     * Writes DTO in compact form: JSON array of values ordered by {@link org.eclipse.che.dto.shared.SerializationIndex}, without
+     * field names. DTOs which getters are not annotated with {@code SerializationIndex} are written in regular form.
+     */
+    default void toCompactJson(JsonWriter writer) throws IOException {
+        toJson(writer);
+    }
+
     /** Serializes DTO to JSON object. */
     JsonElement toJsonElement();
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 
 import java.util.Collection;
 import java.util.Map;
@@ -101,6 +102,11 @@ public class JsonStringMapImpl<T> implements JsonStringMap<T> {
         return gson.toJson(this);
     }
 
+    @Override
+    public void toJson(JsonWriter writer) {
+        gson.toJson(this, getClass(), writer);
+    }
+
     @Override
     public JsonElement toJsonElement() {
         return gson.toJsonTree(this);
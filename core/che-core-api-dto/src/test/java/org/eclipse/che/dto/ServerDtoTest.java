@@ -10,17 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
 import org.eclipse.che.dto.definitions.DtoWithAny;
 import org.eclipse.che.dto.definitions.DtoWithDelegate;
 import org.eclipse.che.dto.definitions.DtoWithFieldNames;
+import org.eclipse.che.dto.definitions.DtoWithSerializationIndex;
 import org.eclipse.che.dto.definitions.SimpleDto;
 import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
@@ -29,12 +32,15 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -325,6 +331,124 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void streamingSerializerShouldWriteTheSameJsonAsJsonElement() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<name>").withId(1);
+        Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        mapDtos.put("null", null);
+        ComplicatedDto complicatedDto = dtoFactory.createDto(ComplicatedDto.class)
+                                                  .withStrings(asList("a", null, "\"quoted\""))
+                                                  .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                                  .withMap(mapDtos)
+                                                  .withSimpleDtos(asList(simpleDto, null))
+                                                  .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE)));
+        DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                          .withObjects(createListTestValueForAny());
+
+        for (Object dto : asList(simpleDto, complicatedDto, dtoWithAny)) {
+            final String expected = new GsonBuilder().disableHtmlEscaping().create().toJson(dtoFactory.toJsonElement(dto));
+            final StringWriter writer = new StringWriter();
+            dtoFactory.toJson(dto, writer);
+
+            assertEquals(dtoFactory.toJson(dto), expected);
+            assertEquals(writer.toString(), expected);
+        }
+    }
+
+    @Test
+    public void shouldWriteListOfDtosToWriter() throws Exception {
+        SimpleDto first = dtoFactory.createDto(SimpleDto.class).withName("first");
+        SimpleDto second = dtoFactory.createDto(SimpleDto.class).withName("second");
+        StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(asList(first, second), writer);
+
+        assertEquals(writer.toString(), '[' + dtoFactory.toJson(first) + ',' + dtoFactory.toJson(second) + ']');
+    }
+
+    @Test
+    public void streamingDeserializerShouldSkipUnknownFieldsAndConvertValues() throws Exception {
+        String json = "{\"unknown\":{\"a\":[1,{}]},\"name\":true,\"id\":\"5\",\"default\":null}";
+
+        SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        checkSimpleDto(dto, "true", 5, null);
+    }
+
+    @Test
+    public void shouldReadMapOfDtosFromReader() throws Exception {
+        String json = "{\"first\":{\"name\":\"a\",\"id\":1},\"second\":null}";
+
+        org.eclipse.che.dto.shared.JsonStringMap<SimpleDto> map = dtoFactory.createMapDtoFromJson(new StringReader(json),
+                                                                                                  SimpleDto.class);
+
+        assertEquals(new ArrayList<>(map.keySet()), asList("first", "second"));
+        checkSimpleDto(map.get("first"), "a", 1, null);
+        Assert.assertNull(map.get("second"));
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldThrowJsonSyntaxExceptionWhenJsonIsMalformed() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"name\":\"a\",\"id\":}"), SimpleDto.class);
+    }
+
+    @Test
+    public void shouldWriteDtoWithSerializationIndexAsArray() throws Exception {
+        DtoWithSerializationIndex child = dtoFactory.createDto(DtoWithSerializationIndex.class).withId(2);
+        DtoWithSerializationIndex dto = dtoFactory.createDto(DtoWithSerializationIndex.class)
+                                                  .withId(1)
+                                                  .withName("parent")
+                                                  .withChild(child)
+                                                  .withSimpleDtos(asList(dtoFactory.createDto(SimpleDto.class).withName("simple")))
+                                                  .withAttributes(singletonMap("key", "value"));
+
+        assertEquals(dtoFactory.toCompactJson(dto),
+                     "[1,\"parent\",null,[2,null,null,null,[],{}],[{\"name\":\"simple\",\"id\":0}],{\"key\":\"value\"}]");
+        // regular form isn't changed by indexes
+        assertEquals(dtoFactory.toJson(dto), new GsonBuilder().disableHtmlEscaping().create().toJson(dtoFactory.toJsonElement(dto)));
+    }
+
+    @Test
+    public void shouldReadDtoWithSerializationIndexFromCompactJson() throws Exception {
+        DtoWithSerializationIndex dto = dtoFactory.createDto(DtoWithSerializationIndex.class)
+                                                  .withId(1)
+                                                  .withName("parent")
+                                                  .withChild(dtoFactory.createDto(DtoWithSerializationIndex.class).withName("child"))
+                                                  .withSimpleDtos(asList(dtoFactory.createDto(SimpleDto.class).withName("simple")))
+                                                  .withAttributes(singletonMap("key", "value"));
+
+        DtoWithSerializationIndex compactCopy =
+                dtoFactory.createDtoFromCompactJson(new StringReader(dtoFactory.toCompactJson(dto)), DtoWithSerializationIndex.class);
+        // DTO in regular form is accepted as well
+        DtoWithSerializationIndex regularCopy =
+                dtoFactory.createDtoFromCompactJson(new StringReader(dtoFactory.toJson(dto)), DtoWithSerializationIndex.class);
+
+        assertEquals(compactCopy, dto);
+        assertEquals(regularCopy, dto);
+    }
+
+    @Test
+    public void compactDeserializerShouldSkipUnknownIndexes() throws Exception {
+        List<DtoWithSerializationIndex> list =
+                dtoFactory.createListDtoFromCompactJson(new StringReader("[[7,\"a\",{\"x\":1},null,[],{},\"new\"],null]"),
+                                                        DtoWithSerializationIndex.class);
+
+        assertEquals(list.size(), 2);
+        assertEquals(list.get(0).getId(), 7);
+        assertEquals(list.get(0).getName(), "a");
+        Assert.assertNull(list.get(0).getChild());
+        Assert.assertNull(list.get(1));
+    }
+
+    @Test
+    public void shouldWriteDtoWithoutSerializationIndexInRegularFormWhenCompactFormRequested() throws Exception {
+        SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1);
+
+        assertEquals(dtoFactory.toCompactJson(asList(dto)), '[' + dtoFactory.toJson(dto) + ']');
+        checkSimpleDto(dtoFactory.createDtoFromCompactJson(new StringReader(dtoFactory.toJson(dto)), SimpleDto.class), "name", 1, null);
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.definitions;
+
+import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for testing that the {@link org.eclipse.che.dto.generator.DtoGenerator} generates compact serializer for DTO which
+ * getters are annotated with {@link SerializationIndex}. Index 3 is intentionally skipped.
+ */
+@DTO
+public interface DtoWithSerializationIndex {
+    @SerializationIndex(1)
+    int getId();
+
+    DtoWithSerializationIndex withId(int id);
+
+    @SerializationIndex(2)
+    String getName();
+
+    DtoWithSerializationIndex withName(String name);
+
+    @SerializationIndex(4)
+    DtoWithSerializationIndex getChild();
+
+    DtoWithSerializationIndex withChild(DtoWithSerializationIndex child);
+
+    @SerializationIndex(5)
+    List<SimpleDto> getSimpleDtos();
+
+    DtoWithSerializationIndex withSimpleDtos(List<SimpleDto> simpleDtos);
+
+    @SerializationIndex(6)
+    Map<String, String> getAttributes();
+
+    DtoWithSerializationIndex withAttributes(Map<String, String> attributes);
+}
@@ -29,13 +29,28 @@ public class CommandOutputMessageUnmarshaller implements Unmarshallable<String>
 
     @Override
     public void unmarshal(Message message) {
-        payload = message.getBody();
+        final String body = message.getBody();
+        if (body.indexOf('\n') == -1) {
+            payload = unmarshalLine(body);
+            return;
+        }
+
+        // server sends output of process in batches, each line of batch has own prefix
+        final String[] lines = body.split("\n", -1);
+        final StringBuilder sb = new StringBuilder(unmarshalLine(lines[0]));
+        for (int i = 1; i < lines.length; i++) {
+            sb.append('\n').append(unmarshalLine(lines[i]));
+        }
+        payload = sb.toString();
+    }
 
-        if (payload.startsWith("[STDOUT]")) {
-            payload = payload.substring(9);
-        } else if (payload.startsWith("[STDERR]")) {
-            payload = payload.replace("[STDERR]", "[" + machineName + "]");
+    private String unmarshalLine(String line) {
+        if (line.startsWith("[STDOUT]")) {
+            return line.substring(9);
+        } else if (line.startsWith("[STDERR]")) {
+            return line.replace("[STDERR]", "[" + machineName + "]");
         }
+        return line;
     }
 
     @Override
@@ -1281,7 +1281,9 @@ public class DockerConnector {
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException {
         try (InputStreamReader reader = new InputStreamReader(inputStream)) {
-            return GSON.fromJson(reader, clazz);
+            final T result = GSON.fromJson(reader, clazz);
+            exhaust(inputStream);
+            return result;
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
         }
@@ -1289,12 +1291,25 @@ public class DockerConnector {
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, TypeToken<T> tt) throws IOException {
         try (InputStreamReader reader = new InputStreamReader(inputStream)) {
-            return GSON.fromJson(reader, tt.getType());
+            final T result = GSON.fromJson(reader, tt.getType());
+            exhaust(inputStream);
+            return result;
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
         }
     }
 
+    /**
+     * Reads the rest of response, e.g. the last chunk of chunked response which is not consumed by JSON parser,
+     * so connection to docker daemon may be reused.
+     */
+    private static void exhaust(InputStream inputStream) throws IOException {
+        final byte[] buf = new byte[512];
+        while (inputStream.read(buf) != -1) {
+            // skip
+        }
+    }
+
     protected DockerException getDockerException(DockerResponse response) throws IOException {
         try (InputStreamReader isr = new InputStreamReader(response.getInputStream())) {
             String dockerResponseContent = CharStreams.toString(isr);
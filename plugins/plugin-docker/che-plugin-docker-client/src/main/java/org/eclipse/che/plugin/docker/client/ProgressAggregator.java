@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.plugin.docker.client.json.ProgressDetail;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Collapses progress of every layer of pulled image into periodic summary like
+ * {@code codenvy/ubuntu_jdk8:latest: 3 of 7 layers complete, 45.1 MB/120.3 MB}.
+ *
+ * <p>Messages which are not related to layers, e.g. output of build, errors and final status of pull, are sent to
+ * delegate monitor as is. Summary is sent not more often than once per interval and once more by {@link #done()}.
+ */
+public class ProgressAggregator implements ProgressMonitor {
+    public static final long DEFAULT_INTERVAL_MS = 1000;
+
+    private final ProgressMonitor    delegate;
+    private final String             title;
+    private final long               intervalMs;
+    private final Map<String, Layer> layers;
+
+    private long    lastSummaryTime;
+    private boolean changed;
+
+    public ProgressAggregator(ProgressMonitor delegate, String title) {
+        this(delegate, title, DEFAULT_INTERVAL_MS);
+    }
+
+    public ProgressAggregator(ProgressMonitor delegate, String title, long intervalMs) {
+        this.delegate = delegate;
+        this.title = title;
+        this.intervalMs = intervalMs;
+        this.layers = new LinkedHashMap<>();
+    }
+
+    @Override
+    public synchronized void updateProgress(ProgressStatus progressStatus) {
+        final String status = progressStatus.getStatus();
+        if (progressStatus.getError() != null
+            || progressStatus.getId() == null
+            || status == null
+            || status.startsWith("Pulling from")) {
+            delegate.updateProgress(progressStatus);
+            return;
+        }
+        layers.computeIfAbsent(progressStatus.getId(), id -> new Layer()).update(status, progressStatus.getProgressDetail());
+        changed = true;
+        final long now = System.currentTimeMillis();
+        if (now - lastSummaryTime >= intervalMs) {
+            sendSummary(now);
+        }
+    }
+
+    /** Sends the last summary if it has not been sent yet. */
+    public synchronized void done() {
+        if (changed) {
+            sendSummary(System.currentTimeMillis());
+        }
+    }
+
+    private void sendSummary(long now) {
+        int complete = 0;
+        long current = 0;
+        long total = 0;
+        for (Layer layer : layers.values()) {
+            if (layer.complete) {
+                complete++;
+            }
+            current += layer.current;
+            total += layer.total;
+        }
+        final StringBuilder sb = new StringBuilder(title).append(": ")
+                                                         .append(complete)
+                                                         .append(" of ")
+                                                         .append(layers.size())
+                                                         .append(" layers complete");
+        if (total > 0) {
+            sb.append(", ").append(toMegabytes(current)).append('/').append(toMegabytes(total));
+        }
+        final ProgressStatus summary = new ProgressStatus();
+        summary.setStatus(sb.toString());
+        lastSummaryTime = now;
+        changed = false;
+        delegate.updateProgress(summary);
+    }
+
+    private static String toMegabytes(long bytes) {
+        return String.format(Locale.ENGLISH, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private static class Layer {
+        long    current;
+        long    total;
+        boolean complete;
+
+        void update(String status, ProgressDetail detail) {
+            switch (status) {
+                case "Downloading":
+                    if (detail != null && detail.getTotal() > 0) {
+                        current = detail.getCurrent();
+                        total = detail.getTotal();
+                    }
+                    break;
+                case "Download complete":
+                    current = total;
+                    break;
+                case "Pull complete":
+                case "Already exists":
+                    current = total;
+                    complete = true;
+                    break;
+                default:
+                    // waiting, verifying, extracting
+            }
+        }
+    }
+}
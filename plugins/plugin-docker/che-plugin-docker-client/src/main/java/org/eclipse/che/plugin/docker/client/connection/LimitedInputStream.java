@@ -33,7 +33,7 @@ public class LimitedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -56,15 +56,27 @@ public class LimitedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
-        int n = input.read(b, 0, Math.min(len - off, limit - pos));
-        pos += n;
+        int n = input.read(b, off, Math.min(len, limit - pos));
+        if (n > 0) {
+            pos += n;
+        }
         return n;
     }
+
+    /** Returns {@code true} if all bytes of content are read. */
+    synchronized boolean isFinished() {
+        return pos >= limit;
+    }
+
+    /** Returns number of bytes which are not read yet. */
+    synchronized int remaining() {
+        return limit - pos;
+    }
 }
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.LastErrorException;
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket with buffered streams, the same streams are used for all requests sent through the socket.
+ */
+class UnixSocket implements Closeable {
+    // Defined in 'sys/socket.h' and 'errno.h'
+    private static final int MSG_PEEK     = 0x02;
+    private static final int MSG_DONTWAIT = 0x40;
+    private static final int EAGAIN       = 11;
+
+    private final int          fd;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private long lastUsed;
+
+    private UnixSocket(int fd) {
+        this.fd = fd;
+        input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+    }
+
+    static UnixSocket connect(String socketPath) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        final int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        if (cLib.connect(fd, sockAddr, sockAddr.size()) == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return new UnixSocket(fd);
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    long getLastUsed() {
+        return lastUsed;
+    }
+
+    void setLastUsed(long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+    /**
+     * Checks without blocking whether idle socket may be used for the next request. Socket is not usable if it is closed
+     * by docker daemon or there is unexpected data in it.
+     */
+    boolean isStale() {
+        final byte[] b = new byte[1];
+        int n;
+        int errno;
+        try {
+            n = getCLibrary().recv(fd, b, 1, MSG_PEEK | MSG_DONTWAIT);
+            errno = n == -1 ? Native.getLastError() : 0;
+        } catch (LastErrorException e) {
+            n = -1;
+            errno = e.getErrorCode();
+        }
+        // nothing to read and connection is not closed
+        return !(n == -1 && errno == EAGAIN);
+    }
+
+    @Override
+    public void close() {
+        getCLibrary().close(fd);
+    }
+}
@@ -26,6 +26,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
     };
 
+    /** Max number of unread bytes of content which are skipped for returning connection to the pool. */
+    private static final int MAX_SKIP_ON_REUSE = 64 * 1024;
+
     private final InputStream rawData;
 
     private InputStream data;
@@ -143,8 +146,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
         final int contentLength = getContentLength();
-        if (contentLength == 0) {
+        if (contentLength == 0 || status == 204 || status == 304) {
             return data = EMPTY;
         }
         if (contentLength > 0) {
@@ -152,4 +156,39 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether response is read completely so connection may be used for sending next request. Not read content
+     * is skipped if it is not too big. Response with content which length is unknown, e.g. attached stream of container,
+     * never allows reusing of connection.
+     */
+    synchronized boolean isReusable() {
+        if (headersFields == null) {
+            return false;
+        }
+        try {
+            if ("close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            if (data == EMPTY) {
+                return true;
+            }
+            if (data instanceof LimitedInputStream) {
+                final LimitedInputStream limited = (LimitedInputStream)data;
+                if (limited.remaining() > MAX_SKIP_ON_REUSE) {
+                    return false;
+                }
+                final byte[] buf = new byte[8192];
+                while (!limited.isFinished()) {
+                    if (limited.read(buf) == -1) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return data instanceof ChunkedInputStream && ((ChunkedInputStream)data).isFinished();
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
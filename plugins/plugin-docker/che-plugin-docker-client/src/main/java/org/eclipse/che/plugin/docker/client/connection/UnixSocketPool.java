@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Keeps idle keep-alive connections to docker daemon unix socket for reusing them in next requests.
+ *
+ * <p>Socket is returned to the pool only when response is read completely, see {@link UnixSocketDockerResponse#isReusable()}.
+ * Sockets which are idle longer than idle timeout or closed by docker daemon are removed from the pool when the pool is
+ * accessed. Pool with zero size does not keep any socket, so every request uses a new connection.
+ */
+class UnixSocketPool {
+    private final String            socketPath;
+    private final int               maxIdle;
+    private final long              idleTimeoutMs;
+    private final Deque<UnixSocket> idle;
+
+    UnixSocketPool(String socketPath, int maxIdle, long idleTimeoutMs) {
+        this.socketPath = socketPath;
+        this.maxIdle = maxIdle;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /** Returns idle socket from the pool or connects new one. */
+    UnixSocket acquire() throws IOException {
+        for (; ; ) {
+            final UnixSocket socket;
+            synchronized (this) {
+                evictExpired(System.currentTimeMillis());
+                // the most recently used socket is the most likely alive
+                socket = idle.pollFirst();
+            }
+            if (socket == null) {
+                return UnixSocket.connect(socketPath);
+            }
+            if (!socket.isStale()) {
+                return socket;
+            }
+            socket.close();
+        }
+    }
+
+    /** Returns socket to the pool, socket is closed if the pool is full. */
+    void release(UnixSocket socket) {
+        final long now = System.currentTimeMillis();
+        synchronized (this) {
+            evictExpired(now);
+            if (idle.size() < maxIdle) {
+                socket.setLastUsed(now);
+                idle.addFirst(socket);
+                return;
+            }
+        }
+        socket.close();
+    }
+
+    /** Closes all idle sockets. */
+    synchronized void close() {
+        for (UnixSocket socket : idle) {
+            socket.close();
+        }
+        idle.clear();
+    }
+
+    synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    private void evictExpired(long now) {
+        for (Iterator<UnixSocket> it = idle.descendingIterator(); it.hasNext(); ) {
+            final UnixSocket socket = it.next();
+            if (now - socket.getLastUsed() < idleTimeoutMs) {
+                // the rest of sockets are used later
+                break;
+            }
+            it.remove();
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonStreamParser;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares {@link JsonMessageReader} with parsing of every message to {@link com.google.gson.JsonElement} tree before
+ * binding, as {@code JsonMessageReader} did before. Run with {@link #main(String[])} from IDE or from command line with
+ * test classpath, allocations per message are reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonMessageReaderBenchmark {
+    private static final int  MESSAGES = 1000;
+    private static final Gson GSON     = new Gson();
+
+    private byte[] progress;
+    private byte[] events;
+
+    @Setup
+    public void setUp() {
+        final StringBuilder progressBuilder = new StringBuilder();
+        final StringBuilder eventsBuilder = new StringBuilder();
+        for (int i = 0; i < MESSAGES; i++) {
+            progressBuilder.append("{\"status\":\"Downloading\",\"progressDetail\":{\"current\":")
+                           .append(i * 1024)
+                           .append(",\"total\":1048576},\"progress\":\"[=====>      ] ")
+                           .append(i)
+                           .append(" kB/1.049 MB\",\"id\":\"a3ed95caeb02\"}\r\n");
+            eventsBuilder.append("{\"status\":\"die\",\"id\":\"4f0d1a2b3c4d\",\"from\":\"codenvy/ubuntu_jdk8\",")
+                         .append("\"Type\":\"container\",\"Action\":\"die\",\"Actor\":{\"ID\":\"4f0d1a2b3c4d\",")
+                         .append("\"Attributes\":{\"exitCode\":\"0\",\"image\":\"codenvy/ubuntu_jdk8\",\"name\":\"ws")
+                         .append(i)
+                         .append("\"}},\"time\":1466000000,\"timeNano\":1466000000000000000}\n");
+        }
+        progress = progressBuilder.toString().getBytes(UTF_8);
+        events = eventsBuilder.toString().getBytes(UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void streamingProgress(Blackhole blackhole) throws IOException {
+        streaming(progress, ProgressStatus.class, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void treeProgress(Blackhole blackhole) {
+        tree(progress, ProgressStatus.class, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void streamingEvents(Blackhole blackhole) throws IOException {
+        streaming(events, Event.class, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void treeEvents(Blackhole blackhole) {
+        tree(events, Event.class, blackhole);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonMessageReaderBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+
+    private static <T> void streaming(byte[] source, Class<T> messageClass, Blackhole blackhole) throws IOException {
+        final JsonMessageReader<T> reader = new JsonMessageReader<>(new ByteArrayInputStream(source), messageClass);
+        T message;
+        while ((message = reader.next()) != null) {
+            blackhole.consume(message);
+        }
+    }
+
+    private static <T> void tree(byte[] source, Class<T> messageClass, Blackhole blackhole) {
+        final JsonStreamParser parser = new JsonStreamParser(new InputStreamReader(new ByteArrayInputStream(source), UTF_8));
+        while (parser.hasNext()) {
+            blackhole.consume(GSON.fromJson(parser.next(), messageClass));
+        }
+    }
+}
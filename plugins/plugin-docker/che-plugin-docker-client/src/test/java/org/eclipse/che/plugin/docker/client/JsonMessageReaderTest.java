@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client;
 
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.testng.annotations.Test;
 
@@ -51,4 +52,47 @@ public class JsonMessageReaderTest {
 
         assertNull(reader.next());
     }
+
+    @Test
+    public void shouldReturnNullIfStreamIsEmpty() throws IOException {
+        final JsonMessageReader<ProgressStatus> reader = new JsonMessageReader<>(new ByteArrayInputStream(new byte[0]),
+                                                                                 ProgressStatus.class);
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldParseObjectsWhichAreNotSeparated() throws IOException {
+        final String src = "{\"status\":\"Downloading\",\"progressDetail\":{\"current\":10,\"total\":20},\"id\":\"a\"}" +
+                           "{\"status\":\"Pull complete\",\"progressDetail\":{},\"id\":\"a\"}";
+
+        final JsonMessageReader<ProgressStatus> reader = new JsonMessageReader<>(new ByteArrayInputStream(src.getBytes()),
+                                                                                 ProgressStatus.class);
+
+        final ProgressStatus status1 = reader.next();
+        final ProgressStatus status2 = reader.next();
+
+        assertEquals(status1.getProgressDetail().getCurrent(), 10);
+        assertEquals(status1.getProgressDetail().getTotal(), 20);
+        assertEquals(status2.getStatus(), "Pull complete");
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldParseEvents() throws IOException {
+        final String src = "{\"status\":\"die\",\"id\":\"abc\",\"from\":\"busybox\",\"Type\":\"container\"," +
+                           "\"Action\":\"die\",\"Actor\":{\"ID\":\"abc\",\"Attributes\":{\"exitCode\":\"137\"}}," +
+                           "\"time\":1466000000,\"timeNano\":1466000000000000000,\"unknown\":[1,{\"a\":null}]}\n";
+
+        final JsonMessageReader<Event> reader = new JsonMessageReader<>(new ByteArrayInputStream(src.getBytes()), Event.class);
+
+        final Event event = reader.next();
+
+        assertEquals(event.getStatus(), "die");
+        assertEquals(event.getId(), "abc");
+        assertEquals(event.getType(), "container");
+        assertEquals(event.getActor().getAttributes().get("exitCode"), "137");
+        assertEquals(event.getTimeNano(), 1466000000000000000L);
+        assertNull(reader.next());
+    }
 }
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.plugin.docker.client.json.ProgressDetail;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+
+public class ProgressAggregatorTest {
+    private List<ProgressStatus> sent;
+
+    @BeforeMethod
+    public void setUp() {
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    public void sendsSummaryOfLayers() {
+        ProgressAggregator aggregator = new ProgressAggregator(sent::add, "image:latest", 0);
+
+        aggregator.updateProgress(layer("a", "Pulling fs layer", null));
+        aggregator.updateProgress(layer("b", "Already exists", null));
+        aggregator.updateProgress(layer("a", "Downloading", detail(1024 * 1024, 4 * 1024 * 1024)));
+        aggregator.updateProgress(layer("a", "Pull complete", null));
+
+        assertEquals(statuses(), asList("image:latest: 0 of 1 layers complete",
+                                        "image:latest: 1 of 2 layers complete",
+                                        "image:latest: 1 of 2 layers complete, 1.0 MB/4.0 MB",
+                                        "image:latest: 2 of 2 layers complete, 4.0 MB/4.0 MB"));
+    }
+
+    @Test
+    public void sendsSummaryNotMoreOftenThanInterval() {
+        ProgressAggregator aggregator = new ProgressAggregator(sent::add, "image", 60_000);
+
+        aggregator.updateProgress(layer("a", "Pulling fs layer", null));
+        aggregator.updateProgress(layer("a", "Downloading", detail(1024 * 1024, 2 * 1024 * 1024)));
+        aggregator.updateProgress(layer("a", "Download complete", null));
+        assertEquals(sent.size(), 1);
+
+        aggregator.done();
+        assertEquals(statuses(), asList("image: 0 of 1 layers complete",
+                                        "image: 0 of 1 layers complete, 2.0 MB/2.0 MB"));
+    }
+
+    @Test
+    public void doesNotSendSummaryOnDoneIfNothingChanged() {
+        ProgressAggregator aggregator = new ProgressAggregator(sent::add, "image", 60_000);
+
+        aggregator.updateProgress(layer("a", "Pull complete", null));
+        aggregator.done();
+
+        assertEquals(sent.size(), 1);
+    }
+
+    @Test
+    public void passesMessagesNotRelatedToLayers() {
+        ProgressAggregator aggregator = new ProgressAggregator(sent::add, "image", 60_000);
+        ProgressStatus pulling = layer("latest", "Pulling from library/ubuntu", null);
+        ProgressStatus stream = new ProgressStatus();
+        stream.setStream("Step 1 : FROM ubuntu");
+        ProgressStatus error = layer("a", null, null);
+        error.setError("failed");
+        ProgressStatus digest = layer(null, "Digest: sha256:123", null);
+
+        aggregator.updateProgress(pulling);
+        aggregator.updateProgress(stream);
+        aggregator.updateProgress(error);
+        aggregator.updateProgress(digest);
+        aggregator.done();
+
+        assertEquals(sent, asList(pulling, stream, error, digest));
+    }
+
+    private List<String> statuses() {
+        return sent.stream().map(ProgressStatus::getStatus).collect(toList());
+    }
+
+    private static ProgressStatus layer(String id, String status, ProgressDetail detail) {
+        ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setId(id);
+        progressStatus.setStatus(status);
+        progressStatus.setProgressDetail(detail);
+        return progressStatus;
+    }
+
+    private static ProgressDetail detail(long current, long total) {
+        ProgressDetail detail = new ProgressDetail();
+        detail.setCurrent(current);
+        detail.setTotal(total);
+        return detail;
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class UnixSocketDockerResponseTest {
+    @Test
+    public void responseIsReusableWhenContentIsRead() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhello");
+
+        assertEquals(read(response), "hello");
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void smallUnreadContentIsSkippedOnReuse() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nhelloHTTP/1.1");
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+        response.getInputStream().read();
+
+        assertTrue(response.isReusable());
+        assertEquals(new String(ByteStreams.toByteArray(input), UTF_8), "HTTP/1.1");
+    }
+
+    @Test
+    public void responseIsReusableWhenLastChunkIsRead() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                                     "3\r\nabc\r\n2\r\nde\r\n0\r\n\r\n");
+
+        assertEquals(read(response), "abcde");
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void responseIsNotReusableWhenChunksAreNotRead() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                                     "3\r\nabc\r\n0\r\n\r\n");
+        response.getInputStream();
+
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void responseWithoutContentIsReusable() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n\r\n");
+
+        assertEquals(response.getStatus(), 204);
+        assertEquals(read(response), "");
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void responseIsNotReusableWhenDaemonClosesConnection() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Length: 2\r\nConnection: close\r\n\r\nok");
+
+        assertEquals(read(response), "ok");
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void rawStreamIsNotReusable() throws Exception {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Type: application/vnd.docker.raw-stream\r\n\r\n");
+
+        assertEquals(read(response), "");
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void responseIsNotReusableUntilHeadersAreRead() throws Exception {
+        assertFalse(response("HTTP/1.1 204 No Content\r\n\r\n").isReusable());
+    }
+
+    private static UnixSocketDockerResponse response(String content) {
+        return new UnixSocketDockerResponse(stream(content));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+
+    private static String read(DockerResponse response) throws IOException {
+        return new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8);
+    }
+}
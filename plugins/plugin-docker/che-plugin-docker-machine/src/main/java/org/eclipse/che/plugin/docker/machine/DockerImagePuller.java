@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressAggregator;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pulls docker images in background threads, so images of all machines of environment may be pulled concurrently.
+ *
+ * <p>Pulls of the same image with the same credentials are deduplicated: pull which is requested while the same image
+ * is being pulled, e.g. by start of another workspace, waits for the pull in progress and receives its progress.
+ * Progress of layers is collapsed to periodic summary by {@link ProgressAggregator}.
+ */
+@Singleton
+public class DockerImagePuller {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerImagePuller.class);
+
+    private final DockerConnector                     docker;
+    private final ExecutorService                     executor;
+    private final ConcurrentMap<PullParams, PullTask> pulls;
+
+    @Inject
+    public DockerImagePuller(DockerConnector docker) {
+        this.docker = docker;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("DockerImagePuller-%d")
+                                                                                .setDaemon(true)
+                                                                                .build());
+        this.pulls = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Pulls image or joins pull of the same image which is in progress, blocks until image is pulled.
+     *
+     * @param params
+     *         image to pull
+     * @param progressMonitor
+     *         receives progress of pull
+     * @throws IOException
+     *         if pull fails or current thread is interrupted
+     */
+    public void pull(PullParams params, ProgressMonitor progressMonitor) throws IOException {
+        final PullTask task = startPull(params);
+        task.monitors.add(progressMonitor);
+        try {
+            task.future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new DockerException(cause.getLocalizedMessage(), 500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DockerException("Docker image pulling was interrupted", 500);
+        } finally {
+            task.monitors.remove(progressMonitor);
+        }
+    }
+
+    /**
+     * Starts pull of image in background if the image is not being pulled yet. Errors are only logged, they are
+     * reported to the next caller of {@link #pull(PullParams, ProgressMonitor)} which pulls the image again.
+     */
+    public void pullAsync(PullParams params) {
+        startPull(params);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private PullTask startPull(PullParams params) {
+        final PullTask newTask = new PullTask();
+        final PullTask existing = pulls.putIfAbsent(params, newTask);
+        if (existing != null) {
+            return existing;
+        }
+        executor.execute(() -> {
+            final String image = params.getTag() == null ? params.getFullRepo() : params.getFullRepo() + ':' + params.getTag();
+            final ProgressAggregator aggregator = new ProgressAggregator(newTask, image);
+            try {
+                docker.pull(params, aggregator);
+                aggregator.done();
+                pulls.remove(params, newTask);
+                newTask.future.complete(null);
+            } catch (Exception e) {
+                LOG.debug(String.format("Pull of image '%s' failed. %s", image, e.getLocalizedMessage()), e);
+                pulls.remove(params, newTask);
+                newTask.future.completeExceptionally(e);
+            }
+        });
+        return newTask;
+    }
+
+    /** Pull in progress, sends its progress to all callers which are waiting for it. */
+    private static class PullTask implements ProgressMonitor {
+        final List<ProgressMonitor>   monitors = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Void> future   = new CompletableFuture<>();
+
+        @Override
+        public void updateProgress(ProgressStatus currentProgressStatus) {
+            for (ProgressMonitor monitor : monitors) {
+                monitor.updateProgress(currentProgressStatus);
+            }
+        }
+    }
+}
@@ -51,8 +51,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
@@ -73,21 +71,8 @@ public class DockerInstance extends AbstractInstance {
      */
     public static final String LATEST_TAG = "latest";
 
-    private static final AtomicInteger pidSequence           = new AtomicInteger(1);
-    private static final String        PID_FILE_TEMPLATE     = "/tmp/docker-exec-%s.pid";
-    private static final Pattern       PID_FILE_PATH_PATTERN = Pattern.compile(String.format(PID_FILE_TEMPLATE, "([0-9]+)"));
-    /**
-     * Produces output in form:
-     * <pre>
-     * /some/path/pid_file_template-1.pid
-     * /some/path/pid_file_template-3.pid
-     * /some/path/pid_file_template-14.pid
-     * </pre>
-     * Where each line is full path to pid file of <b>process that is running<b/>
-     */
-    private static final String GET_ALIVE_PROCESSES_COMMAND =
-            format("for pidFile in $(find %s -print 2>/dev/null); do kill -0 \"$(cat ${pidFile})\" 2>/dev/null && echo \"${pidFile}\"; done",
-                   format(PID_FILE_TEMPLATE, "*"));
+    private static final AtomicInteger pidSequence       = new AtomicInteger(1);
+    private static final String        PID_FILE_TEMPLATE = "/tmp/docker-exec-%s.pid";
 
     private final DockerMachineFactory                        dockerMachineFactory;
     private final String                                      container;
@@ -172,30 +157,17 @@ public class DockerInstance extends AbstractInstance {
 
     @Override
     public List<InstanceProcess> getProcesses() throws MachineException {
-        List<InstanceProcess> processes = new LinkedList<>();
-        try {
-            final Exec exec = docker.createExec(CreateExecParams.create(container,
-                                                                        new String[] {"/bin/bash",
-                                                                                      "-c",
-                                                                                      GET_ALIVE_PROCESSES_COMMAND})
-                                                                .withDetach(false));
-            docker.startExec(StartExecParams.create(exec.getId()), logMessage -> {
-                final String pidFilePath = logMessage.getContent().trim();
-                final Matcher matcher = PID_FILE_PATH_PATTERN.matcher(pidFilePath);
-                if (matcher.matches()) {
-                    final int virtualPid = Integer.parseInt(matcher.group(1));
-                    final InstanceProcess dockerProcess = machineProcesses.get(virtualPid);
-                    if (dockerProcess != null) {
-                        processes.add(dockerProcess);
-                    } else {
-                        LOG.warn("Machine process {} exists in container but missing in processes map", virtualPid);
-                    }
-                }
-            });
-            return processes;
-        } catch (IOException e) {
-            throw new MachineException(e);
+        // processes keep own state, so there is no need to look for pid files in container
+        final List<InstanceProcess> processes = new LinkedList<>();
+        for (InstanceProcess process : machineProcesses.values()) {
+            try {
+                process.checkAlive();
+                processes.add(process);
+            } catch (NotFoundException e) {
+                machineProcesses.remove(process.getPid());
+            }
         }
+        return processes;
     }
 
     @Override
@@ -44,9 +44,11 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerFileException;
 import org.eclipse.che.plugin.docker.client.Dockerfile;
 import org.eclipse.che.plugin.docker.client.DockerfileParser;
+import org.eclipse.che.plugin.docker.client.ProgressAggregator;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.exception.ContainerNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
@@ -59,6 +61,8 @@ import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartContainerParams;
 import org.eclipse.che.plugin.docker.client.params.TagParams;
+import org.eclipse.che.plugin.docker.client.parser.DockerImageIdentifier;
+import org.eclipse.che.plugin.docker.client.parser.DockerImageIdentifierParser;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.eclipse.che.plugin.docker.machine.node.WorkspaceFolderPathProvider;
 import org.slf4j.Logger;
@@ -120,6 +124,7 @@ public class DockerInstanceProvider implements InstanceProvider {
     public static final Pattern SNAPSHOT_LOCATION_PATTERN = Pattern.compile("(.+/)?" + MACHINE_SNAPSHOT_PREFIX + ".+");
 
     private final DockerConnector                               docker;
+    private final DockerImagePuller                             imagePuller;
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final ExecutorService                               executor;
     private final DockerInstanceStopDetector                    dockerInstanceStopDetector;
@@ -143,6 +148,7 @@ public class DockerInstanceProvider implements InstanceProvider {
 
     @Inject
     public DockerInstanceProvider(DockerConnector docker,
+                                  DockerImagePuller imagePuller,
                                   DockerConnectorConfiguration dockerConnectorConfiguration,
                                   UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
                                   DockerMachineFactory dockerMachineFactory,
@@ -163,6 +169,7 @@ public class DockerInstanceProvider implements InstanceProvider {
                                   @Named("machine.docker.snapshot_use_registry") boolean snapshotUseRegistry,
                                   @Named("machine.docker.memory_swap_multiplier") double memorySwapMultiplier) throws IOException {
         this.docker = docker;
+        this.imagePuller = imagePuller;
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
@@ -277,6 +284,43 @@ public class DockerInstanceProvider implements InstanceProvider {
         return supportedRecipeTypes;
     }
 
+    /**
+     * Starts pulling of images of machines from image sources and, if force pull on build is enabled, base images of
+     * machines built from Dockerfile. Machines are still created one by one, but their images are pulled concurrently
+     * and each machine waits only for its own image, see {@link DockerImagePuller}.
+     */
+    @Override
+    public void prepareInstances(List<? extends MachineConfig> machineConfigs) {
+        final AuthConfigs credentials = dockerCredentials.getCredentials();
+        for (MachineConfig machineConfig : machineConfigs) {
+            try {
+                final String sourceType = machineConfig.getSource().getType();
+                if (DOCKER_IMAGE_TYPE.equals(sourceType)) {
+                    final DockerMachineSource source = new DockerMachineSource(machineConfig.getSource());
+                    if (source.getRepository() != null
+                        && (snapshotUseRegistry || !SNAPSHOT_LOCATION_PATTERN.matcher(source.getLocation()).matches())) {
+                        imagePuller.pullAsync(PullParams.create(source.getRepository())
+                                                        .withTag(MoreObjects.firstNonNull(source.getTag(), LATEST_TAG))
+                                                        .withRegistry(source.getRegistry())
+                                                        .withAuthConfigs(credentials));
+                    }
+                } else if (DOCKER_FILE_TYPE.equals(sourceType) && doForcePullOnBuild) {
+                    final Dockerfile dockerfile = parseRecipe(recipeRetriever.getRecipe(machineConfig));
+                    final DockerImageIdentifier baseImage = DockerImageIdentifierParser.parse(dockerfile.getImages()
+                                                                                                        .get(0)
+                                                                                                        .getFrom());
+                    imagePuller.pullAsync(PullParams.create(baseImage.getRepository())
+                                                    .withTag(MoreObjects.firstNonNull(baseImage.getTag(), LATEST_TAG))
+                                                    .withRegistry(baseImage.getRegistry())
+                                                    .withAuthConfigs(credentials));
+                }
+            } catch (Exception e) {
+                // errors are reported on creation of machine
+                LOG.debug(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
     /**
      * Creates instance from scratch or by reusing a previously one by using specified {@link MachineSource}
      * data in {@link MachineConfig}.
@@ -361,7 +405,7 @@ public class DockerInstanceProvider implements InstanceProvider {
                                                   .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(), LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                imagePuller.pull(pullParams, progressMonitor);
             }
 
             final String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -399,6 +443,7 @@ public class DockerInstanceProvider implements InstanceProvider {
             final File dockerfileFile = new File(workDir, "Dockerfile");
             dockerfile.writeDockerfile(dockerfileFile);
 
+            final ProgressAggregator aggregator = new ProgressAggregator(progressMonitor, "Pulling base image");
             docker.buildImage(BuildImageParams.create(dockerfileFile)
                                               .withForceRemoveIntermediateContainers(true)
                                               .withRepository(machineImageName)
@@ -406,7 +451,8 @@ public class DockerInstanceProvider implements InstanceProvider {
                                               .withDoForcePull(doForcePullOnBuild)
                                               .withMemoryLimit(memoryLimit)
                                               .withMemorySwapLimit(-1),
-                              progressMonitor);
+                              aggregator);
+            aggregator.done();
         } catch (IOException e) {
             throw new MachineException(e.getLocalizedMessage(), e);
         } finally {
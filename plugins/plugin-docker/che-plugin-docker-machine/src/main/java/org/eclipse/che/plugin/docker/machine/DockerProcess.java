@@ -16,7 +16,6 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.ListLineConsumer;
 import org.eclipse.che.api.core.util.ValueHolder;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -26,6 +25,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 
@@ -49,6 +49,11 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
     private final String              commandLine;
 
     private volatile boolean started;
+    /* exec id of the process, it is used for checking state of process which output is not read */
+    private volatile String  execId;
+    /* output of process is being read, such process is alive until reading is completed */
+    private volatile boolean outputAttached;
+    private volatile boolean finished;
 
     @Inject
     public DockerProcess(DockerConnector docker,
@@ -103,9 +108,15 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
             throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
                                               Arrays.toString(command), container, e.getMessage()), e);
         }
+        execId = exec.getId();
+        outputAttached = output != null;
         started = true;
         try {
             docker.startExec(StartExecParams.create(exec.getId()), output == null ? null : new LogMessagePrinter(output));
+            if (output != null) {
+                // output is read until process ends
+                finished = true;
+            }
         } catch (IOException e) {
             if (output != null && e instanceof SocketTimeoutException) {
                 throw new MachineException(getErrorMessage());
@@ -113,37 +124,40 @@ public class DockerProcess extends AbstractMachineProcess implements InstancePro
                 throw new MachineException(format("Error occurs while executing command %s: %s",
                                                   Arrays.toString(exec.getCommand()), e.getMessage()), e);
             }
+        } finally {
+            outputAttached = false;
         }
     }
 
+    /**
+     * Checks state of process without running any command inside container. State of process which output is being read
+     * is known without any requests to docker, state of other processes is got from docker by exec id.
+     */
     @Override
     public void checkAlive() throws MachineException, NotFoundException {
-        // Read pid from file and run 'kill -0 [pid]' command.
-        final String isAliveCmd = format("[ -r %1$s ] && kill -0 $(cat %1$s) || echo 'Unable read PID file'", pidFilePath);
-        final ListLineConsumer output = new ListLineConsumer();
-        final String[] command = {"/bin/bash", "-c", isAliveCmd};
-        Exec exec;
-        try {
-            exec = docker.createExec(CreateExecParams.create(container, command).withDetach(false));
-        } catch (IOException e) {
-            throw new MachineException(format("Error occurs while initializing command %s in docker container %s: %s",
-                                              Arrays.toString(command), container, e.getMessage()), e);
+        if (!started || finished) {
+            throw new NotFoundException(format("Process with pid %s not found", getPid()));
         }
+        if (outputAttached) {
+            return;
+        }
+        final ExecInfo execInfo;
         try {
-            docker.startExec(StartExecParams.create(exec.getId()), new LogMessagePrinter(output));
+            execInfo = docker.getExecInfo(execId);
         } catch (IOException e) {
-            throw new MachineException(format("Error occurs while executing command %s in docker container %s: %s",
-                                              Arrays.toString(exec.getCommand()), container, e.getMessage()), e);
+            throw new MachineException(format("Error occurs while getting state of process with pid %s in docker container %s: %s",
+                                              getPid(), container, e.getMessage()), e);
         }
-        // 'kill -0 [pid]' is silent if process is running or print "No such process" message otherwise
-        if (!output.getText().isEmpty()) {
+        if (!execInfo.isRunning()) {
+            finished = true;
             throw new NotFoundException(format("Process with pid %s not found", getPid()));
         }
     }
 
     @Override
     public void kill() throws MachineException {
-        if (started) {
+        // Docker API can't send signal to exec, so kill command is executed, but only if process is not known as finished
+        if (started && !finished) {
             // Read pid from file and run 'kill [pid]' command.
             final String killCmd = format("[ -r %1$s ] && kill $(cat %1$s)", pidFilePath);
             final String[] command = {"/bin/bash", "-c", killCmd};
@@ -18,7 +18,6 @@ import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.util.RecipeRetriever;
-import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerFileException;
 import org.eclipse.che.plugin.docker.client.Dockerfile;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
@@ -26,6 +25,7 @@ import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredential
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.parser.DockerImageIdentifier;
 import org.eclipse.che.plugin.docker.client.parser.DockerImageIdentifierParser;
+import org.eclipse.che.plugin.docker.machine.DockerImagePuller;
 import org.eclipse.che.plugin.docker.machine.DockerInstanceProvider;
 
 import javax.inject.Inject;
@@ -41,7 +41,7 @@ import java.io.IOException;
  */
 public class EnableOfflineDockerMachineBuildInterceptor implements MethodInterceptor {
     @Inject
-    DockerConnector                               dockerConnector;
+    DockerImagePuller                             imagePuller;
     @Inject
     UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     @Inject
@@ -77,10 +77,10 @@ public class EnableOfflineDockerMachineBuildInterceptor implements MethodInterce
         Dockerfile dockerfile = DockerInstanceProvider.parseRecipe(recipe);
         DockerImageIdentifier imageIdentifier = DockerImageIdentifierParser.parse(dockerfile.getImages().get(0).getFrom());
 
-        dockerConnector.pull(PullParams.create(imageIdentifier.getRepository())
-                                       .withTag(MoreObjects.firstNonNull(imageIdentifier.getTag(), "latest"))
-                                       .withRegistry(imageIdentifier.getRegistry())
-                                       .withAuthConfigs(dockerCredentials.getCredentials()),
-                             progressMonitor);
+        imagePuller.pull(PullParams.create(imageIdentifier.getRepository())
+                                   .withTag(MoreObjects.firstNonNull(imageIdentifier.getTag(), "latest"))
+                                   .withRegistry(imageIdentifier.getRegistry())
+                                   .withAuthConfigs(dockerCredentials.getCredentials()),
+                         progressMonitor);
     }
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link DockerImagePuller}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerImagePullerTest {
+    private static final PullParams IMAGE = PullParams.create("codenvy/ubuntu_jdk8").withTag("latest");
+
+    @Mock
+    private DockerConnector docker;
+    @Mock
+    private ProgressMonitor firstMonitor;
+    @Mock
+    private ProgressMonitor secondMonitor;
+
+    private DockerImagePuller puller;
+    private ExecutorService   callers;
+
+    @BeforeMethod
+    public void setUp() {
+        puller = new DockerImagePuller(docker);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        puller.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void shouldPullImageOnceForConcurrentCallers() throws Exception {
+        final CountDownLatch pullStarted = new CountDownLatch(1);
+        final CountDownLatch releasePull = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pullStarted.countDown();
+            releasePull.await();
+            final ProgressStatus status = new ProgressStatus();
+            status.setStatus("Status: Downloaded newer image");
+            ((ProgressMonitor)invocation.getArguments()[1]).updateProgress(status);
+            return null;
+        }).when(docker).pull(eq(IMAGE), any(ProgressMonitor.class));
+
+        puller.pullAsync(IMAGE);
+        pullStarted.await(10, TimeUnit.SECONDS);
+        final Future<?> first = callers.submit(() -> pull(firstMonitor));
+        final Future<?> second = callers.submit(() -> pull(secondMonitor));
+        // let callers join the pull in progress
+        Thread.sleep(200);
+        releasePull.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+
+        verify(docker).pull(eq(IMAGE), any(ProgressMonitor.class));
+        verify(firstMonitor).updateProgress(argThat(new StatusMatcher("Status: Downloaded newer image")));
+        verify(secondMonitor).updateProgress(argThat(new StatusMatcher("Status: Downloaded newer image")));
+    }
+
+    @Test
+    public void shouldPullImageAgainAfterPreviousPullIsDone() throws Exception {
+        puller.pull(IMAGE, firstMonitor);
+        puller.pull(IMAGE, firstMonitor);
+
+        verify(docker, times(2)).pull(eq(IMAGE), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPullDifferentImagesSeparately() throws Exception {
+        puller.pull(IMAGE, firstMonitor);
+        puller.pull(PullParams.create("codenvy/ubuntu_jdk8").withTag("latest").withRegistry("registry.com"), firstMonitor);
+
+        verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldRethrowErrorOfPull() throws Exception {
+        doThrow(new IOException("pull failed")).when(docker).pull(eq(IMAGE), any(ProgressMonitor.class));
+
+        try {
+            puller.pull(IMAGE, firstMonitor);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals(e.getMessage(), "pull failed");
+        }
+    }
+
+    private Void pull(ProgressMonitor monitor) throws IOException {
+        puller.pull(IMAGE, monitor);
+        return null;
+    }
+
+    private static class StatusMatcher extends org.mockito.ArgumentMatcher<ProgressStatus> {
+        private final String status;
+
+        StatusMatcher(String status) {
+            this.status = status;
+        }
+
+        @Override
+        public boolean matches(Object argument) {
+            return argument instanceof ProgressStatus && status.equals(((ProgressStatus)argument).getStatus());
+        }
+    }
+}
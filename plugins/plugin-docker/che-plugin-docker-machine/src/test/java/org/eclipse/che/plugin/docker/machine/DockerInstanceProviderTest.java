@@ -137,6 +137,7 @@ public class DockerInstanceProviderTest {
         when(dockerConnectorConfiguration.getDockerHostIp()).thenReturn("123.123.123.123");
 
         dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
+                                                                new DockerImagePuller(dockerConnector),
                                                                 dockerConnectorConfiguration,
                                                                 credentialsReader,
                                                                 dockerMachineFactory,
@@ -363,6 +364,7 @@ public class DockerInstanceProviderTest {
     @Test
     public void shouldCreateContainerWithPrivilegeMode() throws Exception {
         dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
+                                                                new DockerImagePuller(dockerConnector),
                                                                 dockerConnectorConfiguration,
                                                                 credentialsReader,
                                                                 dockerMachineFactory,
@@ -591,6 +593,7 @@ public class DockerInstanceProviderTest {
     public void shouldBeAbleToSetCorrectSwapSize(double swapMultiplier, int memoryMB, long expectedSwapSize) throws Exception {
         // given
         dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
+                                                                new DockerImagePuller(dockerConnector),
                                                                 dockerConnectorConfiguration,
                                                                 credentialsReader,
                                                                 dockerMachineFactory,
@@ -656,6 +659,7 @@ public class DockerInstanceProviderTest {
                                               .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -702,6 +706,7 @@ public class DockerInstanceProviderTest {
                                                  .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -754,6 +759,7 @@ public class DockerInstanceProviderTest {
                                               .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -800,6 +806,7 @@ public class DockerInstanceProviderTest {
                                                  .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -847,6 +854,7 @@ public class DockerInstanceProviderTest {
                                                    .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -897,6 +905,7 @@ public class DockerInstanceProviderTest {
                                                    .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -947,6 +956,7 @@ public class DockerInstanceProviderTest {
                                                    .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -997,6 +1007,7 @@ public class DockerInstanceProviderTest {
                                                    .collect(Collectors.toList()));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1042,6 +1053,7 @@ public class DockerInstanceProviderTest {
         String[] expectedVolumes = new String[] {expectedHostPathOfProjects + ":/projects:Z"};
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1083,6 +1095,7 @@ public class DockerInstanceProviderTest {
         final String[] expectedVolumes = new String[] {expectedHostPathOfProjects + ":/projects:Z"};
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1123,6 +1136,7 @@ public class DockerInstanceProviderTest {
         String[] expectedVolumes = new String[0];
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1163,6 +1177,7 @@ public class DockerInstanceProviderTest {
         String[] expectedVolumes = new String[0];
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1210,6 +1225,7 @@ public class DockerInstanceProviderTest {
         expectedVolumes.add(expectedHostPathOfProjects + ":/projects:Z");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1258,6 +1274,7 @@ public class DockerInstanceProviderTest {
         expectedVolumes.add(expectedHostPathOfProjects + ":/projects:Z");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1305,6 +1322,7 @@ public class DockerInstanceProviderTest {
         expectedVolumes.addAll(commonVolumes);
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1350,6 +1368,7 @@ public class DockerInstanceProviderTest {
         Set<String> commonVolumes = new HashSet<>(asList("/some/thing/else:/home/some/thing/else", "/other/path:/home/other/path"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1395,6 +1414,7 @@ public class DockerInstanceProviderTest {
         Set<String> commonVolumes = new HashSet<>(asList("/some/thing/else:/home/some/thing/else", "/other/path:/home/other/path"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1440,6 +1460,7 @@ public class DockerInstanceProviderTest {
         Set<String> commonVolumes = new HashSet<>(asList("/some/thing/else:/home/some/thing/else", "/other/path:/home/other/path"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1485,6 +1506,7 @@ public class DockerInstanceProviderTest {
         Set<String> commonVolumes = new HashSet<>(asList("/some/thing/else:/home/some/thing/else", "/other/path:/home/other/path"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1532,6 +1554,7 @@ public class DockerInstanceProviderTest {
         expectedVolumes.addAll(commonVolumes);
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1648,6 +1671,7 @@ public class DockerInstanceProviderTest {
         expectedEnv.add(DockerInstanceRuntimeInfo.CHE_WORKSPACE_ID + "=" + WORKSPACE_ID);
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1685,6 +1709,7 @@ public class DockerInstanceProviderTest {
         Set<String> devEnv = new HashSet<>(asList("DEV_ENV_VAR1=345", "DEV_ENV_VAR2=456", "DEV_ENV_VAR3=567"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1727,6 +1752,7 @@ public class DockerInstanceProviderTest {
         expectedEnv.add(DockerInstanceRuntimeInfo.CHE_WORKSPACE_ID + "=" + WORKSPACE_ID);
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1764,6 +1790,7 @@ public class DockerInstanceProviderTest {
         Set<String> devEnv = new HashSet<>(asList("DEV_ENV_VAR1=345", "DEV_ENV_VAR2=456", "DEV_ENV_VAR3=567"));
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1803,6 +1830,7 @@ public class DockerInstanceProviderTest {
         envVarsFromConfig.put("ENV_VAR2", "234");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1853,6 +1881,7 @@ public class DockerInstanceProviderTest {
         envVarsFromConfig.put("ENV_VAR2", "234");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1903,6 +1932,7 @@ public class DockerInstanceProviderTest {
         envVarsFromConfig.put("ENV_VAR2", "234");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -1953,6 +1983,7 @@ public class DockerInstanceProviderTest {
         envVarsFromConfig.put("ENV_VAR2", "234");
 
         dockerInstanceProvider = new DockerInstanceProvider(dockerConnector,
+                                                            new DockerImagePuller(dockerConnector),
                                                             dockerConnectorConfiguration,
                                                             credentialsReader,
                                                             dockerMachineFactory,
@@ -2077,6 +2108,7 @@ public class DockerInstanceProviderTest {
 
     private DockerInstanceProvider getDockerInstanceProvider(boolean snapshotUseRegistry) throws Exception {
         return spy(new DockerInstanceProvider(dockerConnector,
+                                              new DockerImagePuller(dockerConnector),
                                               dockerConnectorConfiguration,
                                               credentialsReader,
                                               dockerMachineFactory,
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.Exec;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
+import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
+import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DockerProcess}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerProcessTest {
+    private static final String CONTAINER = "container";
+    private static final String EXEC_ID   = "exec";
+
+    @Mock
+    private DockerConnector docker;
+    @Mock
+    private Exec            exec;
+    @Mock
+    private ExecInfo        execInfo;
+    @Mock
+    private LineConsumer    output;
+
+    private DockerProcess process;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(docker.createExec(any(CreateExecParams.class))).thenReturn(exec);
+        when(exec.getId()).thenReturn(EXEC_ID);
+        when(docker.getExecInfo(EXEC_ID)).thenReturn(execInfo);
+        process = new DockerProcess(docker,
+                                    new CommandImpl("test", "sleep 10", "custom"),
+                                    CONTAINER,
+                                    null,
+                                    "/tmp/docker-exec-1.pid",
+                                    1);
+    }
+
+    @Test
+    public void shouldNotBeAliveBeforeStart() throws Exception {
+        assertFalse(process.isAlive());
+
+        verify(docker, never()).getExecInfo(any(String.class));
+    }
+
+    @Test
+    public void shouldCheckStateOfDetachedProcessByExecInfo() throws Exception {
+        when(execInfo.isRunning()).thenReturn(true);
+        process.start();
+
+        assertTrue(process.isAlive());
+
+        verify(docker).getExecInfo(EXEC_ID);
+        // only exec of process itself is created
+        verify(docker, times(1)).createExec(any(CreateExecParams.class));
+    }
+
+    @Test
+    public void shouldRememberThatProcessIsFinished() throws Exception {
+        when(execInfo.isRunning()).thenReturn(false);
+        process.start();
+
+        assertFalse(process.isAlive());
+        assertFalse(process.isAlive());
+        process.kill();
+
+        verify(docker, times(1)).getExecInfo(EXEC_ID);
+        verify(docker, times(1)).createExec(any(CreateExecParams.class));
+    }
+
+    @Test
+    public void shouldBeAliveWhileOutputIsRead() throws Exception {
+        final boolean[] aliveWhileRunning = new boolean[1];
+        doAnswer(invocation -> {
+            aliveWhileRunning[0] = process.isAlive();
+            return null;
+        }).when(docker).startExec(any(StartExecParams.class), any());
+
+        process.start(output);
+
+        assertTrue(aliveWhileRunning[0]);
+        assertFalse(process.isAlive());
+        verify(docker, never()).getExecInfo(any(String.class));
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenProcessIsFinished() throws Exception {
+        process.start(output);
+
+        process.checkAlive();
+    }
+
+    @Test
+    public void shouldKillRunningProcess() throws Exception {
+        when(execInfo.isRunning()).thenReturn(true);
+        process.start();
+
+        process.kill();
+
+        verify(docker, times(2)).createExec(any(CreateExecParams.class));
+    }
+}
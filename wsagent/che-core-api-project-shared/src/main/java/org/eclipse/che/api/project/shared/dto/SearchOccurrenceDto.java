@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Single match of searched text inside of file.
+ */
+@DTO
+public interface SearchOccurrenceDto {
+    /** Number of matched line, first line of file has number 1. */
+    int getLineNumber();
+
+    void setLineNumber(int lineNumber);
+
+    SearchOccurrenceDto withLineNumber(int lineNumber);
+
+    /** Zero-based position of first matched character in the line. */
+    int getStartColumn();
+
+    void setStartColumn(int startColumn);
+
+    SearchOccurrenceDto withStartColumn(int startColumn);
+
+    /** Zero-based position of character that follows the last matched character in the line. */
+    int getEndColumn();
+
+    void setEndColumn(int endColumn);
+
+    SearchOccurrenceDto withEndColumn(int endColumn);
+
+    /** Part of matched line that contains the match. */
+    String getSnippet();
+
+    void setSnippet(String snippet);
+
+    SearchOccurrenceDto withSnippet(String snippet);
+
+    /** Zero-based position of first character of snippet in the line. */
+    int getSnippetStartColumn();
+
+    void setSnippetStartColumn(int snippetStartColumn);
+
+    SearchOccurrenceDto withSnippetStartColumn(int snippetStartColumn);
+}
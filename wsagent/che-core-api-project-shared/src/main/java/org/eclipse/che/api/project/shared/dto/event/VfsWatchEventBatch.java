@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
+
+import java.util.List;
+
+/**
+ * Changes of virtual file system collected during short period of time. Every path is present in only one list,
+ * several changes of the same item are merged into one. The only exception is folder which is deleted and then created
+ * again, it is present in both deleted and created lists, deleted items should be handled before created.
+ */
+@EventOrigin("vfs")
+@DTO
+public interface VfsWatchEventBatch {
+
+    String VFS_BATCH_CHANNEL = "vfs-batch";
+
+    /** Paths of created files and folders, items inside created folders are not listed. */
+    @SerializationIndex(1)
+    List<String> getCreated();
+
+    VfsWatchEventBatch withCreated(List<String> created);
+
+
+    /** Paths of modified files. */
+    @SerializationIndex(2)
+    List<String> getModified();
+
+    VfsWatchEventBatch withModified(List<String> modified);
+
+
+    /** Paths of deleted files and folders, items inside deleted folders are not listed. */
+    @SerializationIndex(3)
+    List<String> getDeleted();
+
+    VfsWatchEventBatch withDeleted(List<String> deleted);
+
+
+    /** Paths of folders with too many changes inside to be listed separately, content of such folders should be reloaded. */
+    @SerializationIndex(4)
+    List<String> getChangedSubtrees();
+
+    VfsWatchEventBatch withChangedSubtrees(List<String> changedSubtrees);
+
+}
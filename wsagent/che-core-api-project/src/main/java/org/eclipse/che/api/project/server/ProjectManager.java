@@ -36,12 +36,15 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
 import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.che.api.vfs.search.FileNameIndex;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.slf4j.Logger;
@@ -69,6 +72,9 @@ import java.util.concurrent.Executors;
 public final class ProjectManager {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectManager.class);
 
+    private static final VirtualFileFilter WATCHED_FILES_FILTER = file -> !(file.getPath().toString().contains(".codenvy")
+                                                                            || file.getPath().toString().contains(".#"));
+
     private final VirtualFileSystem              vfs;
     private final EventService                   eventService;
     private final ProjectTypeRegistry            projectTypeRegistry;
@@ -79,6 +85,7 @@ public final class ProjectManager {
     private final FileWatcherNotificationHandler fileWatchNotifier;
     private final ExecutorService                executor;
     private final WorkspaceProjectsSyncer        workspaceProjectsHolder;
+    private final FileNameIndex                  fileNameIndex;
 
     @Inject
     public ProjectManager(VirtualFileSystemProvider vfsProvider,
@@ -99,6 +106,8 @@ public final class ProjectManager {
         this.fileWatchNotifier = fileWatcherNotificationHandler;
         this.fileWatcher = fileTreeWatcher;
         this.workspaceProjectsHolder = workspaceProjectsHolder;
+        this.fileNameIndex = new FileNameIndex(vfs, VirtualFileFilters.createAndFilter(WATCHED_FILES_FILTER,
+                                                                                        VirtualFileFilters.dotGitFilter()));
 
         executor = Executors.newFixedThreadPool(1 + Runtime.getRuntime().availableProcessors(),
                                                 new ThreadFactoryBuilder().setNameFormat("ProjectService-IndexingThread-")
@@ -108,11 +117,11 @@ public final class ProjectManager {
     @PostConstruct
     void initWatcher() throws IOException {
         FileWatcherNotificationListener defaultListener =
-                new FileWatcherNotificationListener(file -> !(file.getPath().toString().contains(".codenvy")
-                                                              || file.getPath().toString().contains(".#"))) {
+                new FileWatcherNotificationListener(WATCHED_FILES_FILTER) {
                     @Override
                     public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
                         LOG.debug("FS event detected: " + eventType + " " + virtualFile.getPath().toString() + " " + virtualFile.isFile());
+                        fileNameIndex.handleFileWatcherEvent(virtualFile, eventType);
                         eventService.publish(LoEvent.newInstance()
                                                     .withPath(virtualFile.getPath().toString())
                                                     .withName(virtualFile.getName())
@@ -150,6 +159,11 @@ public final class ProjectManager {
         return provider.getSearcher(vfs);
     }
 
+    /** Index of names of all files in workspace for "go to file" search. */
+    public FileNameIndex getFileNameIndex() {
+        return fileNameIndex;
+    }
+
     public void addWatchListener(FileWatcherNotificationListener listener) {
         fileWatchNotifier.addNotificationListener(listener);
     }
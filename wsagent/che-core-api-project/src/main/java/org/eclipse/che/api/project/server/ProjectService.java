@@ -36,9 +36,11 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.FileNameMatch;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
@@ -48,6 +50,7 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.everrest.EntityTags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,9 +67,12 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.io.InputStream;
@@ -80,6 +86,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
@@ -109,6 +116,9 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Path("/project")
 @Singleton
 public class ProjectService extends Service {
+    /** Response header of search methods which contains cursor for retrieving next page of search result. */
+    public static final String NEXT_PAGE_CURSOR_HEADER = "X-Next-Page-Cursor";
+
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
@@ -690,8 +700,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public Response exportZip(@ApiParam(value = "Path to resource to be exported")
+                              @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -699,7 +709,16 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        // archive is written directly to the response, so client gets first bytes without waiting for the whole archive
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        final StreamingOutput archive = output -> {
+            try {
+                virtualFile.zip(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return Response.ok(archive, ExtMediaType.APPLICATION_ZIP).build();
     }
 
     @GET
@@ -734,10 +753,10 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> getChildren(@ApiParam(value = "Path to a project", required = true)
-                                           @PathParam("parent") String path) throws NotFoundException,
-                                                                                    ForbiddenException,
-                                                                                    ServerException {
+    public Response getChildren(@ApiParam(value = "Path to a project", required = true)
+                                @PathParam("parent") String path) throws NotFoundException,
+                                                                         ForbiddenException,
+                                                                         ServerException {
         final FolderEntry folder = projectManager.asFolder(path);
 
         if (folder == null) {
@@ -745,6 +764,12 @@ public class ProjectService extends Service {
         }
 
         final List<VirtualFileEntry> children = folder.getChildren();
+        final EntityTag entityTag = versionTag(children);
+        final Response notModified = EntityTags.notModified(entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+
         final ArrayList<ItemReference> result = new ArrayList<>(children.size());
         for (VirtualFileEntry child : children) {
             if (child.isFile()) {
@@ -754,7 +779,7 @@ public class ProjectService extends Service {
             }
         }
 
-        return result;
+        return Response.ok(new GenericEntity<List<ItemReference>>(result) {}).tag(entityTag).build();
     }
 
     @GET
@@ -791,21 +816,29 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public ItemReference getItem(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
-                                 @PathParam("path") String path) throws NotFoundException,
-                                                                        ForbiddenException,
-                                                                        ServerException {
+    public Response getItem(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
+                            @PathParam("path") String path) throws NotFoundException,
+                                                                   ForbiddenException,
+                                                                   ServerException {
         final VirtualFileEntry entry = projectManager.getProjectsRoot().getChild(path);
 
         if (entry == null) {
             throw new NotFoundException("Project " + path + " was not found");
         }
 
+        final EntityTag entityTag = versionTag(Collections.singletonList(entry));
+        final Response notModified = EntityTags.notModified(entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        final ItemReference item;
         if (entry.isFile()) {
-            return injectFileLinks(asDto((FileEntry)entry));
+            item = injectFileLinks(asDto((FileEntry)entry));
         } else {
-            return injectFolderLinks(asDto((FolderEntry)entry));
+            item = injectFolderLinks(asDto((FolderEntry)entry));
         }
+        return Response.ok(item).tag(entityTag).build();
     }
 
     @GET
@@ -820,25 +853,147 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "How text is interpreted",
+                                     allowableValues = "QUERY,SUBSTRING,REGEX")
+                           @QueryParam("textMode") @DefaultValue("QUERY") String textMode,
+                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                           @ApiParam(value = "Skip count")
+                           @QueryParam("skipCount") int skipCount,
+                           @ApiParam(value = "Cursor of page from '" + NEXT_PAGE_CURSOR_HEADER + "' header of previous page response. " +
+                                             "Takes precedence over skip count")
+                           @QueryParam("cursor") String cursor) throws NotFoundException,
+                                                                       ForbiddenException,
+                                                                       ConflictException,
+                                                                       ServerException {
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return Response.ok(new GenericEntity<List<ItemReference>>(Collections.emptyList()) {}).build();
+        }
+
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setTextMode(parseTextMode(textMode))
+                .setMaxItems(maxItems)
+                .setSkipCount(skipCount)
+                .setCursor(cursor);
+
+        final SearchResult result = searcher.search(expr);
+        final List<SearchResultEntry> searchResultEntries = result.getResults();
+        final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (SearchResultEntry searchResultEntry : searchResultEntries) {
+            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+            if (child != null && child.isFile()) {
+                items.add(injectFileLinks(asDto((FileEntry)child)));
+            }
+        }
+
+        return Response.ok(new GenericEntity<List<ItemReference>>(items) {})
+                       .header(NEXT_PAGE_CURSOR_HEADER, result.getNextPageCursor())
+                       .build();
+    }
+
+    @GET
+    @Path("/find-file/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Find files by name",
+                  notes = "Finds files which names fuzzy match the query, e.g. 'HJR' matches 'HttpJsonRequest.java'. Query may be " +
+                          "prefixed with abbreviations of folders separated by '/'. The best matches are returned first",
+                  response = ItemReference.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public List<ItemReference> findFile(@ApiParam(value = "Path to folder where to search", required = true)
+                                        @PathParam("path") String path,
+                                        @ApiParam(value = "File name or its abbreviation", required = true)
+                                        @QueryParam("query") String query,
+                                        @ApiParam(value = "Maximum items to display")
+                                        @QueryParam("maxItems") @DefaultValue("50") int maxItems) throws NotFoundException,
+                                                                                                         ForbiddenException,
+                                                                                                         ConflictException,
+                                                                                                         ServerException {
+        if (isNullOrEmpty(query)) {
+            throw new ConflictException("Query is required.");
+        }
+        if (maxItems <= 0) {
+            throw new ConflictException(String.format("Invalid 'maxItems' parameter: %d.", maxItems));
+        }
+
+        final List<FileNameMatch> matches = projectManager.getFileNameIndex().find(query, path.startsWith("/") ? path : ('/' + path),
+                                                                                   maxItems);
+        final List<ItemReference> items = new ArrayList<>(matches.size());
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (FileNameMatch match : matches) {
+            final VirtualFileEntry child = root.getChild(match.getPath());
+
+            if (child != null && child.isFile()) {
+                items.add(injectFileLinks(asDto((FileEntry)child)));
+            }
+        }
+
+        return items;
+    }
+
+    @GET
+    @Path("/search-occurrences/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for text in files",
+                  notes = "Search for files applying a number of search filters as query parameters. Every found file is returned " +
+                          "with lines where searched text is found, positions of matched text and snippets of matched lines",
+                  response = SearchResultDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public Response searchOccurrences(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
                                       @PathParam("path") String path,
                                       @ApiParam(value = "Resource name")
                                       @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
+                                      @ApiParam(value = "Search keywords", required = true)
                                       @QueryParam("text") String text,
+                                      @ApiParam(value = "How text is interpreted",
+                                                allowableValues = "QUERY,SUBSTRING,REGEX")
+                                      @QueryParam("textMode") @DefaultValue("QUERY") String textMode,
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+                                      @QueryParam("skipCount") int skipCount,
+                                      @ApiParam(value = "Maximum number of occurrences returned for single file")
+                                      @QueryParam("maxOccurrencesPerFile") int maxOccurrencesPerFile,
+                                      @ApiParam(value = "Cursor of page from '" + NEXT_PAGE_CURSOR_HEADER + "' header of previous page " +
+                                                        "response. Takes precedence over skip count")
+                                      @QueryParam("cursor") String cursor)
+            throws NotFoundException, ForbiddenException, ConflictException, ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok(new GenericEntity<List<SearchResultDto>>(Collections.emptyList()) {}).build();
         }
 
         if (skipCount < 0) {
@@ -849,23 +1004,42 @@ public class ProjectService extends Service {
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setTextMode(parseTextMode(textMode))
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setCursor(cursor)
+                .setIncludeOccurrences(true)
+                .setMaxOccurrencesPerFile(maxOccurrencesPerFile);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
-        final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
+        final List<SearchResultDto> items = new ArrayList<>(searchResultEntries.size());
         final FolderEntry root = projectManager.getProjectsRoot();
 
         for (SearchResultEntry searchResultEntry : searchResultEntries) {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                items.add(newDto(SearchResultDto.class)
+                                  .withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                                  .withSearchOccurrences(searchResultEntry.getOccurrences()
+                                                                          .stream()
+                                                                          .map(DtoConverter::asDto)
+                                                                          .collect(Collectors.toList())));
             }
         }
 
-        return items;
+        return Response.ok(new GenericEntity<List<SearchResultDto>>(items) {})
+                       .header(NEXT_PAGE_CURSOR_HEADER, result.getNextPageCursor())
+                       .build();
+    }
+
+    private QueryExpression.TextMode parseTextMode(String textMode) throws ConflictException {
+        try {
+            return QueryExpression.TextMode.valueOf(textMode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ConflictException(String.format("Invalid 'textMode' parameter: %s.", textMode));
+        }
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
@@ -1024,6 +1198,22 @@ public class ProjectService extends Service {
         parent.unzip(in, overwrite, stripNum);
     }
 
+    /**
+     * Builds entity tag of items from their modification dates instead of hashing of serialized items. Everything what affects
+     * {@link ItemReference} of item, including links, must be taken into account.
+     */
+    private EntityTag versionTag(List<VirtualFileEntry> entries) throws ServerException {
+        final List<Object> stamps = new ArrayList<>(entries.size() * 4 + 1);
+        stamps.add(getServiceContext().getServiceUriBuilder().build());
+        for (VirtualFileEntry entry : entries) {
+            stamps.add(entry.getPath());
+            stamps.add(entry.getModified());
+            stamps.add(entry.isFile() ? entry.getVirtualFile().getLength() : entry.isProject());
+            stamps.add(entry.getAttributes());
+        }
+        return EntityTags.versionTag(stamps.toArray());
+    }
+
     private ItemReference injectFileLinks(ItemReference itemReference) {
         final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
         final List<Link> links = new ArrayList<>();
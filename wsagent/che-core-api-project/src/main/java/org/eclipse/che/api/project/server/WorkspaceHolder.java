@@ -141,7 +141,7 @@ public class WorkspaceHolder extends WorkspaceProjectsSyncer {
                                       .path(WorkspaceService.class).path(WorkspaceService.class, "getByKey")
                                       .build(wsId).toString();
         try {
-            return httpJsonRequestFactory.fromUrl(href).useGetMethod().request().asDto(WorkspaceDto.class);
+            return httpJsonRequestFactory.fromUrl(href).useGetMethod().useCompactJson().request().asDto(WorkspaceDto.class);
         } catch (IOException | ApiException e) {
             throw new ServerException(e);
         }
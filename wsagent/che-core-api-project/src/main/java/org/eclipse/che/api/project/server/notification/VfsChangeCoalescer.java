@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.notification;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+
+/**
+ * Merges changes of virtual file system items so that every path has at most one pending change:
+ * <ul>
+ * <li>created and then modified item is reported as created</li>
+ * <li>created and then deleted item is not reported at all</li>
+ * <li>deleted and then created file is reported as modified</li>
+ * <li>deleted and then created folder is reported as both deleted and created, so its old children are dropped</li>
+ * <li>modified and then deleted item is reported as deleted</li>
+ * <li>changes of items inside created or deleted folder are not reported</li>
+ * </ul>
+ * When changes are {@link #drain() drained} all changes inside folder are replaced with one "subtree changed" record if there
+ * are at least {@code subtreeThreshold} of them.
+ * <p>
+ * Instances of this class are not thread safe.
+ */
+class VfsChangeCoalescer {
+    private final int subtreeThreshold;
+
+    private NavigableMap<String, FileWatcherEventType> changes;
+    /** Folders which are deleted and then created again, their pending change is {@code CREATED}. */
+    private Set<String>                                 recreatedFolders;
+
+    /**
+     * @param subtreeThreshold
+     *         min number of changes inside folder which are reported as change of the whole subtree
+     */
+    VfsChangeCoalescer(int subtreeThreshold) {
+        this.subtreeThreshold = subtreeThreshold;
+        this.changes = new TreeMap<>();
+        this.recreatedFolders = new HashSet<>();
+    }
+
+    void add(String path, FileWatcherEventType type) {
+        add(path, type, false);
+    }
+
+    /**
+     * @param folder
+     *         {@code true} if changed item is folder
+     */
+    void add(String path, FileWatcherEventType type, boolean folder) {
+        if (hasCreatedOrDeletedParent(path)) {
+            return;
+        }
+        final FileWatcherEventType previous = changes.get(path);
+        if (type == DELETED) {
+            // nothing inside of deleted folder is interesting anymore, '0' is the next character after '/'
+            changes.subMap(path + '/', path + '0').clear();
+        }
+        FileWatcherEventType merged;
+        if (folder && previous == DELETED && type == CREATED) {
+            // clients must drop children of the old folder, modification is not enough for that
+            recreatedFolders.add(path);
+            merged = CREATED;
+        } else {
+            merged = merge(previous, type);
+            if (merged == null && recreatedFolders.remove(path)) {
+                // folder existed before it was re-created
+                merged = DELETED;
+            }
+        }
+        if (merged == null) {
+            changes.remove(path);
+        } else {
+            changes.put(path, merged);
+        }
+    }
+
+    private boolean hasCreatedOrDeletedParent(String path) {
+        for (int slash = path.lastIndexOf('/'); slash > 0; slash = path.lastIndexOf('/', slash - 1)) {
+            final FileWatcherEventType parentChange = changes.get(path.substring(0, slash));
+            if (parentChange == CREATED || parentChange == DELETED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FileWatcherEventType merge(FileWatcherEventType previous, FileWatcherEventType type) {
+        if (previous == null) {
+            return type;
+        }
+        switch (previous) {
+            case CREATED:
+                return type == DELETED ? null : CREATED;
+            case DELETED:
+                return type == CREATED ? MODIFIED : DELETED;
+            default:
+                return type == DELETED ? DELETED : MODIFIED;
+        }
+    }
+
+    /** Number of pending changes. */
+    int size() {
+        return changes.size();
+    }
+
+    boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /** Gets all pending changes and starts collecting of new ones. */
+    Changes drain() {
+        final Map<String, Integer> folderChanges = new HashMap<>();
+        for (String path : changes.keySet()) {
+            for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                folderChanges.merge(path.substring(0, slash), 1, Integer::sum);
+            }
+        }
+
+        final Changes drained = new Changes();
+        for (Map.Entry<String, FileWatcherEventType> change : changes.entrySet()) {
+            final String path = change.getKey();
+            final String subtree = findChangedSubtree(path, folderChanges);
+            if (subtree != null) {
+                drained.changedSubtrees.add(subtree);
+            } else if (change.getValue() == CREATED) {
+                if (recreatedFolders.contains(path)) {
+                    drained.deleted.add(path);
+                }
+                drained.created.add(path);
+            } else if (change.getValue() == DELETED) {
+                drained.deleted.add(path);
+            } else {
+                drained.modified.add(path);
+            }
+        }
+        changes = new TreeMap<>();
+        recreatedFolders = new HashSet<>();
+        return drained;
+    }
+
+    /** Finds the topmost folder which contains given path and has enough changes to be reported as the whole. */
+    private String findChangedSubtree(String path, Map<String, Integer> folderChanges) {
+        for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+            final String folder = path.substring(0, slash);
+            if (folderChanges.get(folder) >= subtreeThreshold) {
+                return folder;
+            }
+        }
+        return null;
+    }
+
+    /** Changes of items sorted by path. */
+    static class Changes {
+        final List<String> created         = new ArrayList<>();
+        final List<String> modified        = new ArrayList<>();
+        final List<String> deleted         = new ArrayList<>();
+        final Set<String>  changedSubtrees = new TreeSet<>();
+    }
+}
@@ -13,11 +13,6 @@ package org.eclipse.che.api.project.server.notification;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
-import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
-import org.everrest.websockets.message.ChannelBroadcastMessage;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -25,31 +20,23 @@ import javax.inject.Inject;
 
 /**
  *
- * Subscribes on VFS Watcher events and broadcasts them with websockets
+ * Subscribes on VFS Watcher events and broadcasts them with websockets in batches, see {@link VfsWatchEventBatcher}
  * @author gazarenkov
  */
 public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
 
-    private static final Logger LOG = LoggerFactory.getLogger(VfsWatchBroadcaster.class);
-
-    private final EventService eventService;
+    private final EventService         eventService;
+    private final VfsWatchEventBatcher batcher;
 
     @Inject
-    public VfsWatchBroadcaster(EventService eventService) {
+    public VfsWatchBroadcaster(EventService eventService, VfsWatchEventBatcher batcher) {
         this.eventService = eventService;
+        this.batcher = batcher;
     }
 
     @Override
     public void onEvent(VfsWatchEvent event) {
-
-        try {
-            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
-            bm.setChannel(VfsWatchEvent.VFS_CHANNEL);
-            bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
-        } catch (Exception e) {
-            LOG.error(e.getLocalizedMessage(), e);
-        }
+        batcher.add(event.getPath(), event.getType(), !event.isFile());
     }
 
     @PostConstruct
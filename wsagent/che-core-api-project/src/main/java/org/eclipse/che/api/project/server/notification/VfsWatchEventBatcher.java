@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.project.shared.dto.event.VfsWatchEventBatch;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Collects low level VFS events and sends them to clients in batches instead of one message per event. Changes of the
+ * same item are merged, see {@link VfsChangeCoalescer}. Batch is sent over websocket channel
+ * {@link VfsWatchEventBatch#VFS_BATCH_CHANNEL} and published to {@link EventService} when flush delay is elapsed after the first
+ * collected event or when batch reaches its max size, whichever happens first.
+ */
+@Singleton
+public class VfsWatchEventBatcher implements EventSubscriber<LoEvent> {
+    private static final Logger LOG = LoggerFactory.getLogger(VfsWatchEventBatcher.class);
+
+    private final EventService             eventService;
+    private final ScheduledExecutorService executor;
+
+    private int                subtreeThreshold = 100;
+    private int                maxBatchSize     = 1000;
+    private long               flushDelayMillis = 300;
+    private VfsChangeCoalescer coalescer;
+    private ScheduledFuture<?> scheduledFlush;
+
+    @Inject
+    public VfsWatchEventBatcher(EventService eventService) {
+        this.eventService = eventService;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("VfsWatchEventBatcher")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
+    }
+
+    /** Max number of changes in one batch, batch is sent immediately once it's full. */
+    @com.google.inject.Inject(optional = true)
+    public void setMaxBatchSize(@Named("vfs.event.batch.max_size") int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /** Max time in milliseconds between receiving of event and sending of batch which contains it. */
+    @com.google.inject.Inject(optional = true)
+    public void setFlushDelayMillis(@Named("vfs.event.batch.flush_delay_ms") long flushDelayMillis) {
+        this.flushDelayMillis = flushDelayMillis;
+    }
+
+    /** Min number of changes inside folder to report them as one change of the whole folder. */
+    @com.google.inject.Inject(optional = true)
+    public void setSubtreeThreshold(@Named("vfs.event.batch.subtree_threshold") int subtreeThreshold) {
+        this.subtreeThreshold = subtreeThreshold;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        coalescer = new VfsChangeCoalescer(subtreeThreshold);
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        eventService.unsubscribe(this);
+        executor.shutdown();
+        flush();
+    }
+
+    @Override
+    public void onEvent(LoEvent event) {
+        add(event.getPath(), event.getEventType(), event.getItemType() == LoEvent.ItemType.DIR);
+    }
+
+    /**
+     * Adds change of item to the current batch.
+     *
+     * @param folder
+     *         {@code true} if changed item is folder
+     */
+    public synchronized void add(String path, FileWatcherEventType type, boolean folder) {
+        coalescer.add(path, type, folder);
+        if (coalescer.size() >= maxBatchSize) {
+            flush();
+        } else if (scheduledFlush == null && !coalescer.isEmpty() && !executor.isShutdown()) {
+            scheduledFlush = executor.schedule(this::flush, flushDelayMillis, MILLISECONDS);
+        }
+    }
+
+    /** Sends all collected changes. */
+    synchronized void flush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (coalescer.isEmpty()) {
+            return;
+        }
+        final VfsChangeCoalescer.Changes changes = coalescer.drain();
+        final VfsWatchEventBatch batch = DtoFactory.newDto(VfsWatchEventBatch.class)
+                                                   .withCreated(changes.created)
+                                                   .withModified(changes.modified)
+                                                   .withDeleted(changes.deleted)
+                                                   .withChangedSubtrees(new ArrayList<>(changes.changedSubtrees));
+        eventService.publish(batch);
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(VfsWatchEventBatch.VFS_BATCH_CHANNEL);
+            bm.setBody(DtoFactory.getInstance().toJson(batch));
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error("Can't send VFS changes over web socket: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -11,12 +11,27 @@
 package org.eclipse.che.api.vfs;
 
 public class ArchiverFactory {
+    private final long zipParallelDeflateThreshold;
+
+    public ArchiverFactory() {
+        this(0);
+    }
+
+    /**
+     * @param zipParallelDeflateThreshold
+     *         min size of file to compress it in parallel when creating ZIP archives, zero disables parallel compression
+     * @see ZipArchiver
+     */
+    public ArchiverFactory(long zipParallelDeflateThreshold) {
+        this.zipParallelDeflateThreshold = zipParallelDeflateThreshold;
+    }
+
     public Archiver createArchiver(VirtualFile folder, String archiveType) {
         if (archiveType == null) {
             throw new IllegalArgumentException("Archive type might not be null");
         }
         if ("zip".equals(archiveType.toLowerCase())) {
-            return new ZipArchiver(folder);
+            return new ZipArchiver(folder, zipParallelDeflateThreshold);
         } else if ("tar".equals(archiveType.toLowerCase())) {
             return new TarArchiver(folder);
         }
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.eclipse.che.api.core.ServerException;
+
+import java.util.Set;
+
+/**
+ * Keeps hash sums of files counted by {@link HashSumsCounter}, so content of files that were not changed since the previous
+ * counting is not read and hashed again. File is considered unchanged if its length and modification date are the same.
+ * Implementations must be thread safe.
+ */
+public interface HashSumsCache {
+    /**
+     * Gets hash sum of file.
+     *
+     * @return saved hash sum or {@code null} if there is no hash sum for file with given length and modification date
+     */
+    String get(Path path, long length, long lastModified);
+
+    /** Saves hash sum of file. */
+    void put(Path path, long length, long lastModified, String hashSum);
+
+    /**
+     * Notifies that hash sums of all files in folder were counted. Hash sums of files inside of {@code folder} which are not in
+     * {@code files} are removed since such files don't exist anymore.
+     *
+     * @param folder
+     *         folder in which hash sums were counted
+     * @param files
+     *         all files in folder
+     */
+    void counted(Path folder, Set<Path> files) throws ServerException;
+}
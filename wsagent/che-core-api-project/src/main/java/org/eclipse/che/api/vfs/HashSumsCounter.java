@@ -21,24 +21,39 @@ import org.eclipse.che.commons.lang.Pair;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Lists.newArrayListWithCapacity;
+import static com.google.common.collect.Sets.newHashSetWithExpectedSize;
 import static com.google.common.hash.Funnels.asOutputStream;
 
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
- * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * Algorithm specified by {@code hashFunction} is used for calculating hash sum. Subfolders and files are processed in parallel
+ * in common {@link ForkJoinPool}. If {@link HashSumsCache} is given then only files which were changed since the previous
+ * counting are hashed.
  */
-public class HashSumsCounter implements VirtualFileVisitor {
-    private final VirtualFile                folder;
-    private final HashFunction               hashFunction;
-    private final List<Pair<String, String>> hashSums;
+public class HashSumsCounter {
+    private final VirtualFile   folder;
+    private final HashFunction  hashFunction;
+    private final HashSumsCache cache;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null);
+    }
+
+    /**
+     * @param cache
+     *         cache of hash sums counted with the same {@code hashFunction}, may be {@code null}
+     */
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, HashSumsCache cache) {
         this.folder = folder;
         this.hashFunction = hashFunction;
-        hashSums = newArrayList();
+        this.cache = cache;
     }
 
     /**
@@ -50,26 +65,85 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
-        folder.accept(this);
-        return hashSums;
+        final List<Pair<String, Path>> hashSums;
+        try {
+            hashSums = ForkJoinPool.commonPool().invoke(new HashSumsTask(folder));
+        } catch (RuntimeException e) {
+            throw unwrapServerException(e);
+        }
+        final List<Pair<String, String>> result = newArrayListWithCapacity(hashSums.size());
+        final Set<Path> files = newHashSetWithExpectedSize(hashSums.size());
+        for (Pair<String, Path> hashSum : hashSums) {
+            result.add(Pair.of(hashSum.first, hashSum.second.subPath(folder.getPath()).toString()));
+            files.add(hashSum.second);
+        }
+        if (cache != null) {
+            cache.counted(folder.getPath(), files);
+        }
+        return result;
     }
 
-    @Override
-    public void visit(VirtualFile virtualFile) throws ServerException {
-        if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
+    private String countHashSum(VirtualFile file) throws ServerException {
+        final long length = file.getLength();
+        final long lastModified = file.getLastModificationDate();
+        if (cache != null) {
+            final String cached = cache.get(file.getPath(), length, lastModified);
+            if (cached != null) {
+                return cached;
             }
-        } else {
-            for (VirtualFile child : virtualFile.getChildren()) {
-                child.accept(this);
+        }
+        final String hexHash;
+        try (InputStream in = file.getContent()) {
+            final Hasher hasher = hashFunction.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            hexHash = hasher.hash().toString();
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+        if (cache != null) {
+            cache.put(file.getPath(), length, lastModified, hexHash);
+        }
+        return hexHash;
+    }
+
+    /** ForkJoinPool may rethrow a copy of the exception thrown in another thread, so the original is looked up in causes. */
+    private ServerException unwrapServerException(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServerException) {
+                return (ServerException)cause;
+            }
+        }
+        return new ServerException(e.getMessage(), e);
+    }
+
+    /** Counts hash sums of file or of all files in folder. Result contains pairs of hash sum and path of file. */
+    private class HashSumsTask extends RecursiveTask<List<Pair<String, Path>>> {
+        private final VirtualFile virtualFile;
+
+        HashSumsTask(VirtualFile virtualFile) {
+            this.virtualFile = virtualFile;
+        }
+
+        @Override
+        protected List<Pair<String, Path>> compute() {
+            try {
+                if (virtualFile.isFile()) {
+                    return newArrayList(Pair.of(countHashSum(virtualFile), virtualFile.getPath()));
+                }
+                final List<HashSumsTask> subTasks = newArrayList();
+                for (VirtualFile child : virtualFile.getChildren()) {
+                    subTasks.add(new HashSumsTask(child));
+                }
+                invokeAll(subTasks);
+                final List<Pair<String, Path>> hashSums = newArrayList();
+                for (HashSumsTask subTask : subTasks) {
+                    hashSums.addAll(subTask.join());
+                }
+                return hashSums;
+            } catch (ServerException e) {
+                throw new RuntimeException(e);
             }
         }
     }
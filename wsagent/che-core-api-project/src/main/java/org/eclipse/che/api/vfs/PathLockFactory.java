@@ -10,6 +10,15 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +39,38 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * <p/>
+ * Lock of path also locks whole hierarchy of the path: exclusive lock is not granted while other thread has any lock of
+ * parent or child path and shared lock is not granted while other thread has exclusive lock of parent or child path. It's
+ * done with intention locks, every lock of path adds intention lock to all its parents. State of every path is updated
+ * separately with compare-and-set and threads which wait for permit of path are woken up only when lock of this path is
+ * released. Locks are reentrant, thread which already has lock of path gets it again without waiting whatever lock type is
+ * requested.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+
+    private static final int INTENTION_SHARED    = 0;
+    private static final int INTENTION_EXCLUSIVE = 1;
+    private static final int SHARED              = 2;
+    private static final int EXCLUSIVE           = 3;
+
+    /*
+     * State of path is packed in one long: three 21 bits counters of intention shared, intention exclusive and shared locks and
+     * the highest bit for exclusive lock.
+     */
+    private static final int    COUNTER_BITS = 21;
+    private static final long   COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long[] UNITS        = {1L, 1L << COUNTER_BITS, 1L << (2 * COUNTER_BITS), Long.MIN_VALUE};
+    /** State of path which is removed from lock table, path with such state may not be locked. */
+    private static final long   REMOVED      = -1L;
+
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                          maxThreads;
+    private final ConcurrentMap<Path, Node>    nodes;
+    private final ThreadLocal<Map<Path, Hold>> holds;
 
     /**
      * @param maxThreads
@@ -46,142 +78,266 @@ public final class PathLockFactory {
      *         avoid blocking threads that need to obtain NOT exclusive lock.
      */
     public PathLockFactory(int maxThreads) {
-        if (maxThreads < 1) {
+        if (maxThreads < 1 || maxThreads > COUNTER_MASK) {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.nodes = new ConcurrentHashMap<>();
+        this.holds = ThreadLocal.withInitial(HashMap::new);
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
         return new PathLock(path, exclusive ? maxThreads : 1);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void acquire(Path path, int permits, long timeoutMilliseconds) {
+        final long deadline = timeoutMilliseconds < 0 ? -1 : System.nanoTime() + MILLISECONDS.toNanos(timeoutMilliseconds);
+        final Map<Path, Hold> ownHolds = holds.get();
+        final Hold own = ownHolds.get(path);
+        if (own != null && own.mode >= 0) {
+            // Current thread already has direct lock for this path
+            if (own.threadDeep > MAX_RECURSIVE_LOCKS) {
+                throw new Error("Max number of recursive locks exceeded. ");
             }
+            ++own.threadDeep;
+            return;
         }
-    }
-
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+        final int intention = permits == maxThreads ? INTENTION_EXCLUSIVE : INTENTION_SHARED;
+        final Path[] hierarchy = hierarchy(path);
+        final int last = hierarchy.length - 1;
+        int acquired = 0;
+        try {
+            for (; acquired <= last; acquired++) {
+                final int mode = acquired == last ? intention + 2 : intention;
+                final Hold levelHold = ownHolds.isEmpty() ? null : ownHolds.get(hierarchy[acquired]);
+                acquire(hierarchy[acquired], mode, levelHold, path, deadline);
+                addHold(ownHolds, hierarchy[acquired], mode);
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            ownHolds.get(path).hierarchy = hierarchy;
+        } catch (RuntimeException e) {
+            for (int i = acquired - 1; i >= 0; i--) {
+                release(hierarchy[i], intention);
+                removeHold(ownHolds, hierarchy[i], intention);
             }
-            waitTime = endTime - now;
+            throw e;
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    private void acquire(Path path, int mode, Hold own, Path requested, long deadline) {
+        for (; ; ) {
+            final Node node = nodes.computeIfAbsent(path, Node::new);
+            int result = tryAcquire(node, mode, own);
+            if (result == 0) {
+                InterruptedException interrupted = null;
+                synchronized (node) {
+                    ++node.waiters;
+                    try {
+                        while ((result = tryAcquire(node, mode, own)) == 0) {
+                            if (deadline < 0) {
+                                node.wait();
+                            } else {
+                                final long waitTime = NANOSECONDS.toMillis(deadline - System.nanoTime());
+                                if (waitTime <= 0) {
+                                    break;
+                                }
+                                node.wait(waitTime);
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = e;
+                    } finally {
+                        --node.waiters;
                     }
-                } else {
-                    --prev.threadDeep;
                 }
-            }
-            node = node.prev;
-        }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
-    }
-
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
+                if (result == 0) {
+                    removeIfUnused(node);
+                    if (interrupted != null) {
+                        throw new RuntimeException(interrupted);
                     }
-                    ++node.threadDeep;
-                    return true;
-                }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
-                }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+                    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", requested));
                 }
             }
-            node = node.prev;
+            if (result > 0) {
+                return;
+            }
+            // Node was removed from lock table after we got it, help to remove it and try again.
+            nodes.remove(path, node);
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    /**
+     * Adds lock to state of node if locks of other threads allow it.
+     *
+     * @return {@code 1} if lock is added, {@code 0} if lock may not be added and {@code -1} if node is removed
+     */
+    private int tryAcquire(Node node, int mode, Hold own) {
+        for (; ; ) {
+            final long state = node.state.get();
+            if (state == REMOVED) {
+                return -1;
+            }
+            if (!isCompatible(state, mode, own)) {
+                return 0;
+            }
+            if (node.state.compareAndSet(state, state + UNITS[mode])) {
+                return 1;
+            }
+        }
+    }
+
+    /** Checks whether locks of other threads allow to get lock of given mode. */
+    private boolean isCompatible(long state, int mode, Hold own) {
+        if (count(state, EXCLUSIVE) - count(own, EXCLUSIVE) > 0) {
+            return false;
+        }
+        switch (mode) {
+            case INTENTION_SHARED:
+                return true;
+            case INTENTION_EXCLUSIVE:
+                return count(state, SHARED) - count(own, SHARED) == 0;
+            case SHARED:
+                return count(state, INTENTION_EXCLUSIVE) - count(own, INTENTION_EXCLUSIVE) == 0
+                       && count(state, SHARED) - count(own, SHARED) < maxThreads;
+            default:
+                return count(state, SHARED) - count(own, SHARED) == 0
+                       && count(state, INTENTION_SHARED) - count(own, INTENTION_SHARED) == 0
+                       && count(state, INTENTION_EXCLUSIVE) - count(own, INTENTION_EXCLUSIVE) == 0;
+        }
+    }
+
+    private static long count(long state, int mode) {
+        return mode == EXCLUSIVE ? state >>> 63 : (state >>> (mode * COUNTER_BITS)) & COUNTER_MASK;
+    }
+
+    private static long count(Hold hold, int mode) {
+        if (hold == null) {
+            return 0;
+        }
+        return mode < SHARED ? hold.intentions[mode] : hold.mode == mode ? 1 : 0;
+    }
+
+    private void release(Path path) {
+        final Map<Path, Hold> ownHolds = holds.get();
+        final Hold own = ownHolds.get(path);
+        if (own == null || own.mode < 0) {
+            throw new IllegalMonitorStateException(String.format("Lock for '%s' is not held by current thread. ", path));
+        }
+        if (own.threadDeep > 1) {
+            --own.threadDeep;
+            return;
+        }
+        final int mode = own.mode;
+        final Path[] hierarchy = own.hierarchy;
+        for (int i = hierarchy.length - 1; i >= 0; i--) {
+            final int levelMode = i == hierarchy.length - 1 ? mode : mode - 2;
+            release(hierarchy[i], levelMode);
+            removeHold(ownHolds, hierarchy[i], levelMode);
+        }
+    }
+
+    private void release(Path path, int mode) {
+        final Node node = nodes.get(path);
+        final long state = node.state.addAndGet(-UNITS[mode]);
+        if (node.waiters > 0) {
+            synchronized (node) {
+                node.notifyAll();
+            }
+        } else if (state == 0) {
+            removeIfUnused(node);
+        }
+    }
+
+    private void removeIfUnused(Node node) {
+        if (node.waiters == 0 && node.state.compareAndSet(0, REMOVED)) {
+            nodes.remove(node.path, node);
+        }
+    }
+
+    private static void addHold(Map<Path, Hold> ownHolds, Path path, int mode) {
+        Hold hold = ownHolds.get(path);
+        if (hold == null) {
+            ownHolds.put(path, hold = new Hold());
+        }
+        if (mode < SHARED) {
+            ++hold.intentions[mode];
+        } else {
+            hold.mode = mode;
+            hold.threadDeep = 1;
+        }
+    }
+
+    private static void removeHold(Map<Path, Hold> ownHolds, Path path, int mode) {
+        final Hold hold = ownHolds.get(path);
+        if (mode < SHARED) {
+            --hold.intentions[mode];
+        } else {
+            hold.mode = -1;
+            hold.threadDeep = 0;
+            hold.hierarchy = null;
+        }
+        if (hold.isEmpty()) {
+            ownHolds.remove(path);
+        }
+    }
+
+    /** Gets all parents of path starting from root and the path itself. */
+    private static Path[] hierarchy(Path path) {
+        final Path[] hierarchy = new Path[path.length() + 1];
+        hierarchy[0] = Path.ROOT;
+        for (int i = 1; i < hierarchy.length - 1; i++) {
+            hierarchy[i] = path.subPath(0, i);
+        }
+        hierarchy[hierarchy.length - 1] = path;
+        return hierarchy;
+    }
+
+    public void checkClean() {
+        assert nodes.isEmpty();
+    }
+
+    /** Used in tests. Number of paths which are locked directly or through their children. */
+    int getLockedPathsCount() {
+        return nodes.size();
     }
 
    /* =============================================== */
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+    /** Locks of one path. Threads which wait for lock of path use node as monitor. */
+    private static final class Node {
+        final Path       path;
+        final AtomicLong state;
+        /** Modified only when monitor of node is held. */
+        volatile int waiters;
 
-        Node(Path path, int permits, Node prev) {
+        Node(Path path) {
             this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+            this.state = new AtomicLong();
         }
 
         @Override
         public String toString() {
             return "Node{" +
                    "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   ", state=" + Long.toHexString(state.get()) +
+                   ", waiters=" + waiters +
                    '}';
         }
     }
 
+    /** Locks of the path which are held by one thread. */
+    private static final class Hold {
+        final int[] intentions = new int[2];
+        /** {@link #SHARED}, {@link #EXCLUSIVE} or -1 if thread has only intention locks of the path. */
+        int    mode = -1;
+        int    threadDeep;
+        /** Path and all its parents, set when thread has direct lock of the path. */
+        Path[] hierarchy;
+
+        boolean isEmpty() {
+            return mode < 0 && intentions[INTENTION_SHARED] == 0 && intentions[INTENTION_EXCLUSIVE] == 0;
+        }
+    }
+
     public final class PathLock {
         private final Path path;
         private final int  permits;
@@ -197,7 +353,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, permits, -1);
             return this;
         }
 
@@ -218,7 +374,7 @@ public final class PathLockFactory {
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
@@ -10,24 +10,65 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 
+/**
+ * Writes content of folder to ZIP archive. Archive is written directly to the given stream, so it may be sent to client while it
+ * is being created. Files that are compressed already (images, archives, etc) are stored without compression. Content of large
+ * files may be compressed in parallel: file is split into chunks which are deflated independently, each chunk uses the tail of
+ * the previous one as dictionary so compression ratio remains almost the same.
+ */
 public class ZipArchiver extends Archiver {
+    /** Extensions of files whose content is compressed already, such files are not compressed once more. */
+    private static final Set<String> COMPRESSED_EXTENSIONS = ImmutableSet.of("zip", "jar", "war", "ear", "apk", "gz", "tgz", "bz2",
+                                                                             "xz", "7z", "rar", "png", "jpg", "jpeg", "gif", "webp",
+                                                                             "mp3", "mp4", "ogg", "avi", "webm", "woff", "woff2");
+    /** Files bigger than this are always compressed sequentially, since compressed content is buffered in memory. */
+    static final         long        MAX_PARALLEL_DEFLATE_SIZE = 64 * 1024 * 1024;
+    static final         int         DEFLATE_CHUNK_SIZE        = 1024 * 1024;
+    private static final int         DICTIONARY_SIZE           = 32 * 1024;
+    /** Empty final deflate block which terminates sequence of sync flushed chunks. */
+    private static final byte[]      FINAL_BLOCK               = {3, 0};
+
+    private final long parallelDeflateThreshold;
+
     public ZipArchiver(VirtualFile folder) {
+        this(folder, 0);
+    }
+
+    /**
+     * @param parallelDeflateThreshold
+     *         min size of file to compress its content in parallel, zero or negative value disables parallel compression
+     */
+    public ZipArchiver(VirtualFile folder, long parallelDeflateThreshold) {
         super(folder);
+        this.parallelDeflateThreshold = parallelDeflateThreshold;
     }
 
     @Override
@@ -37,7 +78,7 @@ public class ZipArchiver extends Archiver {
 
     @Override
     public void compress(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
-        try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
+        try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(zipOutput)) {
             folder.accept(new VirtualFileVisitor() {
                 @Override
                 public void visit(VirtualFile visitedVirtualFile) throws ServerException {
@@ -64,19 +105,27 @@ public class ZipArchiver extends Archiver {
         return zipPath.toString();
     }
 
-    private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream) throws ServerException {
+    private void addZipEntry(VirtualFile virtualFile, ZipArchiveOutputStream zipOutputStream) throws ServerException {
         try {
-            ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
-            zipOutputStream.putNextEntry(zipEntry);
+            ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
             if (virtualFile.isFolder()) {
                 zipEntry.setTime(0);
-            } else {
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, zipOutputStream);
-                }
-                zipEntry.setTime(virtualFile.getLastModificationDate());
+                zipOutputStream.putArchiveEntry(zipEntry);
+                zipOutputStream.closeArchiveEntry();
+                return;
+            }
+            zipEntry.setTime(virtualFile.getLastModificationDate());
+            final boolean compressed = isCompressed(virtualFile);
+            if (!compressed && isParallelDeflateApplicable(virtualFile)) {
+                addParallelDeflatedEntry(virtualFile, zipEntry, zipOutputStream);
+                return;
             }
-            zipOutputStream.closeEntry();
+            zipOutputStream.setLevel(compressed ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            zipOutputStream.putArchiveEntry(zipEntry);
+            try (InputStream content = virtualFile.getContent()) {
+                ByteStreams.copy(content, zipOutputStream);
+            }
+            zipOutputStream.closeArchiveEntry();
         } catch (ForbiddenException e) {
             throw new ServerException(e.getServiceError());
         } catch (IOException e) {
@@ -84,6 +133,93 @@ public class ZipArchiver extends Archiver {
         }
     }
 
+    private boolean isCompressed(VirtualFile virtualFile) {
+        final String name = virtualFile.getName();
+        final int dot = name.lastIndexOf('.');
+        return dot > 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase());
+    }
+
+    private boolean isParallelDeflateApplicable(VirtualFile virtualFile) throws ServerException {
+        if (parallelDeflateThreshold <= 0) {
+            return false;
+        }
+        final long length = virtualFile.getLength();
+        return length >= parallelDeflateThreshold && length <= MAX_PARALLEL_DEFLATE_SIZE;
+    }
+
+    /**
+     * Splits content of file into chunks and deflates them in parallel. Compressed data is collected in memory because size of
+     * compressed content and checksum must be known before entry is written to archive.
+     */
+    private void addParallelDeflatedEntry(VirtualFile virtualFile, ZipArchiveEntry zipEntry, ZipArchiveOutputStream zipOutputStream)
+            throws ForbiddenException, ServerException, IOException {
+        final List<CompletableFuture<byte[]>> deflatedChunks = new ArrayList<>();
+        final CRC32 crc = new CRC32();
+        long size = 0;
+        try (InputStream content = virtualFile.getContent()) {
+            byte[] previous = null;
+            byte[] chunk;
+            while ((chunk = readChunk(content)) != null) {
+                crc.update(chunk);
+                size += chunk.length;
+                final byte[] dictionary = previous;
+                final byte[] data = chunk;
+                deflatedChunks.add(CompletableFuture.supplyAsync(() -> deflateChunk(data, dictionary), ForkJoinPool.commonPool()));
+                previous = chunk;
+            }
+        }
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try {
+            for (CompletableFuture<byte[]> deflatedChunk : deflatedChunks) {
+                compressed.write(deflatedChunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new ServerException(e.getCause().getMessage(), e.getCause());
+        }
+        compressed.write(FINAL_BLOCK);
+
+        zipEntry.setMethod(ZipEntry.DEFLATED);
+        zipEntry.setSize(size);
+        zipEntry.setCrc(crc.getValue());
+        zipEntry.setCompressedSize(compressed.size());
+        zipOutputStream.addRawArchiveEntry(zipEntry, new ByteArrayInputStream(compressed.toByteArray()));
+    }
+
+    private byte[] readChunk(InputStream content) throws IOException {
+        final byte[] chunk = new byte[DEFLATE_CHUNK_SIZE];
+        final int read = ByteStreams.read(content, chunk, 0, chunk.length);
+        if (read == 0) {
+            return null;
+        }
+        return read == chunk.length ? chunk : Arrays.copyOf(chunk, read);
+    }
+
+    private static byte[] deflateChunk(byte[] data, byte[] dictionary) {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                final int dictionarySize = Math.min(DICTIONARY_SIZE, dictionary.length);
+                deflater.setDictionary(dictionary, dictionary.length - dictionarySize, dictionarySize);
+            }
+            deflater.setInput(data);
+            final ByteArrayOutputStream deflated = new ByteArrayOutputStream(data.length / 2);
+            final byte[] buffer = new byte[64 * 1024];
+            int length;
+            // sync flush ends chunk on byte boundary, so that chunks may be simply concatenated
+            do {
+                length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                deflated.write(buffer, 0, length);
+            } while (length == buffer.length);
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
     @Override
     public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.HashSumsCache;
+import org.eclipse.che.api.vfs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Hash sums cache which is stored in file, usually inside of {@code .vfs} service folder. All entries are loaded in memory when
+ * cache is used first time. File is rewritten when counting of hash sums is done and any entry was changed.
+ * <p>
+ * Hash sums of files modified less than {@link #RACY_INTERVAL_MILLIS} ago are not cached, since file may be modified once again
+ * without changing of its modification date and length.
+ */
+class FileHashSumsCache implements HashSumsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FileHashSumsCache.class);
+
+    static final         long RACY_INTERVAL_MILLIS = 2000;
+    private static final int  FORMAT_VERSION       = 1;
+
+    private final File cacheFile;
+
+    private volatile Map<String, Entry> entries;
+    private volatile boolean            modified;
+
+    FileHashSumsCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    @Override
+    public String get(Path path, long length, long lastModified) {
+        final Entry entry = getEntries().get(path.toString());
+        if (entry != null && entry.length == length && entry.lastModified == lastModified) {
+            return entry.hashSum;
+        }
+        return null;
+    }
+
+    @Override
+    public void put(Path path, long length, long lastModified, String hashSum) {
+        if (System.currentTimeMillis() - lastModified < RACY_INTERVAL_MILLIS) {
+            return;
+        }
+        getEntries().put(path.toString(), new Entry(length, lastModified, hashSum));
+        modified = true;
+    }
+
+    @Override
+    public synchronized void counted(Path folder, Set<Path> files) throws ServerException {
+        final String folderPrefix = folder.isRoot() ? "/" : folder.toString() + '/';
+        final Set<String> existing = files.stream().map(Path::toString).collect(toSet());
+        for (Iterator<String> i = getEntries().keySet().iterator(); i.hasNext(); ) {
+            final String path = i.next();
+            if (path.startsWith(folderPrefix) && !existing.contains(path)) {
+                i.remove();
+                modified = true;
+            }
+        }
+        if (modified) {
+            save();
+            modified = false;
+        }
+    }
+
+    private Map<String, Entry> getEntries() {
+        Map<String, Entry> result = entries;
+        if (result == null) {
+            synchronized (this) {
+                result = entries;
+                if (result == null) {
+                    entries = result = load();
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Entry> load() {
+        final Map<String, Entry> loaded = new ConcurrentHashMap<>();
+        if (!cacheFile.exists()) {
+            return loaded;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return loaded;
+            }
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                final String path = in.readUTF();
+                loaded.put(path, new Entry(in.readLong(), in.readLong(), in.readUTF()));
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable read hash sums cache {}, cache is reset. {}", cacheFile, e.getMessage());
+            loaded.clear();
+        }
+        return loaded;
+    }
+
+    private void save() throws ServerException {
+        final File parent = cacheFile.getParentFile();
+        if (!(parent.exists() || parent.mkdirs())) {
+            throw new ServerException(String.format("Unable create directory %s", parent));
+        }
+        final File tmpFile = new File(parent, cacheFile.getName() + ".tmp");
+        // entries may be changed by concurrent counting, copy them to write exactly as many entries as declared
+        final Map<String, Entry> snapshot = new HashMap<>(getEntries());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> e : snapshot.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue().length);
+                out.writeLong(e.getValue().lastModified);
+                out.writeUTF(e.getValue().hashSum);
+            }
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable save hash sums cache %s. %s", cacheFile, e.getMessage()), e);
+        }
+        try {
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ServerException(String.format("Unable save hash sums cache %s. %s", cacheFile, e.getMessage()), e);
+        }
+    }
+
+    private static class Entry {
+        final long   length;
+        final long   lastModified;
+        final String hashSum;
+
+        Entry(long length, long lastModified, String hashSum) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.hashSum = hashSum;
+        }
+    }
+}
@@ -21,11 +21,13 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
@@ -33,19 +35,19 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.Files.getLastModifiedTime;
@@ -63,7 +65,15 @@ import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+
+    static final WatchEvent.Kind<?>[] WATCH_EVENT_KINDS = {ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW};
+
+    /**
+     * Max number of watch events which wait in queue of every event processing thread, collecting of new events is
+     * blocked while queue is full.
+     */
+    private static final int EVENT_PROCESSOR_QUEUE_SIZE = 1024;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
@@ -72,8 +82,16 @@ public class FileTreeWatcher {
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    private final FileTreeWatcherMetrics         metrics;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
+    private       boolean                        incremental;
+    private       int                            maxWatches;
+    private       IncrementalFileTreeWatcher     incrementalWatcher;
+    private       int                            eventProcessingThreads;
+    private       ExecutorService[]              eventProcessors;
+    private       Semaphore[]                    eventProcessorPermits;
+    private       int                            eventProcessorQueueSize;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
@@ -88,7 +106,45 @@ public class FileTreeWatcher {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
+        watchedDirectories = new ConcurrentHashMap<>();
+        metrics = new FileTreeWatcherMetrics();
+        maxWatches = Integer.MAX_VALUE;
+        eventProcessingThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        eventProcessorQueueSize = EVENT_PROCESSOR_QUEUE_SIZE;
+    }
+
+    /**
+     * If set to {@code true} watch events are handled by names of changed files instead of listing of the whole directory,
+     * see {@link IncrementalFileTreeWatcher}. Default is {@code false}. Must be set before {@link #startup()}.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setIncremental(@Named("vfs.file_watcher.incremental") boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /** Max number of directories watched in incremental mode, others are not watched. Unlimited by default. */
+    @com.google.inject.Inject(optional = true)
+    public void setMaxWatches(@Named("vfs.file_watcher.max_watches") int maxWatches) {
+        this.maxWatches = maxWatches;
+    }
+
+    /**
+     * Number of threads which process events of directories and set up watching of new directories. Events of the same
+     * directory are always processed by the same thread in order they are received, events of different directories are
+     * processed in parallel. Is not used in incremental mode.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setEventProcessingThreads(@Named("vfs.file_watcher.threads") int eventProcessingThreads) {
+        this.eventProcessingThreads = Math.max(1, eventProcessingThreads);
+    }
+
+    /** Max number of watch events which wait in queue of every event processing thread. Must be set before {@link #startup()}. */
+    void setEventProcessorQueueSize(int eventProcessorQueueSize) {
+        this.eventProcessorQueueSize = Math.max(1, eventProcessorQueueSize);
+    }
+
+    public FileTreeWatcherMetrics getMetrics() {
+        return metrics;
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,8 +161,24 @@ public class FileTreeWatcher {
             watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
         }
         running.set(true);
-        walkTreeAndSetupWatches(watchRootPath);
-        executor.execute(new WatchEventTask());
+        if (incremental) {
+            incrementalWatcher =
+                    new IncrementalFileTreeWatcher(this, watchRootPath, watchService, watchEventModifiers, maxWatches, metrics);
+            incrementalWatcher.startup();
+            executor.execute(() -> incrementalWatcher.run(running));
+        } else {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true)
+                                                                    .setNameFormat("FileTreeWatcher-Processor-%d")
+                                                                    .build();
+            eventProcessors = new ExecutorService[eventProcessingThreads];
+            eventProcessorPermits = new Semaphore[eventProcessingThreads];
+            for (int i = 0; i < eventProcessors.length; i++) {
+                eventProcessors[i] = Executors.newSingleThreadExecutor(threadFactory);
+                eventProcessorPermits[i] = new Semaphore(eventProcessorQueueSize);
+            }
+            walkTreeAndSetupWatches(watchRootPath);
+            executor.execute(new WatchEventTask());
+        }
         fileWatcherNotificationHandler.started(watchRoot);
     }
 
@@ -126,24 +198,21 @@ public class FileTreeWatcher {
     }
 
     public void shutdown() {
-        boolean interrupted = false;
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(3, SECONDS)) {
-                executor.shutdownNow();
-                if (!executor.awaitTermination(3, SECONDS)) {
-                    LOG.warn("Unable terminate Executor");
-                }
+        boolean interrupted = terminate(executor);
+        if (eventProcessors != null) {
+            for (ExecutorService eventProcessor : eventProcessors) {
+                interrupted |= terminate(eventProcessor);
             }
-        } catch (InterruptedException e) {
-            interrupted = true;
-            executor.shutdownNow();
         }
 
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        if (incrementalWatcher != null) {
+            incrementalWatcher.shutdown();
+        } else {
+            try {
+                walkTreeAndRemoveWatches(watchRootPath);
+            } catch (IOException e) {
+                LOG.warn(e.getMessage());
+            }
         }
 
         try {
@@ -157,6 +226,23 @@ public class FileTreeWatcher {
         }
     }
 
+    /** Stops executor and returns {@code true} if current thread is interrupted while waiting for its termination. */
+    private boolean terminate(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(3, SECONDS)) {
+                executor.shutdownNow();
+                if (!executor.awaitTermination(3, SECONDS)) {
+                    LOG.warn("Unable terminate Executor");
+                }
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            return true;
+        }
+        return false;
+    }
+
     public void addExcludeMatcher(PathMatcher exclude) {
         this.excludePatterns.add(exclude);
     }
@@ -178,6 +264,11 @@ public class FileTreeWatcher {
         });
     }
 
+    /** Checks whether file or directory matches one of exclude patterns. */
+    boolean isExcluded(Path path) {
+        return !shouldNotify(watchRootPath.relativize(path));
+    }
+
     private boolean shouldNotify(Path subPath) {
         for (PathMatcher excludePattern : excludePatterns) {
             if (excludePattern.matches(subPath)) {
@@ -216,31 +307,116 @@ public class FileTreeWatcher {
     }
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
-        if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
-            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
-                for (Path entry : entries) {
-                    watchedDirectory
-                            .addItem(new DirectoryItem(entry.getFileName(), Files.isDirectory(entry), getLastModifiedInMillis(entry)));
+        WatchedDirectory watchedDirectory = new WatchedDirectory(directory);
+        if (watchedDirectories.putIfAbsent(directory, watchedDirectory) == null) {
+            // directory is visible to event processors before it's registered, they wait until its state is read
+            synchronized (watchedDirectory) {
+                try {
+                    watchedDirectory.setWatchKey(directory.register(watchService, WATCH_EVENT_KINDS, watchEventModifiers));
+                    try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                        for (Path entry : entries) {
+                            watchedDirectory.addItem(new DirectoryItem(entry.getFileName(),
+                                                                       Files.isDirectory(entry),
+                                                                       getLastModifiedInMillis(entry)));
+                        }
+                    }
+                } catch (IOException e) {
+                    cancelDirectoryWatcher(directory);
+                    throw e;
                 }
             }
-            watchedDirectories.put(directory, watchedDirectory);
+            metrics.watchAdded();
         }
     }
 
     private void cancelDirectoryWatcher(Path path) {
         WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
+        if (watchedDirectory != null && watchedDirectory.getWatchKey() != null) {
             watchedDirectory.getWatchKey().cancel();
+            metrics.watchRemoved();
         }
     }
 
+    /**
+     * Runs task of watch event in processor of directory, waits while queue of processor is full. Such back-pressure stops
+     * reading of watch service, so that events are accumulated by operating system rather than in memory.
+     */
+    private void processWatchEvent(Path directory, Runnable task) throws InterruptedException {
+        final int partition = partition(directory);
+        eventProcessorPermits[partition].acquire();
+        execute(partition, () -> {
+            try {
+                task.run();
+            } finally {
+                eventProcessorPermits[partition].release();
+            }
+        });
+    }
+
+    /**
+     * Runs task which is created by processor in processor of directory without waiting, processor must never wait for
+     * queue which may be drained only by itself.
+     */
+    private void process(Path directory, Runnable task) {
+        execute(partition(directory), task);
+    }
+
+    /**
+     * Partition is chosen by full path of directory, so tasks of the same directory are run sequentially in order they are
+     * submitted while different directories, even of the same project, are processed in parallel. Directory which is not
+     * registered yet is locked while its state is read, so its events wait for that regardless of partition.
+     */
+    private int partition(Path directory) {
+        return (directory.hashCode() & Integer.MAX_VALUE) % eventProcessors.length;
+    }
+
+    private void execute(int partition, Runnable task) {
+        eventProcessors[partition].execute(() -> {
+            if (!running.get()) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                running.set(false);
+                // wake up thread which waits for new events
+                executor.shutdownNow();
+                errorOccurred(e);
+            }
+        });
+    }
+
+    /** Sets up watching of new directory and all its sub-directories, notifies about all their files. */
+    private void watchNewDirectory(Path directory) {
+        process(directory, () -> {
+            try {
+                walkTreeAndFireCreatedEvents(directory);
+                walkTreeAndSetupWatches(directory);
+            } catch (NoSuchFileException ignored) {
+                // removed before it's processed, parent directory is notified about it
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     private class WatchEventTask implements Runnable {
         final Set<PendingEvent> pendingEvents = newLinkedHashSet();
 
+        void processPendingEvents() throws InterruptedException {
+            for (PendingEvent pendingEvent : pendingEvents) {
+                processWatchEvent(pendingEvent.getPath(), () -> {
+                    try {
+                        processPendingEvent(pendingEvent);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    metrics.eventProcessed(System.nanoTime() - pendingEvent.getReceivedNanos());
+                });
+            }
+            pendingEvents.clear();
+        }
+
         @Override
         public void run() {
             while (running.get()) {
@@ -251,12 +427,11 @@ public class FileTreeWatcher {
                     } else {
                         watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
                         if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
+                            processPendingEvents();
                         }
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
+                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable(), System.nanoTime()));
                         watchKey.pollEvents();
                         watchKey.reset();
                     }
@@ -264,16 +439,20 @@ public class FileTreeWatcher {
                     running.set(false);
                 } catch (Throwable e) {
                     running.set(false);
-                    fileWatcherNotificationHandler.errorOccurred(watchRoot, e);
+                    errorOccurred(e);
                 }
             }
         }
     }
 
-    private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
-        for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
-            WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
+    private void processPendingEvent(PendingEvent pendingEvent) throws IOException {
+        Path eventDirectoryPath = pendingEvent.getPath();
+        WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
+        if (watchedDirectory == null) {
+            // watching is already cancelled
+            return;
+        }
+        synchronized (watchedDirectory) {
             if (Files.exists(eventDirectoryPath)) {
                 final int hitCounter = watchedDirectory.incrementHitCounter();
                 try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
@@ -286,8 +465,7 @@ public class FileTreeWatcher {
                                 watchedDirectory.addItem(directoryItem);
                                 fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
                                 if (directory) {
-                                    walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
+                                    watchNewDirectory(fsItem);
                                 }
                             } catch (IOException ignored) {
                             }
@@ -318,33 +496,45 @@ public class FileTreeWatcher {
                 for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
                     fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+                cancelDirectoryWatcher(eventDirectoryPath);
             }
         }
     }
 
-    private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
+    void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
         Path relativePath = watchRootPath.relativize(eventPath);
         if (shouldNotify(relativePath)) {
             fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
+            metrics.notificationSent();
         }
     }
 
+    void errorOccurred(Throwable cause) {
+        fileWatcherNotificationHandler.errorOccurred(watchRoot, cause);
+    }
+
     private long getLastModifiedInMillis(Path path) throws IOException {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
 
     static class PendingEvent {
         final Path path;
+        final long receivedNanos;
 
-        PendingEvent(Path path) {
+        PendingEvent(Path path, long receivedNanos) {
             this.path = path;
+            this.receivedNanos = receivedNanos;
         }
 
         Path getPath() {
             return path;
         }
 
+        /** Time of the first event of directory, the following events of the same directory are merged with this one. */
+        long getReceivedNanos() {
+            return receivedNanos;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -365,13 +555,12 @@ public class FileTreeWatcher {
 
     static class WatchedDirectory {
         final Path                path;
-        final WatchKey            watchKey;
         final List<DirectoryItem> items;
-        int hitCounter;
+        WatchKey watchKey;
+        int      hitCounter;
 
-        WatchedDirectory(Path path, WatchKey watchKey) {
+        WatchedDirectory(Path path) {
             this.path = path;
-            this.watchKey = watchKey;
             items = newArrayList();
         }
 
@@ -379,6 +568,10 @@ public class FileTreeWatcher {
             return watchKey;
         }
 
+        void setWatchKey(WatchKey watchKey) {
+            this.watchKey = watchKey;
+        }
+
         Path getPath() {
             return path;
         }
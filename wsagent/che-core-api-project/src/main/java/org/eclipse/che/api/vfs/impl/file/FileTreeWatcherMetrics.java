@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Runtime statistics of {@link FileTreeWatcher}.
+ * <p>
+ * Latency of event is time between receiving of event from watch service and sending of notification to
+ * {@link FileWatcherNotificationHandler}, it includes time while events are collected before processing.
+ */
+public class FileTreeWatcherMetrics {
+    /** Upper bounds of buckets of latency histogram, the last bucket is not bounded. */
+    private static final long[] LATENCY_BUCKET_BOUNDS_MILLIS = {100, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final AtomicInteger   watchCount        = new AtomicInteger();
+    private final AtomicLong      notificationCount = new AtomicLong();
+    private final AtomicLong      overflowCount     = new AtomicLong();
+    private final AtomicLong      resyncCount       = new AtomicLong();
+    private final AtomicLong      latencyCount      = new AtomicLong();
+    private final AtomicLong      latencySumNanos   = new AtomicLong();
+    private final AtomicLong      maxLatencyNanos   = new AtomicLong();
+    private final AtomicLongArray latencyHistogram  = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_MILLIS.length + 1);
+
+    /** Number of directories which are currently registered in watch service. */
+    public int getWatchCount() {
+        return watchCount.get();
+    }
+
+    /** Number of notifications which are sent to {@link FileWatcherNotificationHandler}. */
+    public long getNotificationCount() {
+        return notificationCount.get();
+    }
+
+    /** Number of overflow events, every such event means that watch service lost events of directory. */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /** Number of directories which are compared with file system entirely after overflow of events. */
+    public long getResyncCount() {
+        return resyncCount.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        final long count = latencyCount.get();
+        return count == 0 ? 0 : NANOSECONDS.toMillis(latencySumNanos.get() / count);
+    }
+
+    public long getMaxLatencyMillis() {
+        return NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    /** Upper bounds (inclusive) in milliseconds of buckets of {@link #getLatencyHistogram() latency histogram}. */
+    public long[] getLatencyBucketBoundsMillis() {
+        return LATENCY_BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Number of processed events in every latency bucket, bucket {@code i} counts events with latency not greater than
+     * {@code getLatencyBucketBoundsMillis()[i]} and greater than bound of previous bucket. The last bucket counts events
+     * with latency greater than all bounds.
+     */
+    public long[] getLatencyHistogram() {
+        final long[] histogram = new long[latencyHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latencyHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    void watchAdded() {
+        watchCount.incrementAndGet();
+    }
+
+    void watchRemoved() {
+        watchCount.decrementAndGet();
+    }
+
+    void notificationSent() {
+        notificationCount.incrementAndGet();
+    }
+
+    void overflowed() {
+        overflowCount.incrementAndGet();
+    }
+
+    void resynced() {
+        resyncCount.incrementAndGet();
+    }
+
+    void eventProcessed(long latencyNanos) {
+        latencyCount.incrementAndGet();
+        latencySumNanos.addAndGet(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        final long latencyMillis = NANOSECONDS.toMillis(latencyNanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS_MILLIS.length && latencyMillis > LATENCY_BUCKET_BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    @Override
+    public String toString() {
+        return "FileTreeWatcherMetrics{" +
+               "watchCount=" + getWatchCount() +
+               ", notificationCount=" + getNotificationCount() +
+               ", overflowCount=" + getOverflowCount() +
+               ", resyncCount=" + getResyncCount() +
+               ", averageLatencyMillis=" + getAverageLatencyMillis() +
+               ", maxLatencyMillis=" + getMaxLatencyMillis() +
+               ", latencyHistogram=" + Arrays.toString(getLatencyHistogram()) +
+               '}';
+    }
+}
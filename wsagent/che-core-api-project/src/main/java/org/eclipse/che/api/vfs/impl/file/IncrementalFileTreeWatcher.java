@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.api.vfs.impl.file.FileTreeWatcher.WATCH_EVENT_KINDS;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.NO_ENTRY;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.ROOT;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.UNWATCHED;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.directoryId;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.directoryValue;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.fileValue;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.isDirectory;
+
+/**
+ * Backend of {@link FileTreeWatcher} which handles watch events by names of changed entries from {@link WatchEvent#context()}
+ * instead of listing of the whole directory on every event. On Linux watch service of JDK is backed by inotify, so only changed
+ * entries are checked on the file system.
+ * <p>
+ * Names of changed entries are collected per directory until there are no new events for
+ * {@link FileTreeWatcher#EVENT_PROCESS_TIMEOUT_SEC} seconds, then state of every changed entry is compared with state that is
+ * kept in {@link WatchedDirectories}. Directory is compared with file system entirely only when watch service reports overflow
+ * of events for it or when too many entries of directory are changed at once.
+ * <p>
+ * Excluded directories are not walked at all, number of watched directories may be limited, directories above the limit are
+ * not watched.
+ */
+class IncrementalFileTreeWatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalFileTreeWatcher.class);
+
+    /** Max number of changed entries collected for directory, directory is resynchronized entirely if there are more changes. */
+    static final int MAX_PENDING_NAMES = 1024;
+
+    /** Collected events are processed after this time even if new events keep coming. */
+    private static final long MAX_EVENT_DELAY_NANOS = SECONDS.toNanos(FileTreeWatcher.EVENT_PROCESS_TIMEOUT_SEC * 5);
+
+    private final FileTreeWatcher                fileTreeWatcher;
+    private final Path                           root;
+    private final WatchService                   watchService;
+    private final WatchEvent.Modifier[]          watchEventModifiers;
+    private final int                            maxWatches;
+    private final FileTreeWatcherMetrics         metrics;
+    private final WatchedDirectories             directories;
+    private final Map<WatchKey, Integer>         directoryIds;
+    private final Map<Integer, PendingDirectory> pendingDirectories;
+    private       boolean                        watchLimitReached;
+
+    IncrementalFileTreeWatcher(FileTreeWatcher fileTreeWatcher,
+                               Path root,
+                               WatchService watchService,
+                               WatchEvent.Modifier[] watchEventModifiers,
+                               int maxWatches,
+                               FileTreeWatcherMetrics metrics) {
+        this.fileTreeWatcher = fileTreeWatcher;
+        this.root = root;
+        this.watchService = watchService;
+        this.watchEventModifiers = watchEventModifiers;
+        this.maxWatches = maxWatches;
+        this.metrics = metrics;
+        this.directories = new WatchedDirectories();
+        this.directoryIds = new HashMap<>();
+        this.pendingDirectories = new LinkedHashMap<>();
+    }
+
+    /** Registers root directory and all its sub-directories, no notifications are sent about existing files. */
+    void startup() throws IOException {
+        final WatchKey watchKey = root.register(watchService, WATCH_EVENT_KINDS, watchEventModifiers);
+        final int id = directories.add(UNWATCHED, "", watchKey);
+        directoryIds.put(watchKey, id);
+        metrics.watchAdded();
+        addEntries(id, root, false);
+    }
+
+    /** Cancels all registered watch keys. */
+    void shutdown() {
+        for (WatchKey watchKey : directoryIds.keySet()) {
+            watchKey.cancel();
+            metrics.watchRemoved();
+        }
+        directoryIds.clear();
+    }
+
+    /** Receives and processes events until {@code running} is set to {@code false}. */
+    void run(AtomicBoolean running) {
+        while (running.get()) {
+            try {
+                WatchKey watchKey;
+                if (pendingDirectories.isEmpty()) {
+                    watchKey = watchService.take();
+                } else {
+                    watchKey = watchService.poll(FileTreeWatcher.EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
+                }
+                if (watchKey != null) {
+                    collectEvents(watchKey);
+                }
+                if (watchKey == null || isProcessingOverdue()) {
+                    processPendingEvents();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                running.set(false);
+            } catch (Throwable e) {
+                running.set(false);
+                fileTreeWatcher.errorOccurred(e);
+            }
+        }
+    }
+
+    private boolean isProcessingOverdue() {
+        if (pendingDirectories.isEmpty()) {
+            return false;
+        }
+        final PendingDirectory oldest = pendingDirectories.values().iterator().next();
+        return System.nanoTime() - oldest.receivedNanos > MAX_EVENT_DELAY_NANOS;
+    }
+
+    private void collectEvents(WatchKey watchKey) {
+        final List<WatchEvent<?>> events = watchKey.pollEvents();
+        final boolean valid = watchKey.reset();
+        final Integer id = directoryIds.get(watchKey);
+        if (id == null) {
+            // events of cancelled key which are received after directory is removed
+            return;
+        }
+        PendingDirectory pendingDirectory = pendingDirectories.get(id);
+        if (pendingDirectory == null) {
+            pendingDirectories.put(id, pendingDirectory = new PendingDirectory(System.nanoTime()));
+        }
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == OVERFLOW) {
+                metrics.overflowed();
+                pendingDirectory.resync();
+            } else {
+                pendingDirectory.add(event.context().toString());
+            }
+        }
+        if (!valid) {
+            // directory is removed or isn't accessible anymore, find out what happened with it
+            pendingDirectory.resync();
+        }
+    }
+
+    private void processPendingEvents() {
+        for (Map.Entry<Integer, PendingDirectory> entry : pendingDirectories.entrySet()) {
+            final int id = entry.getKey();
+            final PendingDirectory pendingDirectory = entry.getValue();
+            // directory may be already removed together with its parent, or its id may be reused by new directory,
+            // in the last case comparison with file system is still correct though useless
+            if (directories.contains(id)) {
+                if (pendingDirectory.names == null) {
+                    resync(id);
+                } else {
+                    for (String name : pendingDirectory.names) {
+                        syncEntry(id, name);
+                    }
+                }
+            }
+            metrics.eventProcessed(System.nanoTime() - pendingDirectory.receivedNanos);
+        }
+        pendingDirectories.clear();
+    }
+
+    /** Compares all entries of directory with file system. */
+    private void resync(int id) {
+        metrics.resynced();
+        final Path path = directories.getPath(id, root);
+        final BasicFileAttributes attributes;
+        try {
+            attributes = readAttributes(path);
+        } catch (IOException e) {
+            LOG.warn("Unable to read attributes of directory {}: {}", path, e.getMessage());
+            return;
+        }
+        if (attributes == null || !attributes.isDirectory()) {
+            if (id == ROOT) {
+                removeDirectory(id, path);
+            } else {
+                syncEntry(directories.getParent(id), directories.getName(id));
+            }
+            return;
+        }
+        final Set<String> names = new TreeSet<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+            for (Path entry : entries) {
+                names.add(entry.getFileName().toString());
+            }
+        } catch (NoSuchFileException | NotDirectoryException ignored) {
+            // removed while being read, all entries are reported as removed
+        } catch (IOException e) {
+            LOG.warn("Unable to read directory {}: {}", path, e.getMessage());
+            return;
+        }
+        for (String name : directories.getEntryNames(id)) {
+            names.add(name);
+        }
+        for (String name : names) {
+            syncEntry(id, name);
+        }
+    }
+
+    /** Compares entry of directory with file system and sends notification if entry is changed. */
+    private void syncEntry(int id, String name) {
+        final Path path = directories.getPath(id, root).resolve(name);
+        final BasicFileAttributes attributes;
+        try {
+            attributes = readAttributes(path);
+        } catch (IOException e) {
+            LOG.warn("Unable to read attributes of {}: {}", path, e.getMessage());
+            return;
+        }
+        long value = directories.getEntry(id, name);
+        if (value != NO_ENTRY && (attributes == null || isDirectory(value) != attributes.isDirectory())) {
+            removeEntry(id, name, path, value);
+            value = NO_ENTRY;
+        }
+        if (attributes == null) {
+            return;
+        }
+        if (value == NO_ENTRY) {
+            addEntry(id, name, path, attributes, true);
+        } else if (!attributes.isDirectory()) {
+            final long lastModified = fileValue(attributes.lastModifiedTime().toMillis());
+            if (lastModified != value) {
+                directories.putEntry(id, name, lastModified);
+                if (attributes.isRegularFile()) {
+                    fileTreeWatcher.fireWatchEvent(MODIFIED, path, false);
+                }
+            }
+        }
+    }
+
+    private void addEntries(int id, Path path, boolean notify) {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+            for (Path entry : entries) {
+                final BasicFileAttributes attributes;
+                try {
+                    attributes = readAttributes(entry);
+                } catch (IOException e) {
+                    LOG.warn("Unable to read attributes of {}: {}", entry, e.getMessage());
+                    continue;
+                }
+                if (attributes != null) {
+                    addEntry(id, entry.getFileName().toString(), entry, attributes, notify);
+                }
+            }
+        } catch (NoSuchFileException | NotDirectoryException ignored) {
+            // removed while being read, watch event for it is sent to parent directory
+        } catch (IOException e) {
+            LOG.warn("Unable to read directory {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void addEntry(int id, String name, Path path, BasicFileAttributes attributes, boolean notify) {
+        if (attributes.isDirectory()) {
+            final int childId = watchDirectory(id, name, path);
+            directories.putEntry(id, name, directoryValue(childId));
+            if (notify) {
+                fileTreeWatcher.fireWatchEvent(CREATED, path, true);
+            }
+            if (childId != UNWATCHED) {
+                addEntries(childId, path, notify);
+            }
+        } else {
+            directories.putEntry(id, name, fileValue(attributes.lastModifiedTime().toMillis()));
+            if (notify) {
+                fileTreeWatcher.fireWatchEvent(CREATED, path, false);
+            }
+        }
+    }
+
+    private void removeEntry(int id, String name, Path path, long value) {
+        if (isDirectory(value) && directoryId(value) != UNWATCHED) {
+            removeDirectory(directoryId(value), path);
+        }
+        directories.removeEntry(id, name);
+        fileTreeWatcher.fireWatchEvent(DELETED, path, isDirectory(value));
+    }
+
+    /** Removes all entries of directory with notifications and stops watching it. */
+    private void removeDirectory(int id, Path path) {
+        for (String name : directories.getEntryNames(id)) {
+            removeEntry(id, name, path.resolve(name), directories.getEntry(id, name));
+        }
+        final WatchKey watchKey = directories.getWatchKey(id);
+        watchKey.cancel();
+        directoryIds.remove(watchKey);
+        directories.remove(id);
+        metrics.watchRemoved();
+    }
+
+    /** Starts watching directory if it isn't excluded and limit of watched directories isn't reached. */
+    private int watchDirectory(int parent, String name, Path path) {
+        if (fileTreeWatcher.isExcluded(path)) {
+            return UNWATCHED;
+        }
+        if (directories.size() >= maxWatches) {
+            if (!watchLimitReached) {
+                watchLimitReached = true;
+                LOG.warn("Limit of {} watched directories is reached, directory {} and other new directories are not watched",
+                         maxWatches, path);
+            }
+            return UNWATCHED;
+        }
+        final WatchKey watchKey;
+        try {
+            watchKey = path.register(watchService, WATCH_EVENT_KINDS, watchEventModifiers);
+        } catch (IOException e) {
+            // e.g. limit of inotify watches is reached
+            LOG.warn("Unable to watch directory {}: {}", path, e.getMessage());
+            return UNWATCHED;
+        }
+        final int id = directories.add(parent, name, watchKey);
+        directoryIds.put(watchKey, id);
+        metrics.watchAdded();
+        return id;
+    }
+
+    private BasicFileAttributes readAttributes(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /** Changes of directory collected before processing. */
+    private static class PendingDirectory {
+        final long receivedNanos;
+        /** Names of changed entries or {@code null} if the whole directory should be resynchronized. */
+        Set<String> names;
+
+        PendingDirectory(long receivedNanos) {
+            this.receivedNanos = receivedNanos;
+            this.names = new LinkedHashSet<>();
+        }
+
+        void add(String name) {
+            if (names != null) {
+                names.add(name);
+                if (names.size() > MAX_PENDING_NAMES) {
+                    resync();
+                }
+            }
+        }
+
+        void resync() {
+            names = null;
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -22,6 +23,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
@@ -52,11 +54,17 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -88,8 +96,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final FileLock NO_LOCK                = new FileLock("no_lock", 0);
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
+    private static final String   MD5_SUMS_CACHE_FILE    = VFS_SERVICE_DIR + File.separatorChar + "hashes" + File.separatorChar + "md5";
 
-    private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
+    private static final DirectoryStream.Filter<java.nio.file.Path> DOT_VFS_DIR_FILTER =
+            entry -> !(VFS_SERVICE_DIR.equals(entry.getFileName().toString()));
+
+    /** The same order as {@link LocalVirtualFile#compareTo(VirtualFile)} gives: folders first, then files, sorted by name. */
+    private static final Comparator<DirectoryEntry> DIRECTORY_ENTRY_ORDER =
+            Comparator.comparing((DirectoryEntry entry) -> !entry.folder).thenComparing(entry -> entry.name);
 
     private static final FilenameFilter VFS_LOCK_FILTER =
             (dir, name) -> !(dir.getAbsolutePath().endsWith(FILE_LOCKS_DIR) || name.endsWith(LOCK_FILE_SUFFIX));
@@ -136,11 +150,32 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    private final FileHashSumsCache md5SumsCache;
+
+    /** Sorted entries of folders, {@code null} if caching of children is disabled. */
+    private final Cache<Path, List<DirectoryEntry>> childrenCache;
+    /** Incremented on every invalidation of {@link #childrenCache}. */
+    private final AtomicLong                        childrenCacheModCount;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, 0);
+    }
+
+    /**
+     * @param childrenCacheSize
+     *         max number of folders which children are cached, {@code 0} disables caching. Cached children are updated
+     *         when items are changed through this virtual file system or when {@link FileTreeWatcher} reports changes,
+     *         caching should not be enabled if file system is changed by other programs and is not watched.
+     */
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  int childrenCacheSize) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
@@ -162,6 +197,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        md5SumsCache = new FileHashSumsCache(new File(ioRoot, MD5_SUMS_CACHE_FILE));
+
+        childrenCache = childrenCacheSize > 0 ? CacheBuilder.newBuilder()
+                                                            .concurrencyLevel(8)
+                                                            .maximumSize(childrenCacheSize)
+                                                            .build()
+                                              : null;
+        childrenCacheModCount = new AtomicLong();
     }
 
     @Override
@@ -243,34 +287,36 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
-            return children;
+            return doGetChildren(parent, filter);
         }
         return emptyList();
     }
 
 
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
-        }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, VirtualFileFilter vfsFilter) throws ServerException {
+        final Path parentPath = parent.getPath();
+        List<DirectoryEntry> entries = childrenCache == null ? null : childrenCache.getIfPresent(parentPath);
+        if (entries == null) {
+            final long modCount = childrenCacheModCount.get();
+            entries = readDirectoryEntries(parent);
+            if (childrenCache != null) {
+                childrenCache.put(parentPath, entries);
+                if (modCount != childrenCacheModCount.get()) {
+                    // Folder might be changed while we read it.
+                    childrenCache.invalidate(parentPath);
+                }
+            }
         }
 
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
+        final List<VirtualFile> children = newArrayListWithCapacity(entries.size());
+        for (DirectoryEntry entry : entries) {
+            final Path childPath = parentPath.newPath(entry.name);
             final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
             if (vfsFilter.accept(child)) {
                 children.add(child);
@@ -280,6 +326,61 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return children;
     }
 
+    /** Reads names and types of items in folder in one pass and sorts them. */
+    private List<DirectoryEntry> readDirectoryEntries(LocalVirtualFile folder) throws ServerException {
+        final List<DirectoryEntry> entries = new ArrayList<>();
+        try (DirectoryStream<java.nio.file.Path> stream = java.nio.file.Files.newDirectoryStream(folder.toIoFile().toPath(),
+                                                                                                  DOT_VFS_DIR_FILTER)) {
+            for (java.nio.file.Path entry : stream) {
+                final BasicFileAttributes attributes;
+                try {
+                    attributes = java.nio.file.Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // Item is removed after we got its name or it is broken symbolic link.
+                    continue;
+                }
+                entries.add(new DirectoryEntry(entry.getFileName().toString(), attributes.isDirectory()));
+            }
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+            throw new ServerException(String.format("Unable get children of '%s'", folder.getPath()));
+        }
+        entries.sort(DIRECTORY_ENTRY_ORDER);
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Notifies that item is changed not through this virtual file system, e.g. it is changed by other program and reported by
+     * {@link FileTreeWatcher}.
+     */
+    void fileChanged(Path path, boolean isFolder, FileWatcherEventType eventType) {
+        if (eventType == FileWatcherEventType.MODIFIED && !isFolder) {
+            // List of children is not changed
+            return;
+        }
+        if (!path.isRoot()) {
+            invalidateChildren(path.getParent());
+        }
+        if (isFolder) {
+            invalidateChildrenTree(path);
+        }
+    }
+
+    private void invalidateChildren(Path folder) {
+        if (childrenCache != null) {
+            childrenCacheModCount.incrementAndGet();
+            childrenCache.invalidate(folder);
+        }
+    }
+
+    /** Invalidates cached children of folder and all its sub-folders. */
+    private void invalidateChildrenTree(Path folder) {
+        if (childrenCache != null) {
+            childrenCacheModCount.incrementAndGet();
+            childrenCache.asMap().keySet().removeIf(path -> path.equals(folder) || path.isChild(folder));
+        }
+    }
+
 
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
@@ -303,6 +404,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 throw new ServerException(errorMessage);
             }
 
+            invalidateChildren(parent.getPath());
             final LocalVirtualFile newVirtualFile = new LocalVirtualFile(newIoFile, newPath, this);
 
             if (content != null) {
@@ -330,6 +432,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            // Name may contain few segments, any of existed folders in the new path may get new child
+            for (Path folder = newPath.getParent(); !folder.equals(parent.getPath()); folder = folder.getParent()) {
+                invalidateChildren(folder);
+            }
+            invalidateChildren(parent.getPath());
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -386,6 +493,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            invalidateChildren(to.getPath().getParent());
+            invalidateChildrenTree(to.getPath());
         }
     }
 
@@ -589,7 +699,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        // Even if failed some items might be deleted
+        invalidateChildren(virtualFile.getPath().getParent());
+        invalidateChildrenTree(virtualFile.getPath());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -607,6 +721,17 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void zip(LocalVirtualFile folder, OutputStream zipOutput) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "zip"), zipOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
 
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
@@ -614,7 +739,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            extract(parent, archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -633,13 +758,24 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    void tar(LocalVirtualFile folder, OutputStream tarOutput) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "tar"), tarOutput);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
     void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            extract(parent, archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -662,12 +798,22 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
-    private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
+    private void compress(Archiver archiver, OutputStream compressOutput) throws ServerException {
+        try {
+            archiver.compress(compressOutput, dotGitFilter());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    private void extract(LocalVirtualFile folder, Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
             archiver.extract(compressed, overwrite, stripNumber);
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
+        } finally {
+            invalidateChildrenTree(folder.getPath());
         }
     }
 
@@ -908,7 +1054,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), md5SumsCache).countHashSums();
     }
 
 
@@ -959,4 +1105,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
     }
+
+    /** Name and type of item in folder. */
+    private static final class DirectoryEntry {
+        final String  name;
+        final boolean folder;
+
+        DirectoryEntry(String name, boolean folder) {
+            this.name = name;
+            this.folder = folder;
+        }
+    }
 }
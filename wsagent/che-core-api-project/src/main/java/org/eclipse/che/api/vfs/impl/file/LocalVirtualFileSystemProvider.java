@@ -28,6 +28,9 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
     private final File             rootDirectory;
     private final SearcherProvider searcherProvider;
 
+    private int  childrenCacheSize;
+    private long zipParallelDeflateThreshold;
+
     @Inject
     public LocalVirtualFileSystemProvider(@Named("che.user.workspaces.storage") File rootDirectory,
                                           SearcherProvider searcherProvider) throws IOException {
@@ -36,8 +39,26 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
         Files.createDirectories(rootDirectory.toPath());
     }
 
+    /**
+     * Max number of folders which children are cached by virtual file system, caching is disabled by default. Cache is
+     * updated by events of {@link FileTreeWatcher}, so it must not be enabled if file system is not watched.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setChildrenCacheSize(@Named("vfs.local.children_cache_size") int childrenCacheSize) {
+        this.childrenCacheSize = childrenCacheSize;
+    }
+
+    /**
+     * Min size of file which is compressed in parallel when folder is exported to ZIP archive, parallel compression is disabled
+     * by default.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setZipParallelDeflateThreshold(@Named("vfs.zip.parallel_deflate_threshold") long zipParallelDeflateThreshold) {
+        this.zipParallelDeflateThreshold = zipParallelDeflateThreshold;
+    }
+
     @Override
     protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback) throws ServerException {
-        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        return new LocalVirtualFileSystem(rootDirectory, new ArchiverFactory(zipParallelDeflateThreshold), searcherProvider, closeCallback, childrenCacheSize);
     }
 }
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.util.Arrays;
+
+/**
+ * Compact state of watched directories used by {@link IncrementalFileTreeWatcher}.
+ * <p>
+ * Every directory is identified by {@code int} id, ids of removed directories are reused. Directory keeps id of its parent and
+ * own name instead of full path, entries of directory are stored in two parallel arrays sorted by name. Value of entry is the
+ * last modification time for file or {@link #directoryValue(int) encoded} id of watched directory.
+ * <p>
+ * Instances of this class are not thread safe.
+ */
+class WatchedDirectories {
+    static final int  ROOT                = 0;
+    static final int  UNWATCHED           = -1;
+    static final long NO_ENTRY            = Long.MIN_VALUE;
+
+    private static final String[] NO_NAMES  = new String[0];
+    private static final long[]   NO_VALUES = new long[0];
+
+    private int[]      parents;
+    private String[]   names;
+    private WatchKey[] watchKeys;
+    private String[][] entryNames;
+    private long[][]   entryValues;
+    private int[]      entryCounts;
+    private int[]      freeIds;
+    private int        freeCount;
+    private int        nextId;
+    private int        size;
+
+    WatchedDirectories() {
+        parents = new int[16];
+        names = new String[16];
+        watchKeys = new WatchKey[16];
+        entryNames = new String[16][];
+        entryValues = new long[16][];
+        entryCounts = new int[16];
+        freeIds = new int[16];
+    }
+
+    /** Value of entry for directory with given id or for directory that isn't watched if id is {@link #UNWATCHED}. */
+    static long directoryValue(int id) {
+        return -2L - id;
+    }
+
+    static boolean isDirectory(long value) {
+        return value < 0;
+    }
+
+    /** Id of watched directory or {@link #UNWATCHED} for entry of directory. */
+    static int directoryId(long value) {
+        return (int)(-2L - value);
+    }
+
+    /** Value of entry for file, negative modification time is not distinguished from zero. */
+    static long fileValue(long lastModified) {
+        return Math.max(0, lastModified);
+    }
+
+    /**
+     * Adds directory, first added directory gets id {@link #ROOT}.
+     *
+     * @return id of directory
+     */
+    int add(int parent, String name, WatchKey watchKey) {
+        final int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id == parents.length) {
+                final int capacity = id * 2;
+                parents = Arrays.copyOf(parents, capacity);
+                names = Arrays.copyOf(names, capacity);
+                watchKeys = Arrays.copyOf(watchKeys, capacity);
+                entryNames = Arrays.copyOf(entryNames, capacity);
+                entryValues = Arrays.copyOf(entryValues, capacity);
+                entryCounts = Arrays.copyOf(entryCounts, capacity);
+            }
+        }
+        parents[id] = parent;
+        names[id] = name;
+        watchKeys[id] = watchKey;
+        entryNames[id] = NO_NAMES;
+        entryValues[id] = NO_VALUES;
+        entryCounts[id] = 0;
+        size++;
+        return id;
+    }
+
+    /** Removes directory with all its entries, directories referred by entries are not removed. */
+    void remove(int id) {
+        names[id] = null;
+        watchKeys[id] = null;
+        entryNames[id] = null;
+        entryValues[id] = null;
+        entryCounts[id] = 0;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        size--;
+    }
+
+    boolean contains(int id) {
+        return id >= 0 && id < nextId && names[id] != null;
+    }
+
+    /** Number of directories. */
+    int size() {
+        return size;
+    }
+
+    int getParent(int id) {
+        return parents[id];
+    }
+
+    String getName(int id) {
+        return names[id];
+    }
+
+    WatchKey getWatchKey(int id) {
+        return watchKeys[id];
+    }
+
+    /** Resolves path of directory against path of {@link #ROOT} directory. */
+    Path getPath(int id, Path root) {
+        if (id == ROOT) {
+            return root;
+        }
+        return getPath(parents[id], root).resolve(names[id]);
+    }
+
+    int getEntryCount(int id) {
+        return entryCounts[id];
+    }
+
+    /** Copy of names of entries of directory sorted in natural order. */
+    String[] getEntryNames(int id) {
+        return Arrays.copyOf(entryNames[id], entryCounts[id]);
+    }
+
+    /** Gets value of entry or {@link #NO_ENTRY} if directory doesn't have entry with given name. */
+    long getEntry(int id, String name) {
+        final int index = Arrays.binarySearch(entryNames[id], 0, entryCounts[id], name);
+        return index < 0 ? NO_ENTRY : entryValues[id][index];
+    }
+
+    void putEntry(int id, String name, long value) {
+        final int count = entryCounts[id];
+        int index = Arrays.binarySearch(entryNames[id], 0, count, name);
+        if (index >= 0) {
+            entryValues[id][index] = value;
+            return;
+        }
+        index = -index - 1;
+        if (count == entryNames[id].length) {
+            final int capacity = Math.max(4, count + (count >> 1));
+            entryNames[id] = Arrays.copyOf(entryNames[id], capacity);
+            entryValues[id] = Arrays.copyOf(entryValues[id], capacity);
+        }
+        final String[] entryNames = this.entryNames[id];
+        final long[] entryValues = this.entryValues[id];
+        System.arraycopy(entryNames, index, entryNames, index + 1, count - index);
+        System.arraycopy(entryValues, index, entryValues, index + 1, count - index);
+        entryNames[index] = name;
+        entryValues[index] = value;
+        entryCounts[id] = count + 1;
+    }
+
+    void removeEntry(int id, String name) {
+        final int count = entryCounts[id];
+        final int index = Arrays.binarySearch(entryNames[id], 0, count, name);
+        if (index < 0) {
+            return;
+        }
+        final String[] entryNames = this.entryNames[id];
+        final long[] entryValues = this.entryValues[id];
+        System.arraycopy(entryNames, index + 1, entryNames, index, count - index - 1);
+        System.arraycopy(entryValues, index + 1, entryValues, index, count - index - 1);
+        entryNames[count - 1] = null;
+        entryCounts[id] = count - 1;
+        if (count - 1 < entryNames.length / 4 && entryNames.length > 16) {
+            this.entryNames[id] = Arrays.copyOf(entryNames, entryNames.length / 2);
+            this.entryValues[id] = Arrays.copyOf(entryValues, entryValues.length / 2);
+        }
+    }
+}
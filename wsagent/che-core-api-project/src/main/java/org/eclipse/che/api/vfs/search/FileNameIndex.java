@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static org.eclipse.che.api.vfs.search.FileNameMatcher.NO_MATCH;
+
+/**
+ * In-memory index of paths of all files of virtual file system for fast "go to file" search with fuzzy matching of file names,
+ * see {@link FileNameMatcher}.
+ * <p>
+ * Index is built from file tree once it is requested first time. Paths are kept in compact arrays: every folder path is stored
+ * once and every file is represented by index of folder, offset of name in array of characters of all names and mask of
+ * characters of name which allows to skip most of files without matching. Changes are collected in separate sets of added and
+ * removed paths which are merged with arrays once they become large enough.
+ */
+public class FileNameIndex {
+    /** Changes are merged into arrays when their number exceeds the greater of this value and 1/16 of indexed files. */
+    private static final int MIN_CHANGES_TO_MERGE = 1024;
+
+    private static final Comparator<FileNameMatch> BEST_FIRST = (a, b) -> {
+        if (a.getScore() != b.getScore()) {
+            return Integer.compare(b.getScore(), a.getScore());
+        }
+        if (a.getPath().length() != b.getPath().length()) {
+            return Integer.compare(a.getPath().length(), b.getPath().length());
+        }
+        return a.getPath().compareTo(b.getPath());
+    };
+
+    private final VirtualFileSystem vfs;
+    private final VirtualFileFilter filter;
+
+    private volatile State state;
+
+    /**
+     * @param filter
+     *         filter for files and folders that should be indexed, excluded folders are not walked
+     */
+    public FileNameIndex(VirtualFileSystem vfs, VirtualFileFilter filter) {
+        this.vfs = vfs;
+        this.filter = filter;
+    }
+
+    /**
+     * Finds files that match the query.
+     *
+     * @param query
+     *         file name or its abbreviation, may be prefixed with abbreviations of folders separated by '/'
+     * @param path
+     *         if not {@code null} only files under this folder are searched
+     * @param maxItems
+     *         max number of files in result
+     * @return best matches sorted by descending score
+     * @throws ServerException
+     *         if index can't be built
+     */
+    public List<FileNameMatch> find(String query, String path, int maxItems) throws ServerException {
+        if (maxItems <= 0) {
+            return Collections.emptyList();
+        }
+        final State state = getState();
+        final FileNameMatcher matcher = new FileNameMatcher(query);
+        final String pathPrefix = path == null || "/".equals(path) ? null : path.endsWith("/") ? path : path + '/';
+        final PriorityQueue<FileNameMatch> best = new PriorityQueue<>(maxItems + 1, BEST_FIRST.reversed());
+
+        final Snapshot snapshot = state.snapshot;
+        final int[] folderScores = new int[snapshot.folders.length];
+        final boolean[] folderScored = new boolean[snapshot.folders.length];
+        final int nameMask = matcher.getNameMask();
+        for (int i = 0; i < snapshot.size(); i++) {
+            if ((snapshot.masks[i] & nameMask) != nameMask) {
+                continue;
+            }
+            final int folder = snapshot.fileFolders[i];
+            if (!folderScored[folder]) {
+                folderScores[folder] = scoreFolder(snapshot.folders[folder], pathPrefix, matcher);
+                folderScored[folder] = true;
+            }
+            if (folderScores[folder] == NO_MATCH) {
+                continue;
+            }
+            final int nameScore = matcher.matchName(snapshot.names, snapshot.nameOffsets[i], snapshot.nameOffsets[i + 1]);
+            if (nameScore == NO_MATCH) {
+                continue;
+            }
+            final int score = nameScore + folderScores[folder] / 2;
+            if (best.size() == maxItems && isWorse(score, snapshot.getPathLength(i), best.peek())) {
+                continue;
+            }
+            final String filePath = snapshot.getPath(i);
+            if (!state.isRemoved(filePath)) {
+                offer(best, new FileNameMatch(filePath, score), maxItems);
+            }
+        }
+
+        for (String filePath : state.added) {
+            final int slash = filePath.lastIndexOf('/');
+            final char[] name = filePath.substring(slash + 1).toCharArray();
+            final int nameScore = matcher.matchName(name, 0, name.length);
+            if (nameScore == NO_MATCH) {
+                continue;
+            }
+            final int folderScore = scoreFolder(filePath.substring(0, slash), pathPrefix, matcher);
+            if (folderScore != NO_MATCH) {
+                offer(best, new FileNameMatch(filePath, nameScore + folderScore / 2), maxItems);
+            }
+        }
+
+        final List<FileNameMatch> result = new ArrayList<>(best);
+        result.sort(BEST_FIRST);
+        return result;
+    }
+
+    private int scoreFolder(String folderPath, String pathPrefix, FileNameMatcher matcher) {
+        if (pathPrefix != null && !(folderPath + '/').startsWith(pathPrefix)) {
+            return NO_MATCH;
+        }
+        return matcher.matchFolder(folderPath);
+    }
+
+    /** Checks without creating path of file whether it is surely worse than the worst of already found matches. */
+    private boolean isWorse(int score, int pathLength, FileNameMatch worst) {
+        return score < worst.getScore() || score == worst.getScore() && pathLength > worst.getPath().length();
+    }
+
+    private void offer(PriorityQueue<FileNameMatch> best, FileNameMatch match, int maxItems) {
+        best.offer(match);
+        if (best.size() > maxItems) {
+            best.poll();
+        }
+    }
+
+    /** Updates index after file or folder is changed, file watcher events which are received before index is built are ignored. */
+    public synchronized void handleFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+        if (state == null) {
+            return;
+        }
+        final String path = virtualFile.getPath().toString();
+        switch (eventType) {
+            case CREATED:
+                if (virtualFile.isFile() && isIndexed(virtualFile)) {
+                    state.removed.add(path);
+                    state.added.add(path);
+                }
+                break;
+            case DELETED:
+                if (virtualFile.isFile()) {
+                    state.added.remove(path);
+                    state.removed.add(path);
+                } else {
+                    final String prefix = path + '/';
+                    state.added.subSet(prefix, prefix + Character.MAX_VALUE).clear();
+                    state.removed.add(prefix);
+                }
+                break;
+            default:
+                // content of file is not indexed
+        }
+    }
+
+    private boolean isIndexed(VirtualFile virtualFile) {
+        for (VirtualFile file = virtualFile; file != null && !file.isRoot(); file = file.getParent()) {
+            if (!filter.accept(file)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private State getState() throws ServerException {
+        State current = state;
+        if (current == null || current.changes() > Math.max(MIN_CHANGES_TO_MERGE, current.snapshot.size() / 16)) {
+            synchronized (this) {
+                current = state;
+                if (current == null) {
+                    current = state = new State(Snapshot.of(walk(vfs.getRoot())));
+                } else if (current.changes() > Math.max(MIN_CHANGES_TO_MERGE, current.snapshot.size() / 16)) {
+                    current = state = new State(Snapshot.of(current.merge()));
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<String> walk(VirtualFile root) throws ServerException {
+        final List<String> paths = new ArrayList<>();
+        final Deque<VirtualFile> folders = new ArrayDeque<>();
+        folders.push(root);
+        while (!folders.isEmpty()) {
+            for (VirtualFile child : folders.pop().getChildren(filter)) {
+                if (child.isFolder()) {
+                    folders.push(child);
+                } else {
+                    paths.add(child.getPath().toString());
+                }
+            }
+        }
+        return paths;
+    }
+
+    /** Snapshot of index with sets of changes made after the snapshot is created. */
+    private static class State {
+        final Snapshot                   snapshot;
+        /** Files which are added after snapshot is created, any of them may also be present in snapshot. */
+        final NavigableSet<String>       added;
+        /** Files and folders (with trailing '/') which are removed from snapshot, files also may be present in added set. */
+        final Set<String>                removed;
+
+        State(Snapshot snapshot) {
+            this.snapshot = snapshot;
+            this.added = new ConcurrentSkipListSet<>();
+            this.removed = ConcurrentHashMap.newKeySet();
+        }
+
+        int changes() {
+            return added.size() + removed.size();
+        }
+
+        /** Checks whether file from snapshot is removed, either itself or with one of its parent folders. */
+        boolean isRemoved(String path) {
+            if (removed.isEmpty()) {
+                return false;
+            }
+            if (removed.contains(path)) {
+                return true;
+            }
+            for (int slash = path.indexOf('/', 1); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                if (removed.contains(path.substring(0, slash + 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<String> merge() {
+            final Set<String> paths = new TreeSet<>(added);
+            for (int i = 0; i < snapshot.size(); i++) {
+                final String path = snapshot.getPath(i);
+                if (!isRemoved(path)) {
+                    paths.add(path);
+                }
+            }
+            return new ArrayList<>(paths);
+        }
+    }
+
+    /** Immutable set of file paths. */
+    private static class Snapshot {
+        /** Paths of all folders which contain files, root folder is represented with empty string. */
+        final String[] folders;
+        /** Index of folder in {@link #folders} for every file. */
+        final int[]    fileFolders;
+        /** Names of all files, name of file {@code i} starts at {@code nameOffsets[i]} and ends at {@code nameOffsets[i + 1]}. */
+        final char[]   names;
+        final int[]    nameOffsets;
+        /** Masks of characters of file names. */
+        final int[]    masks;
+
+        private Snapshot(String[] folders, int[] fileFolders, char[] names, int[] nameOffsets, int[] masks) {
+            this.folders = folders;
+            this.fileFolders = fileFolders;
+            this.names = names;
+            this.nameOffsets = nameOffsets;
+            this.masks = masks;
+        }
+
+        static Snapshot of(List<String> paths) {
+            Collections.sort(paths);
+            final Map<String, Integer> folderIndexes = new HashMap<>();
+            final List<String> folders = new ArrayList<>();
+            final int[] fileFolders = new int[paths.size()];
+            final int[] nameOffsets = new int[paths.size() + 1];
+            int namesLength = 0;
+            for (int i = 0; i < paths.size(); i++) {
+                final String path = paths.get(i);
+                final int slash = path.lastIndexOf('/');
+                final String folder = path.substring(0, slash);
+                Integer folderIndex = folderIndexes.get(folder);
+                if (folderIndex == null) {
+                    folderIndex = folders.size();
+                    folderIndexes.put(folder, folderIndex);
+                    folders.add(folder);
+                }
+                fileFolders[i] = folderIndex;
+                nameOffsets[i] = namesLength;
+                namesLength += path.length() - slash - 1;
+            }
+            nameOffsets[paths.size()] = namesLength;
+
+            final char[] names = new char[namesLength];
+            final int[] masks = new int[paths.size()];
+            for (int i = 0; i < paths.size(); i++) {
+                final String path = paths.get(i);
+                path.getChars(path.lastIndexOf('/') + 1, path.length(), names, nameOffsets[i]);
+                masks[i] = FileNameMatcher.mask(names, nameOffsets[i], nameOffsets[i + 1]);
+            }
+            return new Snapshot(folders.toArray(new String[folders.size()]), fileFolders, names, nameOffsets, masks);
+        }
+
+        int size() {
+            return fileFolders.length;
+        }
+
+        int getPathLength(int i) {
+            return folders[fileFolders[i]].length() + 1 + nameOffsets[i + 1] - nameOffsets[i];
+        }
+
+        String getPath(int i) {
+            return folders[fileFolders[i]] + '/' + new String(names, nameOffsets[i], nameOffsets[i + 1] - nameOffsets[i]);
+        }
+    }
+}
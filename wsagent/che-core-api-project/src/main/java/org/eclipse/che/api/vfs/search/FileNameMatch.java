@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/** File found by {@link FileNameIndex#find(String, String, int)}. */
+public class FileNameMatch {
+    private final String path;
+    private final int    score;
+
+    public FileNameMatch(String path, int score) {
+        this.path = path;
+        this.score = score;
+    }
+
+    /** Path of file. */
+    public String getPath() {
+        return path;
+    }
+
+    /** Rank of match, the greater score the better file matches the query. */
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "FileNameMatch{" +
+               "path='" + path + '\'' +
+               ", score=" + score +
+               '}';
+    }
+}
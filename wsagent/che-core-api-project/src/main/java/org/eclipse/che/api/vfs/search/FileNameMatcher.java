@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fuzzy matcher of file names and paths used by {@link FileNameIndex}.
+ * <p>
+ * Part of query after the last '/' is matched to file name, characters of query must be present in name in the same order,
+ * case is ignored. Match gets higher score if matched characters are consecutive or start words of name, e.g. query "HJR"
+ * matches "HttpJsonRequest.java" at camel humps. Every part of query before the last '/' must match a folder of file path in the
+ * same way, folders are matched in order of query parts.
+ */
+class FileNameMatcher {
+    static final int NO_MATCH = Integer.MIN_VALUE;
+
+    private static final int MATCH       = 16;
+    private static final int WORD_START  = 10;
+    private static final int NAME_START  = 12;
+    private static final int CONSECUTIVE = 6;
+    private static final int GAP_START   = -3;
+    private static final int GAP         = -1;
+    private static final int SAME_CASE   = 1;
+    private static final int EXACT_NAME  = 50;
+
+    private final Pattern       namePattern;
+    private final List<Pattern> folderPatterns;
+
+    FileNameMatcher(String query) {
+        final int slash = query.lastIndexOf('/');
+        namePattern = new Pattern(query.substring(slash + 1));
+        folderPatterns = new ArrayList<>();
+        if (slash > 0) {
+            for (String part : query.substring(0, slash).split("/")) {
+                if (!part.isEmpty()) {
+                    folderPatterns.add(new Pattern(part));
+                }
+            }
+        }
+    }
+
+    /** Mask of characters of name pattern, file name may match only if its {@link #mask(char[], int, int) mask} covers it. */
+    int getNameMask() {
+        return namePattern.mask;
+    }
+
+    /** Gets score of file name that is stored in {@code chars} from {@code from} inclusive to {@code to} exclusive. */
+    int matchName(char[] chars, int from, int to) {
+        return namePattern.match(chars, from, to);
+    }
+
+    /** Gets sum of scores of folders of {@code folderPath} that are matched by folder patterns or {@link #NO_MATCH}. */
+    int matchFolder(String folderPath) {
+        if (folderPatterns.isEmpty()) {
+            return 0;
+        }
+        final char[] chars = folderPath.toCharArray();
+        int segmentStart = 0;
+        int score = 0;
+        for (Pattern pattern : folderPatterns) {
+            int segmentScore = NO_MATCH;
+            while (segmentScore == NO_MATCH && segmentStart < chars.length) {
+                int segmentEnd = folderPath.indexOf('/', segmentStart);
+                if (segmentEnd < 0) {
+                    segmentEnd = chars.length;
+                }
+                if (segmentEnd > segmentStart) {
+                    segmentScore = pattern.match(chars, segmentStart, segmentEnd);
+                }
+                segmentStart = segmentEnd + 1;
+            }
+            if (segmentScore == NO_MATCH) {
+                return NO_MATCH;
+            }
+            score += segmentScore;
+        }
+        return score;
+    }
+
+    /** Bits for letters 'a'-'z' (case is ignored), digits share one bit, all other characters are ignored. */
+    static int mask(char[] chars, int from, int to) {
+        int mask = 0;
+        for (int i = from; i < to; i++) {
+            mask |= mask(chars[i]);
+        }
+        return mask;
+    }
+
+    private static int mask(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 << (c - 'a');
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return 1 << (c - 'A');
+        }
+        if (c >= '0' && c <= '9') {
+            return 1 << 26;
+        }
+        return 0;
+    }
+
+    private static char toLowerCase(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char)(c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static boolean isWordStart(char[] chars, int from, int i) {
+        if (i == from) {
+            return true;
+        }
+        final char previous = chars[i - 1];
+        final char current = chars[i];
+        if (!Character.isLetterOrDigit(previous)) {
+            return true;
+        }
+        if (Character.isUpperCase(current) && !Character.isUpperCase(previous)) {
+            return true;
+        }
+        return Character.isDigit(current) != Character.isDigit(previous);
+    }
+
+    private static class Pattern {
+        final char[] chars;
+        final char[] lowerCaseChars;
+        final int    mask;
+
+        Pattern(String pattern) {
+            chars = pattern.toCharArray();
+            // lower-cased the same way as file names, independently of default locale and keeping length of pattern
+            lowerCaseChars = new char[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                lowerCaseChars[i] = toLowerCase(chars[i]);
+            }
+            mask = mask(chars, 0, chars.length);
+        }
+
+        int match(char[] text, int from, int to) {
+            final int length = lowerCaseChars.length;
+            if (length == 0) {
+                return 0;
+            }
+            if (to - from < length) {
+                return NO_MATCH;
+            }
+            int end = -1;
+            for (int i = from, j = 0; i < to; i++) {
+                if (toLowerCase(text[i]) == lowerCaseChars[j] && ++j == length) {
+                    end = i + 1;
+                    break;
+                }
+            }
+            if (end < 0) {
+                return NO_MATCH;
+            }
+            // move start of match as close to its end as possible, the shorter match the less gaps it has
+            int start = from;
+            for (int i = end - 1, j = length - 1; i >= from; i--) {
+                if (toLowerCase(text[i]) == lowerCaseChars[j] && --j < 0) {
+                    start = i;
+                    break;
+                }
+            }
+            int score = Math.max(matchFrom(text, from, to, start), matchWordStarts(text, from, to));
+            if (to - from == length) {
+                score += EXACT_NAME;
+            }
+            return score - (to - from - length) / 4;
+        }
+
+        /** Matches every character of pattern to the nearest character of text. */
+        private int matchFrom(char[] text, int from, int to, int start) {
+            int score = 0;
+            int previous = -1;
+            for (int i = start, j = 0; i < to && j < lowerCaseChars.length; i++) {
+                if (toLowerCase(text[i]) == lowerCaseChars[j]) {
+                    score += charScore(text, from, i, j, previous);
+                    previous = i;
+                    j++;
+                }
+            }
+            return score;
+        }
+
+        /** Matches characters of pattern only to starts of words or right after previous matched character. */
+        private int matchWordStarts(char[] text, int from, int to) {
+            int score = 0;
+            int previous = -1;
+            int j = 0;
+            for (int i = from; i < to && j < lowerCaseChars.length; i++) {
+                if (toLowerCase(text[i]) == lowerCaseChars[j] && (previous == i - 1 || isWordStart(text, from, i))) {
+                    score += charScore(text, from, i, j, previous);
+                    previous = i;
+                    j++;
+                }
+            }
+            return j == lowerCaseChars.length ? score : NO_MATCH;
+        }
+
+        private int charScore(char[] text, int from, int i, int j, int previous) {
+            int score = MATCH;
+            if (i == from) {
+                score += NAME_START;
+            } else if (isWordStart(text, from, i)) {
+                score += WORD_START;
+            }
+            if (previous >= 0) {
+                if (previous == i - 1) {
+                    score += CONSECUTIVE;
+                } else {
+                    score += GAP_START + GAP * (i - previous - 2);
+                }
+            }
+            if (text[i] == chars[j]) {
+                score += SAME_CASE;
+            }
+            return score;
+        }
+    }
+}
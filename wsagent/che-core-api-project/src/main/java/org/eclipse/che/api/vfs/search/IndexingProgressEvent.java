@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Published periodically while {@link Searcher} indexes a file tree and once more when indexing is done.
+ * <p>
+ * Number of discovered files grows while the tree is walked, so estimated remaining time is a lower bound until
+ * the walker reaches the last folder.
+ */
+public class IndexingProgressEvent {
+    private final String  path;
+    private final int     discoveredFiles;
+    private final int     indexedFiles;
+    private final long    elapsedTimeMillis;
+    private final long    estimatedRemainingTimeMillis;
+    private final boolean done;
+
+    public IndexingProgressEvent(String path,
+                                 int discoveredFiles,
+                                 int indexedFiles,
+                                 long elapsedTimeMillis,
+                                 long estimatedRemainingTimeMillis,
+                                 boolean done) {
+        this.path = path;
+        this.discoveredFiles = discoveredFiles;
+        this.indexedFiles = indexedFiles;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.estimatedRemainingTimeMillis = estimatedRemainingTimeMillis;
+        this.done = done;
+    }
+
+    /** Path of the root of indexed tree. */
+    public String getPath() {
+        return path;
+    }
+
+    /** Number of files found by the tree walker so far. */
+    public int getDiscoveredFiles() {
+        return discoveredFiles;
+    }
+
+    /** Number of files already added to the index. */
+    public int getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    /** Estimated time until indexing is done or {@code -1} if it can't be estimated yet. */
+    public long getEstimatedRemainingTimeMillis() {
+        return estimatedRemainingTimeMillis;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgressEvent{" +
+               "path='" + path + '\'' +
+               ", discoveredFiles=" + discoveredFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               ", estimatedRemainingTimeMillis=" + estimatedRemainingTimeMillis +
+               ", done=" + done +
+               '}';
+    }
+}
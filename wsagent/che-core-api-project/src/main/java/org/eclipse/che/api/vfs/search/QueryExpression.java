@@ -12,11 +12,25 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    /** Defines how {@link #getText() text} of query is matched to content of files. */
+    public enum TextMode {
+        /** Text is parsed as lucene query over words of file content. */
+        QUERY,
+        /** File must contain text as is, case of characters is ignored. */
+        SUBSTRING,
+        /** Text is regular expression, at least one fragment of file content must match to it. */
+        REGEX
+    }
+
+    private String   name;
+    private String   path;
+    private String   text;
+    private TextMode textMode = TextMode.QUERY;
+    private int      skipCount;
+    private int      maxItems;
+    private boolean  includeOccurrences;
+    private int      maxOccurrencesPerFile;
+    private String   cursor;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +62,16 @@ public class QueryExpression {
         return this;
     }
 
+    /** How text is matched to content of files. Default is {@link TextMode#QUERY}. */
+    public TextMode getTextMode() {
+        return textMode;
+    }
+
+    public QueryExpression setTextMode(TextMode textMode) {
+        this.textMode = textMode == null ? TextMode.QUERY : textMode;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +92,51 @@ public class QueryExpression {
         return this;
     }
 
+    /** If {@code true} then positions of matched text and snippets of matched lines are included in search result. */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
+    /** Max number of occurrences that might be returned for single file. Default limit of searcher is used if not positive. */
+    public int getMaxOccurrencesPerFile() {
+        return maxOccurrencesPerFile;
+    }
+
+    public QueryExpression setMaxOccurrencesPerFile(int maxOccurrencesPerFile) {
+        this.maxOccurrencesPerFile = maxOccurrencesPerFile;
+        return this;
+    }
+
+    /**
+     * Optional opaque cursor which points to the beginning of page of search result. Cursor is obtained from
+     * {@link SearchResult#getNextPageCursor()} of the previous page and takes precedence over {@link #getSkipCount() skip count}.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", textMode=" + textMode +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", includeOccurrences=" + includeOccurrences +
+               ", maxOccurrencesPerFile=" + maxOccurrencesPerFile +
+               ", cursor='" + cursor + '\'' +
                '}';
     }
 }
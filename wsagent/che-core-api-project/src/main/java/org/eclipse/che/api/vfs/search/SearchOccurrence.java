@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Single match of searched text inside of file.
+ * <p>
+ * Snippet is a piece of matched line that surrounds the match. Matched text starts in the snippet at position
+ * {@code getStartColumn() - getSnippetStartColumn()} and ends at {@code getEndColumn() - getSnippetStartColumn()}.
+ */
+public class SearchOccurrence {
+    private final int    lineNumber;
+    private final int    startColumn;
+    private final int    endColumn;
+    private final String snippet;
+    private final int    snippetStartColumn;
+
+    public SearchOccurrence(int lineNumber, int startColumn, int endColumn, String snippet, int snippetStartColumn) {
+        this.lineNumber = lineNumber;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.snippet = snippet;
+        this.snippetStartColumn = snippetStartColumn;
+    }
+
+    /** Number of matched line, first line of file has number 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Zero-based position of first matched character in the line. */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /** Zero-based position of character that follows the last matched character in the line. */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /** Part of matched line that contains the match. */
+    public String getSnippet() {
+        return snippet;
+    }
+
+    /** Zero-based position of first character of snippet in the line. */
+    public int getSnippetStartColumn() {
+        return snippetStartColumn;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "lineNumber=" + lineNumber +
+               ", startColumn=" + startColumn +
+               ", endColumn=" + endColumn +
+               ", snippet='" + snippet + '\'' +
+               ", snippetStartColumn=" + snippetStartColumn +
+               '}';
+    }
+}
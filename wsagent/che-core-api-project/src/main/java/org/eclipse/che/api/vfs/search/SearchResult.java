@@ -28,15 +28,18 @@ public class SearchResult {
     private final List<SearchResultEntry>   results;
     private final Optional<QueryExpression> nextPageQueryExpression;
     private final int                       totalHits;
+    private final boolean                   totalHitsExact;
     private final long                      elapsedTimeMillis;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
                          int totalHits,
+                         boolean totalHitsExact,
                          long elapsedTimeMillis) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
         this.totalHits = totalHits;
+        this.totalHitsExact = totalHitsExact;
         this.elapsedTimeMillis = elapsedTimeMillis;
     }
 
@@ -60,11 +63,19 @@ public class SearchResult {
         return results;
     }
 
-    /** Total number of files that match the search criteria. */
+    /** Total number of files that match the search criteria, see {@link #isTotalHitsExact()}. */
     public int getTotalHits() {
         return totalHits;
     }
 
+    /**
+     * Returns {@code false} if search is stopped before all matches are found, in this case {@link #getTotalHits()} is lower
+     * bound of number of files that match the search criteria.
+     */
+    public boolean isTotalHitsExact() {
+        return totalHitsExact;
+    }
+
     /** Time spent on execution the query. */
     public long getElapsedTimeMillis() {
         return elapsedTimeMillis;
@@ -75,10 +86,19 @@ public class SearchResult {
         return nextPageQueryExpression;
     }
 
+    /**
+     * Cursor for retrieving next page with {@link QueryExpression#setCursor(String)} or {@code null} if there is no next page.
+     * Next page query expression already contains this cursor.
+     */
+    public String getNextPageCursor() {
+        return nextPageQueryExpression.isPresent() ? nextPageQueryExpression.get().getCursor() : null;
+    }
+
     public static class SearchResultBuilder {
         private QueryExpression         nextPageQueryExpression;
         private List<SearchResultEntry> results;
         private int                     totalHits;
+        private boolean                 totalHitsExact = true;
         private long                    elapsedTimeMillis;
 
         private SearchResultBuilder() {
@@ -99,6 +119,11 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withTotalHitsExact(boolean totalHitsExact) {
+            this.totalHitsExact = totalHitsExact;
+            return this;
+        }
+
         public SearchResultBuilder withElapsedTimeMillis(long elapsedTimeMillis) {
             this.elapsedTimeMillis = elapsedTimeMillis;
             return this;
@@ -114,7 +139,7 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, totalHitsExact, elapsedTimeMillis);
         }
     }
 }
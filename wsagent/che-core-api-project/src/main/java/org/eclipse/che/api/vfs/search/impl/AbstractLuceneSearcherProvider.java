@@ -11,8 +11,10 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -21,6 +23,7 @@ import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 
 import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -34,6 +37,10 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
     protected final AtomicReference<Searcher> searcherReference = new AtomicReference<>();
     private final ExecutorService executor;
 
+    private EventService eventService;
+    private int          indexingParallelism = Runtime.getRuntime().availableProcessors();
+    private double       indexRamBufferSizeMB;
+
     /**
      * @param fileIndexFilters
      *         set filter for files that should not be indexed
@@ -46,6 +53,23 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
                                                              .build());
     }
 
+    @Inject(optional = true)
+    public void setEventService(EventService eventService) {
+        this.eventService = eventService;
+    }
+
+    /** Number of threads used for indexing of file tree when searcher is initialized. */
+    @Inject(optional = true)
+    public void setIndexingParallelism(@Named("vfs.index.parallelism") int indexingParallelism) {
+        this.indexingParallelism = indexingParallelism;
+    }
+
+    /** Size of RAM buffer of index writer, default lucene setting is used if not set. */
+    @Inject(optional = true)
+    public void setIndexRamBufferSizeMB(@Named("vfs.index.ram_buffer_size_mb") double indexRamBufferSizeMB) {
+        this.indexRamBufferSizeMB = indexRamBufferSizeMB;
+    }
+
     private VirtualFileFilter mergeFileIndexFilters(Set<VirtualFileFilter> fileIndexFilters) {
         final VirtualFileFilter filter;
         if (fileIndexFilters.isEmpty()) {
@@ -63,6 +87,7 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         Searcher cachedSearcher = searcherReference.get();
         if (cachedSearcher == null && create) {
             LuceneSearcher searcher = createLuceneSearcher(() -> searcherReference.set(null));
+            configure(searcher);
             if (searcherReference.compareAndSet(null, searcher)) {
                 searcher.initAsynchronously(executor, virtualFileSystem);
             }
@@ -83,6 +108,14 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
 
     protected abstract LuceneSearcher createLuceneSearcher(CloseCallback closeCallback);
 
+    private void configure(LuceneSearcher searcher) {
+        searcher.setEventService(eventService);
+        searcher.setIndexingParallelism(indexingParallelism);
+        if (indexRamBufferSizeMB > 0) {
+            searcher.setRamBufferSizeMB(indexRamBufferSizeMB);
+        }
+    }
+
     @Override
     public void close() throws ServerException {
         Searcher searcher = searcherReference.get();
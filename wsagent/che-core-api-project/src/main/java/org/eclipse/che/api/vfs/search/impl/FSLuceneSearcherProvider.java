@@ -28,6 +28,8 @@ import static com.google.common.collect.Sets.newHashSet;
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
     private final File indexRootDirectory;
 
+    private boolean persistentIndex;
+
     /**
      * @param indexRootDirectory
      *         root directory for creation index
@@ -43,8 +45,17 @@ public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
+    /**
+     * If set to {@code true} index is kept after closing of searcher and only changed files are re-indexed by next searcher.
+     * Default is {@code false}.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setPersistentIndex(@Named("vfs.local.fs_index_persistent") boolean persistentIndex) {
+        this.persistentIndex = persistentIndex;
+    }
+
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback, persistentIndex);
     }
 }
@@ -15,35 +15,51 @@ import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -54,12 +70,25 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.vfs.search.impl.TrigramQueries.TRIGRAM_FIELD;
 
 /**
  * Lucene based searcher.
@@ -71,13 +100,49 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    /** Max number of files which content is checked with pattern for one page of substring or regular expression search. */
+    static final int MAX_PATTERN_CANDIDATES_PER_PAGE = 10000;
+
+    /** Key of index commit data which keeps version of index schema. */
+    static final String INDEX_SCHEMA_VERSION_KEY = "che.index.schema_version";
+    /**
+     * Version of set of fields that are stored in the index. Must be changed every time when fields or the way they are indexed
+     * are changed. Persisted index with different version is rebuilt from scratch.
+     */
+    static final String INDEX_SCHEMA_VERSION     = "4";
+
+    private static final Set<String> FINGERPRINT_FIELDS = newHashSet("path", "size", "modified");
+    private static final Set<String> PATH_FIELD         = newHashSet("path");
+
+    /** Content of files is indexed with offsets of terms, they are used for finding occurrences of searched text. */
+    private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    /** Content of files split in trigrams, used for selecting candidates for substring and regular expression search. */
+    private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT_FIELD_TYPE.freeze();
+        TRIGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+        TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAM_FIELD_TYPE.freeze();
+    }
+
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
+    private ForkJoinPool    indexingPool;
+
+    private volatile int          indexingParallelism = Runtime.getRuntime().availableProcessors();
+    private volatile double       ramBufferSizeMB     = IndexWriterConfig.DEFAULT_RAM_BUFFER_SIZE_MB;
+    private volatile EventService eventService;
+
+    private volatile VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
+    private boolean reconcileOnInit;
 
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
@@ -108,11 +173,35 @@ public abstract class LuceneSearcher implements Searcher {
         return indexFilters.remove(indexFilter);
     }
 
+    /**
+     * Sets number of threads that read and index files when file tree is added to the index. Takes effect on next call of
+     * {@link #init(VirtualFileSystem)} or {@link #initAsynchronously(ExecutorService, VirtualFileSystem)}.
+     */
+    public void setIndexingParallelism(int indexingParallelism) {
+        if (indexingParallelism < 1) {
+            throw new IllegalArgumentException("Indexing parallelism must be positive");
+        }
+        this.indexingParallelism = indexingParallelism;
+    }
+
+    /**
+     * Sets amount of RAM that index writer may use for buffering added documents before flushing them to the index directory.
+     * Takes effect on next call of {@link #init(VirtualFileSystem)} or {@link #initAsynchronously(ExecutorService, VirtualFileSystem)}.
+     */
+    public void setRamBufferSizeMB(double ramBufferSizeMB) {
+        this.ramBufferSizeMB = ramBufferSizeMB;
+    }
+
+    /** Sets service for publishing {@link org.eclipse.che.api.vfs.search.IndexingProgressEvent}s, {@code null} disables them. */
+    public void setEventService(EventService eventService) {
+        this.eventService = eventService;
+    }
+
     protected Analyzer makeAnalyzer() {
-        return new Analyzer() {
+        return new Analyzer(Analyzer.PER_FIELD_REUSE_STRATEGY) {
             @Override
             protected TokenStreamComponents createComponents(String fieldName) {
-                Tokenizer tokenizer = new WhitespaceTokenizer();
+                Tokenizer tokenizer = TRIGRAM_FIELD.equals(fieldName) ? new NGramTokenizer(3, 3) : new WhitespaceTokenizer();
                 TokenStream filter = new LowerCaseFilter(tokenizer);
                 return new TokenStreamComponents(tokenizer, filter);
             }
@@ -122,7 +211,9 @@ public abstract class LuceneSearcher implements Searcher {
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. Scan all files in virtual filesystem and add to index. If index directory contains index created by
+     * previous instance of searcher then only files that were added, changed or deleted since index was committed last time are
+     * re-indexed.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -130,35 +221,104 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        initIndex(virtualFileSystem.getRoot());
     }
 
+    /**
+     * Init lucene index in background, see {@link #init(VirtualFileSystem)}. If searcher is closed while index is being
+     * initialized then initialization is stopped.
+     */
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.initIndex(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
+                } catch (CancellationException | RejectedExecutionException | AlreadyClosedException e) {
+                    // indexing pool or index writer is closed by close()
+                    LOG.warn("Initialization of index is interrupted since searcher is closed. {}", e.toString());
+                    close();
                 }
             });
         }
     }
 
+    private void initIndex(VirtualFile root) throws ServerException {
+        if (isReconcileOnInit()) {
+            reconcile(root);
+        } else {
+            addTree(root);
+        }
+        try {
+            getIndexWriter().commit();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Directory directory = makeDirectory();
+            reconcileOnInit = isIndexUpToDate(directory);
+            if (reconcileOnInit) {
+                try {
+                    luceneIndexWriter = new IndexWriter(directory, makeIndexWriterConfig(IndexWriterConfig.OpenMode.APPEND));
+                } catch (IOException e) {
+                    LOG.warn("Unable open existed index, it is going to be rebuilt. Error: {}", e.getMessage());
+                    reconcileOnInit = false;
+                }
+            }
+            if (!reconcileOnInit) {
+                luceneIndexWriter = new IndexWriter(directory, makeIndexWriterConfig(IndexWriterConfig.OpenMode.CREATE));
+            }
+            luceneIndexWriter.setCommitData(singletonMap(INDEX_SCHEMA_VERSION_KEY, INDEX_SCHEMA_VERSION));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            indexingPool = new ForkJoinPool(indexingParallelism, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("LuceneSearcherIndexThread-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    private IndexWriterConfig makeIndexWriterConfig(IndexWriterConfig.OpenMode openMode) {
+        return new IndexWriterConfig(makeAnalyzer()).setOpenMode(openMode).setRAMBufferSizeMB(ramBufferSizeMB);
+    }
+
+    /** Checks whether the directory contains readable index which was created with current version of index schema. */
+    private boolean isIndexUpToDate(Directory directory) {
+        try {
+            if (!DirectoryReader.indexExists(directory)) {
+                return false;
+            }
+            final String version = SegmentInfos.readLatestCommit(directory).getUserData().get(INDEX_SCHEMA_VERSION_KEY);
+            if (!INDEX_SCHEMA_VERSION.equals(version)) {
+                LOG.info("Index schema version {} doesn't match to required version {}, index is going to be rebuilt",
+                         version, INDEX_SCHEMA_VERSION);
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Unable read existed index, it is going to be rebuilt. Error: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private synchronized boolean isReconcileOnInit() {
+        return reconcileOnInit;
+    }
+
     public final synchronized void close() {
         if (!closed) {
+            indexingPool.shutdownNow();
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -184,19 +344,31 @@ public abstract class LuceneSearcher implements Searcher {
         return luceneIndexWriter;
     }
 
+    protected synchronized ForkJoinPool getIndexingPool() {
+        return indexingPool;
+    }
+
     @Override
-    public SearchResult search(QueryExpression query) throws ServerException {
+    public SearchResult search(QueryExpression query) throws ServerException, ConflictException {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
             searcherManager.maybeRefresh();
             luceneSearcher = searcherManager.acquire();
 
+            if (query.getText() != null && query.getTextMode() != QueryExpression.TextMode.QUERY) {
+                return searchByPattern(luceneSearcher, query, startTime);
+            }
+
             Query luceneQuery = createLuceneQuery(query);
+            final long readerVersion = getReaderVersion(luceneSearcher);
+            final SearchCursor cursor = query.getCursor() == null ? null : SearchCursor.decode(query.getCursor());
 
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            final int numSkipDocs = cursor == null ? Math.max(0, query.getSkipCount()) : cursor.getOffset();
+            if (cursor != null && cursor.isValidFor(readerVersion, luceneQuery.hashCode())) {
+                after = cursor.getLast();
+            } else if (numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
@@ -204,19 +376,29 @@ public abstract class LuceneSearcher implements Searcher {
             TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
             final int totalHitsNum = topDocs.totalHits;
 
+            final OccurrencesFinder occurrencesFinder =
+                    query.isIncludeOccurrences() ? new OccurrencesFinder(luceneSearcher, luceneQuery, query.getMaxOccurrencesPerFile()) : null;
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                if (occurrencesFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    List<SearchOccurrence> occurrences = occurrencesFinder.find(scoreDoc.doc, getVirtualFile(filePath));
+                    results.add(new SearchResultEntry(filePath, occurrences));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = topDocs.scoreDocs.length > 0 && numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final int newSkipCount = numSkipDocs + topDocs.scoreDocs.length;
+                final ScoreDoc last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                nextPageQueryExpression = createNextPageQuery(query, newSkipCount)
+                        .setCursor(new SearchCursor(readerVersion, luceneQuery.hashCode(), newSkipCount, last).encode());
             }
 
             return SearchResult.aSearchResult()
@@ -236,6 +418,135 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Selects candidates with trigram query and then checks content of candidates with pattern created from text of query.
+     * Candidates are checked only until the page is filled and one more match is found, or until
+     * {@link #MAX_PATTERN_CANDIDATES_PER_PAGE} candidates are checked, in such case total hits is lower bound of real number.
+     * Next page continues after the last checked candidate while index is not changed, otherwise it skips {@code offset}
+     * matches of cursor from the beginning.
+     */
+    private SearchResult searchByPattern(IndexSearcher luceneSearcher, QueryExpression query, long startTime) throws IOException,
+                                                                                                                   ServerException,
+                                                                                                                   ConflictException {
+        final Pattern pattern = createPattern(query);
+        final Query luceneQuery = createLuceneQuery(query);
+        final long readerVersion = getReaderVersion(luceneSearcher);
+        final int queryHash = 31 * luceneQuery.hashCode() + pattern.pattern().hashCode();
+        final SearchCursor cursor = query.getCursor() == null ? null : SearchCursor.decode(query.getCursor());
+        final int offset = cursor == null ? Math.max(0, query.getSkipCount()) : cursor.getOffset();
+        final boolean resume = cursor != null && cursor.isValidFor(readerVersion, queryHash);
+        final int numSkipMatches = resume ? 0 : offset;
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        final int maxOccurrences = query.getMaxOccurrencesPerFile() > 0 ? query.getMaxOccurrencesPerFile()
+                                                                         : OccurrencesFinder.DEFAULT_MAX_OCCURRENCES_PER_FILE;
+
+        final List<Integer> candidates = collectDocIds(luceneSearcher, luceneQuery, resume ? cursor.getLast().doc : -1);
+        int skippedMatches = 0;
+        int checkedCandidates = 0;
+        int lastCheckedDocId = -1;
+        boolean hasMore = false;
+        final List<SearchResultEntry> results = newArrayList();
+        for (int docId : candidates) {
+            // matches before the page are skipped only when index is changed, they are not limited to keep offset correct
+            final boolean skipping = skippedMatches < numSkipMatches;
+            if (!skipping && checkedCandidates == MAX_PATTERN_CANDIDATES_PER_PAGE) {
+                hasMore = true;
+                break;
+            }
+            final String filePath = luceneSearcher.doc(docId, PATH_FIELD).get("path");
+            final VirtualFile file = getVirtualFile(filePath);
+            final String content = file == null || !file.isFile() || !shouldIndexContent(file) ? null
+                                                                                             : OccurrencesFinder.readContent(file);
+            final Matcher matcher = content == null ? null : pattern.matcher(content);
+            if (matcher != null && matcher.find()) {
+                if (results.size() == numDocs) {
+                    // one more match exists, it starts the next page
+                    hasMore = true;
+                    break;
+                }
+                if (skipping) {
+                    skippedMatches++;
+                } else if (query.isIncludeOccurrences()) {
+                    final List<int[]> offsets = new ArrayList<>();
+                    do {
+                        offsets.add(new int[]{matcher.start(), matcher.end()});
+                    } while (offsets.size() < maxOccurrences && matcher.find());
+                    results.add(new SearchResultEntry(filePath, OccurrencesFinder.toOccurrences(content, offsets)));
+                } else {
+                    results.add(new SearchResultEntry(filePath));
+                }
+            }
+            if (!skipping) {
+                checkedCandidates++;
+            }
+            lastCheckedDocId = docId;
+        }
+
+        final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
+
+        final int newSkipCount = offset + results.size();
+        QueryExpression nextPageQueryExpression = null;
+        if (hasMore) {
+            final SearchCursor nextPageCursor =
+                    new SearchCursor(readerVersion, queryHash, newSkipCount, new ScoreDoc(lastCheckedDocId, 0));
+            nextPageQueryExpression = createNextPageQuery(query, newSkipCount).setCursor(nextPageCursor.encode());
+        }
+
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(hasMore ? newSkipCount + 1 : newSkipCount)
+                           .withTotalHitsExact(!hasMore)
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(elapsedTimeMillis)
+                           .build();
+    }
+
+    private long getReaderVersion(IndexSearcher luceneSearcher) {
+        return ((DirectoryReader)luceneSearcher.getIndexReader()).getVersion();
+    }
+
+    private Pattern createPattern(QueryExpression query) throws ServerException {
+        try {
+            if (query.getTextMode() == QueryExpression.TextMode.SUBSTRING) {
+                return Pattern.compile(Pattern.quote(query.getText()), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            }
+            return Pattern.compile(query.getText(), Pattern.MULTILINE);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /** Collects ids of documents that match the query and follow document {@code after} in index order. */
+    private List<Integer> collectDocIds(IndexSearcher luceneSearcher, Query luceneQuery, int after) throws IOException {
+        final List<Integer> docIds = new ArrayList<>();
+        luceneSearcher.search(luceneQuery, new SimpleCollector() {
+            private int docBase;
+
+            @Override
+            protected void doSetNextReader(LeafReaderContext context) throws IOException {
+                docBase = context.docBase;
+            }
+
+            @Override
+            public void collect(int doc) {
+                if (docBase + doc > after) {
+                    docIds.add(docBase + doc);
+                }
+            }
+
+            @Override
+            public boolean needsScores() {
+                return false;
+            }
+        });
+        return docIds;
+    }
+
+    private VirtualFile getVirtualFile(String path) throws ServerException {
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        return fileSystem == null ? null : fileSystem.getRoot().getChild(Path.of(path));
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -248,16 +559,38 @@ public abstract class LuceneSearcher implements Searcher {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
         if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
+            switch (query.getTextMode()) {
+                case SUBSTRING:
+                case REGEX:
+                    try (Analyzer analyzer = makeAnalyzer()) {
+                        addIfNotNull(luceneQuery, query.getTextMode() == QueryExpression.TextMode.SUBSTRING
+                                                  ? TrigramQueries.substringQuery(text, analyzer)
+                                                  : TrigramQueries.regexQuery(text, analyzer));
+                    } catch (IOException e) {
+                        throw new ServerException(e.getMessage(), e);
+                    }
+                    break;
+                default:
+                    QueryParser qParser = new QueryParser("text", makeAnalyzer());
+                    try {
+                        luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
+                    } catch (ParseException e) {
+                        throw new ServerException(e.getMessage());
+                    }
+            }
+            if (luceneQuery.clauses().isEmpty()) {
+                luceneQuery.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
             }
         }
         return luceneQuery;
     }
 
+    private void addIfNotNull(BooleanQuery luceneQuery, Query clause) {
+        if (clause != null) {
+            luceneQuery.add(clause, BooleanClause.Occur.MUST);
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -281,10 +614,13 @@ public abstract class LuceneSearcher implements Searcher {
 
     private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setTextMode(originalQuery.getTextMode())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences())
+                                    .setMaxOccurrencesPerFile(originalQuery.getMaxOccurrencesPerFile());
     }
 
     @Override
@@ -302,33 +638,71 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected void addTree(VirtualFile tree) throws ServerException {
         final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        final int indexedFiles = new ParallelTreeIndexer(this, getIndexingPool(), eventService).index(tree);
+        final long end = System.currentTimeMillis();
+        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+    }
+
+    /**
+     * Brings existed index in sync with the {@code tree}. Files that are absent in the index or whose size or modification date
+     * differ from ones stored in the index are re-indexed, documents of files that don't exist anymore are removed from the index.
+     */
+    protected void reconcile(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        final ConcurrentMap<String, ParallelTreeIndexer.FileFingerprint> fingerprints = readFingerprints();
+        final int processedFiles = new ParallelTreeIndexer(this, getIndexingPool(), eventService).index(tree, fingerprints);
+        final int deletedFiles = fingerprints.size();
+        if (deletedFiles > 0) {
+            final Term[] deleteTerms = fingerprints.keySet().stream().map(path -> new Term("path", path)).toArray(Term[]::new);
+            try {
+                getIndexWriter().deleteDocuments(deleteTerms);
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+        }
+        final long end = System.currentTimeMillis();
+        LOG.debug("Reconciled index for {} files from {}, removed {} files, time: {} ms",
+                  processedFiles, tree.getPath(), deletedFiles, (end - start));
+    }
+
+    private ConcurrentMap<String, ParallelTreeIndexer.FileFingerprint> readFingerprints() throws ServerException {
+        final ConcurrentMap<String, ParallelTreeIndexer.FileFingerprint> fingerprints = new ConcurrentHashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            for (LeafReaderContext leafContext : luceneSearcher.getIndexReader().leaves()) {
+                final LeafReader leafReader = leafContext.reader();
+                final Bits liveDocs = leafReader.getLiveDocs();
+                for (int i = 0; i < leafReader.maxDoc(); i++) {
+                    if (liveDocs != null && !liveDocs.get(i)) {
+                        continue;
                     }
+                    final Document doc = leafReader.document(i, FINGERPRINT_FIELDS);
+                    fingerprints.put(doc.get("path"),
+                                     new ParallelTreeIndexer.FileFingerprint(doc.getField("size").numericValue().longValue(),
+                                                                             doc.getField("modified").numericValue().longValue()));
                 }
             }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
         }
-        final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+        return fingerprints;
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+            final boolean indexContent = shouldIndexContent(virtualFile);
+            try (Reader fContentReader = indexContent ? new BufferedReader(new InputStreamReader(virtualFile.getContent())) : null;
+                 Reader fTrigramReader = indexContent ? new BufferedReader(new InputStreamReader(virtualFile.getContent())) : null) {
+                getIndexWriter().updateDocument(new Term("path", virtualFile.getPath().toString()),
+                                                createDocument(virtualFile, fContentReader, fTrigramReader));
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
@@ -364,10 +738,10 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        final boolean indexContent = shouldIndexContent(virtualFile);
+        try (Reader fContentReader = indexContent ? new BufferedReader(new InputStreamReader(virtualFile.getContent())) : null;
+             Reader fTrigramReader = indexContent ? new BufferedReader(new InputStreamReader(virtualFile.getContent())) : null) {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader, fTrigramReader));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -378,12 +752,23 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    /**
+     * @param reader
+     *         reader of file content for full-text index, {@code null} if content should not be indexed
+     * @param trigramReader
+     *         another reader of file content for trigram index, {@code null} if content should not be indexed
+     */
+    protected Document createDocument(VirtualFile virtualFile, Reader reader, Reader trigramReader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField("size", virtualFile.getLength()));
+        doc.add(new StoredField("modified", virtualFile.getLastModificationDate()));
         if (reader != null) {
-            doc.add(new TextField("text", reader));
+            doc.add(new Field("text", reader, TEXT_FIELD_TYPE));
+        }
+        if (trigramReader != null) {
+            doc.add(new Field(TRIGRAM_FIELD, trigramReader, TRIGRAM_FIELD_TYPE));
         }
         return doc;
     }
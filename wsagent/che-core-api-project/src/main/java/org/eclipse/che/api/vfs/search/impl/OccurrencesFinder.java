@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.io.CharStreams;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MultiTermQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Finds positions of matched text in documents found by {@link LuceneSearcher}.
+ * <p>
+ * Offsets of matched terms are read from postings of field "text" which is indexed with offsets, so content of file is not
+ * re-analyzed. Content is read once only to map offsets to line numbers and cut snippets.
+ * <p>
+ * Wildcard and prefix queries are expanded to the terms of index with scoring rewrite since the default constant score rewrite
+ * doesn't expose matched terms. Exact phrases are matched as a whole by positions of their terms, so single occurrence covers
+ * whole phrase.
+ */
+class OccurrencesFinder {
+    static final int DEFAULT_MAX_OCCURRENCES_PER_FILE = 100;
+    static final int MAX_SNIPPET_LENGTH               = 160;
+
+    private final IndexSearcher     luceneSearcher;
+    private final Set<Term>         terms;
+    private final List<PhraseQuery> phrases;
+    private final int               maxOccurrences;
+
+    /**
+     * @param maxOccurrences
+     *         max number of occurrences returned for single file, if not positive then {@link #DEFAULT_MAX_OCCURRENCES_PER_FILE} is used
+     */
+    OccurrencesFinder(IndexSearcher luceneSearcher, Query luceneQuery, int maxOccurrences) throws IOException {
+        this.luceneSearcher = luceneSearcher;
+        this.maxOccurrences = maxOccurrences > 0 ? maxOccurrences : DEFAULT_MAX_OCCURRENCES_PER_FILE;
+        terms = new HashSet<>();
+        phrases = new ArrayList<>();
+        collectTerms(luceneQuery);
+    }
+
+    private void collectTerms(Query query) throws IOException {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTerms(clause.getQuery());
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            addTerm(((TermQuery)query).getTerm());
+        } else if (query instanceof PhraseQuery) {
+            final PhraseQuery phrase = (PhraseQuery)query;
+            final Term[] phraseTerms = phrase.getTerms();
+            if (phraseTerms.length > 0 && "text".equals(phraseTerms[0].field())) {
+                if (phraseTerms.length == 1 || phrase.getSlop() > 0) {
+                    // terms of sloppy phrase may be in any order, highlight them separately
+                    for (Term term : phraseTerms) {
+                        addTerm(term);
+                    }
+                } else {
+                    phrases.add(phrase);
+                }
+            }
+        } else if (query instanceof MultiTermQuery) {
+            final MultiTermQuery multiTermQuery = (MultiTermQuery)query;
+            if ("text".equals(multiTermQuery.getField())) {
+                final MultiTermQuery scoringQuery = (MultiTermQuery)multiTermQuery.clone();
+                scoringQuery.setRewriteMethod(new MultiTermQuery.TopTermsScoringBooleanQueryRewrite(BooleanQuery.getMaxClauseCount()));
+                collectTerms(luceneSearcher.rewrite(scoringQuery));
+            }
+        } else {
+            final Set<Term> allTerms = new HashSet<>();
+            luceneSearcher.createNormalizedWeight(query, false).extractTerms(allTerms);
+            for (Term term : allTerms) {
+                addTerm(term);
+            }
+        }
+    }
+
+    private void addTerm(Term term) {
+        if ("text".equals(term.field())) {
+            terms.add(term);
+        }
+    }
+
+    /**
+     * Finds occurrences of searched text in the document.
+     *
+     * @param docId
+     *         id of document in index
+     * @param file
+     *         file which is represented by document, may be {@code null} if file doesn't exist anymore
+     */
+    List<SearchOccurrence> find(int docId, VirtualFile file) throws IOException, ServerException {
+        if ((terms.isEmpty() && phrases.isEmpty()) || file == null || !file.exists()) {
+            return emptyList();
+        }
+        final List<int[]> offsets = readOffsets(docId);
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        return toOccurrences(readContent(file), offsets);
+    }
+
+    /** Reads content of file with the same charset that is used for indexing. */
+    static String readContent(VirtualFile file) throws IOException, ServerException {
+        try (Reader reader = new InputStreamReader(file.getContent())) {
+            return CharStreams.toString(reader);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private List<int[]> readOffsets(int docId) throws IOException {
+        final List<LeafReaderContext> leaves = luceneSearcher.getIndexReader().leaves();
+        final LeafReaderContext leaf = leaves.get(ReaderUtil.subIndex(docId, leaves));
+        final int leafDocId = docId - leaf.docBase;
+        final List<int[]> offsets = new ArrayList<>();
+        for (Term term : terms) {
+            final PostingsEnum postings = leaf.reader().postings(term, PostingsEnum.OFFSETS);
+            if (postings != null && postings.advance(leafDocId) == leafDocId) {
+                for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                    postings.nextPosition();
+                    if (postings.startOffset() >= 0) {
+                        offsets.add(new int[]{postings.startOffset(), postings.endOffset()});
+                    }
+                }
+            }
+        }
+        for (PhraseQuery phrase : phrases) {
+            readPhraseOffsets(leaf, leafDocId, phrase, offsets);
+        }
+        offsets.sort((a, b) -> Integer.compare(a[0], b[0]));
+        return offsets.size() > maxOccurrences ? offsets.subList(0, maxOccurrences) : offsets;
+    }
+
+    /** Finds positions at which all terms of phrase follow each other and adds offsets that cover whole phrase. */
+    private void readPhraseOffsets(LeafReaderContext leaf, int leafDocId, PhraseQuery phrase, List<int[]> offsets) throws IOException {
+        final Term[] phraseTerms = phrase.getTerms();
+        final int[] phrasePositions = phrase.getPositions();
+        final List<Map<Integer, int[]>> termOffsets = new ArrayList<>(phraseTerms.length);
+        for (Term term : phraseTerms) {
+            final PostingsEnum postings = leaf.reader().postings(term, PostingsEnum.OFFSETS);
+            if (postings == null || postings.advance(leafDocId) != leafDocId) {
+                return;
+            }
+            final Map<Integer, int[]> positionToOffsets = new HashMap<>();
+            for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                final int position = postings.nextPosition();
+                if (postings.startOffset() >= 0) {
+                    positionToOffsets.put(position, new int[]{postings.startOffset(), postings.endOffset()});
+                }
+            }
+            termOffsets.add(positionToOffsets);
+        }
+        for (Map.Entry<Integer, int[]> first : termOffsets.get(0).entrySet()) {
+            final int phraseStart = first.getKey() - phrasePositions[0];
+            int startOffset = first.getValue()[0];
+            int endOffset = first.getValue()[1];
+            boolean matched = true;
+            for (int i = 1; matched && i < phraseTerms.length; i++) {
+                final int[] offset = termOffsets.get(i).get(phraseStart + phrasePositions[i]);
+                if (offset == null) {
+                    matched = false;
+                } else {
+                    startOffset = Math.min(startOffset, offset[0]);
+                    endOffset = Math.max(endOffset, offset[1]);
+                }
+            }
+            if (matched) {
+                offsets.add(new int[]{startOffset, endOffset});
+            }
+        }
+    }
+
+    /**
+     * Maps offsets of matches to lines of content.
+     *
+     * @param offsets
+     *         pairs of start and end offsets of matches sorted by start offset
+     */
+    static List<SearchOccurrence> toOccurrences(String content, List<int[]> offsets) {
+        final List<SearchOccurrence> occurrences = new ArrayList<>(offsets.size());
+        int lineNumber = 1;
+        int lineStart = 0;
+        int position = 0;
+        for (int[] offset : offsets) {
+            final int startOffset = offset[0];
+            if (startOffset >= content.length()) {
+                // content was changed after file was indexed
+                break;
+            }
+            for (; position < startOffset; position++) {
+                if (content.charAt(position) == '\n') {
+                    lineNumber++;
+                    lineStart = position + 1;
+                }
+            }
+            int lineEnd = content.indexOf('\n', startOffset);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            final int endOffset = Math.max(startOffset, Math.min(offset[1], lineEnd));
+            int snippetStart = lineStart;
+            int snippetEnd = lineEnd;
+            if (lineEnd - lineStart > MAX_SNIPPET_LENGTH) {
+                snippetStart = Math.max(lineStart, startOffset - Math.max(0, MAX_SNIPPET_LENGTH - (endOffset - startOffset)) / 2);
+                snippetEnd = Math.min(lineEnd, Math.max(endOffset, snippetStart + MAX_SNIPPET_LENGTH));
+            }
+            occurrences.add(new SearchOccurrence(lineNumber,
+                                                 startOffset - lineStart,
+                                                 endOffset - lineStart,
+                                                 content.substring(snippetStart, snippetEnd),
+                                                 snippetStart - lineStart));
+        }
+        return occurrences;
+    }
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walks file tree with fork-join tasks and adds files to the index of {@link LuceneSearcher} on worker threads of the given pool.
+ * <p>
+ * Every folder is listed by a separate task, its sub-folders are forked as new tasks and its files are split in batches of
+ * {@link #FILE_BATCH_SIZE} which are indexed by the worker that takes the batch. Document is built (content is read and
+ * tokenized) right on the worker thread and handed to the thread-safe {@code IndexWriter}, so at most one document per worker
+ * is in flight and the rest is buffered by the writer itself up to its RAM buffer size.
+ */
+class ParallelTreeIndexer {
+    static final int FILE_BATCH_SIZE             = 64;
+    static final int PROGRESS_NOTIFICATION_FILES = 1000;
+
+    private final LuceneSearcher searcher;
+    private final ForkJoinPool   pool;
+    private final EventService   eventService;
+
+    /**
+     * @param eventService
+     *         service for publishing {@link IndexingProgressEvent}s, may be {@code null} if progress notifications are not needed
+     */
+    ParallelTreeIndexer(LuceneSearcher searcher, ForkJoinPool pool, EventService eventService) {
+        this.searcher = searcher;
+        this.pool = pool;
+        this.eventService = eventService;
+    }
+
+    /**
+     * Indexes all files in the {@code tree} and blocks until indexing is done.
+     *
+     * @return number of indexed files
+     * @throws ServerException
+     *         if any error occurs while listing folders or indexing files
+     */
+    int index(VirtualFile tree) throws ServerException {
+        return index(tree, null);
+    }
+
+    /**
+     * Indexes files in the {@code tree} that aren't indexed yet or were changed since they were indexed and blocks until indexing
+     * is done.
+     *
+     * @param fingerprints
+     *         fingerprints of files that are already in the index, mapped by file path. Fingerprints of all files found in the
+     *         {@code tree} are removed from the map, so once this method returns it contains only files that don't exist anymore.
+     *         May be {@code null}, then all files are indexed.
+     * @return number of processed files
+     * @throws ServerException
+     *         if any error occurs while listing folders or indexing files
+     */
+    int index(VirtualFile tree, ConcurrentMap<String, FileFingerprint> fingerprints) throws ServerException {
+        final Progress progress = new Progress(tree.getPath().toString(), fingerprints);
+        try {
+            pool.invoke(new FolderTask(tree, progress));
+        } catch (IndexingFailure e) {
+            throw e.getCause();
+        } finally {
+            progress.publish(true);
+        }
+        return progress.indexed.get();
+    }
+
+    private class FolderTask extends RecursiveAction {
+        private final VirtualFile folder;
+        private final Progress    progress;
+
+        FolderTask(VirtualFile folder, Progress progress) {
+            this.folder = folder;
+            this.progress = progress;
+        }
+
+        @Override
+        protected void compute() {
+            if (!folder.exists()) {
+                return;
+            }
+            final List<RecursiveAction> tasks = new ArrayList<>();
+            List<VirtualFile> batch = new ArrayList<>(FILE_BATCH_SIZE);
+            try {
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        tasks.add(new FolderTask(child, progress));
+                    } else {
+                        batch.add(child);
+                        if (batch.size() == FILE_BATCH_SIZE) {
+                            tasks.add(new FileBatchTask(batch, progress));
+                            batch = new ArrayList<>(FILE_BATCH_SIZE);
+                        }
+                    }
+                }
+            } catch (ServerException e) {
+                throw new IndexingFailure(e);
+            }
+            if (!batch.isEmpty()) {
+                tasks.add(new FileBatchTask(batch, progress));
+            }
+            invokeAll(tasks);
+        }
+    }
+
+    private class FileBatchTask extends RecursiveAction {
+        private final List<VirtualFile> files;
+        private final Progress          progress;
+
+        FileBatchTask(List<VirtualFile> files, Progress progress) {
+            this.files = files;
+            this.progress = progress;
+            progress.discovered.addAndGet(files.size());
+        }
+
+        @Override
+        protected void compute() {
+            for (VirtualFile file : files) {
+                try {
+                    if (!progress.isUpToDate(file)) {
+                        searcher.addFile(file);
+                    }
+                } catch (ServerException e) {
+                    throw new IndexingFailure(e);
+                }
+                if (progress.indexed.incrementAndGet() % PROGRESS_NOTIFICATION_FILES == 0) {
+                    progress.publish(false);
+                }
+            }
+        }
+    }
+
+    private class Progress {
+        final String        path;
+        final long          startTime;
+        final AtomicInteger discovered;
+        final AtomicInteger indexed;
+
+        final ConcurrentMap<String, FileFingerprint> fingerprints;
+
+        Progress(String path, ConcurrentMap<String, FileFingerprint> fingerprints) {
+            this.path = path;
+            this.fingerprints = fingerprints;
+            this.startTime = System.currentTimeMillis();
+            this.discovered = new AtomicInteger();
+            this.indexed = new AtomicInteger();
+        }
+
+        boolean isUpToDate(VirtualFile file) throws ServerException {
+            if (fingerprints == null) {
+                return false;
+            }
+            final FileFingerprint fingerprint = fingerprints.remove(file.getPath().toString());
+            return fingerprint != null && fingerprint.matches(file);
+        }
+
+        void publish(boolean done) {
+            if (eventService == null) {
+                return;
+            }
+            final int discoveredFiles = discovered.get();
+            final int indexedFiles = indexed.get();
+            final long elapsed = System.currentTimeMillis() - startTime;
+            final long remaining;
+            if (done) {
+                remaining = 0;
+            } else if (indexedFiles == 0) {
+                remaining = -1;
+            } else {
+                remaining = elapsed * Math.max(0, discoveredFiles - indexedFiles) / indexedFiles;
+            }
+            eventService.publish(new IndexingProgressEvent(path, discoveredFiles, indexedFiles, elapsed, remaining, done));
+        }
+    }
+
+    /** Size and modification date of file at the moment when it was indexed. */
+    static class FileFingerprint {
+        final long length;
+        final long lastModificationDate;
+
+        FileFingerprint(long length, long lastModificationDate) {
+            this.length = length;
+            this.lastModificationDate = lastModificationDate;
+        }
+
+        boolean matches(VirtualFile file) throws ServerException {
+            return length == file.getLength() && lastModificationDate == file.getLastModificationDate();
+        }
+    }
+
+    /** Carries checked exception through fork-join tasks. */
+    private static class IndexingFailure extends RuntimeException {
+        IndexingFailure(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.ScoreDoc;
+import org.eclipse.che.api.core.ConflictException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in search result of {@link LuceneSearcher} after which next page starts.
+ * <p>
+ * Cursor remembers the last returned document and version of index reader which found it. While index is not changed next page
+ * is retrieved with {@code IndexSearcher.searchAfter} directly from remembered document. Once index is changed documents ids
+ * are not valid anymore and cursor falls back to skipping {@link #getOffset() offset} documents from the beginning of result.
+ * For substring and regex queries the remembered document is the last checked candidate, next page continues with
+ * candidates after it.
+ */
+class SearchCursor {
+    private static final char SEPARATOR = ':';
+
+    private final long readerVersion;
+    private final int  queryHash;
+    private final int  offset;
+    private final int  doc;
+    private final int  scoreBits;
+
+    SearchCursor(long readerVersion, int queryHash, int offset, ScoreDoc last) {
+        this(readerVersion, queryHash, offset, last.doc, Float.floatToIntBits(last.score));
+    }
+
+    private SearchCursor(long readerVersion, int queryHash, int offset, int doc, int scoreBits) {
+        this.readerVersion = readerVersion;
+        this.queryHash = queryHash;
+        this.offset = offset;
+        this.doc = doc;
+        this.scoreBits = scoreBits;
+    }
+
+    /**
+     * Restores cursor from string created with {@link #encode()}.
+     *
+     * @throws ConflictException
+     *         if string isn't valid cursor, e.g. it is malformed by client
+     */
+    static SearchCursor decode(String cursor) throws ConflictException {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final String[] parts = decoded.split(String.valueOf(SEPARATOR));
+            if (parts.length != 5) {
+                throw new IllegalArgumentException();
+            }
+            return new SearchCursor(Long.parseUnsignedLong(parts[0], 16),
+                                    Integer.parseUnsignedInt(parts[1], 16),
+                                    Integer.parseInt(parts[2]),
+                                    Integer.parseInt(parts[3]),
+                                    Integer.parseUnsignedInt(parts[4], 16));
+        } catch (IllegalArgumentException e) {
+            throw new ConflictException(String.format("Invalid search cursor: %s", cursor));
+        }
+    }
+
+    String encode() {
+        final String cursor = Long.toHexString(readerVersion) + SEPARATOR +
+                              Integer.toHexString(queryHash) + SEPARATOR +
+                              offset + SEPARATOR +
+                              doc + SEPARATOR +
+                              Integer.toHexString(scoreBits);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Number of search results that precede the page which starts at this cursor. */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Tests whether {@link #getLast() last document} may be used for retrieving next page of the query with the reader of given
+     * version.
+     */
+    boolean isValidFor(long readerVersion, int queryHash) {
+        return this.readerVersion == readerVersion && this.queryHash == queryHash;
+    }
+
+    ScoreDoc getLast() {
+        return new ScoreDoc(doc, Float.intBitsToFloat(scoreBits));
+    }
+}
@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds queries over trigram field of {@link LuceneSearcher} index. Such queries select candidate files which may contain
+ * searched substring or match regular expression, candidates must be verified against content of file.
+ * <p>
+ * For regular expression only literals which are required for any match are taken into account. Expression is split into
+ * top-level alternatives, each alternative gives set of literals that all must be present in file. Groups, character classes
+ * and escaped character classes interrupt literals, optional characters are dropped from them.
+ * <p>
+ * Trigrams of literals are produced by analyzer of the index, so they are lower-cased exactly as trigrams of indexed content.
+ */
+class TrigramQueries {
+    static final String TRIGRAM_FIELD = "trigram";
+
+    /** Limits number of clauses in query for single literal, extra trigrams only make filter more precise. */
+    private static final int MAX_TRIGRAMS = 64;
+
+    private TrigramQueries() {
+    }
+
+    /**
+     * Creates query which selects files that might contain {@code substring}. Returns {@code null} if substring is too short
+     * for filtering by trigrams.
+     *
+     * @param analyzer
+     *         analyzer which splits {@link #TRIGRAM_FIELD} of indexed documents into trigrams
+     */
+    static Query substringQuery(String substring, Analyzer analyzer) throws IOException {
+        final Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams(substring, analyzer, trigrams);
+        return trigrams.isEmpty() ? null : allOf(trigrams);
+    }
+
+    /**
+     * Creates query which selects files that might match {@code regex}. Returns {@code null} if regular expression doesn't
+     * contain literals long enough for filtering by trigrams, in this case all files must be checked.
+     *
+     * @param analyzer
+     *         analyzer which splits {@link #TRIGRAM_FIELD} of indexed documents into trigrams
+     */
+    static Query regexQuery(String regex, Analyzer analyzer) throws IOException {
+        final List<String> alternatives = splitAlternatives(regex);
+        final BooleanQuery query = new BooleanQuery();
+        for (String alternative : alternatives) {
+            final Set<String> trigrams = new LinkedHashSet<>();
+            for (String literal : requiredLiterals(alternative)) {
+                addTrigrams(literal, analyzer, trigrams);
+            }
+            if (trigrams.isEmpty()) {
+                return null;
+            }
+            query.add(allOf(trigrams), BooleanClause.Occur.SHOULD);
+        }
+        return alternatives.size() == 1 ? query.clauses().get(0).getQuery() : query;
+    }
+
+    private static Query allOf(Set<String> trigrams) {
+        final BooleanQuery query = new BooleanQuery();
+        for (String trigram : trigrams) {
+            query.add(new TermQuery(new Term(TRIGRAM_FIELD, trigram)), BooleanClause.Occur.MUST);
+        }
+        return query;
+    }
+
+    private static void addTrigrams(String literal, Analyzer analyzer, Set<String> trigrams) throws IOException {
+        try (TokenStream stream = analyzer.tokenStream(TRIGRAM_FIELD, literal)) {
+            final CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (trigrams.size() < MAX_TRIGRAMS && stream.incrementToken()) {
+                trigrams.add(term.toString());
+            }
+            stream.end();
+        }
+    }
+
+    /** Splits regular expression by top-level '|'. */
+    static List<String> splitAlternatives(String regex) {
+        final List<String> alternatives = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    /** Gets literals that must be present in any text that matches regular expression without top-level alternatives. */
+    static List<String> requiredLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        final StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    i = escape(regex, i, current, literals);
+                    break;
+                case '[':
+                    flush(current, literals);
+                    i = skipCharacterClass(regex, i) + 1;
+                    break;
+                case '(':
+                    flush(current, literals);
+                    i = skipGroup(regex, i) + 1;
+                    break;
+                case '?':
+                case '*':
+                    dropLast(current);
+                    flush(current, literals);
+                    i = skipQuantifierModifier(regex, i + 1);
+                    break;
+                case '+':
+                    repeatLast(current, literals);
+                    i = skipQuantifierModifier(regex, i + 1);
+                    break;
+                case '{': {
+                    final int end = regex.indexOf('}', i);
+                    if (end < 0) {
+                        current.append(c);
+                        i++;
+                    } else {
+                        if (regex.substring(i + 1, end).trim().startsWith("0")) {
+                            dropLast(current);
+                            flush(current, literals);
+                        } else {
+                            repeatLast(current, literals);
+                        }
+                        i = skipQuantifierModifier(regex, end + 1);
+                    }
+                    break;
+                }
+                case '.':
+                case '^':
+                case '$':
+                    flush(current, literals);
+                    i++;
+                    break;
+                default:
+                    current.append(c);
+                    i++;
+            }
+        }
+        flush(current, literals);
+        return literals;
+    }
+
+    /**
+     * Handles escape sequence which starts at {@code start}, returns position after it. Escaped characters are added to
+     * current literal, character classes, back references, boundaries and other escapes which don't stand for exactly one
+     * known character interrupt literal.
+     */
+    private static int escape(String regex, int start, StringBuilder current, List<String> literals) {
+        final int length = regex.length();
+        if (start + 1 >= length) {
+            return length;
+        }
+        final char c = regex.charAt(start + 1);
+        final int i = start + 2;
+        switch (c) {
+            case 'Q': {
+                int end = regex.indexOf("\\E", i);
+                if (end < 0) {
+                    end = length;
+                }
+                current.append(regex, i, end);
+                return Math.min(end + 2, length);
+            }
+            case 'x':
+                if (i < length && regex.charAt(i) == '{') {
+                    final int end = regex.indexOf('}', i);
+                    if (end < 0) {
+                        flush(current, literals);
+                        return length;
+                    }
+                    appendCharacter(regex.substring(i + 1, end), 16, current, literals);
+                    return end + 1;
+                }
+                return appendCharacter(regex, i, 2, 16, current, literals);
+            case 'u':
+                return appendCharacter(regex, i, 4, 16, current, literals);
+            case '0': {
+                // \0n, \0nn or \0mnn where m is not greater than 3
+                int end = i;
+                while (end < length && end - i < 3 && regex.charAt(end) >= '0' && regex.charAt(end) <= '7') {
+                    end++;
+                }
+                if (end - i == 3 && regex.charAt(i) > '3') {
+                    end--;
+                }
+                return appendCharacter(regex, i, end - i, 8, current, literals);
+            }
+            case 'c':
+                if (i < length) {
+                    current.append((char)(regex.charAt(i) ^ 64));
+                    return i + 1;
+                }
+                flush(current, literals);
+                return length;
+            case 'p':
+            case 'P':
+                flush(current, literals);
+                if (i < length && regex.charAt(i) == '{') {
+                    final int end = regex.indexOf('}', i);
+                    return end < 0 ? length : end + 1;
+                }
+                return Math.min(i + 1, length);
+            case 'k': {
+                flush(current, literals);
+                final int end = i < length && regex.charAt(i) == '<' ? regex.indexOf('>', i) : -1;
+                return end < 0 ? i : end + 1;
+            }
+            default:
+                if (c >= '1' && c <= '9') {
+                    // back reference, all following digits may belong to group number
+                    flush(current, literals);
+                    int end = i;
+                    while (end < length && Character.isDigit(regex.charAt(end))) {
+                        end++;
+                    }
+                    return end;
+                }
+                if (Character.isLetter(c)) {
+                    // character class, boundary or escaped control character
+                    flush(current, literals);
+                } else {
+                    current.append(c);
+                }
+                return i;
+        }
+    }
+
+    /** Appends character with code of {@code digits} digits which start at {@code start}, returns position after them. */
+    private static int appendCharacter(String regex, int start, int digits, int radix, StringBuilder current, List<String> literals) {
+        final int end = Math.min(start + digits, regex.length());
+        appendCharacter(regex.substring(start, end), radix, current, literals);
+        return end;
+    }
+
+    private static void appendCharacter(String code, int radix, StringBuilder current, List<String> literals) {
+        try {
+            final int codePoint = Integer.parseInt(code, radix);
+            if (Character.isBmpCodePoint(codePoint)) {
+                current.append((char)codePoint);
+                return;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        // supplementary character may be quantified as one character, while here it takes two chars
+        flush(current, literals);
+    }
+
+    private static void flush(StringBuilder current, List<String> literals) {
+        if (current.length() > 0) {
+            literals.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static void dropLast(StringBuilder current) {
+        if (current.length() > 0) {
+            current.setLength(current.length() - 1);
+        }
+    }
+
+    /** Last character may be repeated, so literal is interrupted after it but next literal starts with the same character. */
+    private static void repeatLast(StringBuilder current, List<String> literals) {
+        if (current.length() > 0) {
+            final char last = current.charAt(current.length() - 1);
+            flush(current, literals);
+            current.append(last);
+        }
+    }
+
+    private static int skipQuantifierModifier(String regex, int i) {
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            return i + 1;
+        }
+        return i;
+    }
+
+    /** Returns position of ']' that closes character class which starts at {@code start}. */
+    private static int skipCharacterClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        int depth = 1;
+        for (; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                if (--depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return regex.length();
+    }
+
+    /** Returns position of ')' that closes group which starts at {@code start}. */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    return i;
+                }
+            }
+        }
+        return regex.length();
+    }
+}
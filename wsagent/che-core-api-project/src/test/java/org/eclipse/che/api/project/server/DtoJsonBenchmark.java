@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
+import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.api.machine.shared.dto.LimitsDto;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
+import org.eclipse.che.api.machine.shared.dto.ServerConfDto;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.RecipeDto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
+import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Compares streaming JSON codecs of generated DTOs, which are used by {@code CheJsonProvider}, with serialization through
+ * intermediate gson {@code JsonElement} tree and string, as DTOs were serialized before. Entities are the typical REST payloads:
+ * workspace, stack and list of project items. Run with {@link #main(String[])} from IDE or from command line with test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoJsonBenchmark {
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    @Param({"workspace", "stack", "itemReferences"})
+    public String entity;
+
+    private Object      dto;
+    private Class<?>    dtoInterface;
+    private byte[]      json;
+    private MethodHandle fromJsonElement;
+
+    @Setup
+    public void setUp() throws Throwable {
+        switch (entity) {
+            case "workspace":
+                dto = createWorkspace();
+                dtoInterface = WorkspaceDto.class;
+                break;
+            case "stack":
+                dto = createStack();
+                dtoInterface = StackDto.class;
+                break;
+            default:
+                dto = createItemReferences(200);
+                dtoInterface = ItemReference.class;
+        }
+        final Class<?> implClass = DtoFactory.getInstance().createDto(dtoInterface).getClass();
+        fromJsonElement = MethodHandles.publicLookup()
+                                       .findStatic(implClass, "fromJsonElement", MethodType.methodType(implClass, JsonElement.class));
+        json = writeStreaming().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeStreaming() throws IOException {
+        final ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(entityStream, StandardCharsets.UTF_8))) {
+            DtoFactory.getInstance().toJson(dto, writer);
+        }
+        return entityStream;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream writeThroughTree() throws IOException {
+        final JsonElement tree;
+        if (dto instanceof List) {
+            final JsonArray array = new JsonArray();
+            for (Object element : (List<?>)dto) {
+                array.add(DtoFactory.getInstance().toJsonElement(element));
+            }
+            tree = array;
+        } else {
+            tree = DtoFactory.getInstance().toJsonElement(dto);
+        }
+        final ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(entityStream, StandardCharsets.UTF_8)) {
+            writer.write(GSON.toJson(tree));
+        }
+        return entityStream;
+    }
+
+    @Benchmark
+    public Object readStreaming() throws IOException {
+        final InputStreamReader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+        if (dto instanceof List) {
+            return DtoFactory.getInstance().createListDtoFromJson(reader, dtoInterface);
+        }
+        return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+    }
+
+    @Benchmark
+    public Object readThroughTree() throws Throwable {
+        final JsonElement tree = new JsonParser().parse(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+        if (tree.isJsonArray()) {
+            final List<Object> result = new ArrayList<>();
+            for (JsonElement element : tree.getAsJsonArray()) {
+                result.add(fromJsonElement.invoke(element));
+            }
+            return result;
+        }
+        return fromJsonElement.invoke(tree);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoJsonBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+
+    private static WorkspaceDto createWorkspace() {
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("created", "1469522325372");
+        attributes.put("stackId", "java-default");
+        return newDto(WorkspaceDto.class).withId("workspacevi4yyxg1uhpv5yzk")
+                                         .withNamespace("che")
+                                         .withStatus(WorkspaceStatus.RUNNING)
+                                         .withAttributes(attributes)
+                                         .withConfig(createWorkspaceConfig())
+                                         .withLinks(createLinks("/workspace/workspacevi4yyxg1uhpv5yzk"));
+    }
+
+    private static WorkspaceConfigDto createWorkspaceConfig() {
+        final List<ProjectConfigDto> projects = new ArrayList<>();
+        final List<CommandDto> commands = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Map<String, List<String>> projectAttributes = new HashMap<>();
+            projectAttributes.put("maven.groupId", singletonList("org.eclipse.che"));
+            projectAttributes.put("maven.artifactId", singletonList("project-" + i));
+            projectAttributes.put("maven.source.folder", singletonList("src/main/java"));
+            projectAttributes.put("language", singletonList("java"));
+            projects.add(newDto(ProjectConfigDto.class).withName("project-" + i)
+                                                       .withPath("/project-" + i)
+                                                       .withType("maven")
+                                                       .withMixins(asList("git", "pullrequest"))
+                                                       .withAttributes(projectAttributes)
+                                                       .withSource(newDto(SourceStorageDto.class)
+                                                                           .withType("git")
+                                                                           .withLocation("https://github.com/che-samples/project-" + i)));
+            final Map<String, String> commandAttributes = new HashMap<>();
+            commandAttributes.put("previewUrl", "http://${server.port.8080}/project-" + i);
+            commands.add(newDto(CommandDto.class).withName("project-" + i + ": build and run")
+                                                 .withType("mvn")
+                                                 .withCommandLine("mvn clean install -f ${current.project.path} && " +
+                                                                  "cp target/*.war $TOMCAT_HOME/webapps/ROOT.war")
+                                                 .withAttributes(commandAttributes));
+        }
+        final MachineConfigDto machine = newDto(MachineConfigDto.class)
+                .withName("dev-machine")
+                .withDev(true)
+                .withType("docker")
+                .withSource(newDto(MachineSourceDto.class).withType("dockerfile").withLocation("http://localhost/api/recipe/script"))
+                .withLimits(newDto(LimitsDto.class).withRam(2048))
+                .withServers(asList(newDto(ServerConfDto.class).withRef("tomcat8").withPort("8080/tcp").withProtocol("http"),
+                                    newDto(ServerConfDto.class).withRef("debug").withPort("8000/tcp").withProtocol("http")));
+        final EnvironmentDto environment = newDto(EnvironmentDto.class)
+                .withName("default")
+                .withRecipe(newDto(RecipeDto.class).withType("dockerfile").withScript("FROM codenvy/ubuntu_jdk8"))
+                .withMachineConfigs(singletonList(machine));
+        return newDto(WorkspaceConfigDto.class).withName("java-workspace")
+                                               .withDefaultEnv("default")
+                                               .withDescription("Java workspace")
+                                               .withEnvironments(singletonList(environment))
+                                               .withProjects(projects)
+                                               .withCommands(commands);
+    }
+
+    private static StackDto createStack() {
+        return newDto(StackDto.class).withId("java-default")
+                                     .withName("Java")
+                                     .withDescription("Default Java Stack with JDK 8, Maven and Tomcat.")
+                                     .withScope("general")
+                                     .withCreator("ide")
+                                     .withTags(asList("Ubuntu", "Git", "Java", "JDK", "Maven", "Tomcat"))
+                                     .withSource(newDto(StackSourceDto.class).withType("image").withOrigin("codenvy/ubuntu_jdk8"))
+                                     .withComponents(asList(newDto(StackComponentDto.class).withName("JDK").withVersion("1.8.0_45"),
+                                                            newDto(StackComponentDto.class).withName("Maven").withVersion("3.2.2"),
+                                                            newDto(StackComponentDto.class).withName("Tomcat").withVersion("8.0.24")))
+                                     .withWorkspaceConfig(createWorkspaceConfig())
+                                     .withLinks(createLinks("/stack/java-default"));
+    }
+
+    private static List<ItemReference> createItemReferences(int count) {
+        final List<ItemReference> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final String path = "/project/src/main/java/org/eclipse/che/sample/File" + i + ".java";
+            items.add(newDto(ItemReference.class).withName("File" + i + ".java")
+                                                 .withType("file")
+                                                 .withProject("/project")
+                                                 .withPath(path)
+                                                 .withModified(1469522325372L + i)
+                                                 .withContentLength(1024 + i)
+                                                 .withLinks(createLinks("/project/file" + path)));
+        }
+        return items;
+    }
+
+    private static List<Link> createLinks(String path) {
+        final String href = "http://localhost:8080/api" + path;
+        return asList(newDto(Link.class).withRel("self").withMethod("GET").withHref(href).withProduces("application/json"),
+                      newDto(Link.class).withRel("update").withMethod("PUT").withHref(href)
+                                        .withConsumes("application/json").withProduces("application/json"),
+                      newDto(Link.class).withRel("delete").withMethod("DELETE").withHref(href)
+                                        .withParameters(singletonList(newDto(LinkParameter.class).withName("force")
+                                                                                                 .withDefaultValue("false"))));
+    }
+}
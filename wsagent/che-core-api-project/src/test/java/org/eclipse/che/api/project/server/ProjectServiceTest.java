@@ -37,6 +37,8 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.spi.UserDao;
@@ -76,6 +78,7 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -101,6 +104,7 @@ import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import static java.util.Collections.singletonList;
@@ -118,6 +122,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 
 /**
@@ -1438,11 +1443,20 @@ public class ProjectServiceTest {
     public void testExportZip() throws Exception {
         RegisteredProject myProject = pm.getProject("my_project");
         myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
         ContainerResponse response = launcher.service(GET,
                                                       "http://localhost:8080/api/project/export/my_project",
-                                                      "http://localhost:8080/api", null, null, null);
+                                                      "http://localhost:8080/api", null, null, writer, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         assertEquals(response.getContentType().toString(), ExtMediaType.APPLICATION_ZIP);
+        Set<String> entries = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(writer.getBody()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        assertTrue(entries.contains("a/b/test.txt"));
     }
 
     @Test
@@ -1464,6 +1478,32 @@ public class ProjectServiceTest {
         Assert.assertTrue(names.contains("test.txt"));
     }
 
+    @Test
+    public void testGetChildrenNotModified() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFile("test.txt", "test".getBytes());
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/children/my_project/a",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        Object entityTag = response.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        assertNotNull(entityTag);
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.IF_NONE_MATCH, singletonList(entityTag.toString()));
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/children/my_project/a",
+                                    "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 304);
+
+        a.createFile("test2.txt", "test".getBytes());
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/children/my_project/a",
+                                    "http://localhost:8080/api", headers, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testGetItem() throws Exception {
@@ -1684,6 +1724,64 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchOccurrences() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "first line\nsecond searchhit line".getBytes());
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-occurrences/my_project?text=searchhit",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<SearchResultDto> result = (List<SearchResultDto>)response.getEntity();
+        assertEquals(result.size(), 1);
+        assertEquals(result.get(0).getItemReference().getPath(), "/my_project/x/y/__test.txt");
+        List<SearchOccurrenceDto> occurrences = result.get(0).getSearchOccurrences();
+        assertEquals(occurrences.size(), 1);
+        assertEquals(occurrences.get(0).getLineNumber(), 2);
+        assertEquals(occurrences.get(0).getStartColumn(), 7);
+        assertEquals(occurrences.get(0).getEndColumn(), 16);
+        assertEquals(occurrences.get(0).getSnippet(), "second searchhit line");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchOccurrencesWithPagesByCursor() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "searchhit".getBytes());
+        myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "searchhit".getBytes());
+        myProject.getBaseFolder().createFolder("c").createFile("_test", "searchhit".getBytes());
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-occurrences/my_project?text=searchhit&maxItems=1",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<SearchResultDto> firstPage = (List<SearchResultDto>)response.getEntity();
+        assertEquals(firstPage.size(), 1);
+        String cursor = (String)response.getHttpHeaders().getFirst(ProjectService.NEXT_PAGE_CURSOR_HEADER);
+        assertNotNull(cursor);
+
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/search-occurrences/my_project?text=searchhit&cursor=" + cursor,
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<SearchResultDto> lastPage = (List<SearchResultDto>)response.getEntity();
+        assertEquals(lastPage.size(), 2);
+        assertFalse(lastPage.stream()
+                            .map(item -> item.getItemReference().getPath())
+                            .anyMatch(firstPage.get(0).getItemReference().getPath()::equals));
+    }
+
+    @Test
+    public void testSearchOccurrencesRejectsMalformedCursor() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-occurrences/my_project?text=searchhit&cursor=xyz",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 409, "Error: " + response.getEntity());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchParticularSequenceWords() throws Exception {
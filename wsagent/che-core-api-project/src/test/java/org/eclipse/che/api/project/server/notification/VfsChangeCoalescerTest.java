@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.notification;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class VfsChangeCoalescerTest {
+    private VfsChangeCoalescer coalescer;
+
+    @BeforeMethod
+    public void setUp() {
+        coalescer = new VfsChangeCoalescer(5);
+    }
+
+    @Test
+    public void mergesChangesOfTheSameItem() {
+        coalescer.add("/p/created", CREATED);
+        coalescer.add("/p/created", MODIFIED);
+        coalescer.add("/p/modified", MODIFIED);
+        coalescer.add("/p/modified", MODIFIED);
+        coalescer.add("/p/removed", MODIFIED);
+        coalescer.add("/p/removed", DELETED);
+        coalescer.add("/p/replaced", DELETED);
+        coalescer.add("/p/replaced", CREATED);
+        coalescer.add("/p/temporary", CREATED);
+        coalescer.add("/p/temporary", DELETED);
+
+        VfsChangeCoalescer.Changes changes = coalescer.drain();
+
+        assertEquals(changes.created, singletonList("/p/created"));
+        assertEquals(changes.modified, asList("/p/modified", "/p/replaced"));
+        assertEquals(changes.deleted, singletonList("/p/removed"));
+        assertTrue(changes.changedSubtrees.isEmpty());
+    }
+
+    @Test
+    public void reportsReCreatedFolderAsDeletedAndCreated() {
+        coalescer.add("/p/folder/file", MODIFIED);
+        coalescer.add("/p/folder", DELETED, true);
+        coalescer.add("/p/folder", CREATED, true);
+        coalescer.add("/p/folder/other", CREATED);
+        coalescer.add("/p/removed", DELETED, true);
+        coalescer.add("/p/removed", CREATED, true);
+        coalescer.add("/p/removed", DELETED, true);
+
+        VfsChangeCoalescer.Changes changes = coalescer.drain();
+
+        assertEquals(changes.deleted, asList("/p/folder", "/p/removed"));
+        assertEquals(changes.created, singletonList("/p/folder"));
+        assertEquals(changes.modified, emptyList());
+    }
+
+    @Test
+    public void ignoresChangesInsideCreatedOrDeletedFolder() {
+        coalescer.add("/p/created", CREATED);
+        coalescer.add("/p/created/file", CREATED);
+        coalescer.add("/p/deleted/file", MODIFIED);
+        coalescer.add("/p/deleted", DELETED);
+        coalescer.add("/p/deleted/other", CREATED);
+        coalescer.add("/p/deletedSibling", MODIFIED);
+
+        VfsChangeCoalescer.Changes changes = coalescer.drain();
+
+        assertEquals(changes.created, singletonList("/p/created"));
+        assertEquals(changes.modified, singletonList("/p/deletedSibling"));
+        assertEquals(changes.deleted, singletonList("/p/deleted"));
+    }
+
+    @Test
+    public void replacesManyChangesInsideFolderWithSubtreeChange() {
+        coalescer.add("/p/a/b/1", CREATED);
+        coalescer.add("/p/a/b/2", MODIFIED);
+        coalescer.add("/p/a/b/3", DELETED);
+        coalescer.add("/p/a/b/4", CREATED);
+        coalescer.add("/p/a/b/5", CREATED);
+        coalescer.add("/p/c/1", MODIFIED);
+
+        VfsChangeCoalescer.Changes changes = coalescer.drain();
+
+        assertEquals(changes.changedSubtrees, singletonList("/p"));
+        assertEquals(changes.created, emptyList());
+        assertEquals(changes.modified, emptyList());
+        assertEquals(changes.deleted, emptyList());
+    }
+
+    @Test
+    public void startsCollectingNewChangesAfterDrain() {
+        coalescer.add("/p/file", CREATED);
+        coalescer.drain();
+
+        assertTrue(coalescer.isEmpty());
+        coalescer.add("/p/file", DELETED);
+
+        VfsChangeCoalescer.Changes changes = coalescer.drain();
+        assertEquals(changes.deleted, singletonList("/p/file"));
+        assertEquals(changes.created, emptyList());
+    }
+}
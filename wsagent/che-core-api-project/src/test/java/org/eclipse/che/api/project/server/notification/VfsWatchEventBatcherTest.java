@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.notification;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.project.shared.dto.event.VfsWatchEventBatch;
+import org.eclipse.che.api.vfs.impl.file.event.LoEvent;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class VfsWatchEventBatcherTest {
+    private EventService             eventService;
+    private VfsWatchEventBatcher     batcher;
+    private List<VfsWatchEventBatch> batches;
+
+    @BeforeMethod
+    public void setUp() {
+        eventService = new EventService();
+        batches = new CopyOnWriteArrayList<>();
+        eventService.subscribe(new EventSubscriber<VfsWatchEventBatch>() {
+            @Override
+            public void onEvent(VfsWatchEventBatch event) {
+                batches.add(event);
+            }
+        });
+        batcher = new VfsWatchEventBatcher(eventService);
+        batcher.setFlushDelayMillis(100);
+        batcher.setMaxBatchSize(100);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        batcher.unsubscribe();
+    }
+
+    @Test
+    public void sendsEventsPublishedDuringFlushDelayInOneBatch() throws Exception {
+        batcher.subscribe();
+
+        eventService.publish(event("/p/a.txt", CREATED, LoEvent.ItemType.FILE));
+        eventService.publish(event("/p/a.txt", MODIFIED, LoEvent.ItemType.FILE));
+        eventService.publish(event("/p/b.txt", MODIFIED, LoEvent.ItemType.FILE));
+        eventService.publish(event("/p/c", DELETED, LoEvent.ItemType.DIR));
+
+        assertTrue(batches.isEmpty());
+        waitForBatches(1);
+
+        VfsWatchEventBatch batch = batches.get(0);
+        assertEquals(batch.getCreated(), singletonList("/p/a.txt"));
+        assertEquals(batch.getModified(), singletonList("/p/b.txt"));
+        assertEquals(batch.getDeleted(), singletonList("/p/c"));
+        assertEquals(batch.getChangedSubtrees(), emptyList());
+    }
+
+    @Test
+    public void sendsBatchImmediatelyWhenItIsFull() throws Exception {
+        batcher.setMaxBatchSize(2);
+        batcher.setFlushDelayMillis(60000);
+        batcher.subscribe();
+
+        eventService.publish(event("/p/a.txt", MODIFIED, LoEvent.ItemType.FILE));
+        eventService.publish(event("/p/b.txt", MODIFIED, LoEvent.ItemType.FILE));
+
+        waitForBatches(1);
+        assertEquals(batches.get(0).getModified(), asList("/p/a.txt", "/p/b.txt"));
+    }
+
+    @Test
+    public void sendsReCreatedFolderAsDeletedAndCreated() throws Exception {
+        batcher.subscribe();
+
+        eventService.publish(event("/p/folder", DELETED, LoEvent.ItemType.DIR));
+        eventService.publish(event("/p/folder", CREATED, LoEvent.ItemType.DIR));
+        batcher.flush();
+
+        assertEquals(batches.size(), 1);
+        assertEquals(batches.get(0).getDeleted(), singletonList("/p/folder"));
+        assertEquals(batches.get(0).getCreated(), singletonList("/p/folder"));
+    }
+
+    private static LoEvent event(String path, FileWatcherEventType type, LoEvent.ItemType itemType) {
+        return LoEvent.newInstance().withPath(path).withEventType(type).withItemType(itemType).withTime(System.currentTimeMillis());
+    }
+
+    private void waitForBatches(int expected) throws InterruptedException {
+        for (int i = 0; i < 100 && batches.size() < expected; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(batches.size(), expected);
+    }
+}
@@ -27,6 +27,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
@@ -45,6 +47,27 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void countsHashSumsOfChangedFilesOnly() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileBA = mockFile("/a/b/file", "file2".getBytes());
+        VirtualFile folderB = mockFolder("/a/b", fileBA);
+        VirtualFile folderA = mockFolder("/a", folderB, fileAB);
+        when(fileAB.getLength()).thenReturn(5L);
+        when(fileAB.getLastModificationDate()).thenReturn(1000L);
+        HashSumsCache cache = mock(HashSumsCache.class);
+        when(cache.get(Path.of("/a/file"), 5L, 1000L)).thenReturn("cached");
+        Set<Pair<String, String>> expected = newHashSet(Pair.of("cached", "file"),
+                                                        Pair.of(countMd5Sum("file2".getBytes()), "b/file"));
+
+        Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), cache).countHashSums());
+
+        assertEquals(expected, hashSums);
+        verify(fileAB, never()).getContent();
+        verify(cache).put(Path.of("/a/b/file"), 0L, 0L, countMd5Sum("file2".getBytes()));
+        verify(cache).counted(Path.of("/a"), newHashSet(Path.of("/a/file"), Path.of("/a/b/file")));
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares contention of {@link PathLockFactory} with implementation which guards all paths with one monitor, as
+ * {@code PathLockFactory} did before. Every thread locks own file in the same project, all threads also read one shared
+ * file. Run with {@link #main(String[])} from IDE or from command line with test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class PathLockFactoryBenchmark {
+    private static final int  MAX_THREADS = 1024;
+    private static final Path SHARED_FILE = Path.of("/project/pom.xml");
+
+    @Param({"hierarchical", "monitor"})
+    public String implementation;
+
+    private Locks locks;
+
+    @Setup
+    public void setUp() {
+        locks = "monitor".equals(implementation) ? new MonitorLocks(MAX_THREADS) : new HierarchicalLocks(MAX_THREADS);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadFile {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        final Path path = Path.of("/project/src/main/java/File" + COUNTER.getAndIncrement() + ".java");
+    }
+
+    @Benchmark
+    public void exclusiveLockOfDifferentFiles(ThreadFile file) {
+        locks.lock(file.path, true);
+        locks.unlock(file.path, true);
+    }
+
+    @Benchmark
+    public void sharedLockOfSameFile() {
+        locks.lock(SHARED_FILE, false);
+        locks.unlock(SHARED_FILE, false);
+    }
+
+    @Benchmark
+    public void readSharedAndWriteOwnFile(ThreadFile file) {
+        locks.lock(SHARED_FILE, false);
+        try {
+            locks.lock(file.path, true);
+            locks.unlock(file.path, true);
+        } finally {
+            locks.unlock(SHARED_FILE, false);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PathLockFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private interface Locks {
+        void lock(Path path, boolean exclusive);
+
+        void unlock(Path path, boolean exclusive);
+    }
+
+    private static class HierarchicalLocks implements Locks {
+        final PathLockFactory factory;
+
+        HierarchicalLocks(int maxThreads) {
+            factory = new PathLockFactory(maxThreads);
+        }
+
+        @Override
+        public void lock(Path path, boolean exclusive) {
+            factory.getLock(path, exclusive).acquire();
+        }
+
+        @Override
+        public void unlock(Path path, boolean exclusive) {
+            factory.getLock(path, exclusive).release();
+        }
+    }
+
+    /** Lock table scanned under one monitor, copy of the previous implementation of {@link PathLockFactory}. */
+    private static class MonitorLocks implements Locks {
+        final int  maxThreads;
+        final Node tail = new Node(null, 0, null);
+
+        MonitorLocks(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        @Override
+        public synchronized void lock(Path path, boolean exclusive) {
+            final int permits = exclusive ? maxThreads : 1;
+            while (!tryAcquire(path, permits)) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    notifyAll();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void unlock(Path path, boolean exclusive) {
+            final int permits = exclusive ? maxThreads : 1;
+            Node node = tail;
+            while (node != null) {
+                Node prev = node.prev;
+                if (prev == null) {
+                    break;
+                }
+                if (prev.path.equals(path)) {
+                    if (prev.threadDeep == 1) {
+                        prev.permits += permits;
+                        if (prev.permits >= maxThreads) {
+                            node.prev = prev.prev;
+                            prev.prev = null;
+                        }
+                    } else {
+                        --prev.threadDeep;
+                    }
+                }
+                node = node.prev;
+            }
+            notifyAll();
+        }
+
+        private boolean tryAcquire(Path path, int permits) {
+            Node node = tail.prev;
+            final long current = Thread.currentThread().getId();
+            while (node != null) {
+                if (node.path.equals(path)) {
+                    if (node.threadId == current) {
+                        ++node.threadDeep;
+                        return true;
+                    }
+                    if (node.permits > permits) {
+                        node.permits -= permits;
+                        return true;
+                    }
+                    return false;
+                } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
+                    if (node.threadId != current) {
+                        return false;
+                    }
+                }
+                node = node.prev;
+            }
+            tail.prev = new Node(path, maxThreads - permits, tail.prev);
+            return true;
+        }
+
+        private static class Node {
+            final Path path;
+            final long threadId = Thread.currentThread().getId();
+            int  permits;
+            int  threadDeep;
+            Node prev;
+
+            Node(Path path, int permits, Node prev) {
+                this.path = path;
+                this.permits = permits;
+                this.prev = prev;
+                threadDeep = 1;
+            }
+        }
+    }
+}
@@ -236,4 +236,75 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testSiblingExclusiveLocks() throws Exception {
+        final Path sibling = path.getParent().newPath("d");
+        final AtomicBoolean acquired = new AtomicBoolean(false);
+        final CountDownLatch waiter = new CountDownLatch(1);
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+        try {
+            Thread t = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        // Exclusive lock of sibling does not lock path.
+                        pathLockFactory.getLock(sibling, true).acquire(1000).release();
+                        acquired.set(true);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            };
+            t.start();
+            waiter.await();
+        } finally {
+            lock.release();
+        }
+        assertTrue(acquired.get());
+        assertEquals(0, pathLockFactory.getLockedPathsCount());
+    }
+
+    public void testChildLockPreventsExclusiveLockOfParent() throws Exception {
+        final AtomicBoolean timedOut = new AtomicBoolean(false);
+        final CountDownLatch waiter = new CountDownLatch(1);
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+        try {
+            Thread t = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100);
+                    } catch (RuntimeException e) {
+                        timedOut.set(true);
+                    } finally {
+                        waiter.countDown();
+                    }
+                }
+            };
+            t.start();
+            waiter.await();
+            // Exclusive lock of parent is not granted while other thread keeps lock of child.
+            assertTrue(timedOut.get());
+        } finally {
+            lock.release();
+        }
+        assertEquals(0, pathLockFactory.getLockedPathsCount());
+    }
+
+    public void testLockParentInSameThread() throws Exception {
+        PathLockFactory.PathLock childLock = pathLockFactory.getLock(path, true).acquire();
+        PathLockFactory.PathLock parentLock = pathLockFactory.getLock(path.getParent(), true).acquire(100);
+        parentLock.release();
+        childLock.release();
+        assertEquals(0, pathLockFactory.getLockedPathsCount());
+    }
+
+    public void testReleaseLockNotHeldByCurrentThread() throws Exception {
+        try {
+            pathLockFactory.getLock(path, true).release();
+            fail();
+        } catch (IllegalMonitorStateException e) {
+            // OK
+        }
+    }
 }
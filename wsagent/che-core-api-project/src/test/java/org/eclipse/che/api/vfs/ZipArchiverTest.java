@@ -40,6 +40,7 @@ import java.util.zip.ZipOutputStream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -105,6 +106,40 @@ public class ZipArchiverTest {
         assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void compressesLargeFileInParallel() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < ZipArchiver.DEFLATE_CHUNK_SIZE * 3 + 100; i++) {
+            content.append("line ").append(i % 1000).append(' ').append(TEST_CONTENT).append('\n');
+        }
+        folder.createFile("large.txt", content.toString());
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder, ZipArchiver.DEFLATE_CHUNK_SIZE).compress(compressedFolder);
+
+        assertTrue(compressedFolder.size() < content.length() / 4);
+        Map<String, String> entries = newHashMap();
+        entries.put("large.txt", content.toString());
+        assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+    }
+
+    @Test
+    public void storesAlreadyCompressedFilesWithoutCompression() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("arc");
+        byte[] content = new byte[64 * 1024];
+        folder.createFile("image.png", content);
+        folder.createFile("text.txt", content);
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+        new ZipArchiver(folder).compress(compressedFolder);
+
+        assertTrue(compressedFolder.size() > content.length);
+        assertTrue(compressedFolder.size() < content.length * 2);
+        assertEquals(readArchiveEntries(new ByteArrayInputStream(compressedFolder.toByteArray())).keySet(),
+                     newHashSet("image.png", "text.txt"));
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestZipArchive();
@@ -19,11 +19,15 @@ import org.mockito.ArgumentCaptor;
 
 import java.io.File;
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.LongStream;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
@@ -33,6 +37,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -133,6 +138,101 @@ public class FileTreeWatcherTest {
         assertEquals(newHashSet(directory, file), newHashSet(createdEvents.getAllValues()));
     }
 
+    @Test
+    public void startsWatchingDirectoriesNestedInNewlyCreatedDirectory() throws Exception {
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setEventProcessingThreads(2);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+
+        String directory = fileWatcherTestTree.createDirectory("");
+        String nestedDirectory = fileWatcherTestTree.createDirectory(directory);
+
+        Thread.sleep(5000);
+
+        String file = fileWatcherTestTree.createFile(nestedDirectory);
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(3)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertEquals(newHashSet(directory, nestedDirectory, file), newHashSet(createdEvents.getAllValues()));
+        assertEquals(3, fileWatcher.getMetrics().getWatchCount());
+        assertTrue(LongStream.of(fileWatcher.getMetrics().getLatencyHistogram()).sum() > 0);
+    }
+
+    @Test
+    public void startsWatchingManyNewDirectoriesWhenProcessorQueueIsFull() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setEventProcessingThreads(2);
+        fileWatcher.setEventProcessorQueueSize(2);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+
+        Set<String> created = newHashSet();
+        for (int i = 0; i < 20; i++) {
+            created.add(fileWatcherTestTree.createDirectory("watched"));
+        }
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(20)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertEquals(created, newHashSet(createdEvents.getAllValues()));
+        assertEquals(22, fileWatcher.getMetrics().getWatchCount());
+    }
+
+    @Test
+    public void processesEventsOfDifferentDirectoriesOfTheSameProjectInParallel() throws Exception {
+        fileWatcherTestTree.createDirectory("", "project");
+        // pick two directories of the project which are processed by different threads
+        final Path projectPath = testDirectory.getCanonicalFile().toPath().resolve("project");
+        String blocked = null;
+        String releasing = null;
+        for (int i = 0; blocked == null || releasing == null; i++) {
+            final String name = "dir" + i;
+            if ((projectPath.resolve(name).hashCode() & Integer.MAX_VALUE) % 2 == 0) {
+                blocked = blocked == null ? name : blocked;
+            } else {
+                releasing = releasing == null ? name : releasing;
+            }
+        }
+        final String blockedDirectory = fileWatcherTestTree.createDirectory("project", blocked);
+        final String releasingDirectory = fileWatcherTestTree.createDirectory("project", releasing);
+
+        final CountDownLatch released = new CountDownLatch(1);
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        doAnswer(invocation -> {
+            final String subPath = (String)invocation.getArguments()[2];
+            if (subPath.startsWith(blockedDirectory + '/')) {
+                released.await(10, SECONDS);
+            } else if (subPath.startsWith(releasingDirectory + '/')) {
+                released.countDown();
+            }
+            return null;
+        }).when(notificationHandler).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setEventProcessingThreads(2);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+
+        fileWatcherTestTree.createFile(blockedDirectory);
+        fileWatcherTestTree.createFile(releasingDirectory);
+
+        // event of the second directory must not wait until the first one is processed
+        assertTrue(released.await(5, SECONDS));
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+    }
+
     @Test
     public void watchesUpdate() throws Exception {
         fileWatcherTestTree.createDirectory("", "watched");
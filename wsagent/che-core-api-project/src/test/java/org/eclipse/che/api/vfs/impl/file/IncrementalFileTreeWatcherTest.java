@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Set;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class IncrementalFileTreeWatcherTest {
+    private File                           testDirectory;
+    private FileTreeWatcher                fileWatcher;
+    private FileWatcherTestTree            fileWatcherTestTree;
+    private FileWatcherNotificationHandler notificationHandler;
+
+    @Before
+    public void setUp() throws Exception {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        testDirectory = new File(targetDir, NameGenerator.generate("watcher-", 4));
+        assertTrue(testDirectory.mkdir());
+        fileWatcherTestTree = new FileWatcherTestTree(testDirectory);
+        notificationHandler = mock(FileWatcherNotificationHandler.class);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (fileWatcher != null) {
+            fileWatcher.shutdown();
+        }
+        IoUtil.deleteRecursive(testDirectory);
+    }
+
+    @Test
+    public void watchesCreateDirectoryStructure() throws Exception {
+        startWatcher(newHashSet());
+
+        List<String> created = fileWatcherTestTree.createTree("", 2, 2);
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
+
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(created.size())).handleFileWatcherEvent(eq(CREATED), eq(testDirectory),
+                                                                                  createdEvents.capture(), anyBoolean());
+        assertEquals(newHashSet(created), newHashSet(createdEvents.getAllValues()));
+        assertEquals(fileWatcherTestTree.findAllDirectoriesInTree("").size(), fileWatcher.getMetrics().getWatchCount());
+    }
+
+    @Test
+    public void watchesUpdate() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        String notifiedFile1 = fileWatcherTestTree.createFile("");
+        String notifiedFile2 = fileWatcherTestTree.createFile("watched");
+        startWatcher(newHashSet());
+
+        Thread.sleep(500);
+
+        fileWatcherTestTree.updateFile(notifiedFile1);
+        fileWatcherTestTree.updateFile(notifiedFile2);
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
+
+        ArgumentCaptor<String> updatedEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(2)).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), updatedEvents.capture(), eq(false));
+        assertEquals(newHashSet(notifiedFile1, notifiedFile2), newHashSet(updatedEvents.getAllValues()));
+    }
+
+    @Test
+    public void watchesDeleteOfDirectoryTree() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        String deletedDir = fileWatcherTestTree.createDirectory("watched");
+        String deletedFile1 = fileWatcherTestTree.createFile("watched");
+        String deletedFile2 = fileWatcherTestTree.createFile(deletedDir);
+        startWatcher(newHashSet());
+        assertEquals(3, fileWatcher.getMetrics().getWatchCount());
+
+        fileWatcherTestTree.delete("watched");
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), anyString(), anyBoolean());
+
+        ArgumentCaptor<String> deletedEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(4)).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), deletedEvents.capture(), anyBoolean());
+        assertEquals(newHashSet("watched", deletedDir, deletedFile1, deletedFile2), newHashSet(deletedEvents.getAllValues()));
+        assertEquals(1, fileWatcher.getMetrics().getWatchCount());
+    }
+
+    @Test
+    public void doesNotNotifyAboutFileThatIsCreatedAndDeletedBeforeEventsAreProcessed() throws Exception {
+        startWatcher(newHashSet());
+
+        String file = fileWatcherTestTree.createFile("");
+        fileWatcherTestTree.delete(file);
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, never()).handleFileWatcherEvent(any(), eq(testDirectory), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void doesNotWatchExcludedDirectories() throws Exception {
+        fileWatcherTestTree.createDirectory("", "excluded");
+        fileWatcherTestTree.createDirectory("excluded", "nested");
+        PathMatcher excludeMatcher = FileSystems.getDefault().getPathMatcher("glob:excluded");
+        startWatcher(newHashSet(excludeMatcher));
+        assertEquals(1, fileWatcher.getMetrics().getWatchCount());
+
+        String file = fileWatcherTestTree.createFile("");
+        fileWatcherTestTree.createFile("excluded");
+        fileWatcherTestTree.createFile("excluded/nested");
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(file), eq(false));
+        verify(notificationHandler, times(1)).handleFileWatcherEvent(any(), eq(testDirectory), anyString(), anyBoolean());
+    }
+
+    @Test
+    public void doesNotWatchDirectoriesAboveLimit() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        fileWatcherTestTree.createDirectory("", "unwatched");
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setIncremental(true);
+        fileWatcher.setMaxWatches(2);
+        fileWatcher.startup();
+
+        assertEquals(2, fileWatcher.getMetrics().getWatchCount());
+    }
+
+    private void startWatcher(Set<PathMatcher> excludePatterns) throws Exception {
+        fileWatcher = new FileTreeWatcher(testDirectory, excludePatterns, notificationHandler);
+        fileWatcher.setIncremental(true);
+        fileWatcher.startup();
+        Thread.sleep(500);
+    }
+}
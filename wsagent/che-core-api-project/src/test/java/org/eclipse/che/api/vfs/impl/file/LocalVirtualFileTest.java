@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.util.FileCleaner;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
@@ -45,6 +46,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -56,6 +58,7 @@ import static com.google.common.collect.Sets.newHashSet;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -305,6 +308,29 @@ public class LocalVirtualFileTest {
         assertEquals(expected, newHashSet(folder.countMd5Sums()));
     }
 
+    @Test
+    public void reusesSavedMd5SumsOfUnchangedFiles() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        VirtualFile file = folder.createFile(generateFileName(), "aaa");
+        long lastModified = System.currentTimeMillis() - FileHashSumsCache.RACY_INTERVAL_MILLIS * 2;
+        assertTrue(file.toIoFile().setLastModified(lastModified));
+        String md5Sum = countMd5Sum(file);
+        assertEquals(md5Sum, folder.countMd5Sums().get(0).first);
+
+        Files.write(file.toIoFile().toPath(), "bbb".getBytes());
+        assertTrue(file.toIoFile().setLastModified(lastModified));
+        LocalVirtualFileSystem otherFileSystem = new LocalVirtualFileSystem(testDirectory,
+                                                                            archiverFactory,
+                                                                            null,
+                                                                            mock(AbstractVirtualFileSystemProvider.CloseCallback.class));
+        VirtualFile sameFolder = otherFileSystem.getRoot().getChild(folder.getPath());
+        assertEquals(md5Sum, sameFolder.countMd5Sums().get(0).first);
+
+        assertTrue(file.toIoFile().setLastModified(lastModified - 1000));
+        assertEquals(countMd5Sum(file), sameFolder.countMd5Sums().get(0).first);
+        assertNotEquals(md5Sum, countMd5Sum(file));
+    }
+
     @Test
     public void returnsEmptyListWhenCountMd5SumsOnFile() throws Exception {
         VirtualFile root = getRoot();
@@ -356,6 +382,51 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, children);
     }
 
+    @Test
+    public void updatesCachedChildrenWhenItemsAreChangedThroughVirtualFileSystem() throws Exception {
+        LocalVirtualFileSystem cachingFileSystem = new LocalVirtualFileSystem(testDirectory,
+                                                                              archiverFactory,
+                                                                              null,
+                                                                              mock(AbstractVirtualFileSystemProvider.CloseCallback.class),
+                                                                              16);
+        VirtualFile root = cachingFileSystem.getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(folder), root.getChildren());
+        assertEquals(newArrayList(file), folder.getChildren());
+
+        VirtualFile nestedFolder = folder.createFolder(generateFolderName() + "/" + generateFolderName()).getParent();
+        assertEquals(newArrayList(nestedFolder, file), folder.getChildren());
+
+        file.delete();
+        assertEquals(newArrayList(nestedFolder), folder.getChildren());
+
+        VirtualFile renamed = folder.rename(generateFolderName());
+        assertEquals(newArrayList(renamed), root.getChildren());
+        assertEquals(newArrayList(nestedFolder.getName()), newArrayList(renamed.getChildren().get(0).getName()));
+    }
+
+    @Test
+    public void updatesCachedChildrenWhenFileWatcherReportsChanges() throws Exception {
+        LocalVirtualFileSystem cachingFileSystem = new LocalVirtualFileSystem(testDirectory,
+                                                                              archiverFactory,
+                                                                              null,
+                                                                              mock(AbstractVirtualFileSystemProvider.CloseCallback.class),
+                                                                              16);
+        VirtualFile root = cachingFileSystem.getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(file), root.getChildren());
+
+        String name = generateFileName();
+        assertTrue(new File(testDirectory, name).createNewFile());
+        assertEquals(newArrayList(file), root.getChildren());
+
+        cachingFileSystem.fileChanged(Path.of(name), false, FileWatcherEventType.CREATED);
+        List<VirtualFile> expectedResult = newArrayList(file, root.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+        assertEquals(expectedResult, root.getChildren());
+    }
+
     @Test
     public void getsChild() throws Exception {
         VirtualFile root = getRoot();
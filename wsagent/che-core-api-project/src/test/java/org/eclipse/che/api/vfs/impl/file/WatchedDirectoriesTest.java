@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.NO_ENTRY;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.ROOT;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.UNWATCHED;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.directoryId;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.directoryValue;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.fileValue;
+import static org.eclipse.che.api.vfs.impl.file.WatchedDirectories.isDirectory;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class WatchedDirectoriesTest {
+    private WatchedDirectories directories;
+
+    @Before
+    public void setUp() {
+        directories = new WatchedDirectories();
+    }
+
+    @Test
+    public void keepsEntriesSortedByName() {
+        int root = directories.add(UNWATCHED, "", mock(WatchKey.class));
+
+        directories.putEntry(root, "c", fileValue(3));
+        directories.putEntry(root, "a", fileValue(1));
+        directories.putEntry(root, "b", directoryValue(UNWATCHED));
+        directories.putEntry(root, "a", fileValue(10));
+
+        assertEquals(ROOT, root);
+        assertArrayEquals(new String[]{"a", "b", "c"}, directories.getEntryNames(root));
+        assertEquals(10, directories.getEntry(root, "a"));
+        assertTrue(isDirectory(directories.getEntry(root, "b")));
+        assertEquals(UNWATCHED, directoryId(directories.getEntry(root, "b")));
+        assertEquals(NO_ENTRY, directories.getEntry(root, "d"));
+
+        directories.removeEntry(root, "b");
+
+        assertArrayEquals(new String[]{"a", "c"}, directories.getEntryNames(root));
+    }
+
+    @Test
+    public void resolvesPathOfDirectoryWithParents() {
+        int root = directories.add(UNWATCHED, "", mock(WatchKey.class));
+        int a = directories.add(root, "a", mock(WatchKey.class));
+        int b = directories.add(a, "b", mock(WatchKey.class));
+
+        assertEquals(Paths.get("/root/a/b"), directories.getPath(b, Paths.get("/root")));
+        assertEquals(a, directoryId(directoryValue(a)));
+    }
+
+    @Test
+    public void reusesIdsOfRemovedDirectories() {
+        int root = directories.add(UNWATCHED, "", mock(WatchKey.class));
+        int removed = directories.add(root, "a", mock(WatchKey.class));
+        for (int i = 0; i < 100; i++) {
+            directories.add(root, "dir" + i, mock(WatchKey.class));
+        }
+
+        directories.remove(removed);
+
+        assertFalse(directories.contains(removed));
+        assertEquals(101, directories.size());
+        assertEquals(removed, directories.add(root, "b", mock(WatchKey.class)));
+        Path path = directories.getPath(removed, Paths.get("/"));
+        assertEquals(Paths.get("/b"), path);
+        assertEquals(0, directories.getEntryCount(removed));
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilters;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FileNameIndexTest {
+    private VirtualFileSystem virtualFileSystem;
+    private VirtualFile       src;
+    private FileNameIndex     fileNameIndex;
+
+    @Before
+    public void setUp() throws Exception {
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        src = virtualFileSystem.getRoot().createFolder("project/src");
+        src.createFile("HttpJsonRequest.java", "");
+        src.createFile("HttpJsonResponse.java", "");
+        src.createFile("DefaultHttpJsonRequest.java", "");
+        src.createFile("hjr.txt", "");
+        virtualFileSystem.getRoot().createFolder("project/test").createFile("HttpJsonRequestTest.java", "");
+        virtualFileSystem.getRoot().createFolder("project/.git").createFile("HttpJsonRequest.java", "");
+        fileNameIndex = new FileNameIndex(virtualFileSystem, VirtualFileFilters.dotGitFilter());
+    }
+
+    @Test
+    public void findsFilesByCamelHumps() throws Exception {
+        List<String> paths = find("HJReq", null);
+
+        assertEquals(newArrayList("/project/src/HttpJsonRequest.java",
+                                  "/project/test/HttpJsonRequestTest.java",
+                                  "/project/src/DefaultHttpJsonRequest.java"), paths);
+    }
+
+    @Test
+    public void ranksExactNameAboveAbbreviation() throws Exception {
+        assertEquals("/project/src/hjr.txt", find("hjr", null).get(0));
+    }
+
+    @Test
+    public void matchesFoldersWithPathSegmentsOfQuery() throws Exception {
+        assertEquals(newArrayList("/project/test/HttpJsonRequestTest.java"), find("te/HJR", null));
+    }
+
+    @Test
+    public void matchesQueryIndependentlyOfDefaultLocale() throws Exception {
+        src.createFile("index.html", "");
+        fileNameIndex = new FileNameIndex(virtualFileSystem, VirtualFileFilters.dotGitFilter());
+        final Locale defaultLocale = Locale.getDefault();
+        // 'I' is lower-cased to dotless 'i' in turkish locale
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals(newArrayList("/project/src/index.html"), find("INDEX", null));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void findsFilesOnlyUnderGivenPath() throws Exception {
+        assertEquals(newArrayList("/project/test/HttpJsonRequestTest.java"), find("HJR", "/project/test"));
+    }
+
+    @Test
+    public void updatesIndexWithFileWatcherEvents() throws Exception {
+        assertEquals(5, find("j", null).size());
+
+        fileNameIndex.handleFileWatcherEvent(src.createFile("JsonUtils.java", ""), CREATED);
+        fileNameIndex.handleFileWatcherEvent(deletedItem("/project/test", false), DELETED);
+        fileNameIndex.handleFileWatcherEvent(deletedItem("/project/src/HttpJsonResponse.java", true), DELETED);
+
+        List<String> paths = find("j", null);
+        assertEquals(4, paths.size());
+        assertTrue(paths.contains("/project/src/JsonUtils.java"));
+    }
+
+    private VirtualFile deletedItem(String path, boolean isFile) {
+        VirtualFile virtualFile = mock(VirtualFile.class);
+        when(virtualFile.getPath()).thenReturn(Path.of(path));
+        when(virtualFile.isFile()).thenReturn(isFile);
+        when(virtualFile.isFolder()).thenReturn(!isFile);
+        return virtualFile;
+    }
+
+    private List<String> find(String query, String path) throws Exception {
+        return fileNameIndex.find(query, path, 10).stream().map(FileNameMatch::getPath).collect(toList());
+    }
+}
@@ -12,30 +12,48 @@ package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
 
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.store.FSDirectory;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingProgressEvent;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonMap;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -294,6 +312,363 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesSearchResultWithPagesByCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        String cursor = null;
+        do {
+            SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(5).setCursor(cursor));
+            paths.addAll(page.getFilePaths());
+            cursor = page.getNextPageCursor();
+        } while (cursor != null);
+
+        assertEquals(25, newHashSet(paths).size());
+    }
+
+    @Test(expected = ConflictException.class)
+    public void rejectsMalformedCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFile("file", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        searcher.search(new QueryExpression().setText("spaceflight").setCursor("not-a-cursor"));
+    }
+
+    @Test
+    public void skipsPreviousPagesWhenIndexIsChangedAfterCursorIsCreated() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+
+        searcher.add(virtualFileSystem.getRoot().createFile("file100", TEST_CONTENT[1]));
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                     .setMaxItems(100)
+                                                                     .setCursor(firstPage.getNextPageCursor()));
+
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void stopsSearchByPatternWhenPageIsFilled() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                   .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                   .setMaxItems(5));
+
+        assertEquals(5, result.getFilePaths().size());
+        assertEquals(6, result.getTotalHits());
+        assertFalse(result.isTotalHitsExact());
+        assertTrue(result.getNextPageQueryExpression().isPresent());
+    }
+
+    @Test
+    public void retrievesSearchByPatternResultWithPagesByCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = newArrayList();
+        String cursor = null;
+        SearchResult page;
+        do {
+            page = searcher.search(new QueryExpression().setText("spaceflight")
+                                                        .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                        .setMaxItems(5)
+                                                        .setCursor(cursor));
+            paths.addAll(page.getFilePaths());
+            cursor = page.getNextPageCursor();
+        } while (cursor != null);
+
+        assertEquals(25, paths.size());
+        assertEquals(25, newHashSet(paths).size());
+        assertEquals(25, page.getTotalHits());
+        assertTrue(page.isTotalHitsExact());
+    }
+
+    @Test
+    public void skipsPreviousPatternMatchesWhenIndexIsChangedAfterCursorIsCreated() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                      .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                      .setMaxItems(8));
+
+        searcher.add(virtualFileSystem.getRoot().createFile("file100", TEST_CONTENT[1]));
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                     .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                     .setMaxItems(100)
+                                                                     .setCursor(firstPage.getNextPageCursor()));
+
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void stopsAsynchronousInitializationWhenSearcherIsClosed() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[0]);
+        ExecutorService executor = mock(ExecutorService.class);
+        searcher.initAsynchronously(executor, virtualFileSystem);
+        ArgumentCaptor<Runnable> initialization = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(initialization.capture());
+
+        searcher.close();
+        initialization.getValue().run();
+
+        assertTrue(searcher.isClosed());
+        verify(closeCallback).onClose();
+    }
+
+    @Test
+    public void indexesFileTreeWithMultipleThreads() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%d/a", i));
+            for (int j = 0; j < 100; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.setIndexingParallelism(4);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight"));
+        assertEquals(250, result.getTotalHits());
+    }
+
+    @Test
+    public void publishesIndexingProgressEvents() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < 100; i++) {
+            folder.createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        EventService eventService = mock(EventService.class);
+        searcher.setEventService(eventService);
+        searcher.init(virtualFileSystem);
+
+        ArgumentCaptor<IndexingProgressEvent> eventCaptor = ArgumentCaptor.forClass(IndexingProgressEvent.class);
+        verify(eventService, atLeastOnce()).publish(eventCaptor.capture());
+        IndexingProgressEvent lastEvent = eventCaptor.getValue();
+        assertTrue(lastEvent.isDone());
+        assertEquals("/", lastEvent.getPath());
+        assertEquals(100, lastEvent.getDiscoveredFiles());
+        assertEquals(100, lastEvent.getIndexedFiles());
+    }
+
+    @Test
+    public void returnsOccurrencesOfSearchedTextWithLineNumbersAndSnippets() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[2] + "\r\n" + TEST_CONTENT[3]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeOccurrences(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(3, occurrences.get(0).getStartColumn());
+        assertEquals(5, occurrences.get(0).getEndColumn());
+        assertEquals(TEST_CONTENT[2], occurrences.get(0).getSnippet());
+        assertEquals(0, occurrences.get(0).getSnippetStartColumn());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(16, occurrences.get(1).getStartColumn());
+        assertEquals(18, occurrences.get(1).getEndColumn());
+    }
+
+    @Test
+    public void limitsNumberOfOccurrencesPerFile() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2] + "\n" + TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeOccurrences(true).setMaxOccurrencesPerFile(3));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(3, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(1, occurrences.get(1).getLineNumber());
+        assertEquals(2, occurrences.get(2).getLineNumber());
+    }
+
+    @Test
+    public void returnsOccurrencesOfTermsMatchedByPrefixAndWildcard() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spacefl* mi?est*nes").setIncludeOccurrences(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(31, occurrences.get(0).getStartColumn());
+        assertEquals(42, occurrences.get(0).getEndColumn());
+        assertEquals(43, occurrences.get(1).getStartColumn());
+        assertEquals(53, occurrences.get(1).getEndColumn());
+    }
+
+    @Test
+    public void returnsSingleOccurrenceForWholePhrase() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", "spaceflight of human\n" + TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("\"human spaceflight\"").setIncludeOccurrences(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(25, occurrences.get(0).getStartColumn());
+        assertEquals(42, occurrences.get(0).getEndColumn());
+    }
+
+    @Test
+    public void doesNotReturnOccurrencesWhenTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesBySubstringOfWord() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("CEFLIG")
+                                                                   .setTextMode(QueryExpression.TextMode.SUBSTRING)
+                                                                   .setIncludeOccurrences(true));
+
+        assertEquals(newArrayList("/folder/xxx.txt"), result.getFilePaths());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        assertEquals(34, occurrences.get(0).getStartColumn());
+        assertEquals(40, occurrences.get(0).getEndColumn());
+    }
+
+    @Test
+    public void searchesByShortSubstringWithoutTrigrams() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("ot").setTextMode(QueryExpression.TextMode.SUBSTRING))
+                                     .getFilePaths();
+
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setText("(early|set) \\d+|not\\s+to")
+                                                                  .setTextMode(QueryExpression.TextMode.REGEX))
+                                     .getFilePaths();
+
+        assertEquals(newArrayList("/folder/yyy.txt", "/folder/zzz.txt"), paths);
+    }
+
+    @Test(expected = ServerException.class)
+    public void failsWhenRegularExpressionIsInvalid() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        searcher.init(virtualFileSystem);
+
+        searcher.search(new QueryExpression().setText("(abc").setTextMode(QueryExpression.TextMode.REGEX));
+    }
+
+    @Test
+    public void keepsPersistentIndexAfterClosingAndReconcilesItWithFileSystem() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        VirtualFile updated = folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("yyy.txt", TEST_CONTENT[1]);
+        folder.createFile("zzz.txt", TEST_CONTENT[0]);
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        persistentSearcher.init(virtualFileSystem);
+        persistentSearcher.close();
+        assertTrue(indexDirectory.exists());
+
+        updated.updateContent(TEST_CONTENT[1]);
+        deleted.delete(null);
+        folder.createFile("aaa.txt", TEST_CONTENT[1]);
+
+        persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        try {
+            persistentSearcher.init(virtualFileSystem);
+
+            assertEquals(newArrayList("/folder/aaa.txt", "/folder/xxx.txt"),
+                         sorted(persistentSearcher.search(new QueryExpression().setText("should")).getFilePaths()));
+            assertEquals(newArrayList("/folder/zzz.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
+    @Test
+    public void rebuildsPersistentIndexWhenSchemaVersionDoesNotMatch() throws Exception {
+        try (IndexWriter writer = new IndexWriter(FSDirectory.open(indexDirectory.toPath()), new IndexWriterConfig(new KeywordAnalyzer()))) {
+            Document document = new Document();
+            document.add(new StringField("path", "/folder/stale.txt", Field.Store.YES));
+            document.add(new TextField("text", TEST_CONTENT[1], Field.Store.NO));
+            writer.addDocument(document);
+            writer.setCommitData(singletonMap(LuceneSearcher.INDEX_SCHEMA_VERSION_KEY, "0"));
+        }
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[1]);
+
+        FSLuceneSearcher persistentSearcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, true);
+        try {
+            persistentSearcher.init(virtualFileSystem);
+
+            assertEquals(newArrayList("/folder/xxx.txt"),
+                         persistentSearcher.search(new QueryExpression().setText("should")).getFilePaths());
+        } finally {
+            persistentSearcher.close();
+        }
+    }
+
+    private static List<String> sorted(List<String> list) {
+        Collections.sort(list);
+        return list;
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TrigramQueriesTest {
+    private final Analyzer analyzer = new MemoryLuceneSearcher(null).makeAnalyzer();
+
+    @Test
+    public void splitsRegularExpressionByTopLevelAlternatives() {
+        assertEquals(newArrayList("foo(a|b)", "[|]bar", "baz\\|"), TrigramQueries.splitAlternatives("foo(a|b)|[|]bar|baz\\|"));
+    }
+
+    @Test
+    public void getsLiteralsRequiredByRegularExpression() {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\w+bar"));
+        assertEquals(newArrayList("abc", "de"), TrigramQueries.requiredLiterals("abcx?de"));
+        assertEquals(newArrayList("ab", "bc"), TrigramQueries.requiredLiterals("ab+c"));
+        assertEquals(newArrayList("a.b", "end"), TrigramQueries.requiredLiterals("\\Qa.b\\E(x|y)[end]end$"));
+    }
+
+    @Test
+    public void decodesEscapedCharactersInLiterals() {
+        assertEquals(newArrayList("ABC"), TrigramQueries.requiredLiterals("\\x41BC"));
+        assertEquals(newArrayList("ABC"), TrigramQueries.requiredLiterals("\\x{41}BC"));
+        assertEquals(newArrayList("ABC"), TrigramQueries.requiredLiterals("\\u0041BC"));
+        assertEquals(newArrayList("ABC"), TrigramQueries.requiredLiterals("\\0101BC"));
+        assertEquals(newArrayList("\u0001BC"), TrigramQueries.requiredLiterals("\\cABC"));
+        assertEquals(newArrayList("a.c"), TrigramQueries.requiredLiterals("a\\.c"));
+    }
+
+    @Test
+    public void skipsWholeEscapedCharacterClassesAndReferences() {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\p{Lu}bar"));
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\P{IsAlphabetic}bar"));
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\pLbar"));
+        assertEquals(newArrayList("bar"), TrigramQueries.requiredLiterals("(?<n>a)\\k<n>bar"));
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\12bar"));
+    }
+
+    @Test
+    public void doesNotCreateQueryWhenAnyAlternativeHasNoTrigrams() throws Exception {
+        assertNotNull(TrigramQueries.regexQuery("hello|world", analyzer));
+        assertNull(TrigramQueries.regexQuery("hello|\\d+", analyzer));
+        assertNull(TrigramQueries.substringQuery("ab", analyzer));
+    }
+
+    @Test
+    public void lowerCasesTrigramsTheSameWayAsIndexedContent() throws Exception {
+        // String.toLowerCase turns dotted capital I into two chars while index lower-cases each code point to one
+        assertEquals(newArrayList("ist", "sta"), trigrams(TrigramQueries.substringQuery("\u0130sta", analyzer)));
+    }
+
+    private static List<String> trigrams(Query query) {
+        return ((BooleanQuery)query).clauses()
+                                    .stream()
+                                    .map(BooleanClause::getQuery)
+                                    .map(clause -> ((TermQuery)clause).getTerm())
+                                    .map(Term::text)
+                                    .collect(Collectors.toList());
+    }
+}
@@ -12,16 +12,25 @@ package org.eclipse.che.api.machine.shared.dto;
 
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
 
 /**
  * @author Alexander Garagatyi
  */
 @DTO
 public interface MachineLogMessageDto extends MachineLogMessage {
+    @Override
+    @SerializationIndex(1)
+    String getContent();
+
     void setContent(String content);
 
     MachineLogMessageDto withContent(String content);
 
+    @Override
+    @SerializationIndex(2)
+    String getMachineName();
+
     void setMachineName(String machineName);
 
     MachineLogMessageDto withMachineName(String machineName);
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Throughput counters of websocket channel which receives output of running machine process.
+ */
+@DTO
+public interface ProcessOutputMetricsDto {
+    /** Returns websocket channel of process output. */
+    String getChannel();
+
+    void setChannel(String channel);
+
+    ProcessOutputMetricsDto withChannel(String channel);
+
+    /** Returns number of lines written by process. */
+    long getWrittenLines();
+
+    void setWrittenLines(long writtenLines);
+
+    ProcessOutputMetricsDto withWrittenLines(long writtenLines);
+
+    /** Returns number of lines sent to websocket channel. */
+    long getSentLines();
+
+    void setSentLines(long sentLines);
+
+    ProcessOutputMetricsDto withSentLines(long sentLines);
+
+    /** Returns number of lines dropped because they come faster than they may be sent. */
+    long getDroppedLines();
+
+    void setDroppedLines(long droppedLines);
+
+    ProcessOutputMetricsDto withDroppedLines(long droppedLines);
+
+    /** Returns number of websocket messages sent to channel. */
+    long getSentMessages();
+
+    void setSentMessages(long sentMessages);
+
+    ProcessOutputMetricsDto withSentMessages(long sentMessages);
+}
@@ -19,12 +19,14 @@ import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.core.model.machine.Snapshot;
+import org.eclipse.che.api.core.util.BufferedWebsocketLineConsumer;
 import org.eclipse.che.api.machine.shared.dto.LimitsDto;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.machine.shared.dto.MachineRuntimeInfoDto;
 import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
+import org.eclipse.che.api.machine.shared.dto.ProcessOutputMetricsDto;
 import org.eclipse.che.api.machine.shared.dto.ServerConfDto;
 import org.eclipse.che.api.machine.shared.dto.ServerDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
@@ -150,6 +152,17 @@ public final class DtoConverter {
                                               .withLinks(null);
     }
 
+    /**
+     * Converts {@link BufferedWebsocketLineConsumer.Metrics} to {@link ProcessOutputMetricsDto}.
+     */
+    public static ProcessOutputMetricsDto asDto(BufferedWebsocketLineConsumer.Metrics metrics) {
+        return newDto(ProcessOutputMetricsDto.class).withChannel(metrics.getChannel())
+                                                    .withWrittenLines(metrics.getWrittenLines())
+                                                    .withSentLines(metrics.getSentLines())
+                                                    .withDroppedLines(metrics.getDroppedLines())
+                                                    .withSentMessages(metrics.getSentMessages());
+    }
+
     private DtoConverter() {
     }
 }
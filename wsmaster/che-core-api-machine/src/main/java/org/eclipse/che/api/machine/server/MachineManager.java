@@ -25,10 +25,9 @@ import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.BufferedWebsocketLineConsumer;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
-import org.eclipse.che.api.core.util.WebsocketLineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
 import org.eclipse.che.api.machine.server.exception.InvalidRecipeException;
@@ -36,6 +35,7 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.SourceNotFoundException;
 import org.eclipse.che.api.machine.server.exception.UnsupportedRecipeException;
+import org.eclipse.che.api.machine.server.log.LogStore;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -64,12 +64,14 @@ import javax.inject.Singleton;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -91,6 +93,10 @@ public class MachineManager {
     private static final Logger  LOG                          = LoggerFactory.getLogger(MachineManager.class);
     /* machine name must contain only {a-zA-Z0-9_-} characters and it's needed for validation machine names */
     private static final Pattern MACHINE_DISPLAY_NAME_PATTERN = Pattern.compile("^/?[a-zA-Z0-9_-]+$");
+    /* process output is sent to websocket channel in batches not often than once per this interval */
+    private static final long    OUTPUT_FLUSH_INTERVAL_MS     = 200;
+    private static final int     OUTPUT_MAX_MESSAGE_LINES     = 500;
+    private static final int     OUTPUT_MAX_BUFFERED_LINES    = 1000;
 
     private final SnapshotDao              snapshotDao;
     private final File                     machineLogsDir;
@@ -101,9 +107,15 @@ public class MachineManager {
     private final MachineCleaner           machineCleaner;
     private final WsAgentLauncher          wsAgentLauncher;
 
+    private LogStore logStore;
+
     @VisibleForTesting
     final ExecutorService executor;
 
+    private final ScheduledExecutorService outputScheduler;
+    /* websocket consumers of output of running processes of each machine, kept to expose their metrics */
+    private final Map<String, Set<BufferedWebsocketLineConsumer>> processOutputs;
+
     @Inject
     public MachineManager(SnapshotDao snapshotDao,
                           MachineRegistry machineRegistry,
@@ -123,7 +135,37 @@ public class MachineManager {
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineManager-%d")
                                                                            .setDaemon(false)
                                                                            .build());
+        outputScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineProcessOutput-%d")
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+        processOutputs = new ConcurrentHashMap<>();
         this.machineCleaner = new MachineCleaner();
+        this.logStore = new LogStore();
+    }
+
+    @com.google.inject.Inject(optional = true)
+    public void setLogStore(LogStore logStore) {
+        this.logStore = logStore;
+    }
+
+    /**
+     * Lets instance providers prepare sources of machines which are going to be created one by one,
+     * e.g. pull images of all machines of environment concurrently. Doesn't wait for preparation,
+     * errors of preparation are reported on creation of corresponding machine.
+     *
+     * @param machineConfigs
+     *         configurations of machines which are going to be created
+     */
+    public void prepareMachines(List<? extends MachineConfig> machineConfigs) {
+        final Map<String, List<MachineConfig>> configsByType = machineConfigs.stream()
+                                                                             .collect(Collectors.groupingBy(MachineConfig::getType));
+        for (Map.Entry<String, List<MachineConfig>> entry : configsByType.entrySet()) {
+            try {
+                machineInstanceProviders.getProvider(entry.getKey()).prepareInstances(entry.getValue());
+            } catch (NotFoundException | RuntimeException e) {
+                LOG.warn(format("Unable to prepare machines of type '%s'. %s", entry.getKey(), e.getLocalizedMessage()));
+            }
+        }
     }
 
     /**
@@ -505,6 +547,29 @@ public class MachineManager {
         return machineRegistry.getDevMachine(workspaceId);
     }
 
+    /**
+     * Returns throughput metrics of websocket channels of output of running processes of machine.
+     *
+     * @param machineId
+     *         id of machine
+     * @return list of metrics or empty list
+     * @throws NotFoundException
+     *         if machine with specified id not found
+     * @throws MachineException
+     *         if other error occur
+     */
+    public List<BufferedWebsocketLineConsumer.Metrics> getProcessOutputMetrics(String machineId) throws NotFoundException,
+                                                                                                        MachineException {
+        getInstance(machineId);
+        final Set<BufferedWebsocketLineConsumer> outputs = processOutputs.get(machineId);
+        if (outputs == null) {
+            return new ArrayList<>();
+        }
+        return outputs.stream()
+                      .map(BufferedWebsocketLineConsumer::getMetrics)
+                      .collect(Collectors.toList());
+    }
+
     /**
      * Asynchronously saves machine to snapshot.
      *
@@ -680,6 +745,7 @@ public class MachineManager {
         final LineConsumer processLogger = getProcessLogger(machineId, pid, outputChannel);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
+            MachineProcessEvent processEvent;
             try {
                 eventService.publish(newDto(MachineProcessEvent.class)
                                              .withEventType(MachineProcessEvent.EventType.STARTED)
@@ -688,27 +754,26 @@ public class MachineManager {
 
                 instanceProcess.start(processLogger);
 
-                eventService.publish(newDto(MachineProcessEvent.class)
-                                             .withEventType(MachineProcessEvent.EventType.STOPPED)
-                                             .withMachineId(machineId)
-                                             .withProcessId(pid));
+                processEvent = newDto(MachineProcessEvent.class).withEventType(MachineProcessEvent.EventType.STOPPED)
+                                                                .withMachineId(machineId)
+                                                                .withProcessId(pid);
             } catch (ConflictException | MachineException error) {
-                eventService.publish(newDto(MachineProcessEvent.class)
-                                             .withEventType(MachineProcessEvent.EventType.ERROR)
-                                             .withMachineId(machineId)
-                                             .withProcessId(pid)
-                                             .withError(error.getLocalizedMessage()));
-
                 try {
                     processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
                 } catch (IOException ignored) {
                 }
+                processEvent = newDto(MachineProcessEvent.class).withEventType(MachineProcessEvent.EventType.ERROR)
+                                                                .withMachineId(machineId)
+                                                                .withProcessId(pid)
+                                                                .withError(error.getLocalizedMessage());
             } finally {
+                // sends buffered output before clients are notified about end of process
                 try {
                     processLogger.close();
                 } catch (IOException ignored) {
                 }
             }
+            eventService.publish(processEvent);
         }));
         return instanceProcess;
     }
@@ -806,9 +871,40 @@ public class MachineManager {
      */
     public Reader getMachineLogReader(String machineId) throws NotFoundException, MachineException {
         final File machineLogsFile = getMachineLogsFile(machineId);
-        if (machineLogsFile.isFile()) {
+        if (logStore.exists(machineLogsFile)) {
             try {
-                return Files.newBufferedReader(machineLogsFile.toPath(), Charset.defaultCharset());
+                return logStore.getReader(machineLogsFile);
+            } catch (IOException e) {
+                throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
+            }
+        }
+        throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
+    }
+
+    /**
+     * Reads range of lines of machine logs.
+     *
+     * @param machineId
+     *         machine id whose logs will be read
+     * @param fromLine
+     *         number of the first line, lines are numbered from 0, negative value means number of line counted from the
+     *         end of logs, e.g. -10 reads 10 last lines
+     * @param limit
+     *         max number of lines to read, zero means all lines to the end of logs
+     * @param consumer
+     *         consumer of read lines
+     * @throws NotFoundException
+     *         if machine with specified id not found
+     * @throws MachineException
+     *         if other error occur
+     */
+    public void readMachineLogs(String machineId, long fromLine, int limit, LineConsumer consumer) throws NotFoundException,
+                                                                                                          MachineException {
+        final File machineLogsFile = getMachineLogsFile(machineId);
+        if (logStore.exists(machineLogsFile)) {
+            try {
+                logStore.readLines(machineLogsFile, fromLine, limit, consumer);
+                return;
             } catch (IOException e) {
                 throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
             }
@@ -831,9 +927,43 @@ public class MachineManager {
      */
     public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
         final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
+        if (logStore.exists(processLogsFile)) {
             try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
+                return logStore.getReader(processLogsFile);
+            } catch (IOException e) {
+                throw new MachineException(
+                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+            }
+        }
+        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+    }
+
+    /**
+     * Reads range of lines of process logs.
+     *
+     * @param machineId
+     *         machine id whose process logs will be read
+     * @param pid
+     *         process id
+     * @param fromLine
+     *         number of the first line, lines are numbered from 0, negative value means number of line counted from the
+     *         end of logs, e.g. -10 reads 10 last lines
+     * @param limit
+     *         max number of lines to read, zero means all lines to the end of logs
+     * @param consumer
+     *         consumer of read lines
+     * @throws NotFoundException
+     *         if machine with specified id not found
+     * @throws MachineException
+     *         if other error occur
+     */
+    public void readProcessLogs(String machineId, int pid, long fromLine, int limit, LineConsumer consumer) throws NotFoundException,
+                                                                                                                   MachineException {
+        final File processLogsFile = getProcessLogsFile(machineId, pid);
+        if (logStore.exists(processLogsFile)) {
+            try {
+                logStore.readLines(processLogsFile, fromLine, limit, consumer);
+                return;
             } catch (IOException e) {
                 throw new MachineException(
                         String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -910,6 +1040,10 @@ public class MachineManager {
                          machine.getId());
             } catch (MachineException e) {
                 LOG.error(e.getLocalizedMessage(), e);
+            } finally {
+                // logs of machine and its processes are not written anymore
+                logStore.evict(new File(machineLogsDir, machine.getId()));
+                processOutputs.remove(machine.getId());
             }
         }
 
@@ -928,9 +1062,9 @@ public class MachineManager {
         }
     }
 
-    private FileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
+    private LineConsumer getMachineFileLogger(String machineId) throws MachineException {
         try {
-            return new FileLineConsumer(getMachineLogsFile(machineId));
+            return logStore.create(getMachineLogsFile(machineId));
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for machine '%s'. %s", machineId, e.getMessage()));
         }
@@ -944,9 +1078,9 @@ public class MachineManager {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private LineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return logStore.create(getProcessLogsFile(machineId, pid));
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -964,12 +1098,24 @@ public class MachineManager {
 
     @VisibleForTesting
     LineConsumer getProcessLogger(String machineId, int pid, String outputChannel) throws MachineException {
-        return getLogger(getProcessFileLogger(machineId, pid), outputChannel);
-    }
-
-    private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
+        final LineConsumer fileLogger = getProcessFileLogger(machineId, pid);
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            final Set<BufferedWebsocketLineConsumer> outputs = processOutputs.computeIfAbsent(machineId,
+                                                                                             id -> ConcurrentHashMap.newKeySet());
+            final BufferedWebsocketLineConsumer output = new BufferedWebsocketLineConsumer(outputChannel,
+                                                                                          outputScheduler,
+                                                                                          OUTPUT_FLUSH_INTERVAL_MS,
+                                                                                          OUTPUT_MAX_MESSAGE_LINES,
+                                                                                          OUTPUT_MAX_BUFFERED_LINES) {
+                @Override
+                public synchronized void close() {
+                    super.close();
+                    // output of finished process is forgotten, otherwise long living machine keeps all its processes
+                    outputs.remove(this);
+                }
+            };
+            outputs.add(output);
+            return new CompositeLineConsumer(fileLogger, output);
         }
         return fileLogger;
     }
@@ -1091,6 +1237,9 @@ public class MachineManager {
             executor.shutdownNow();
         }
 
+        outputScheduler.shutdownNow();
+        logStore.close();
+
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
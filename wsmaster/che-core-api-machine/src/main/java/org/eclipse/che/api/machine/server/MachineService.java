@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
@@ -31,6 +32,7 @@ import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.machine.shared.dto.NewSnapshotDescriptor;
+import org.eclipse.che.api.machine.shared.dto.ProcessOutputMetricsDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -48,6 +50,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.io.Reader;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -251,6 +254,27 @@ public class MachineService extends Service {
                              .collect(Collectors.toList());
     }
 
+    @GET
+    @Path("/{machineId}/process/output-metrics")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get throughput metrics of output channels of running processes of machine",
+                  response = ProcessOutputMetricsDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains metrics of output channels"),
+                   @ApiResponse(code = 404, message = "Machine with specified ID does not exist"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public List<ProcessOutputMetricsDto> getProcessOutputMetrics(@ApiParam(value = "Machine ID")
+                                                                 @PathParam("machineId")
+                                                                 String machineId)
+            throws NotFoundException,
+                   ServerException {
+
+        return machineManager.getProcessOutputMetrics(machineId)
+                             .stream()
+                             .map(DtoConverter::asDto)
+                             .collect(Collectors.toList());
+    }
+
     @DELETE
     @Path("/{machineId}/process/{processId}")
     @ApiOperation(value = "Stop process in machine")
@@ -280,14 +304,32 @@ public class MachineService extends Service {
     public void getMachineLogs(@ApiParam(value = "Machine ID")
                                @PathParam("machineId")
                                String machineId,
+                               @ApiParam(value = "Number of the first line, lines are numbered from 0. " +
+                                                 "Negative value is counted from the end, e.g. -100 returns 100 last lines")
+                               @QueryParam("from")
+                               Long from,
+                               @ApiParam(value = "Max number of lines, 0 means all lines to the end of logs")
+                               @QueryParam("limit")
+                               @DefaultValue("0")
+                               int limit,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
+        if (limit < 0) {
+            throw new BadRequestException("Limit of lines must not be negative");
+        }
 
-        addLogsToResponse(machineManager.getMachineLogReader(machineId), httpServletResponse);
+        if (from == null && limit == 0) {
+            addLogsToResponse(machineManager.getMachineLogReader(machineId), httpServletResponse);
+        } else {
+            httpServletResponse.setContentType("text/plain");
+            machineManager.readMachineLogs(machineId, from == null ? 0 : from, limit, new ResponseLineConsumer(httpServletResponse));
+            httpServletResponse.getWriter().flush();
+        }
     }
 
     @GET
@@ -303,14 +345,36 @@ public class MachineService extends Service {
                                @ApiParam(value = "Process ID")
                                @PathParam("pid")
                                int pid,
+                               @ApiParam(value = "Number of the first line, lines are numbered from 0. " +
+                                                 "Negative value is counted from the end, e.g. -100 returns 100 last lines")
+                               @QueryParam("from")
+                               Long from,
+                               @ApiParam(value = "Max number of lines, 0 means all lines to the end of logs")
+                               @QueryParam("limit")
+                               @DefaultValue("0")
+                               int limit,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
+        if (limit < 0) {
+            throw new BadRequestException("Limit of lines must not be negative");
+        }
 
-        addLogsToResponse(machineManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        if (from == null && limit == 0) {
+            addLogsToResponse(machineManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        } else {
+            httpServletResponse.setContentType("text/plain");
+            machineManager.readProcessLogs(machineId,
+                                           pid,
+                                           from == null ? 0 : from,
+                                           limit,
+                                           new ResponseLineConsumer(httpServletResponse));
+            httpServletResponse.getWriter().flush();
+        }
     }
 
     /**
@@ -435,4 +499,24 @@ public class MachineService extends Service {
             throw new BadRequestException(subject + " required");
         }
     }
+
+    /** Writes lines of logs directly to the servlet response. */
+    private static class ResponseLineConsumer implements LineConsumer {
+        private final HttpServletResponse httpServletResponse;
+
+        ResponseLineConsumer(HttpServletResponse httpServletResponse) {
+            this.httpServletResponse = httpServletResponse;
+        }
+
+        @Override
+        public void writeLine(String line) throws IOException {
+            final PrintWriter writer = httpServletResponse.getWriter();
+            writer.write(line);
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
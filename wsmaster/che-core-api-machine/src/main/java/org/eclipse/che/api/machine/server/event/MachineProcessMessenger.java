@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.EventDispatchPolicy;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
@@ -24,6 +25,8 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.BLOCK;
+
 /**
  * Send machine process events using websocket channel to the clients
  *
@@ -54,7 +57,7 @@ public class MachineProcessMessenger implements EventSubscriber<MachineProcessEv
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        eventService.subscribe(this, EventDispatchPolicy.ordered(1000, BLOCK));
     }
 
     @PreDestroy
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.EventDispatchPolicy;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
@@ -25,6 +26,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import static java.lang.String.format;
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.BLOCK;
 import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_STATUS_CHANNEL_TEMPLATE;
 
 /**
@@ -57,7 +59,7 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        eventService.subscribe(this, EventDispatchPolicy.ordered(1000, BLOCK));
     }
 
     @PreDestroy
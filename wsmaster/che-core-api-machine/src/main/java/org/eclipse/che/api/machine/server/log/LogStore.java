@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.log;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores logs of machines and processes.
+ *
+ * <p>Lines written to logs are flushed to disk in batches with configured interval instead of flushing after every
+ * line, full segments of logs are compressed in background. Logs may be read entirely or by ranges of lines,
+ * see {@link #readLines(File, long, int, LineConsumer)}.
+ *
+ * <p>Only logs which are being written are kept in memory, log is forgotten once its consumer is closed or log is
+ * {@link #evict(File) evicted}, completed logs are read from disk.
+ */
+@Singleton
+public class LogStore {
+    private static final Logger LOG = LoggerFactory.getLogger(LogStore.class);
+
+    private static final long DEFAULT_MAX_SEGMENT_SIZE  = 10 * 1024 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS  = 500;
+
+    private final ConcurrentMap<File, SegmentedLog> logs;
+
+    private long                     maxSegmentSize;
+    private long                     flushIntervalMs;
+    private ScheduledExecutorService executor;
+
+    public LogStore() {
+        this(DEFAULT_MAX_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL_MS);
+    }
+
+    LogStore(long maxSegmentSize, long flushIntervalMs) {
+        this.maxSegmentSize = maxSegmentSize;
+        this.flushIntervalMs = flushIntervalMs;
+        logs = new ConcurrentHashMap<>();
+    }
+
+    /** Sets max size of one segment of log, segment which exceeds it is rotated and compressed. */
+    @com.google.inject.Inject(optional = true)
+    public void setMaxSegmentSize(@Named("machine.logs.segment_size_mb") int maxSegmentSizeMb) {
+        this.maxSegmentSize = maxSegmentSizeMb * 1024L * 1024L;
+    }
+
+    /** Sets interval between flushes of written lines to disk. */
+    @com.google.inject.Inject(optional = true)
+    public void setFlushInterval(@Named("machine.logs.flush_interval_ms") long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    /**
+     * Creates new log, content of the previous log with the same file is removed.
+     *
+     * @param file
+     *         file of the log
+     * @return consumer which writes lines to the log, it must be closed when log is completed
+     * @throws IOException
+     *         if log can't be created
+     */
+    public LineConsumer create(File file) throws IOException {
+        final SegmentedLog previous = logs.remove(file);
+        if (previous != null) {
+            previous.close();
+        }
+        final SegmentedLog log = SegmentedLog.create(file, maxSegmentSize, executor());
+        logs.put(file, log);
+        return new LineConsumer() {
+            @Override
+            public void writeLine(String line) throws IOException {
+                log.writeLine(line);
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    log.close();
+                } finally {
+                    logs.remove(file, log);
+                }
+            }
+        };
+    }
+
+    /**
+     * Closes and forgets the log with specified file, or all logs located in specified directory, e.g. when machine or
+     * process is destroyed. Evicted logs are still available for reading from disk.
+     */
+    public void evict(File file) {
+        for (File logFile : logs.keySet()) {
+            if (logFile.equals(file) || file.equals(logFile.getParentFile())) {
+                final SegmentedLog log = logs.remove(logFile);
+                if (log != null) {
+                    try {
+                        log.close();
+                    } catch (IOException e) {
+                        LOG.warn(e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /** Checks whether log with specified file exists. */
+    public boolean exists(File file) {
+        return logs.containsKey(file) || file.isFile();
+    }
+
+    /**
+     * Returns reader of the whole log.
+     *
+     * @throws FileNotFoundException
+     *         if log does not exist
+     * @throws IOException
+     *         if any other i/o error occurs
+     */
+    public Reader getReader(File file) throws IOException {
+        return getLog(file).openReader();
+    }
+
+    /**
+     * Reads range of lines of the log.
+     *
+     * @param file
+     *         file of the log
+     * @param fromLine
+     *         number of the first line, lines are numbered from 0, negative value means number of line counted from the
+     *         end of the log, e.g. -10 reads 10 last lines
+     * @param limit
+     *         max number of lines to read, zero or negative value means all lines to the end of the log
+     * @param consumer
+     *         consumer of read lines
+     * @throws FileNotFoundException
+     *         if log does not exist
+     * @throws IOException
+     *         if any other i/o error occurs
+     */
+    public void readLines(File file, long fromLine, int limit, LineConsumer consumer) throws IOException {
+        getLog(file).readLines(fromLine, limit, consumer);
+    }
+
+    /** Flushes and closes all logs, stops background flushing and waits for compression of rotated segments. */
+    public void close() {
+        for (SegmentedLog log : logs.values()) {
+            try {
+                log.close();
+            } catch (IOException e) {
+                LOG.warn(e.getMessage());
+            }
+        }
+        logs.clear();
+        final ScheduledExecutorService executor;
+        synchronized (this) {
+            executor = this.executor;
+            this.executor = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                    LOG.warn("Unable terminate machine logs pool");
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private SegmentedLog getLog(File file) throws IOException {
+        final SegmentedLog log = logs.get(file);
+        if (log != null) {
+            return log;
+        }
+        // completed log or log left by previous run, it is not kept in memory
+        if (!file.isFile()) {
+            throw new FileNotFoundException(String.format("Log %s does not exist", file));
+        }
+        return SegmentedLog.load(file);
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineLogs-%d")
+                                                                                           .setDaemon(true)
+                                                                                           .build());
+            executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return executor;
+    }
+
+    private void flush() {
+        for (SegmentedLog log : logs.values()) {
+            try {
+                log.flush();
+            } catch (IOException e) {
+                LOG.warn(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,556 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.log;
+
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Log of machine or process which is split into segments of limited size.
+ *
+ * <p>Lines are always appended to the file of the log, when this file reaches the size limit it is renamed to
+ * {@code <file>.<n>} and compressed to {@code <file>.<n>.gz} in background. Written lines are buffered in memory and
+ * flushed by {@link LogStore} periodically, or before any read, so writing a line never waits for disk.
+ *
+ * <p>Each segment remembers byte offset of every {@link #INDEX_INTERVAL}th line. It allows reading of any range of
+ * lines from not compressed segment directly from a memory-mapped file without scanning of the whole segment. When
+ * log is closed indexes of all segments are saved to {@code <file>.idx}, so completed log is loaded without scanning
+ * and decompressing of its segments.
+ *
+ * <p>Lines are separated with {@code '\n'} only, line breaks inside of written line are replaced with spaces to keep
+ * numbering of lines.
+ */
+class SegmentedLog implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedLog.class);
+
+    /** Number of lines between two lines which offsets are kept in index of segment. */
+    static final int    INDEX_INTERVAL    = 256;
+    static final String COMPRESSED_SUFFIX = ".gz";
+    static final String INDEX_SUFFIX      = ".idx";
+
+    private static final int INDEX_FORMAT = 1;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final File          file;
+    private final long          maxSegmentSize;
+    private final Executor      compressor;
+    private final List<Segment> segments;
+
+    private OutputStream output;
+    private boolean      dirty;
+
+    private SegmentedLog(File file, long maxSegmentSize, Executor compressor, List<Segment> segments, OutputStream output) {
+        this.file = file;
+        this.maxSegmentSize = maxSegmentSize;
+        this.compressor = compressor;
+        this.segments = segments;
+        this.output = output;
+    }
+
+    /**
+     * Creates new empty log, all segments which were left from the previous log with the same file are removed.
+     *
+     * @param file
+     *         file of the log
+     * @param maxSegmentSize
+     *         max size of segment in bytes
+     * @param compressor
+     *         executor for compressing of rotated segments
+     */
+    static SegmentedLog create(File file, long maxSegmentSize, Executor compressor) throws IOException {
+        for (int i = 1; ; i++) {
+            final File rotated = rotatedFile(file, i);
+            final File compressed = compressedFile(rotated);
+            if (!(rotated.exists() || compressed.exists())) {
+                break;
+            }
+            Files.deleteIfExists(rotated.toPath());
+            Files.deleteIfExists(compressed.toPath());
+        }
+        Files.deleteIfExists(indexFile(file).toPath());
+        final List<Segment> segments = new ArrayList<>();
+        segments.add(new Segment(file, 0));
+        return new SegmentedLog(file,
+                                maxSegmentSize,
+                                compressor,
+                                segments,
+                                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * Loads existed log for reading. Indexes of segments are read from index file saved when the log was closed, if
+     * there is no such file or it doesn't match segments of the log, index of each segment is built by scanning the
+     * segment.
+     *
+     * @param file
+     *         file of the log
+     */
+    static SegmentedLog load(File file) throws IOException {
+        final List<Segment> indexed = readIndex(file);
+        if (indexed != null) {
+            return new SegmentedLog(file, Long.MAX_VALUE, null, indexed, null);
+        }
+        final List<Segment> segments = new ArrayList<>();
+        long line = 0;
+        for (int i = 1; ; i++) {
+            final File rotated = rotatedFile(file, i);
+            final Segment segment;
+            if (rotated.isFile()) {
+                segment = new Segment(rotated, line);
+            } else if (compressedFile(rotated).isFile()) {
+                segment = new Segment(compressedFile(rotated), line);
+                segment.compressed = true;
+            } else {
+                break;
+            }
+            segment.index();
+            segments.add(segment);
+            line += segment.lines;
+        }
+        final Segment active = new Segment(file, line);
+        if (file.isFile()) {
+            active.index();
+        }
+        segments.add(active);
+        return new SegmentedLog(file, Long.MAX_VALUE, null, segments, null);
+    }
+
+    static File rotatedFile(File file, int number) {
+        return new File(file.getPath() + '.' + number);
+    }
+
+    static File compressedFile(File file) {
+        return new File(file.getPath() + COMPRESSED_SUFFIX);
+    }
+
+    static File indexFile(File file) {
+        return new File(file.getPath() + INDEX_SUFFIX);
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (output == null) {
+            throw new IOException(format("Log %s is closed", file));
+        }
+        final byte[] bytes = (replaceLineBreaks(line) + '\n').getBytes(UTF_8);
+        output.write(bytes);
+        dirty = true;
+        final Segment active = active();
+        active.append(bytes.length);
+        if (active.length >= maxSegmentSize) {
+            rotate();
+        }
+    }
+
+    /** Writes buffered lines to the file of the log if there are any. */
+    synchronized void flush() throws IOException {
+        if (dirty && output != null) {
+            output.flush();
+            dirty = false;
+        }
+    }
+
+    /** Returns number of lines in the log. */
+    synchronized long getLineCount() {
+        final Segment active = active();
+        return active.firstLine + active.lines;
+    }
+
+    /** Returns reader of the whole log. */
+    Reader openReader() throws IOException {
+        final List<InputStream> streams = new ArrayList<>();
+        try {
+            synchronized (this) {
+                flush();
+                for (Segment segment : segments) {
+                    final SegmentReader reader = new SegmentReader(segment);
+                    final InputStream stream = Channels.newInputStream(reader.channel);
+                    streams.add(stream);
+                    if (reader.compressed) {
+                        streams.set(streams.size() - 1, new GZIPInputStream(stream));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            closeAll(streams);
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(new SequenceInputStream(Collections.enumeration(streams)), UTF_8));
+    }
+
+    /**
+     * Reads range of lines of the log.
+     *
+     * @param fromLine
+     *         number of the first line, lines are numbered from 0, negative value means number of line counted from the
+     *         end of the log, e.g. -1 is the last line
+     * @param limit
+     *         max number of lines to read, zero or negative value means all lines to the end of the log
+     * @param consumer
+     *         consumer of read lines
+     */
+    void readLines(long fromLine, int limit, LineConsumer consumer) throws IOException {
+        final List<SegmentReader> readers = new ArrayList<>();
+        final long first;
+        final long last;
+        try {
+            synchronized (this) {
+                flush();
+                final long count = getLineCount();
+                first = fromLine < 0 ? Math.max(0, count + fromLine) : fromLine;
+                last = limit > 0 ? Math.min(count, first + limit) : count;
+                for (Segment segment : segments) {
+                    if (segment.firstLine + segment.lines > first && segment.firstLine < last) {
+                        // Channel is opened under lock to be sure segment is not renamed or compressed meanwhile,
+                        // renaming or removing of the file does not affect already opened channel.
+                        readers.add(new SegmentReader(segment));
+                    }
+                }
+            }
+            for (SegmentReader reader : readers) {
+                reader.read(first, last, consumer);
+            }
+        } finally {
+            closeAll(readers);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (output != null) {
+            try {
+                output.close();
+            } finally {
+                output = null;
+                dirty = false;
+            }
+            writeIndex();
+        }
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private static String replaceLineBreaks(String line) {
+        if (line == null) {
+            return "";
+        }
+        if (line.indexOf('\n') == -1 && line.indexOf('\r') == -1) {
+            return line;
+        }
+        return line.replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private void rotate() throws IOException {
+        output.close();
+        output = null;
+        dirty = false;
+        final Segment full = active();
+        final File rotated = rotatedFile(file, segments.size());
+        Files.move(file.toPath(), rotated.toPath(), REPLACE_EXISTING);
+        full.file = rotated;
+        segments.add(new Segment(file, full.firstLine + full.lines));
+        output = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+        try {
+            compressor.execute(() -> compress(full));
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Log segment {} is not compressed, log store is closed", rotated);
+        }
+    }
+
+    private void compress(Segment segment) {
+        final File source;
+        synchronized (this) {
+            source = segment.file;
+        }
+        if (!source.exists()) {
+            // log is removed or re-created
+            return;
+        }
+        final File target = compressedFile(source);
+        final File tmp = new File(target.getPath() + ".tmp");
+        try {
+            try (InputStream in = new FileInputStream(source);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(tmp), BUFFER_SIZE)) {
+                ByteStreams.copy(in, out);
+            }
+            Files.move(tmp.toPath(), target.toPath(), ATOMIC_MOVE);
+            synchronized (this) {
+                segment.file = target;
+                segment.compressed = true;
+            }
+            Files.delete(source.toPath());
+        } catch (IOException e) {
+            LOG.warn("Unable compress log segment {}. {}", source, e.getMessage());
+            if (tmp.exists() && !tmp.delete()) {
+                LOG.warn("Unable delete {}", tmp);
+            }
+        }
+    }
+
+    /** Saves indexes of all segments, file of segment is not saved as it may be compressed after that. */
+    private void writeIndex() {
+        final File index = indexFile(file);
+        final File tmp = new File(index.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), BUFFER_SIZE))) {
+                out.writeInt(INDEX_FORMAT);
+                out.writeInt(segments.size());
+                for (Segment segment : segments) {
+                    out.writeInt(segment.lines);
+                    out.writeLong(segment.length);
+                    final int offsets = (segment.lines + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+                    for (int i = 0; i < offsets; i++) {
+                        out.writeLong(segment.offsets[i]);
+                    }
+                }
+            }
+            Files.move(tmp.toPath(), index.toPath(), ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable save index of log {}. {}", file, e.getMessage());
+            if (tmp.exists() && !tmp.delete()) {
+                LOG.warn("Unable delete {}", tmp);
+            }
+        }
+    }
+
+    /**
+     * Reads indexes of segments saved by {@link #writeIndex()}, returns {@code null} if there is no index, it can't be
+     * read or it doesn't match files of the log, e.g. log is re-created but not closed yet.
+     */
+    private static List<Segment> readIndex(File file) {
+        final File index = indexFile(file);
+        if (!index.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(index), BUFFER_SIZE))) {
+            if (in.readInt() != INDEX_FORMAT) {
+                return null;
+            }
+            final int count = in.readInt();
+            if (count < 1) {
+                return null;
+            }
+            final List<Segment> segments = new ArrayList<>(count);
+            long line = 0;
+            for (int i = 1; i <= count; i++) {
+                final Segment segment;
+                if (i == count) {
+                    segment = new Segment(file, line);
+                } else if (rotatedFile(file, i).isFile()) {
+                    segment = new Segment(rotatedFile(file, i), line);
+                } else if (compressedFile(rotatedFile(file, i)).isFile()) {
+                    segment = new Segment(compressedFile(rotatedFile(file, i)), line);
+                    segment.compressed = true;
+                } else {
+                    return null;
+                }
+                segment.lines = in.readInt();
+                segment.length = in.readLong();
+                segment.offsets = new long[Math.max(1, (segment.lines + INDEX_INTERVAL - 1) / INDEX_INTERVAL)];
+                for (int j = 0; j * INDEX_INTERVAL < segment.lines; j++) {
+                    segment.offsets[j] = in.readLong();
+                }
+                segments.add(segment);
+                line += segment.lines;
+            }
+            final File next = rotatedFile(file, count);
+            if (file.length() != segments.get(count - 1).length || next.exists() || compressedFile(next).exists()) {
+                return null;
+            }
+            return segments;
+        } catch (IOException e) {
+            LOG.warn("Unable read index of log {}. {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void closeAll(List<? extends Closeable> closeables) {
+        for (Closeable closeable : closeables) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /** Segment of log, guarded by monitor of the log. */
+    private static class Segment {
+        final long firstLine;
+
+        File    file;
+        boolean compressed;
+        int     lines;
+        long    length;
+        long[]  offsets = new long[8];
+
+        Segment(File file, long firstLine) {
+            this.file = file;
+            this.firstLine = firstLine;
+        }
+
+        void append(int lineLength) {
+            if (lines % INDEX_INTERVAL == 0) {
+                final int position = lines / INDEX_INTERVAL;
+                if (position == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[position] = length;
+            }
+            lines++;
+            length += lineLength;
+        }
+
+        void index() throws IOException {
+            try (InputStream in = compressed ? new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE)
+                                             : new FileInputStream(file)) {
+                final byte[] buf = new byte[BUFFER_SIZE];
+                int lineLength = 0;
+                int read;
+                while ((read = in.read(buf)) != -1) {
+                    for (int i = 0; i < read; i++) {
+                        lineLength++;
+                        if (buf[i] == '\n') {
+                            append(lineLength);
+                            lineLength = 0;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Reads snapshot of segment which is taken when reader is created. */
+    private static class SegmentReader implements Closeable {
+        final FileChannel channel;
+        final boolean     compressed;
+        final long        firstLine;
+        final int         lines;
+        final long        length;
+        final long[]      offsets;
+
+        SegmentReader(Segment segment) throws IOException {
+            FileChannel channel;
+            boolean compressed = segment.compressed;
+            try {
+                channel = FileChannel.open(segment.file.toPath(), READ);
+            } catch (NoSuchFileException e) {
+                // segment of log loaded from disk is compressed meanwhile
+                if (compressed) {
+                    throw e;
+                }
+                channel = FileChannel.open(compressedFile(segment.file).toPath(), READ);
+                compressed = true;
+            }
+            this.channel = channel;
+            this.compressed = compressed;
+            firstLine = segment.firstLine;
+            lines = segment.lines;
+            length = segment.length;
+            // only offsets of lines which are written later may be changed in this array
+            offsets = segment.offsets;
+        }
+
+        void read(long first, long last, LineConsumer consumer) throws IOException {
+            long skip = Math.max(0, first - firstLine);
+            long count = Math.min(last, firstLine + lines) - firstLine - skip;
+            if (compressed) {
+                // lines are split on '\n' only, the same as they are counted in index
+                final InputStream in = new BufferedInputStream(new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE),
+                                                               BUFFER_SIZE);
+                final ByteArrayOutputStream line = new ByteArrayOutputStream();
+                int b;
+                while (count > 0 && (b = in.read()) != -1) {
+                    if (b != '\n') {
+                        if (skip == 0) {
+                            line.write(b);
+                        }
+                    } else if (skip > 0) {
+                        skip--;
+                    } else {
+                        consumer.writeLine(new String(line.toByteArray(), UTF_8));
+                        line.reset();
+                        count--;
+                    }
+                }
+                return;
+            }
+            final int position = (int)(skip / INDEX_INTERVAL);
+            final long start = offsets[position];
+            skip -= (long)position * INDEX_INTERVAL;
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                                        start,
+                                                        Math.min(length - start, Integer.MAX_VALUE));
+            final int limit = buffer.limit();
+            int lineStart = 0;
+            for (int i = 0; i < limit && count > 0; i++) {
+                if (buffer.get(i) == '\n') {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        final byte[] line = new byte[i - lineStart];
+                        buffer.position(lineStart);
+                        buffer.get(line);
+                        consumer.writeLine(new String(line, UTF_8));
+                        count--;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
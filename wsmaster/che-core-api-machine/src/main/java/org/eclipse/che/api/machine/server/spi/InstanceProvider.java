@@ -12,6 +12,7 @@ package org.eclipse.che.api.machine.server.spi;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.Machine;
+import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.util.LineConsumer;
@@ -21,6 +22,7 @@ import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.SourceNotFoundException;
 import org.eclipse.che.api.machine.server.exception.UnsupportedRecipeException;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -70,6 +72,17 @@ public interface InstanceProvider {
                                                                     NotFoundException,
                                                                     MachineException;
 
+    /**
+     * Prepares sources of instances which are going to be created one by one, e.g. starts downloading of images of all
+     * machines of environment at once. Must not block until sources are ready and must not throw exceptions, errors
+     * should be reported by {@link #createInstance(Machine, LineConsumer)}. Does nothing by default.
+     *
+     * @param machineConfigs
+     *         configurations of machines which are going to be created
+     */
+    default void prepareInstances(List<? extends MachineConfig> machineConfigs) {
+    }
+
     /**
      * Removes snapshot of the instance in implementation specific way.
      *
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.BufferedWebsocketLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.MachineException;
@@ -51,6 +52,7 @@ import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.mockito.Matchers.any;
@@ -65,6 +67,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Unit tests for {@link MachineManager}
@@ -226,6 +229,26 @@ public class MachineManagerTest {
         }
     }
 
+    @Test
+    public void shouldExposeProcessOutputMetricsUntilProcessIsFinished() throws Exception {
+        final MachineConfigImpl machineConfig = createMachineConfig();
+        when(instance.getConfig()).thenReturn(machineConfig);
+        when(instance.getWorkspaceId()).thenReturn(WS_ID);
+        when(instance.getId()).thenReturn(MACHINE_ID);
+        assertTrue(targetDir().resolve("logs-dir").resolve(MACHINE_ID).toFile().mkdirs());
+        final LineConsumer processLogger = manager.getProcessLogger(MACHINE_ID, 222, "processChannel");
+        processLogger.writeLine("line");
+
+        final List<BufferedWebsocketLineConsumer.Metrics> metrics = manager.getProcessOutputMetrics(MACHINE_ID);
+        assertEquals(metrics.size(), 1);
+        assertEquals(metrics.get(0).getChannel(), "processChannel");
+        assertEquals(metrics.get(0).getWrittenLines(), 1);
+
+        processLogger.close();
+
+        assertTrue(manager.getProcessOutputMetrics(MACHINE_ID).isEmpty());
+    }
+
     @Test
     public void shouldCloseProcessLoggerIfExecIsSuccess() throws Exception {
         //when
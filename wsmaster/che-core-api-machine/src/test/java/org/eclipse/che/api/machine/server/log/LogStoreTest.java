@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.log;
+
+import com.google.common.io.CharStreams;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class LogStoreTest {
+    private static final int LINES = 2000;
+
+    private File     dir;
+    private File     file;
+    private LogStore store;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("logs").toFile();
+        file = new File(dir, "machineId.logs");
+        // line 'line-NNNN' takes 10 bytes, so every segment contains 1000 lines
+        store = new LogStore(10000, 60000);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        store.close();
+        IoUtil.deleteRecursive(dir);
+    }
+
+    @Test
+    public void readsLinesWhichAreNotFlushedYet() throws Exception {
+        final LineConsumer log = store.create(file);
+        log.writeLine("first");
+        log.writeLine(null);
+        log.writeLine("third");
+
+        assertEquals(readLines(0, 0), asList("first", "", "third"));
+        assertEquals(CharStreams.toString(store.getReader(file)), "first\n\nthird\n");
+    }
+
+    @Test
+    public void rotatesAndCompressesFullSegments() throws Exception {
+        writeLines();
+
+        store.close();
+
+        assertTrue(new File(dir, "machineId.logs.1.gz").isFile());
+        assertFalse(new File(dir, "machineId.logs.1").exists());
+        assertTrue(new File(dir, "machineId.logs").isFile());
+        assertEquals(file.length(), 0);
+    }
+
+    @Test
+    public void readsRangeOfLinesAcrossSegments() throws Exception {
+        writeLines();
+
+        assertEquals(readLines(0, 3), expectedLines(0, 3));
+        assertEquals(readLines(990, 20), expectedLines(990, 1010));
+        assertEquals(readLines(1500, 0), expectedLines(1500, LINES));
+        assertEquals(readLines(LINES, 10), emptyList());
+    }
+
+    @Test
+    public void readsTailOfLog() throws Exception {
+        writeLines();
+
+        assertEquals(readLines(-10, 0), expectedLines(LINES - 10, LINES));
+        assertEquals(readLines(-1200, 5), expectedLines(LINES - 1200, LINES - 1195));
+        assertEquals(readLines(-LINES * 2, 1), expectedLines(0, 1));
+    }
+
+    @Test
+    public void readsLogAfterCompressionOfSegments() throws Exception {
+        writeLines();
+        store.close();
+
+        assertEquals(readLines(700, 600), expectedLines(700, 1300));
+        try (Reader reader = store.getReader(file)) {
+            assertEquals(CharStreams.readLines(reader), expectedLines(0, LINES));
+        }
+    }
+
+    @Test
+    public void readsCompletedLogWithSavedIndexWithoutScanningOfSegments() throws Exception {
+        writeLines();
+        store.close();
+        assertTrue(new File(dir, "machineId.logs.idx").isFile());
+        // first segment is never read when lines of other segments are requested
+        Files.write(new File(dir, "machineId.logs.1.gz").toPath(), "broken".getBytes(UTF_8));
+
+        assertEquals(readLines(1500, 10), expectedLines(1500, 1510));
+        assertEquals(readLines(-10, 0), expectedLines(LINES - 10, LINES));
+    }
+
+    @Test
+    public void rescansLogIfSavedIndexDoesNotMatchSegments() throws Exception {
+        writeLines();
+        store.close();
+        Files.write(file.toPath(), "extra\n".getBytes(UTF_8));
+
+        assertEquals(readLines(-2, 0), asList("line-1999", "extra"));
+    }
+
+    @Test
+    public void createsNewLogInsteadOfExisted() throws Exception {
+        writeLines();
+
+        store.create(file).writeLine("new");
+
+        assertEquals(readLines(0, 0), asList("new"));
+        assertFalse(new File(dir, "machineId.logs.1").exists());
+        assertFalse(new File(dir, "machineId.logs.1.gz").exists());
+        assertFalse(new File(dir, "machineId.logs.idx").exists());
+    }
+
+    @Test
+    public void forgetsLogWhenItsConsumerIsClosed() throws Exception {
+        final LineConsumer log = store.create(file);
+        log.writeLine("first");
+        log.close();
+
+        // log is read from disk
+        file.delete();
+        assertFalse(store.exists(file));
+    }
+
+    @Test
+    public void forgetsLogsOfEvictedDirectory() throws Exception {
+        final LineConsumer log = store.create(file);
+        log.writeLine("first");
+
+        store.evict(dir);
+
+        assertEquals(readLines(0, 0), asList("first"));
+        file.delete();
+        assertFalse(store.exists(file));
+    }
+
+    @Test
+    public void replacesLineBreaksInsideOfLine() throws Exception {
+        try (LineConsumer log = store.create(file)) {
+            log.writeLine("first\nsecond\r\nthird");
+            log.writeLine("progress 10%\rprogress 20%");
+            log.writeLine("last");
+        }
+
+        assertEquals(readLines(0, 0), asList("first second  third", "progress 10% progress 20%", "last"));
+        assertEquals(readLines(-1, 0), asList("last"));
+    }
+
+    @Test
+    public void splitsCompressedSegmentsOnNewLineOnly() throws Exception {
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(new File(dir, "machineId.logs.1.gz")))) {
+            out.write("first\rline\nsecond\n".getBytes(UTF_8));
+        }
+        Files.write(file.toPath(), "third\n".getBytes(UTF_8));
+
+        assertEquals(readLines(0, 0), asList("first\rline", "second", "third"));
+        assertEquals(readLines(1, 1), asList("second"));
+    }
+
+    @Test(expectedExceptions = FileNotFoundException.class)
+    public void failsReadingOfLogWhichDoesNotExist() throws Exception {
+        store.getReader(file);
+    }
+
+    private void writeLines() throws IOException {
+        try (LineConsumer log = store.create(file)) {
+            for (int i = 0; i < LINES; i++) {
+                log.writeLine(String.format("line-%04d", i));
+            }
+        }
+    }
+
+    private List<String> readLines(long from, int limit) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        store.readLines(file, from, limit, new LineConsumer() {
+            @Override
+            public void writeLine(String line) {
+                lines.add(line);
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        return lines;
+    }
+
+    private static List<String> expectedLines(int from, int to) {
+        return LongStream.range(from, to).mapToObj(i -> String.format("line-%04d", i)).collect(Collectors.toList());
+    }
+}
@@ -314,7 +314,7 @@ public class WorkspaceManager {
         workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
         update.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
         workspace.setAttributes(update.getAttributes());
-        return normalizeState(workspaceDao.update(workspace));
+        return normalizeState(doUpdate(workspace));
     }
 
     /**
@@ -575,7 +575,7 @@ public class WorkspaceManager {
         }
 
         workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-        workspaceDao.update(workspace);
+        doUpdate(workspace);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -631,7 +631,7 @@ public class WorkspaceManager {
                     workspaceDao.remove(workspace.getId());
                 } else {
                     workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-                    workspaceDao.update(workspace);
+                    doUpdate(workspace);
                 }
                 LOG.info("Workspace '{}:{}' with id '{}' stopped by user '{}'",
                          workspace.getNamespace(),
@@ -701,6 +701,12 @@ public class WorkspaceManager {
         return nameIfNoUser;
     }
 
+    /** Updates workspace and changes its modification stamp, see {@link WorkspaceImpl#getVersion()}. */
+    private WorkspaceImpl doUpdate(WorkspaceImpl workspace) throws NotFoundException, ConflictException, ServerException {
+        workspace.setVersion(workspace.getVersion() + 1);
+        return workspaceDao.update(workspace);
+    }
+
     private WorkspaceImpl normalizeState(WorkspaceImpl workspace) {
         try {
             return normalizeState(workspace, runtimes.get(workspace.getId()));
@@ -54,6 +54,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
@@ -220,6 +221,11 @@ public class WorkspaceRuntimes {
             releaseWriteLock(workspace.getId());
         }
 
+        // Machines are started one by one, but their sources
+        // e.g. images may be prepared concurrently in the meantime
+        if (!recover) {
+            machineManager.prepareMachines(environmentCopy.getMachineConfigs());
+        }
         startQueue(workspace.getId(), environmentCopy.getName(), recover);
 
         return get(workspace.getId());
@@ -496,6 +502,7 @@ public class WorkspaceRuntimes {
                             descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
                         }
                         descriptor.getRuntime().getMachines().add(machine);
+                        descriptor.touch();
                     }
                 }
             } finally {
@@ -643,6 +650,9 @@ public class WorkspaceRuntimes {
      */
     public static class RuntimeDescriptor {
 
+        /* seeded with current time, so stamps of runtimes are not repeated after restart */
+        private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis());
+
         private WorkspaceRuntimeImpl runtime;
         private WorkspaceStatus      status;
 
@@ -671,6 +681,12 @@ public class WorkspaceRuntimes {
 
         private void setRuntimeStatus(WorkspaceStatus status) {
             this.status = status;
+            touch();
+        }
+
+        /** Changes modification stamp of runtime, must be called after each change of runtime. */
+        private void touch() {
+            getRuntime().setVersion(VERSIONS.incrementAndGet());
         }
     }
 
@@ -745,6 +761,7 @@ public class WorkspaceRuntimes {
             // which means that machine can be added to the workspace
             if (!startQueues.containsKey(workspaceId)) {
                 descriptor.getRuntime().getMachines().add(new MachineImpl(machine));
+                descriptor.touch();
                 return true;
             }
 
@@ -756,6 +773,7 @@ public class WorkspaceRuntimes {
             // otherwise it will be added later, after WorkspaceRuntimes starts it
             if (!machineConfigs.stream().anyMatch(m -> m.equals(machine.getConfig()))) {
                 descriptor.getRuntime().getMachines().add(new MachineImpl(machine));
+                descriptor.touch();
             }
 
             // All the cases are covered, in this case machine will be added
@@ -805,6 +823,8 @@ public class WorkspaceRuntimes {
                          machineId,
                          workspaceId,
                          machineName);
+            } else {
+                descriptor.touch();
             }
         } finally {
             releaseWriteLock(workspaceId);
@@ -40,6 +40,7 @@ import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.everrest.EntityTags;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -53,6 +54,8 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
@@ -62,6 +65,7 @@ import java.util.Map;
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
@@ -149,22 +153,28 @@ public class WorkspaceService extends Service {
     @Produces(APPLICATION_JSON)
     @ApiOperation(value = "Get the workspace by the composite key",
                   notes = "Composite key can be just workspace ID or in the " +
-                          "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too.")
+                          "namespace:workspace_name form, where namespace is optional (e.g :workspace_name is valid key too.",
+                  response = WorkspaceDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested workspace entity"),
                    @ApiResponse(code = 404, message = "The workspace with specified id does not exist"),
                    @ApiResponse(code = 403, message = "The user is not workspace owner"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public WorkspaceDto getByKey(@ApiParam(value = "Composite key",
-                                           examples = @Example({@ExampleProperty("workspace12345678"),
-                                                                @ExampleProperty("namespace:workspace_name"),
-                                                                @ExampleProperty(":workspace_name")}))
-                                 @PathParam("key") String key) throws NotFoundException,
-                                                                      ServerException,
-                                                                      ForbiddenException,
-                                                                      BadRequestException {
+    public Response getByKey(@ApiParam(value = "Composite key",
+                                       examples = @Example({@ExampleProperty("workspace12345678"),
+                                                            @ExampleProperty("namespace:workspace_name"),
+                                                            @ExampleProperty(":workspace_name")}))
+                             @PathParam("key") String key) throws NotFoundException,
+                                                                  ServerException,
+                                                                  ForbiddenException,
+                                                                  BadRequestException {
         validateKey(key);
         final WorkspaceImpl workspace = workspaceManager.getWorkspace(key);
-        return linksInjector.injectLinks(asDto(workspace), getServiceContext());
+        final EntityTag entityTag = versionTag(workspace);
+        final Response notModified = EntityTags.notModified(entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Response.ok(linksInjector.injectLinks(asDto(workspace), getServiceContext())).tag(entityTag).build();
     }
 
     @GET
@@ -176,23 +186,34 @@ public class WorkspaceService extends Service {
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "The workspaces successfully fetched"),
                    @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")})
-    public List<WorkspaceDto> getWorkspaces(@ApiParam("The number of the items to skip")
-                                            @DefaultValue("0")
-                                            @QueryParam("skipCount")
-                                            Integer skipCount,
-                                            @ApiParam("The limit of the items in the response, default is 30")
-                                            @DefaultValue("30")
-                                            @QueryParam("maxItems")
-                                            Integer maxItems,
-                                            @ApiParam("Workspace status")
-                                            @QueryParam("status")
-                                            String status) throws ServerException, BadRequestException {
+    public Response getWorkspaces(@ApiParam("The number of the items to skip")
+                                  @DefaultValue("0")
+                                  @QueryParam("skipCount")
+                                  Integer skipCount,
+                                  @ApiParam("The limit of the items in the response, default is 30")
+                                  @DefaultValue("30")
+                                  @QueryParam("maxItems")
+                                  Integer maxItems,
+                                  @ApiParam("Workspace status")
+                                  @QueryParam("status")
+                                  String status) throws ServerException, BadRequestException {
         //TODO add maxItems & skipCount to manager
-        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId())
-                               .stream()
-                               .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-                               .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-                               .collect(toList());
+        final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+        final List<WorkspaceImpl> workspaces = workspaceManager.getWorkspaces(userId)
+                                                               .stream()
+                                                               .filter(ws -> status == null
+                                                                             || status.equalsIgnoreCase(ws.getStatus().toString()))
+                                                               .collect(toList());
+        final EntityTag entityTag = EntityTags.versionTag(getServiceContext().getServiceUriBuilder().build(),
+                                                          workspaces.stream().map(WorkspaceService::stamp).collect(joining(",")));
+        final Response notModified = EntityTags.notModified(entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+        final List<WorkspaceDto> result = workspaces.stream()
+                                                    .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+                                                    .collect(toList());
+        return Response.ok(new GenericEntity<List<WorkspaceDto>>(result) {}).tag(entityTag).build();
     }
 
     @PUT
@@ -724,6 +745,19 @@ public class WorkspaceService extends Service {
         }
     }
 
+    /**
+     * Builds entity tag of workspace from its modification stamps without building of workspace links. Links of workspace
+     * depend on service location and workspace status only, both are part of the tag.
+     */
+    private EntityTag versionTag(WorkspaceImpl workspace) {
+        return EntityTags.versionTag(getServiceContext().getServiceUriBuilder().build(), stamp(workspace));
+    }
+
+    private static String stamp(WorkspaceImpl workspace) {
+        return workspace.getId() + ':' + workspace.getVersion() + ':' + workspace.getStatus() + ':'
+               + (workspace.getRuntime() == null ? 0 : workspace.getRuntime().getVersion());
+    }
+
     /*
      * Validate composite key.
      *
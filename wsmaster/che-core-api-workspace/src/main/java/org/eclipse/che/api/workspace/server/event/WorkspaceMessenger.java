@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server.event;
 
+import org.eclipse.che.api.core.notification.EventDispatchPolicy;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
@@ -24,6 +25,8 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import static org.eclipse.che.api.core.notification.EventDispatchPolicy.Overflow.BLOCK;
+
 /**
  * Send workspace events using websocket channel to the clients
  *
@@ -54,7 +57,7 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        eventService.subscribe(this, EventDispatchPolicy.ordered(1000, BLOCK));
     }
 
     @PreDestroy
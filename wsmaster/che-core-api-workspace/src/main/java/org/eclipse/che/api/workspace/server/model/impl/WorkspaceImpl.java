@@ -42,6 +42,7 @@ public class WorkspaceImpl implements Workspace {
     private WorkspaceStatus      status;
     private Map<String, String>  attributes;
     private WorkspaceRuntimeImpl runtime;
+    private long                 version;
 
     public WorkspaceImpl(String id, String namespace, WorkspaceConfig config) {
         this(id, namespace, config, null, null, false, STOPPED);
@@ -79,6 +80,11 @@ public class WorkspaceImpl implements Workspace {
         this.status = firstNonNull(workspace.getStatus(), STOPPED);
     }
 
+    public WorkspaceImpl(WorkspaceImpl workspace) {
+        this((Workspace)workspace);
+        this.version = workspace.version;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -137,6 +143,18 @@ public class WorkspaceImpl implements Workspace {
         this.runtime = runtime;
     }
 
+    /**
+     * Returns modification stamp of workspace configuration and attributes, it is changed by {@code WorkspaceManager} every
+     * time when workspace is updated. Stamp is not part of workspace model and may be used for building entity tags.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -33,6 +33,7 @@ public class WorkspaceRuntimeImpl implements WorkspaceRuntime {
     private String            rootFolder;
     private MachineImpl       devMachine;
     private List<MachineImpl> machines;
+    private long              version;
 
     public WorkspaceRuntimeImpl(String activeEnv) {
         this.activeEnv = activeEnv;
@@ -59,6 +60,11 @@ public class WorkspaceRuntimeImpl implements WorkspaceRuntime {
              runtime.getDevMachine());
     }
 
+    public WorkspaceRuntimeImpl(WorkspaceRuntimeImpl runtime) {
+        this((WorkspaceRuntime)runtime);
+        this.version = runtime.version;
+    }
+
     @Override
     public String getActiveEnv() {
         return activeEnv;
@@ -94,6 +100,18 @@ public class WorkspaceRuntimeImpl implements WorkspaceRuntime {
         this.machines = machines;
     }
 
+    /**
+     * Returns modification stamp of runtime, it is changed by {@code WorkspaceRuntimes} every time when machines of runtime
+     * are changed. Stamp is not part of workspace model and may be used for building entity tags.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == this) {
@@ -45,6 +45,7 @@ public class StackImpl implements Stack {
     private List<StackComponentImpl> components;
     private StackIcon                stackIcon;
     private List<AclEntryImpl>       acl;
+    private long                     version;
 
     public static StackBuilder builder() {
         return new StackBuilder();
@@ -62,6 +63,7 @@ public class StackImpl implements Stack {
              stack.getComponents(),
              stack.getStackIcon(),
              stack.getAcl());
+        this.version = stack.getVersion();
     }
 
     public StackImpl(Stack stack) {
@@ -216,6 +218,18 @@ public class StackImpl implements Stack {
         this.acl = acl;
     }
 
+    /**
+     * Returns modification stamp of stack, it is changed by {@link org.eclipse.che.api.workspace.server.spi.StackDao} every
+     * time when stack is updated. Stamp is not part of stack model and may be used for building entity tags.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public StackImpl withAcl(List<AclEntryImpl> acl) {
         this.acl = acl;
         return this;
@@ -70,7 +70,8 @@ public interface StackDao {
      * Update stack with new entity, actually replaces(not merges) existed stack.
      *
      * <p>Existed stack will be fully updated(replaced), all data which wos present before update will not be accessible
-     * with {@code update} anymore</p> Expected update usage:
+     * with {@code update} anymore</p> Modification stamp of stack, see {@link StackImpl#getVersion()}, is incremented with
+     * each update. Expected update usage:
      * <pre>
      *     StackImpl stack = stackDao.getById("stack111");
      *     ...
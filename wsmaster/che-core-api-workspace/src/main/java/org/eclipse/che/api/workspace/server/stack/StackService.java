@@ -32,6 +32,7 @@ import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.everrest.EntityTags;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -44,6 +45,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.util.ArrayList;
@@ -128,13 +130,23 @@ public class StackService extends Service {
     @Produces(APPLICATION_JSON)
     @GenerateLink(rel = LINK_REL_GET_STACK_BY_ID)
     @ApiOperation(value = "Get the stack by id",
-                  notes = "This operation can be performed for stack owner, or for predefined stacks")
+                  notes = "This operation can be performed for stack owner, or for predefined stacks",
+                  response = StackDto.class)
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains requested stack entity"),
                    @ApiResponse(code = 404, message = "The requested stack was not found"),
                    @ApiResponse(code = 403, message = "The user has not permission get requested stack"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
-    public StackDto getStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
-        return asStackDto(stackDao.getById(id));
+    public Response getStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
+        final StackImpl stack = stackDao.getById(id);
+        // links of stack depend on its icon which is changed with stack update as well
+        final EntityTag entityTag = EntityTags.versionTag(getServiceContext().getServiceUriBuilder().build(),
+                                                          stack.getId(),
+                                                          stack.getVersion());
+        final Response notModified = EntityTags.notModified(entityTag);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Response.ok(asStackDto(stack)).tag(entityTag).build();
     }
 
     @PUT
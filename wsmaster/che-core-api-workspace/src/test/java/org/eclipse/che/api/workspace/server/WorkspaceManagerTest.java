@@ -296,6 +296,7 @@ public class WorkspaceManagerTest {
         assertFalse(updated.isTemporary());
         assertEquals(workspace.getConfig(), updated.getConfig());
         assertNotNull(workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME));
+        assertEquals(updated.getVersion(), 1);
     }
 
     @Test
@@ -116,9 +116,11 @@ public class LocalStackDaoImpl implements StackDao {
         lock.writeLock().lock();
         try {
             String updateId = update.getId();
-            if (!stacks.containsKey(updateId)) {
+            final StackImpl existing = stacks.get(updateId);
+            if (existing == null) {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
+            update.setVersion(existing.getVersion() + 1);
             stacks.replace(updateId, update);
             return new StackImpl(update);
         } finally {
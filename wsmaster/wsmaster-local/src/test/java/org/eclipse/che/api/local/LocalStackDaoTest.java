@@ -104,6 +104,18 @@ public class LocalStackDaoTest {
         assertEquals(result, stack);
     }
 
+    @Test
+    public void shouldIncrementVersionOfStackOnUpdate() throws Exception {
+        stackDao.create(createStack());
+        final StackImpl stack = stackDao.getById("stackdskhfdskf");
+        stack.setDescription("new description");
+
+        final StackImpl updated = stackDao.update(stack);
+
+        assertEquals(updated.getVersion(), 1);
+        assertEquals(stackDao.getById("stackdskhfdskf").getVersion(), 1);
+    }
+
     private void createStackIcon() throws IOException {
         Files.createDirectories(parentIconFolder);
         Files.write(pathToIcon, SVG_ICON.getBytes());